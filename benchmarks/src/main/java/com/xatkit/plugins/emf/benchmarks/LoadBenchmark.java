@@ -0,0 +1,86 @@
+package com.xatkit.plugins.emf.benchmarks;
+
+import com.xatkit.core.XatkitCore;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.stubs.StubXatkitCore;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the loading of synthetic models with {@link EMFPlatform#getModelResource(String)}.
+ * <p>
+ * The model cache of the platform is cleared before each invocation, meaning that each invocation parses the XMI
+ * file of the model and builds its indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class LoadBenchmark {
+
+    /**
+     * The metamodel of the loaded model.
+     */
+    @Param({"PROJECT", "CITY_TRAFFIC"})
+    public SyntheticMetamodel metamodel;
+
+    /**
+     * The approximate number of elements of the loaded model.
+     */
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /**
+     * The {@link XatkitCore} used to create the {@link EMFPlatform}.
+     */
+    private XatkitCore xatkitCore;
+
+    /**
+     * The benchmarked {@link EMFPlatform}.
+     */
+    private EMFPlatform platform;
+
+    /**
+     * The path of the loaded model.
+     */
+    private String modelPath;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.xatkitCore = new StubXatkitCore();
+        this.platform = new EMFPlatform(xatkitCore, ModelState.buildConfiguration(metamodel));
+        this.modelPath = ModelGenerator.getModelFile(metamodel, size).getAbsolutePath();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearModelCache() {
+        platform.getModelCache().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platform.shutdown();
+        xatkitCore.shutdown();
+    }
+
+    @Benchmark
+    public Resource getModelResource() {
+        return platform.getModelResource(modelPath);
+    }
+}
@@ -0,0 +1,133 @@
+package com.xatkit.plugins.emf.benchmarks;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Generates the synthetic models used by the benchmarks.
+ * <p>
+ * Models are streamed to XMI files without being created in memory, allowing to generate models that do not fit in
+ * the heap of the benchmarks. Generated files are stored in the {@code xatkit.emf.benchmarks.directory} directory
+ * (or in the {@code xatkit-emf-benchmarks} folder of the system's temporary directory), and are reused by the next
+ * runs.
+ */
+public final class ModelGenerator {
+
+    /**
+     * The system property used to set the directory containing the generated files.
+     */
+    public static final String DIRECTORY_PROPERTY = "xatkit.emf.benchmarks.directory";
+
+    /**
+     * The seed of the {@link Random} used to generate the attribute values.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * The size of the buffer used to write the generated files.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private ModelGenerator() {
+    }
+
+    /**
+     * Returns the {@code .ecore} {@link File} of the provided {@code metamodel}.
+     * <p>
+     * The metamodel is copied from the classpath to the generation directory if it does not exist.
+     *
+     * @param metamodel the {@link SyntheticMetamodel} to retrieve the file of
+     * @return the {@code .ecore} {@link File} of the provided {@code metamodel}
+     * @throws UncheckedIOException if an error occurred when copying the metamodel
+     */
+    public static File getMetamodelFile(SyntheticMetamodel metamodel) {
+        File metamodelFile = new File(getDirectory(), metamodel.getEcoreResource());
+        if (!metamodelFile.exists()) {
+            try (InputStream is = ModelGenerator.class.getClassLoader().getResourceAsStream(
+                    metamodel.getEcoreResource())) {
+                if (isNull(is)) {
+                    throw new IllegalStateException("Cannot find the metamodel " + metamodel.getEcoreResource());
+                }
+                Path temporaryFile = Files.createTempFile(getDirectory().toPath(), metamodelFile.getName(), ".tmp");
+                Files.copy(is, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporaryFile, metamodelFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return metamodelFile;
+    }
+
+    /**
+     * Returns the XMI {@link File} of the synthetic model of the provided {@code metamodel} and {@code size}.
+     * <p>
+     * The model is generated if it does not exist.
+     *
+     * @param metamodel the {@link SyntheticMetamodel} of the model
+     * @param size      the approximate number of elements of the model
+     * @return the XMI {@link File} of the synthetic model
+     * @throws IllegalArgumentException if the provided {@code size} is lower than {@code 1}
+     * @throws UncheckedIOException     if an error occurred when generating the model
+     */
+    public static File getModelFile(SyntheticMetamodel metamodel, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Cannot generate a model with " + size + " elements");
+        }
+        File modelFile = new File(getDirectory(), metamodel.name().toLowerCase() + "-" + size + ".xmi");
+        if (!modelFile.exists()) {
+            try {
+                Path temporaryFile = Files.createTempFile(getDirectory().toPath(), modelFile.getName(), ".tmp");
+                try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE)) {
+                    XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(os, "UTF-8");
+                    writer.writeStartDocument("UTF-8", "1.0");
+                    metamodel.writeContent(writer, size, new Random(SEED));
+                    writer.writeEndDocument();
+                    writer.close();
+                }
+                Files.move(temporaryFile, modelFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (XMLStreamException e) {
+                throw new IllegalStateException("Cannot generate the model " + modelFile.getAbsolutePath(), e);
+            }
+        }
+        return modelFile;
+    }
+
+    /**
+     * Returns the directory containing the generated files.
+     * <p>
+     * The directory is created if it does not exist.
+     *
+     * @return the directory containing the generated files
+     * @throws UncheckedIOException if an error occurred when creating the directory
+     */
+    private static File getDirectory() {
+        File directory = new File(System.getProperty(DIRECTORY_PROPERTY,
+                new File(System.getProperty("java.io.tmpdir"), "xatkit-emf-benchmarks").getAbsolutePath()));
+        try {
+            Files.createDirectories(directory.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return directory;
+    }
+}
@@ -0,0 +1,115 @@
+package com.xatkit.plugins.emf.benchmarks;
+
+import com.xatkit.core.XatkitCore;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.stubs.StubXatkitCore;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+
+/**
+ * The benchmark state containing an {@link EMFPlatform} and a loaded synthetic model.
+ * <p>
+ * The state is parameterized by the {@link SyntheticMetamodel} and the size of the model. Models are generated
+ * once (see {@link ModelGenerator}), and loaded once per trial.
+ */
+@State(Scope.Benchmark)
+public class ModelState {
+
+    /**
+     * The metamodel of the synthetic model.
+     */
+    @Param({"PROJECT", "CITY_TRAFFIC"})
+    public SyntheticMetamodel metamodel;
+
+    /**
+     * The approximate number of elements of the synthetic model.
+     */
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /**
+     * The {@link XatkitCore} used to create the {@link EMFPlatform}.
+     */
+    XatkitCore xatkitCore;
+
+    /**
+     * The benchmarked {@link EMFPlatform}.
+     */
+    EMFPlatform platform;
+
+    /**
+     * The XMI {@link File} of the synthetic model.
+     */
+    File modelFile;
+
+    /**
+     * The {@link ModelHandle} of the loaded synthetic model, stored in the {@link #session}.
+     */
+    ModelHandle modelHandle;
+
+    /**
+     * The loaded synthetic model.
+     */
+    Resource modelResource;
+
+    /**
+     * The {@link XatkitSession} containing the loaded synthetic model.
+     */
+    XatkitSession session;
+
+    /**
+     * The {@link EClass} queried by the benchmarks.
+     */
+    EClass queriedEClass;
+
+    /**
+     * Generates the synthetic model, creates the {@link EMFPlatform}, and loads the model.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.xatkitCore = new StubXatkitCore();
+        this.platform = new EMFPlatform(xatkitCore, buildConfiguration(metamodel));
+        this.modelFile = ModelGenerator.getModelFile(metamodel, size);
+        this.modelHandle = platform.acquireModel(modelFile.getAbsolutePath());
+        this.modelResource = modelHandle.getResource();
+        this.session = new XatkitSession("benchmark");
+        this.session.store(EMFPlatformUtils.MODEL_SESSION_KEY, modelHandle);
+        this.queriedEClass = platform.getMetamodelIndex().getEClass(metamodel.getQueriedClass());
+    }
+
+    /**
+     * Releases the loaded model, and shuts down the {@link EMFPlatform} and the {@link XatkitCore}.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        platform.releaseModel(session);
+        platform.shutdown();
+        xatkitCore.shutdown();
+    }
+
+    /**
+     * Builds the {@link Configuration} of an {@link EMFPlatform} using the provided {@code metamodel}.
+     *
+     * @param metamodel the {@link SyntheticMetamodel} used by the platform
+     * @return the built {@link Configuration}
+     */
+    static Configuration buildConfiguration(SyntheticMetamodel metamodel) {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(EMFPlatformUtils.METAMODEL_LOCATION_KEY,
+                ModelGenerator.getMetamodelFile(metamodel).getAbsolutePath());
+        return configuration;
+    }
+}
@@ -0,0 +1,63 @@
+package com.xatkit.plugins.emf.benchmarks;
+
+import com.xatkit.plugins.emf.platform.action.GetAllInstancesSelect;
+import com.xatkit.plugins.emf.util.EMFResourceUtils;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the queries of the platform on a loaded synthetic model.
+ *
+ * @see ModelState
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QueryBenchmark {
+
+    @Benchmark
+    public List<EObject> getAllInstancesOfType(ModelState state) {
+        return EMFResourceUtils.getAllInstancesOfType(state.modelResource, state.queriedEClass);
+    }
+
+    @Benchmark
+    public EClass getEClassWithName(ModelState state) {
+        return EMFResourceUtils.getEClassWithName(state.platform.getMetamodelResource(),
+                state.metamodel.getQueriedClass());
+    }
+
+    @Benchmark
+    public long getSize(ModelState state) {
+        return EMFResourceUtils.getSize(state.modelResource);
+    }
+
+    @Benchmark
+    public Object selectOneCondition(ModelState state) {
+        return new GetAllInstancesSelect(state.platform, state.session, state.metamodel.getQueriedClass(),
+                state.metamodel.oneConditionQuery()).call().getResult();
+    }
+
+    @Benchmark
+    public Object selectTwoConditionsAnd(ModelState state) {
+        return new GetAllInstancesSelect(state.platform, state.session, state.metamodel.getQueriedClass(),
+                state.metamodel.twoConditionsQuery("and")).call().getResult();
+    }
+
+    @Benchmark
+    public Object selectTwoConditionsOr(ModelState state) {
+        return new GetAllInstancesSelect(state.platform, state.session, state.metamodel.getQueriedClass(),
+                state.metamodel.twoConditionsQuery("or")).call().getResult();
+    }
+}
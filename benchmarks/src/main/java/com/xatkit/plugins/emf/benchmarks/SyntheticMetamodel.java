@@ -0,0 +1,285 @@
+package com.xatkit.plugins.emf.benchmarks;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The metamodels of the synthetic models used by the benchmarks.
+ * <p>
+ * Each metamodel defines how to write a synthetic model of a given size, and the class and attributes queried by
+ * the benchmarks. Generated models are deterministic: two models of the same size are identical.
+ *
+ * @see ModelGenerator
+ */
+public enum SyntheticMetamodel {
+
+    /**
+     * The project management metamodel used in the tests of the platform.
+     * <p>
+     * Generated models contain a single {@code Project} containing {@code Task}s, and a {@code Human} resource for
+     * every {@value #TASKS_PER_RESOURCE} tasks.
+     */
+    PROJECT("Project.ecore", "projectManager", "Task", "description", "days", "task 1") {
+        @Override
+        protected void writeContent(XMLStreamWriter writer, int size, Random random) throws XMLStreamException {
+            writeRootStart(writer, "Project");
+            writer.writeAttribute("name", "Synthetic project");
+            int resourceCount = Math.max(1, (size - 1) / (TASKS_PER_RESOURCE + 1));
+            int taskCount = Math.max(1, size - 1 - resourceCount);
+            for (int i = 0; i < taskCount; i++) {
+                writer.writeEmptyElement("tasks");
+                writer.writeAttribute(XSI_PREFIX, XSI_URI, "type", "projectManager:Task");
+                writer.writeAttribute("id", "t" + i);
+                writer.writeAttribute("description", "task " + i);
+                writer.writeAttribute("days", Integer.toString(random.nextInt(MAX_VALUE)));
+            }
+            for (int i = 0; i < resourceCount; i++) {
+                writer.writeEmptyElement("resources");
+                writer.writeAttribute(XSI_PREFIX, XSI_URI, "type", "projectManager:Human");
+                writer.writeAttribute("name", "name " + i);
+                writer.writeAttribute("surname", "surname " + i);
+            }
+            writer.writeEndElement();
+        }
+    },
+
+    /**
+     * The city traffic metamodel queried by the {@code EMFQueryBot} example.
+     * <p>
+     * Generated models contain a single {@code City} containing {@code District}s, each containing
+     * {@value #STREETS_PER_DISTRICT} {@code Street}s with {@value #INCIDENTS_PER_STREET} {@code Incident}s.
+     */
+    CITY_TRAFFIC("CityTraffic.ecore", "cityTraffic", "Incident", "description", "injuries", "incident 1") {
+        @Override
+        protected void writeContent(XMLStreamWriter writer, int size, Random random) throws XMLStreamException {
+            writeRootStart(writer, "City");
+            writer.writeAttribute("name", "Synthetic city");
+            int districtSize = 1 + STREETS_PER_DISTRICT * (1 + INCIDENTS_PER_STREET);
+            int districtCount = Math.max(1, (size - 1) / districtSize);
+            String[] incidentTypes = {"cityTraffic:Accident", "cityTraffic:Bottleneck", "cityTraffic:RoadWork"};
+            int incidentId = 0;
+            for (int d = 0; d < districtCount; d++) {
+                writer.writeStartElement("districts");
+                writer.writeAttribute("name", "district " + d);
+                for (int s = 0; s < STREETS_PER_DISTRICT; s++) {
+                    writer.writeStartElement("streets");
+                    writer.writeAttribute("name", "street " + d + "." + s);
+                    writer.writeAttribute("hasCyclistPath", Boolean.toString(random.nextBoolean()));
+                    writer.writeAttribute("intensity", Integer.toString(random.nextInt(MAX_VALUE)));
+                    for (int i = 0; i < INCIDENTS_PER_STREET; i++) {
+                        writer.writeEmptyElement("incidents");
+                        writer.writeAttribute(XSI_PREFIX, XSI_URI, "type",
+                                incidentTypes[random.nextInt(incidentTypes.length)]);
+                        writer.writeAttribute("description", "incident " + incidentId++);
+                        writer.writeAttribute("injuries", Integer.toString(random.nextInt(MAX_VALUE)));
+                    }
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+    };
+
+    /**
+     * The number of tasks per resource in the generated project models.
+     */
+    private static final int TASKS_PER_RESOURCE = 9;
+
+    /**
+     * The number of streets per district in the generated city traffic models.
+     */
+    private static final int STREETS_PER_DISTRICT = 10;
+
+    /**
+     * The number of incidents per street in the generated city traffic models.
+     */
+    private static final int INCIDENTS_PER_STREET = 4;
+
+    /**
+     * The upper bound (exclusive) of the generated numerical values.
+     */
+    static final int MAX_VALUE = 100;
+
+    /**
+     * The namespace URI of XMI.
+     */
+    private static final String XMI_URI = "http://www.omg.org/XMI";
+
+    /**
+     * The prefix of the XML Schema instance namespace.
+     */
+    private static final String XSI_PREFIX = "xsi";
+
+    /**
+     * The XML Schema instance namespace URI.
+     */
+    private static final String XSI_URI = "http://www.w3.org/2001/XMLSchema-instance";
+
+    /**
+     * The name of the classpath resource containing the metamodel.
+     */
+    private final String ecoreResource;
+
+    /**
+     * The namespace URI (and prefix) of the metamodel.
+     */
+    private final String nsURI;
+
+    /**
+     * The name of the class queried by the benchmarks.
+     */
+    private final String queriedClass;
+
+    /**
+     * The name of the {@code String} attribute queried by the benchmarks.
+     */
+    private final String stringAttribute;
+
+    /**
+     * The name of the numerical attribute queried by the benchmarks.
+     */
+    private final String numericalAttribute;
+
+    /**
+     * The prefix of the {@link #stringAttribute} values matched by the benchmarks.
+     */
+    private final String stringPrefix;
+
+    /**
+     * Constructs a {@link SyntheticMetamodel} with the provided parameters.
+     *
+     * @param ecoreResource      the name of the classpath resource containing the metamodel
+     * @param nsURI              the namespace URI (and prefix) of the metamodel
+     * @param queriedClass       the name of the class queried by the benchmarks
+     * @param stringAttribute    the name of the {@code String} attribute queried by the benchmarks
+     * @param numericalAttribute the name of the numerical attribute queried by the benchmarks
+     * @param stringPrefix       the prefix of the {@code stringAttribute} values matched by the benchmarks
+     */
+    SyntheticMetamodel(String ecoreResource, String nsURI, String queriedClass, String stringAttribute,
+                       String numericalAttribute, String stringPrefix) {
+        this.ecoreResource = ecoreResource;
+        this.nsURI = nsURI;
+        this.queriedClass = queriedClass;
+        this.stringAttribute = stringAttribute;
+        this.numericalAttribute = numericalAttribute;
+        this.stringPrefix = stringPrefix;
+    }
+
+    /**
+     * Returns the name of the classpath resource containing the metamodel.
+     *
+     * @return the name of the classpath resource containing the metamodel
+     */
+    public String getEcoreResource() {
+        return ecoreResource;
+    }
+
+    /**
+     * Returns the name of the class queried by the benchmarks.
+     *
+     * @return the name of the class queried by the benchmarks
+     */
+    public String getQueriedClass() {
+        return queriedClass;
+    }
+
+    /**
+     * Returns the name of the {@code String} attribute queried by the benchmarks.
+     *
+     * @return the name of the {@code String} attribute queried by the benchmarks
+     */
+    public String getStringAttribute() {
+        return stringAttribute;
+    }
+
+    /**
+     * Returns the name of the numerical attribute queried by the benchmarks.
+     *
+     * @return the name of the numerical attribute queried by the benchmarks
+     */
+    public String getNumericalAttribute() {
+        return numericalAttribute;
+    }
+
+    /**
+     * Returns the prefix of the {@code String} attribute values matched by the benchmarks.
+     *
+     * @return the prefix of the {@code String} attribute values matched by the benchmarks
+     */
+    public String getStringPrefix() {
+        return stringPrefix;
+    }
+
+    /**
+     * Returns a query {@link Map} containing a single numerical condition matching about half of the instances of
+     * the {@link #getQueriedClass() queried class}.
+     *
+     * @return the query {@link Map}
+     */
+    public Map<String, Object> oneConditionQuery() {
+        Map<String, Object> query = new HashMap<>();
+        query.put("condition1", numericalCondition());
+        return query;
+    }
+
+    /**
+     * Returns a query {@link Map} composing a {@code starts with} condition and a numerical condition with the
+     * provided {@code composition}.
+     *
+     * @param composition the composition of the conditions ({@code and} or {@code or})
+     * @return the query {@link Map}
+     */
+    public Map<String, Object> twoConditionsQuery(String composition) {
+        Map<String, Object> stringCondition = new HashMap<>();
+        stringCondition.put("StringAttribute", stringAttribute);
+        stringCondition.put("StringComparator", "starts with");
+        Map<String, Object> query = new HashMap<>();
+        query.put("condition1", stringCondition);
+        query.put("stringValue1", stringPrefix);
+        query.put("condition2", numericalCondition());
+        query.put("conditionComposition", composition);
+        return query;
+    }
+
+    /**
+     * Returns a numerical condition matching about half of the instances of the queried class.
+     *
+     * @return the numerical condition
+     */
+    private Map<String, Object> numericalCondition() {
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("NumericalAttribute", numericalAttribute);
+        condition.put("NumericalComparator", "greater than");
+        condition.put("number", Integer.toString(MAX_VALUE / 2));
+        return condition;
+    }
+
+    /**
+     * Writes the root element of a synthetic model and its namespace declarations.
+     *
+     * @param writer    the {@link XMLStreamWriter} to write the element to
+     * @param className the name of the class of the root element
+     * @throws XMLStreamException if an error occurred when writing the element
+     */
+    protected void writeRootStart(XMLStreamWriter writer, String className) throws XMLStreamException {
+        writer.writeStartElement(nsURI, className, nsURI);
+        writer.writeNamespace("xmi", XMI_URI);
+        writer.writeNamespace(XSI_PREFIX, XSI_URI);
+        writer.writeNamespace(nsURI, nsURI);
+        writer.writeAttribute("xmi", XMI_URI, "version", "2.0");
+    }
+
+    /**
+     * Writes a synthetic model containing approximately {@code size} elements.
+     *
+     * @param writer the {@link XMLStreamWriter} to write the model to
+     * @param size   the approximate number of elements of the model
+     * @param random the {@link Random} used to generate the attribute values
+     * @throws XMLStreamException if an error occurred when writing the model
+     */
+    protected abstract void writeContent(XMLStreamWriter writer, int size, Random random) throws XMLStreamException;
+}
@@ -0,0 +1,150 @@
+package com.xatkit.plugins.emf.benchmarks.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Records the latencies of an action and computes their percentiles.
+ * <p>
+ * Latencies are stored in a growable array and sorted when computing the percentiles. Recorders are not
+ * thread-safe: each session records its latencies in its own recorders, which are merged at the end of the run
+ * (see {@link #merge(LatencyRecorder)}).
+ */
+public class LatencyRecorder {
+
+    /**
+     * The initial capacity of the latency array.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The recorded latencies (in nanoseconds).
+     */
+    private long[] latencies = new long[INITIAL_CAPACITY];
+
+    /**
+     * The number of recorded latencies.
+     */
+    private int count;
+
+    /**
+     * The number of failed executions.
+     */
+    private long errorCount;
+
+    /**
+     * Whether the recorded latencies are sorted.
+     */
+    private boolean sorted = true;
+
+    /**
+     * Records the provided {@code latencyNanos}.
+     *
+     * @param latencyNanos the latency to record (in nanoseconds)
+     */
+    public void record(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        sorted = false;
+    }
+
+    /**
+     * Records a failed execution.
+     */
+    public void recordError() {
+        errorCount++;
+    }
+
+    /**
+     * Adds the latencies and errors of the provided {@code other} recorder to this recorder.
+     *
+     * @param other the {@link LatencyRecorder} to merge
+     */
+    public void merge(LatencyRecorder other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        errorCount += other.errorCount;
+        sorted = false;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of failed executions.
+     *
+     * @return the number of failed executions
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the latency at the provided {@code percentile} using the nearest-rank method.
+     *
+     * @param percentile the percentile to compute, between {@code 0} (exclusive) and {@code 100} (inclusive)
+     * @return the latency at the provided {@code percentile} (in nanoseconds), or {@code 0} if no latency has been
+     * recorded
+     * @throws IllegalArgumentException if the provided {@code percentile} is not in {@code ]0, 100]}
+     */
+    public long getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        sort();
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return latencies[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Returns the highest recorded latency.
+     *
+     * @return the highest recorded latency (in nanoseconds), or {@code 0} if no latency has been recorded
+     */
+    public long getMax() {
+        if (count == 0) {
+            return 0;
+        }
+        sort();
+        return latencies[count - 1];
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return the mean of the recorded latencies (in nanoseconds), or {@code 0} if no latency has been recorded
+     */
+    public double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += latencies[i];
+        }
+        return sum / count;
+    }
+
+    /**
+     * Sorts the recorded latencies if needed.
+     */
+    private void sort() {
+        if (!sorted) {
+            Arrays.sort(latencies, 0, count);
+            sorted = true;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.xatkit.plugins.emf.benchmarks.loadtest;
+
+import com.xatkit.core.XatkitCore;
+import com.xatkit.core.platform.action.RuntimeActionResult;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.benchmarks.ModelGenerator;
+import com.xatkit.plugins.emf.benchmarks.SyntheticMetamodel;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.stubs.StubXatkitCore;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.Configuration;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A load test simulating concurrent {@link XatkitSession}s querying a shared {@link EMFPlatform}.
+ * <p>
+ * Each simulated session loads a synthetic model (see {@link ModelGenerator}) and executes actions picked from a
+ * weighted action mix until the end of the run. The latencies measured after the warmup are reported per action
+ * with the heap high-water marks and the platform metrics, in JSON (see {@link LoadTestReport}).
+ * <p>
+ * The test is configured with {@code key=value} arguments:
+ * <ul>
+ * <li>{@code sessions}: the number of concurrent sessions (default {@value #DEFAULT_SESSIONS})</li>
+ * <li>{@code duration}: the duration of the measurement in seconds (default {@value #DEFAULT_DURATION})</li>
+ * <li>{@code warmup}: the duration of the warmup in seconds (default {@value #DEFAULT_WARMUP})</li>
+ * <li>{@code metamodel}: the {@link SyntheticMetamodel} of the model (default {@code CITY_TRAFFIC})</li>
+ * <li>{@code size}: the approximate number of elements of the model (default {@value #DEFAULT_SIZE})</li>
+ * <li>{@code mix}: the weighted action mix, e.g. {@code GetAllInstances:1,GetAllInstancesSelect:4} (see
+ * {@link SessionAction#getLabel()})</li>
+ * <li>{@code thinkTime}: the pause between two actions of a session in milliseconds (default {@code 0})</li>
+ * <li>{@code output}: the file to write the report to (default: standard output)</li>
+ * </ul>
+ * Arguments starting with {@code xatkit.} are added to the configuration of the {@link EMFPlatform}, allowing to
+ * compare the platform options (e.g. {@code xatkit.emf.index.attributes=Incident.injuries}).
+ */
+public final class LoadTest {
+
+    /**
+     * The default number of concurrent sessions.
+     */
+    static final int DEFAULT_SESSIONS = 8;
+
+    /**
+     * The default duration of the measurement (in seconds).
+     */
+    static final int DEFAULT_DURATION = 30;
+
+    /**
+     * The default duration of the warmup (in seconds).
+     */
+    static final int DEFAULT_WARMUP = 5;
+
+    /**
+     * The default size of the synthetic model.
+     */
+    static final int DEFAULT_SIZE = 100000;
+
+    /**
+     * The default weighted action mix.
+     */
+    private static final String DEFAULT_MIX = "GetAllInstances:1,GetAllInstancesSelect:4,GetAllInstancesSelectAnd:2,"
+            + "GetAllInstancesSelectOr:2,GetAllInstancesPage:2,CountInstancesSelect:1";
+
+    /**
+     * The interval between two samples of the used heap (in milliseconds).
+     */
+    private static final long HEAP_SAMPLING_INTERVAL = 100;
+
+    /**
+     * Disables the default constructor, this class only provides the {@link #main(String[])} method.
+     */
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test with the provided {@code key=value} arguments.
+     *
+     * @param args the arguments of the load test
+     * @throws Exception if an error occurred when running the test or writing the report
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        Configuration platformConfiguration = new BaseConfiguration();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid argument " + arg + ", expected key=value");
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("xatkit.")) {
+                platformConfiguration.addProperty(key, value);
+            } else {
+                options.put(key, value);
+            }
+        }
+        LoadTestReport report = run(options, platformConfiguration);
+        String json = report.toJson();
+        String output = options.get("output");
+        if (nonNull(output)) {
+            Files.write(Paths.get(output), json.getBytes(StandardCharsets.UTF_8));
+        } else {
+            System.out.print(json);
+        }
+    }
+
+    /**
+     * Runs the load test with the provided {@code options}.
+     *
+     * @param options               the options of the test
+     * @param platformConfiguration the additional configuration of the {@link EMFPlatform}
+     * @return the {@link LoadTestReport} of the run
+     * @throws InterruptedException if the current thread is interrupted while waiting for the sessions
+     * @throws ExecutionException   if a session failed
+     */
+    public static LoadTestReport run(Map<String, String> options, Configuration platformConfiguration)
+            throws InterruptedException, ExecutionException {
+        int sessionCount = Integer.parseInt(options.getOrDefault("sessions", Integer.toString(DEFAULT_SESSIONS)));
+        int duration = Integer.parseInt(options.getOrDefault("duration", Integer.toString(DEFAULT_DURATION)));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", Integer.toString(DEFAULT_WARMUP)));
+        int size = Integer.parseInt(options.getOrDefault("size", Integer.toString(DEFAULT_SIZE)));
+        long thinkTime = Long.parseLong(options.getOrDefault("thinkTime", "0"));
+        SyntheticMetamodel metamodel = SyntheticMetamodel.valueOf(options.getOrDefault("metamodel",
+                SyntheticMetamodel.CITY_TRAFFIC.name()));
+        Map<SessionAction, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+
+        String modelPath = ModelGenerator.getModelFile(metamodel, size).getAbsolutePath();
+        platformConfiguration.setProperty(EMFPlatformUtils.METAMODEL_LOCATION_KEY,
+                ModelGenerator.getMetamodelFile(metamodel).getAbsolutePath());
+        XatkitCore xatkitCore = new StubXatkitCore();
+        EMFPlatform platform = new EMFPlatform(xatkitCore, platformConfiguration);
+        ExecutorService sessionExecutor = Executors.newFixedThreadPool(sessionCount);
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    heapPools.add(pool);
+                }
+            }
+            AtomicLong sampledMaxUsedHeap = new AtomicLong();
+            heapSampler.scheduleAtFixedRate(() -> {
+                Runtime runtime = Runtime.getRuntime();
+                sampledMaxUsedHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+            }, 0, HEAP_SAMPLING_INTERVAL, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            long measureStart = start + TimeUnit.SECONDS.toNanos(warmup);
+            long end = measureStart + TimeUnit.SECONDS.toNanos(duration);
+            List<Future<Map<SessionAction, LatencyRecorder>>> sessions = new ArrayList<>();
+            for (int i = 0; i < sessionCount; i++) {
+                SessionRunner runner = new SessionRunner(platform, new XatkitSession("load-test-" + i), metamodel,
+                        modelPath, mix, thinkTime, new Random(i), measureStart, end);
+                sessions.add(sessionExecutor.submit(runner::run));
+            }
+            Map<SessionAction, LatencyRecorder> latencies = new EnumMap<>(SessionAction.class);
+            for (Future<Map<SessionAction, LatencyRecorder>> session : sessions) {
+                session.get().forEach((action, recorder) -> latencies.computeIfAbsent(action,
+                        a -> new LatencyRecorder()).merge(recorder));
+            }
+            long measuredNanos = Math.max(0, System.nanoTime() - measureStart);
+
+            Map<String, Long> heap = new LinkedHashMap<>();
+            long peakUsedHeap = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                peakUsedHeap += pool.getPeakUsage().getUsed();
+            }
+            heap.put("peakUsedBytes", peakUsedHeap);
+            heap.put("sampledMaxUsedBytes", sampledMaxUsedHeap.get());
+            heap.put("maxBytes", Runtime.getRuntime().maxMemory());
+
+            Map<String, Object> configuration = new LinkedHashMap<>();
+            configuration.put("sessions", sessionCount);
+            configuration.put("durationSeconds", duration);
+            configuration.put("warmupSeconds", warmup);
+            configuration.put("metamodel", metamodel.name());
+            configuration.put("size", size);
+            configuration.put("thinkTimeMillis", thinkTime);
+            Map<String, Object> mixReport = new LinkedHashMap<>();
+            mix.forEach((action, weight) -> mixReport.put(action.getLabel(), weight));
+            configuration.put("mix", mixReport);
+            Map<String, Object> platformReport = new LinkedHashMap<>();
+            platformConfiguration.getKeys().forEachRemaining(key -> platformReport.put(key,
+                    platformConfiguration.getString(key)));
+            configuration.put("platform", platformReport);
+            configuration.put("javaVersion", System.getProperty("java.version"));
+            configuration.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+            return new LoadTestReport(configuration, latencies, measuredNanos, heap,
+                    platform.getMetrics().getSamples());
+        } finally {
+            heapSampler.shutdownNow();
+            sessionExecutor.shutdownNow();
+            platform.shutdown();
+            xatkitCore.shutdown();
+        }
+    }
+
+    /**
+     * Parses the provided weighted action {@code mix}.
+     *
+     * @param mix the action mix to parse, e.g. {@code GetAllInstances:1,GetAllInstancesSelect:4}
+     * @return the weight of each action of the mix
+     * @throws IllegalArgumentException if the provided {@code mix} is not valid
+     */
+    static Map<SessionAction, Integer> parseMix(String mix) {
+        Map<SessionAction, Integer> weights = new EnumMap<>(SessionAction.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid weight for the action " + parts[0]);
+            }
+            weights.put(SessionAction.fromLabel(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The action mix " + mix + " does not contain any action");
+        }
+        return weights;
+    }
+
+    /**
+     * Executes the actions of a simulated session.
+     */
+    private static final class SessionRunner {
+
+        /**
+         * The {@link EMFPlatform} executing the actions.
+         */
+        private final EMFPlatform platform;
+
+        /**
+         * The {@link XatkitSession} of the simulated user.
+         */
+        private final XatkitSession session;
+
+        /**
+         * The {@link SyntheticMetamodel} of the queried model.
+         */
+        private final SyntheticMetamodel metamodel;
+
+        /**
+         * The path of the queried model.
+         */
+        private final String modelPath;
+
+        /**
+         * The actions of the mix, repeated according to their weight.
+         */
+        private final SessionAction[] weightedActions;
+
+        /**
+         * The pause between two actions (in milliseconds).
+         */
+        private final long thinkTime;
+
+        /**
+         * The {@link Random} used to pick the actions.
+         */
+        private final Random random;
+
+        /**
+         * The time (in nanoseconds) after which the latencies are recorded.
+         */
+        private final long measureStart;
+
+        /**
+         * The time (in nanoseconds) at which the session stops.
+         */
+        private final long end;
+
+        /**
+         * The latencies of the actions executed after {@code measureStart}.
+         */
+        private final Map<SessionAction, LatencyRecorder> latencies = new EnumMap<>(SessionAction.class);
+
+        /**
+         * Constructs a {@link SessionRunner} with the provided parameters.
+         *
+         * @param platform     the {@link EMFPlatform} executing the actions
+         * @param session      the {@link XatkitSession} of the simulated user
+         * @param metamodel    the {@link SyntheticMetamodel} of the queried model
+         * @param modelPath    the path of the queried model
+         * @param mix          the weight of each action of the mix
+         * @param thinkTime    the pause between two actions (in milliseconds)
+         * @param random       the {@link Random} used to pick the actions
+         * @param measureStart the time (in nanoseconds) after which the latencies are recorded
+         * @param end          the time (in nanoseconds) at which the session stops
+         */
+        private SessionRunner(EMFPlatform platform, XatkitSession session, SyntheticMetamodel metamodel,
+                              String modelPath, Map<SessionAction, Integer> mix, long thinkTime, Random random,
+                              long measureStart, long end) {
+            this.platform = platform;
+            this.session = session;
+            this.metamodel = metamodel;
+            this.modelPath = modelPath;
+            this.weightedActions = mix.entrySet().stream()
+                    .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                    .toArray(SessionAction[]::new);
+            this.thinkTime = thinkTime;
+            this.random = random;
+            this.measureStart = measureStart;
+            this.end = end;
+        }
+
+        /**
+         * Loads the model in the session and executes random actions of the mix until the end of the run.
+         *
+         * @return the latencies of the actions executed after the warmup
+         * @throws InterruptedException if the session is interrupted during its think time
+         */
+        private Map<SessionAction, LatencyRecorder> run() throws InterruptedException {
+            execute(SessionAction.LOAD_MODEL);
+            while (System.nanoTime() < end) {
+                execute(weightedActions[random.nextInt(weightedActions.length)]);
+                if (thinkTime > 0) {
+                    Thread.sleep(thinkTime);
+                }
+            }
+            return latencies;
+        }
+
+        /**
+         * Executes the provided {@code action} and records its latency if the warmup is over.
+         *
+         * @param action the {@link SessionAction} to execute
+         */
+        private void execute(SessionAction action) {
+            long start = System.nanoTime();
+            RuntimeActionResult result = action.create(platform, session, metamodel, modelPath).call();
+            long latency = System.nanoTime() - start;
+            if (start >= measureStart) {
+                LatencyRecorder recorder = latencies.computeIfAbsent(action, a -> new LatencyRecorder());
+                if (result.isError()) {
+                    recorder.recordError();
+                } else {
+                    recorder.record(latency);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.xatkit.plugins.emf.benchmarks.loadtest;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The results of a {@link LoadTest} run.
+ * <p>
+ * The report contains the configuration of the run, the throughput and latency percentiles of each action, the
+ * heap high-water marks, and the metrics of the platform at the end of the run. It is serialized in JSON (see
+ * {@link #toJson()}) to be compared with the reports of other builds.
+ */
+public class LoadTestReport {
+
+    /**
+     * The configuration of the run.
+     */
+    private final Map<String, Object> configuration;
+
+    /**
+     * The latencies of each action, measured after the warmup.
+     */
+    private final Map<SessionAction, LatencyRecorder> latencies;
+
+    /**
+     * The duration of the measurement (in nanoseconds).
+     */
+    private final long measuredNanos;
+
+    /**
+     * The heap high-water marks (in bytes).
+     */
+    private final Map<String, Long> heap;
+
+    /**
+     * The metrics of the platform at the end of the run.
+     */
+    private final Map<String, Number> platformMetrics;
+
+    /**
+     * Constructs a {@link LoadTestReport} with the provided parameters.
+     *
+     * @param configuration   the configuration of the run
+     * @param latencies       the latencies of each action, measured after the warmup
+     * @param measuredNanos   the duration of the measurement (in nanoseconds)
+     * @param heap            the heap high-water marks (in bytes)
+     * @param platformMetrics the metrics of the platform at the end of the run
+     */
+    public LoadTestReport(Map<String, Object> configuration, Map<SessionAction, LatencyRecorder> latencies,
+                          long measuredNanos, Map<String, Long> heap, Map<String, Number> platformMetrics) {
+        this.configuration = configuration;
+        this.latencies = latencies;
+        this.measuredNanos = measuredNanos;
+        this.heap = heap;
+        this.platformMetrics = platformMetrics;
+    }
+
+    /**
+     * Returns the number of actions executed per second during the measurement.
+     *
+     * @return the number of actions executed per second
+     */
+    public double getThroughput() {
+        long count = 0;
+        for (LatencyRecorder recorder : latencies.values()) {
+            count += recorder.getCount();
+        }
+        return throughput(count);
+    }
+
+    /**
+     * Returns the JSON representation of the report.
+     *
+     * @return the JSON representation of the report
+     */
+    public String toJson() {
+        Map<String, Object> actions = new LinkedHashMap<>();
+        latencies.forEach((action, recorder) -> {
+            Map<String, Object> actionReport = new LinkedHashMap<>();
+            actionReport.put("count", recorder.getCount());
+            actionReport.put("errors", recorder.getErrorCount());
+            actionReport.put("throughput", throughput(recorder.getCount()));
+            actionReport.put("meanMillis", recorder.getMean() / TimeUnit.MILLISECONDS.toNanos(1));
+            actionReport.put("p50Millis", toMillis(recorder.getPercentile(50)));
+            actionReport.put("p95Millis", toMillis(recorder.getPercentile(95)));
+            actionReport.put("p99Millis", toMillis(recorder.getPercentile(99)));
+            actionReport.put("maxMillis", toMillis(recorder.getMax()));
+            actions.put(action.getLabel(), actionReport);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("configuration", configuration);
+        report.put("measuredSeconds", measuredNanos / 1e9);
+        report.put("throughput", getThroughput());
+        report.put("actions", actions);
+        report.put("heap", heap);
+        report.put("platformMetrics", platformMetrics);
+        StringBuilder sb = new StringBuilder();
+        writeValue(sb, report, "");
+        return sb.append('\n').toString();
+    }
+
+    /**
+     * Returns the number of operations per second for the provided {@code count}.
+     *
+     * @param count the number of operations
+     * @return the number of operations per second
+     */
+    private double throughput(long count) {
+        return measuredNanos == 0 ? 0 : count / (measuredNanos / 1e9);
+    }
+
+    /**
+     * Converts the provided {@code nanos} to milliseconds.
+     *
+     * @param nanos the duration to convert (in nanoseconds)
+     * @return the duration in milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Writes the JSON representation of the provided {@code value}.
+     *
+     * @param sb     the {@link StringBuilder} to write to
+     * @param value  the value to write ({@link Map}, {@link Number}, {@link Boolean}, or {@link String})
+     * @param indent the indentation of the value
+     */
+    private static void writeValue(StringBuilder sb, Object value, String indent) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map.isEmpty()) {
+                sb.append("{}");
+                return;
+            }
+            String childIndent = indent + "  ";
+            sb.append("{\n");
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<?, ?> entry = it.next();
+                sb.append(childIndent);
+                writeString(sb, String.valueOf(entry.getKey()));
+                sb.append(": ");
+                writeValue(sb, entry.getValue(), childIndent);
+                if (it.hasNext()) {
+                    sb.append(',');
+                }
+                sb.append('\n');
+            }
+            sb.append(indent).append('}');
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            sb.append(Double.isFinite(d) ? String.format(Locale.ROOT, "%.3f", d) : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            writeString(sb, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Writes the provided {@code value} as a JSON string.
+     *
+     * @param sb    the {@link StringBuilder} to write to
+     * @param value the {@link String} to write
+     */
+    private static void writeString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
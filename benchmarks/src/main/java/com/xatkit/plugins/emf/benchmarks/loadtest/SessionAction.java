@@ -0,0 +1,137 @@
+package com.xatkit.plugins.emf.benchmarks.loadtest;
+
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.benchmarks.SyntheticMetamodel;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.platform.action.CountInstancesSelect;
+import com.xatkit.plugins.emf.platform.action.GetAllInstances;
+import com.xatkit.plugins.emf.platform.action.GetAllInstancesPage;
+import com.xatkit.plugins.emf.platform.action.GetAllInstancesSelect;
+import com.xatkit.plugins.emf.platform.action.LoadModel;
+
+/**
+ * The actions executed by the simulated sessions of a {@link LoadTest}.
+ * <p>
+ * Each action creates the {@link RuntimeAction} corresponding to an intent of the {@code EMFQueryBot} example, and
+ * is identified in the action mix and in the report by its {@link #getLabel() label}.
+ */
+public enum SessionAction {
+
+    LOAD_MODEL("LoadModel") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new LoadModel(platform, session, modelPath);
+        }
+    },
+
+    GET_ALL_INSTANCES("GetAllInstances") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new GetAllInstances(platform, session, metamodel.getQueriedClass());
+        }
+    },
+
+    SELECT_ONE_CONDITION("GetAllInstancesSelect") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new GetAllInstancesSelect(platform, session, metamodel.getQueriedClass(),
+                    metamodel.oneConditionQuery());
+        }
+    },
+
+    SELECT_TWO_CONDITIONS_AND("GetAllInstancesSelectAnd") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new GetAllInstancesSelect(platform, session, metamodel.getQueriedClass(),
+                    metamodel.twoConditionsQuery("and"));
+        }
+    },
+
+    SELECT_TWO_CONDITIONS_OR("GetAllInstancesSelectOr") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new GetAllInstancesSelect(platform, session, metamodel.getQueriedClass(),
+                    metamodel.twoConditionsQuery("or"));
+        }
+    },
+
+    SELECT_PAGE("GetAllInstancesPage") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new GetAllInstancesPage(platform, session, metamodel.getQueriedClass(),
+                    metamodel.oneConditionQuery(), PAGE_SIZE);
+        }
+    },
+
+    COUNT_SELECT("CountInstancesSelect") {
+        @Override
+        public RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                 SyntheticMetamodel metamodel, String modelPath) {
+            return new CountInstancesSelect(platform, session, metamodel.getQueriedClass(),
+                    metamodel.twoConditionsQuery("and"));
+        }
+    };
+
+    /**
+     * The page size used by the {@link #SELECT_PAGE} action.
+     */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * The label of the action.
+     */
+    private final String label;
+
+    /**
+     * Constructs a {@link SessionAction} with the provided {@code label}.
+     *
+     * @param label the label of the action
+     */
+    SessionAction(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Returns the label of the action.
+     *
+     * @return the label of the action
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the {@link SessionAction} with the provided {@code label}.
+     *
+     * @param label the label of the action to retrieve
+     * @return the {@link SessionAction} with the provided {@code label}
+     * @throws IllegalArgumentException if there is no action with the provided {@code label}
+     */
+    public static SessionAction fromLabel(String label) {
+        for (SessionAction action : values()) {
+            if (action.label.equals(label)) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown action " + label);
+    }
+
+    /**
+     * Creates the {@link RuntimeAction} to execute in the provided {@code session}.
+     *
+     * @param platform  the {@link EMFPlatform} executing the action
+     * @param session   the {@link XatkitSession} of the simulated user
+     * @param metamodel the {@link SyntheticMetamodel} of the queried model
+     * @param modelPath the path of the queried model
+     * @return the created {@link RuntimeAction}
+     */
+    public abstract RuntimeAction<EMFPlatform> create(EMFPlatform platform, XatkitSession session,
+                                                      SyntheticMetamodel metamodel, String modelPath);
+}
@@ -12,10 +12,337 @@ public interface EMFPlatformUtils {
     String METAMODEL_LOCATION_KEY = "xatkit.emf.metamodel.location";
 
     /**
-     * The {@link com.xatkit.core.session.XatkitSession} key used to store the loaded model.
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the namespace URI of an
+     * {@link org.eclipse.emf.ecore.EPackage} registered in the global
+     * {@link org.eclipse.emf.ecore.EPackage.Registry} to use as the metamodel of the platform.
+     * <p>
+     * This key takes precedence over {@link #METAMODEL_LOCATION_KEY}, and allows to start the platform without
+     * parsing an {@code .ecore} file.
+     *
+     * @see #METAMODEL_PACKAGE_CLASS_KEY
+     */
+    String METAMODEL_NSURI_KEY = "xatkit.emf.metamodel.nsuri";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the fully qualified name of
+     * a generated {@link org.eclipse.emf.ecore.EPackage} class to use as the metamodel of the platform.
+     * <p>
+     * The platform retrieves the package from the {@code eINSTANCE} field of the class. This key takes precedence
+     * over {@link #METAMODEL_NSURI_KEY} and {@link #METAMODEL_LOCATION_KEY}.
+     */
+    String METAMODEL_PACKAGE_CLASS_KEY = "xatkit.emf.metamodel.package_class";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the binary snapshot of
+     * the metamodel.
+     * <p>
+     * If this key is set to {@code true} the platform writes a binary snapshot of the metamodel loaded from
+     * {@link #METAMODEL_LOCATION_KEY} in the {@link #BINARY_CACHE_DIRECTORY_KEY} directory, and loads this snapshot
+     * instead of parsing the {@code .ecore} file in the next starts. The snapshot is invalidated when the content of
+     * the {@code .ecore} file changes.
+     */
+    String METAMODEL_SNAPSHOT_ENABLED_KEY = "xatkit.emf.metamodel.snapshot.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the maximum number of
+     * models kept in memory by the platform.
+     *
+     * @see com.xatkit.plugins.emf.cache.ModelCache
+     */
+    String CACHE_MAX_ENTRIES_KEY = "xatkit.emf.cache.max_entries";
+
+    /**
+     * The default maximum number of models kept in memory by the platform.
+     *
+     * @see #CACHE_MAX_ENTRIES_KEY
+     */
+    int DEFAULT_CACHE_MAX_ENTRIES = 16;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the maximum estimated heap
+     * weight (in bytes) of the models kept in memory by the platform.
+     * <p>
+     * The platform uses half of the maximum heap size if this key is not set.
+     *
+     * @see com.xatkit.plugins.emf.cache.ModelCache
+     */
+    String CACHE_MAX_WEIGHT_KEY = "xatkit.emf.cache.max_weight";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the duration (in
+     * milliseconds) after which the model of an inactive session is released.
+     * <p>
+     * The models loaded by the sessions are pinned in the model cache until they are released. A session that does
+     * not use its model for longer than this timeout releases it, and reloads it transparently when it queries it
+     * again (the cursor of its last paged query is discarded). Setting this key to {@code 0} keeps the models of the
+     * sessions pinned until they are explicitly released.
+     *
+     * @see com.xatkit.plugins.emf.cache.ModelCache#releaseIdleHandles()
+     */
+    String CACHE_HANDLE_IDLE_TIMEOUT_KEY = "xatkit.emf.cache.handle_idle_timeout";
+
+    /**
+     * The default duration (in milliseconds) after which the model of an inactive session is released (30 minutes).
+     *
+     * @see #CACHE_HANDLE_IDLE_TIMEOUT_KEY
+     */
+    long DEFAULT_CACHE_HANDLE_IDLE_TIMEOUT = 30 * 60 * 1000;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the hot reload of the
+     * loaded model files.
+     * <p>
+     * If this key is set to {@code true} the platform watches the loaded model files, and reloads them in the
+     * background when they are modified. The new version of a model replaces the previous one in the model cache once
+     * it is loaded and indexed, and queries in progress on the previous version complete on this version.
+     *
+     * @see com.xatkit.plugins.emf.cache.ModelFileWatcher
+     */
+    String WATCH_ENABLED_KEY = "xatkit.emf.watch.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the delay (in milliseconds)
+     * a modified model file must be stable for before being reloaded.
+     *
+     * @see #WATCH_ENABLED_KEY
+     */
+    String WATCH_DEBOUNCE_KEY = "xatkit.emf.watch.debounce";
+
+    /**
+     * The default delay (in milliseconds) a modified model file must be stable for before being reloaded.
+     *
+     * @see #WATCH_DEBOUNCE_KEY
+     */
+    long DEFAULT_WATCH_DEBOUNCE = 500;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the binary cache of XMI
+     * models.
+     * <p>
+     * When enabled, the first load of an XMI model writes a binary copy of the model in the
+     * {@link #BINARY_CACHE_DIRECTORY_KEY} directory, and subsequent loads read this copy instead of parsing the XMI
+     * file.
+     *
+     * @see com.xatkit.plugins.emf.cache.BinaryModelCache
+     */
+    String BINARY_CACHE_ENABLED_KEY = "xatkit.emf.binary_cache.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the directory containing
+     * the binary copies of the XMI models.
+     * <p>
+     * The platform uses the {@code xatkit-emf-cache} folder of the system's temporary directory if this key is not
+     * set.
+     *
+     * @see #BINARY_CACHE_ENABLED_KEY
+     */
+    String BINARY_CACHE_DIRECTORY_KEY = "xatkit.emf.binary_cache.directory";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the maximum number of
+     * compiled query plans cached by the platform.
+     *
+     * @see com.xatkit.plugins.emf.query.QueryCompiler
+     */
+    String QUERY_PLAN_CACHE_SIZE_KEY = "xatkit.emf.query.plan_cache_size";
+
+    /**
+     * The default maximum number of compiled query plans cached by the platform.
+     *
+     * @see #QUERY_PLAN_CACHE_SIZE_KEY
+     */
+    int DEFAULT_QUERY_PLAN_CACHE_SIZE = 256;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the query result cache.
+     * <p>
+     * The result cache stores the results of the queries executed with {@code GetAllInstancesSelect}, and serves
+     * repeated queries on the same version of a model without recomputing them.
+     *
+     * @see com.xatkit.plugins.emf.query.QueryResultCache
+     * @see #RESULT_CACHE_MAX_SIZE_KEY
+     */
+    String RESULT_CACHE_ENABLED_KEY = "xatkit.emf.result_cache.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the maximum number of
+     * elements in the results cached by the query result cache.
+     *
+     * @see #RESULT_CACHE_ENABLED_KEY
+     */
+    String RESULT_CACHE_MAX_SIZE_KEY = "xatkit.emf.result_cache.max_size";
+
+    /**
+     * The default maximum number of elements in the results cached by the query result cache.
+     *
+     * @see #RESULT_CACHE_MAX_SIZE_KEY
+     */
+    long DEFAULT_RESULT_CACHE_MAX_SIZE = 100_000;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable parallel model scans.
+     * <p>
+     * When enabled, model traversals and filters larger than {@link #PARALLEL_THRESHOLD_KEY} elements are split into
+     * fork/join tasks.
+     *
+     * @see com.xatkit.plugins.emf.util.ModelScanner
+     */
+    String PARALLEL_ENABLED_KEY = "xatkit.emf.parallel.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the minimum number of
+     * elements to process before splitting a scan into parallel tasks.
+     *
+     * @see #PARALLEL_ENABLED_KEY
+     */
+    String PARALLEL_THRESHOLD_KEY = "xatkit.emf.parallel.threshold";
+
+    /**
+     * The default minimum number of elements to process before splitting a scan into parallel tasks.
+     *
+     * @see #PARALLEL_THRESHOLD_KEY
+     */
+    int DEFAULT_PARALLEL_THRESHOLD = 10000;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the number of threads used
+     * to execute parallel scans.
+     * <p>
+     * The platform uses the number of available processors if this key is not set.
+     *
+     * @see #PARALLEL_ENABLED_KEY
+     */
+    String PARALLEL_PARALLELISM_KEY = "xatkit.emf.parallel.parallelism";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to declare the attributes to index.
+     * <p>
+     * This key accepts a comma-separated list of {@code ClassName.attributeName} entries (e.g.
+     * {@code Incident.intensity, Street.name}). The declared attributes are indexed when a model is loaded, and the
+     * {@link com.xatkit.plugins.emf.platform.action.GetAllInstancesSelect} action uses these indexes to answer
+     * {@code equals}, {@code greater than}, {@code lower than}, and {@code starts with} conditions.
+     *
+     * @see com.xatkit.plugins.emf.index.AttributeIndexManager
+     */
+    String INDEX_ATTRIBUTES_KEY = "xatkit.emf.index.attributes";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to set the number of queries after
+     * which a non-declared attribute is indexed.
+     * <p>
+     * Attributes are only indexed on demand if this key is set to a strictly positive value.
+     *
+     * @see #INDEX_ATTRIBUTES_KEY
+     */
+    String INDEX_AUTO_THRESHOLD_KEY = "xatkit.emf.index.auto_threshold";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to declare the {@link String}
+     * attributes to index with a trigram index.
+     * <p>
+     * This key accepts a comma-separated list of {@code ClassName.attributeName} entries (e.g.
+     * {@code Street.name, Incident.description}). The declared attributes are indexed when a model is loaded, and
+     * the {@link com.xatkit.plugins.emf.platform.action.GetAllInstancesSelect} action uses these indexes to narrow
+     * the candidates of {@code contains} conditions to the instances containing all the trigrams of the searched
+     * value. Values shorter than 3 characters cannot be searched in the index.
+     *
+     * @see com.xatkit.plugins.emf.index.TrigramIndex
+     */
+    String INDEX_TRIGRAM_ATTRIBUTES_KEY = "xatkit.emf.index.trigram_attributes";
+
+    /**
+     * The default number of queries after which a non-declared attribute is indexed ({@code 0} disables on-demand
+     * indexes).
+     *
+     * @see #INDEX_AUTO_THRESHOLD_KEY
+     */
+    int DEFAULT_INDEX_AUTO_THRESHOLD = 0;
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to declare the classes to load
+     * from the XMI models.
+     * <p>
+     * This key accepts a comma-separated list of class names (e.g. {@code Incident, Street}). If it is set the
+     * platform stream-parses the XMI models and only loads the instances of the declared classes (and of their
+     * subtypes), the elements on their containment path, and the attributes declared with the
+     * {@link #PROJECTION_ATTRIBUTES_KEY} key. Other elements and non-containment references are not loaded.
+     *
+     * @see com.xatkit.plugins.emf.util.ProjectingXMILoader
+     */
+    String PROJECTION_CLASSES_KEY = "xatkit.emf.projection.classes";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to declare the attributes to load
+     * from the XMI models when a projection is declared.
+     * <p>
+     * This key accepts a comma-separated list of {@code ClassName.attributeName} entries (e.g.
+     * {@code Incident.intensity, Street.name}). All the attributes of the projected classes are loaded if this key
+     * is not set.
+     *
+     * @see #PROJECTION_CLASSES_KEY
+     */
+    String PROJECTION_ATTRIBUTES_KEY = "xatkit.emf.projection.attributes";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the columnar query store.
+     * <p>
+     * If this key is set to {@code true} the platform builds a {@link com.xatkit.plugins.emf.store.QueryStore} for
+     * each loaded model, and evaluates the queries on its columns instead of accessing the attributes of each
+     * instance. The store is disabled by default, and increases the memory footprint of the loaded models.
+     */
+    String QUERY_STORE_ENABLED_KEY = "xatkit.emf.query_store.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to enable the memory-mapped
+     * snapshots of the query store.
+     * <p>
+     * If this key is set to {@code true} (and the query store is enabled) the columns of the query store of each
+     * loaded model are written to a snapshot file in the directory set with {@link #BINARY_CACHE_DIRECTORY_KEY}.
+     * Subsequent loads of the same model, including from other bot processes sharing this directory, map the
+     * snapshot file instead of building the columns. Snapshots are not used for projected models (see
+     * {@link #PROJECTION_CLASSES_KEY}).
+     *
+     * @see #QUERY_STORE_ENABLED_KEY
+     * @see com.xatkit.plugins.emf.store.StoreSnapshotCache
+     */
+    String QUERY_STORE_SNAPSHOT_ENABLED_KEY = "xatkit.emf.query_store.snapshot.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to collect the statistics of the
+     * models when they are loaded.
+     * <p>
+     * If this key is set to {@code true} the platform builds a {@link com.xatkit.plugins.emf.stats.ModelStatistics}
+     * catalog for each loaded model, containing the cardinality of its classes and the distribution of their
+     * attribute values. Statistics are disabled by default: they are otherwise built the first time they are
+     * requested (see {@link com.xatkit.plugins.emf.platform.action.GetModelStatistics}).
+     */
+    String STATISTICS_ENABLED_KEY = "xatkit.emf.statistics.enabled";
+
+    /**
+     * The Xatkit {@link org.apache.commons.configuration2.Configuration} key used to build the reverse-reference
+     * indexes of the models when they are loaded.
+     * <p>
+     * If this key is set to {@code true} the platform builds a
+     * {@link com.xatkit.plugins.emf.index.ReverseReferenceIndex} for each loaded model, which allows to answer the
+     * reference conditions of the queries (e.g. {@code streets of district X}) without navigating the references of
+     * each instance. Reverse-reference indexes are disabled by default.
+     */
+    String REVERSE_INDEX_ENABLED_KEY = "xatkit.emf.reverse_index.enabled";
+
+    /**
+     * The {@link com.xatkit.core.session.XatkitSession} key used to store the
+     * {@link com.xatkit.plugins.emf.cache.ModelHandle} of the loaded model.
      *
      * @see com.xatkit.plugins.emf.platform.action.LoadModel
      */
     String MODEL_SESSION_KEY = "com.xatkit.emf.runtime.model";
 
+    /**
+     * The {@link com.xatkit.core.session.XatkitSession} key used to store the cursor of the last paged query.
+     *
+     * @see com.xatkit.plugins.emf.platform.action.GetAllInstancesPage
+     * @see com.xatkit.plugins.emf.platform.action.NextPage
+     */
+    String CURSOR_SESSION_KEY = "com.xatkit.emf.runtime.cursor";
+
 }
\ No newline at end of file
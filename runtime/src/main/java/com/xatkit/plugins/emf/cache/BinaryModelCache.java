@@ -0,0 +1,207 @@
+package com.xatkit.plugins.emf.cache;
+
+import com.xatkit.plugins.emf.util.BinaryResourceFactoryImpl;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A disk cache storing binary copies of XMI models.
+ * <p>
+ * The first time an XMI model is loaded through this cache its content is written in the EMF binary format to a
+ * sidecar file in the cache directory. Subsequent loads of the same model (including after a restart) read the
+ * sidecar file instead of parsing the XMI file, which is significantly faster for large models.
+ * <p>
+ * Sidecar files are identified by a hash of the content of the model file and of the cache namespace (typically
+ * derived from the metamodel), meaning that modified models are re-parsed and cached again.
+ * <p>
+ * <b>Note</b>: models loaded from a sidecar file are {@link BinaryResourceImpl}s with the {@link URI} of the original
+ * XMI file. XMI-specific information such as {@code xmi:id}s is not preserved.
+ */
+public class BinaryModelCache {
+
+    /**
+     * The hash algorithm used to identify sidecar files.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * The size of the buffer used to read model files.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The directory containing the sidecar files.
+     */
+    private final File cacheDirectory;
+
+    /**
+     * The namespace of the cache, included in the hash of the sidecar files.
+     * <p>
+     * The namespace allows to invalidate the sidecar files when the metamodel changes.
+     */
+    private final String namespace;
+
+    /**
+     * Constructs a {@link BinaryModelCache} storing its sidecar files in the provided {@code cacheDirectory}.
+     * <p>
+     * The provided {@code cacheDirectory} is created if it does not exist.
+     *
+     * @param cacheDirectory the directory containing the sidecar files
+     * @param namespace      the namespace of the cache
+     * @throws NullPointerException if the provided {@code cacheDirectory} or {@code namespace} is {@code null}
+     * @throws UncheckedIOException if an error occurred when creating the cache directory
+     */
+    public BinaryModelCache(File cacheDirectory, String namespace) {
+        checkNotNull(cacheDirectory, "Cannot create the %s: the provided cache directory is %s",
+                this.getClass().getSimpleName(), cacheDirectory);
+        checkNotNull(namespace, "Cannot create the %s: the provided namespace is %s",
+                this.getClass().getSimpleName(), namespace);
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.namespace = namespace;
+    }
+
+    /**
+     * Returns the directory containing the sidecar files.
+     *
+     * @return the directory containing the sidecar files
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Loads the provided {@code modelFile} in the given {@code resourceSet}.
+     * <p>
+     * This method loads the sidecar file of the provided {@code modelFile} if it exists. Otherwise the model is
+     * loaded with the {@link ResourceSet}'s {@link Resource} factories, and its binary copy is written to the cache
+     * directory. Errors related to the sidecar files are logged and do not prevent the model from being loaded.
+     *
+     * @param modelFile   the model {@link File} to load
+     * @param resourceSet the {@link ResourceSet} used to load the model
+     * @return the loaded {@link Resource}
+     * @throws NullPointerException if the provided {@code modelFile} or {@code resourceSet} is {@code null}
+     * @throws UncheckedIOException if an error occurred when reading the provided {@code modelFile}
+     */
+    public Resource load(File modelFile, ResourceSet resourceSet) {
+        checkNotNull(modelFile, "Cannot load the provided model file %s", modelFile);
+        checkNotNull(resourceSet, "Cannot load the model %s in the provided resource set %s", modelFile, resourceSet);
+        URI modelURI = URI.createFileURI(modelFile.getAbsolutePath());
+        File sidecarFile = getSidecarFile(modelFile);
+        if (sidecarFile.exists()) {
+            Resource binaryResource = new BinaryResourceImpl(modelURI);
+            resourceSet.getResources().add(binaryResource);
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(sidecarFile.toPath()),
+                    BUFFER_SIZE)) {
+                binaryResource.load(is, Collections.emptyMap());
+                return binaryResource;
+            } catch (IOException | RuntimeException e) {
+                Log.warn("Cannot load the binary cache of the model {0} ({1}), loading the original file",
+                        modelFile.getAbsolutePath(), e.getMessage());
+                binaryResource.unload();
+                resourceSet.getResources().remove(binaryResource);
+                sidecarFile.delete();
+            }
+        }
+        Resource resource = resourceSet.getResource(modelURI, true);
+        writeSidecarFile(resource, sidecarFile);
+        return resource;
+    }
+
+    /**
+     * Writes the binary copy of the provided {@code resource} to the given {@code sidecarFile}.
+     * <p>
+     * The content is first written to a temporary file which is then atomically moved to the {@code sidecarFile}
+     * location, ensuring that concurrent readers never see a partially written sidecar file.
+     *
+     * @param resource    the {@link Resource} to write
+     * @param sidecarFile the {@link File} to write the binary copy to
+     */
+    private void writeSidecarFile(Resource resource, File sidecarFile) {
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(cacheDirectory.toPath(), sidecarFile.getName(), ".tmp");
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE)) {
+                BinaryResourceImpl.EObjectOutputStream eObjectOutputStream =
+                        new BinaryResourceImpl.EObjectOutputStream(os, Collections.emptyMap());
+                eObjectOutputStream.saveResource(resource);
+                eObjectOutputStream.flush();
+            }
+            Files.move(temporaryFile, sidecarFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Log.info("Binary cache of the model {0} written to {1}", resource.getURI(), sidecarFile.getAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Cannot write the binary cache of the model {0} ({1})", resource.getURI(), e.getMessage());
+            if (nonNull(temporaryFile)) {
+                temporaryFile.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the sidecar {@link File} associated to the provided {@code modelFile}.
+     *
+     * @param modelFile the model {@link File} to retrieve the sidecar file of
+     * @return the sidecar {@link File}
+     * @throws UncheckedIOException if an error occurred when reading the provided {@code modelFile}
+     */
+    public File getSidecarFile(File modelFile) {
+        return new File(cacheDirectory, computeHash(modelFile) + "." + BinaryResourceFactoryImpl.BINARY_EXTENSION);
+    }
+
+    /**
+     * Computes the hash of the content of the provided {@code modelFile} in the cache namespace.
+     *
+     * @param modelFile the model {@link File} to compute the hash of
+     * @return the hexadecimal representation of the computed hash
+     * @throws UncheckedIOException if an error occurred when reading the provided {@code modelFile}
+     */
+    private String computeHash(File modelFile) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(modelFile.toPath())) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,989 @@
+package com.xatkit.plugins.emf.cache;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.util.EMFResourceUtils;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded cache of loaded model {@link Resource}s.
+ * <p>
+ * Cached {@link Resource}s are identified by {@link ModelKey}s, meaning that a new version of a model file is loaded
+ * when the file is modified on disk. The cache is bounded by a maximum number of entries and a maximum estimated
+ * heap weight (see {@link #estimateWeight(Resource)}). When one of these bounds is exceeded the least recently used
+ * {@link Resource}s are evicted: they are unloaded and removed from their {@link ResourceSet}.
+ * <p>
+ * The cache records the number of hits, misses, and evictions, see {@link #getHitCount()}, {@link #getMissCount()},
+ * and {@link #getEvictionCount()}.
+ * <p>
+ * This class is thread-safe: models are loaded outside of the cache lock, and concurrent requests for the same model
+ * are collapsed into a single load (see {@link #get(ModelKey, Function)}). New versions of a model file can also be
+ * loaded in the background (see {@link #reload(ModelKey, Function)}): in this case the previous version is served
+ * until the new one is published.
+ * <p>
+ * {@link Resource}s can also be acquired through reference-counted {@link ModelHandle}s (see
+ * {@link #acquire(ModelKey, Function)}). A {@link Resource} referenced by an unreleased {@link ModelHandle} is pinned
+ * in the cache: it is not evicted when the cache bounds are exceeded, and if it is replaced by a newer version of its
+ * model file it is only unloaded when its last {@link ModelHandle} is released. {@link ModelHandle}s that are not
+ * accessed for longer than the idle timeout of the cache are released when a model is acquired (see
+ * {@link #releaseIdleHandles()}), so that the sessions that are never closed do not pin their models forever. The
+ * cache records the number of times its bounds could not be enforced because of pinned {@link Resource}s, see
+ * {@link #getPinnedOverflowCount()}.
+ * <p>
+ * Components caching data derived from the cached {@link Resource}s can register an eviction listener (see
+ * {@link #addEvictionListener(Consumer)}) to discard this data when a {@link Resource} is removed from the cache.
+ */
+public class ModelCache {
+
+    /**
+     * The estimated heap size (in bytes) of a model element, used to compute the weight of the cached
+     * {@link Resource}s.
+     */
+    public static final long ESTIMATED_ELEMENT_WEIGHT = 256;
+
+    /**
+     * The maximum number of {@link Resource}s in the cache.
+     */
+    private final int maxEntries;
+
+    /**
+     * The maximum estimated heap weight (in bytes) of the cached {@link Resource}s.
+     */
+    private final long maxWeight;
+
+    /**
+     * The cached entries, in access order (the least recently used entry is the first one).
+     */
+    private final LinkedHashMap<ModelKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The estimated heap weight of the cached {@link Resource}s.
+     */
+    private long weight;
+
+    /**
+     * The loads in progress, used to collapse concurrent requests for the same model into a single load.
+     */
+    private final Map<ModelKey, CompletableFuture<Resource>> pendingLoads = new HashMap<>();
+
+    /**
+     * The pending loads started by {@link #reload(ModelKey, Function)}.
+     * <p>
+     * Requests for a model with a pending background load are served with the previous version of the model if it
+     * is cached.
+     */
+    private final Set<ModelKey> backgroundLoads = new HashSet<>();
+
+    /**
+     * Whether the previous versions of a model file are unloaded when they are evicted.
+     * <p>
+     * Previous versions that are not unloaded are only removed from the cache, allowing the queries in progress on
+     * these versions to complete.
+     */
+    private final boolean unloadPreviousVersions;
+
+    /**
+     * The duration (in milliseconds) after which an unused {@link ModelHandle} is released ({@code 0} disables the
+     * release of idle handles).
+     */
+    private final long handleIdleTimeout;
+
+    /**
+     * The weak references of the unreleased {@link ModelHandle}s, used to release the handles that have been
+     * garbage-collected without being released.
+     */
+    private final Set<HandleReference> handleReferences = new HashSet<>();
+
+    /**
+     * The {@link ReferenceQueue} receiving the {@link HandleReference}s of the garbage-collected
+     * {@link ModelHandle}s.
+     */
+    private final ReferenceQueue<ModelHandle> abandonedHandles = new ReferenceQueue<>();
+
+    /**
+     * The listeners notified when a {@link Resource} is removed from the cache.
+     */
+    private final List<Consumer<Resource>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of cache hits.
+     */
+    private long hitCount;
+
+    /**
+     * The number of cache misses.
+     */
+    private long missCount;
+
+    /**
+     * The number of evicted {@link Resource}s.
+     */
+    private long evictionCount;
+
+    /**
+     * The number of times the cache bounds could not be enforced because of {@link Resource}s pinned by unreleased
+     * {@link ModelHandle}s.
+     */
+    private long pinnedOverflowCount;
+
+    /**
+     * The number of {@link ModelHandle}s released after their idle timeout.
+     */
+    private long expiredHandleCount;
+
+    /**
+     * Constructs a {@link ModelCache} with the provided bounds.
+     *
+     * @param maxEntries the maximum number of {@link Resource}s in the cache
+     * @param maxWeight  the maximum estimated heap weight (in bytes) of the cached {@link Resource}s
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code maxWeight} is lower than {@code 1}
+     */
+    public ModelCache(int maxEntries, long maxWeight) {
+        this(maxEntries, maxWeight, true);
+    }
+
+    /**
+     * Constructs a {@link ModelCache} with the provided bounds.
+     *
+     * @param maxEntries             the maximum number of {@link Resource}s in the cache
+     * @param maxWeight              the maximum estimated heap weight (in bytes) of the cached {@link Resource}s
+     * @param unloadPreviousVersions whether the previous versions of a model file are unloaded when a new version is
+     *                               cached, or only removed from the cache
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code maxWeight} is lower than {@code 1}
+     */
+    public ModelCache(int maxEntries, long maxWeight, boolean unloadPreviousVersions) {
+        this(maxEntries, maxWeight, unloadPreviousVersions, 0);
+    }
+
+    /**
+     * Constructs a {@link ModelCache} with the provided bounds and handle idle timeout.
+     *
+     * @param maxEntries             the maximum number of {@link Resource}s in the cache
+     * @param maxWeight              the maximum estimated heap weight (in bytes) of the cached {@link Resource}s
+     * @param unloadPreviousVersions whether the previous versions of a model file are unloaded when a new version is
+     *                               cached, or only removed from the cache
+     * @param handleIdleTimeout      the duration (in milliseconds) after which an unused {@link ModelHandle} is
+     *                               released, or {@code 0} to keep the {@link ModelHandle}s until they are released
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code maxWeight} is lower than {@code 1}, or if
+     *                                  {@code handleIdleTimeout} is negative
+     * @see #releaseIdleHandles()
+     */
+    public ModelCache(int maxEntries, long maxWeight, boolean unloadPreviousVersions, long handleIdleTimeout) {
+        checkArgument(maxEntries > 0, "Cannot create the %s: the maximum number of entries must be positive (found " +
+                "%s)", this.getClass().getSimpleName(), maxEntries);
+        checkArgument(maxWeight > 0, "Cannot create the %s: the maximum weight must be positive (found %s)",
+                this.getClass().getSimpleName(), maxWeight);
+        checkArgument(handleIdleTimeout >= 0, "Cannot create the %s: the handle idle timeout must be positive or 0 " +
+                "(found %s)", this.getClass().getSimpleName(), handleIdleTimeout);
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.unloadPreviousVersions = unloadPreviousVersions;
+        this.handleIdleTimeout = handleIdleTimeout;
+    }
+
+    /**
+     * Returns the {@link Resource} associated to the provided {@code key}, loading it if needed.
+     * <p>
+     * If the cache does not contain the provided {@code key} the {@link Resource} is loaded with the given
+     * {@code loader} and added to the cache. Previous versions of the same model file are evicted from the cache.
+     * <p>
+     * This method is thread-safe. The {@code loader} is called outside of the cache lock, meaning that different
+     * models can be loaded in parallel. Concurrent calls for the same {@code key} are collapsed into a single
+     * {@code loader} call, and all the callers receive the same {@link Resource}. Calls for a {@code key} that is
+     * being loaded in the background (see {@link #reload(ModelKey, Function)}) do not wait for the load if a
+     * previous version of the model file is cached: this previous version is returned instead.
+     *
+     * @param key    the {@link ModelKey} of the {@link Resource} to retrieve
+     * @param loader the {@link Function} used to load the {@link Resource} if it is not in the cache
+     * @return the cached or loaded {@link Resource}
+     * @throws NullPointerException if the provided {@code key} or {@code loader} is {@code null}, or if the
+     *                              {@code loader} returns {@code null}
+     * @throws XatkitException      if an error occurred when loading the {@link Resource}
+     */
+    public Resource get(ModelKey key, Function<ModelKey, Resource> loader) {
+        checkNotNull(key, "Cannot retrieve the model with the provided key %s", key);
+        checkNotNull(loader, "Cannot retrieve the model with the provided loader %s", loader);
+        CompletableFuture<Resource> pendingLoad;
+        boolean isLoader = false;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (nonNull(entry)) {
+                hitCount++;
+                return entry.resource;
+            }
+            pendingLoad = pendingLoads.get(key);
+            if (nonNull(pendingLoad)) {
+                /*
+                 * Another thread is loading the model, we will share its result.
+                 */
+                hitCount++;
+                if (backgroundLoads.contains(key)) {
+                    Entry previousVersion = getPreviousVersion(key);
+                    if (nonNull(previousVersion)) {
+                        return previousVersion.resource;
+                    }
+                }
+            } else {
+                missCount++;
+                pendingLoad = new CompletableFuture<>();
+                pendingLoads.put(key, pendingLoad);
+                isLoader = true;
+            }
+        }
+        if (isLoader) {
+            load(key, loader, pendingLoad, false);
+        }
+        return join(key, pendingLoad);
+    }
+
+    /**
+     * Returns a {@link ModelHandle} on the {@link Resource} associated to the provided {@code key}, loading it if
+     * needed.
+     * <p>
+     * The {@link Resource} is retrieved with {@link #get(ModelKey, Function)}, and is pinned in the cache until the
+     * returned {@link ModelHandle} is released: it is not evicted when the cache bounds are exceeded, and it is only
+     * unloaded when its last {@link ModelHandle} is released if it is replaced by a newer version of its model file.
+     * <p>
+     * This method first releases the {@link ModelHandle}s that have been garbage-collected without being released
+     * (see {@link #releaseAbandonedHandles()}), and the {@link ModelHandle}s that have not been accessed since the
+     * idle timeout of the cache (see {@link #releaseIdleHandles()}).
+     *
+     * @param key    the {@link ModelKey} of the {@link Resource} to acquire
+     * @param loader the {@link Function} used to load the {@link Resource} if it is not in the cache
+     * @return a {@link ModelHandle} on the cached or loaded {@link Resource}
+     * @throws NullPointerException if the provided {@code key} or {@code loader} is {@code null}, or if the
+     *                              {@code loader} returns {@code null}
+     * @throws XatkitException      if an error occurred when loading the {@link Resource}
+     * @see ModelHandle#release()
+     */
+    public ModelHandle acquire(ModelKey key, Function<ModelKey, Resource> loader) {
+        checkNotNull(key, "Cannot acquire the model with the provided key %s", key);
+        checkNotNull(loader, "Cannot acquire the model with the provided loader %s", loader);
+        releaseAbandonedHandles();
+        releaseIdleHandles();
+        while (true) {
+            Resource resource = get(key, loader);
+            synchronized (this) {
+                /*
+                 * The returned resource may have been evicted by another thread before we get the lock, in this case
+                 * we retrieve the model again.
+                 */
+                Map.Entry<ModelKey, Entry> cachedEntry = findEntry(resource);
+                if (nonNull(cachedEntry)) {
+                    Entry entry = cachedEntry.getValue();
+                    entry.references++;
+                    Lease lease = new Lease(entry);
+                    ModelHandle handle = new ModelHandle(cachedEntry.getKey(), resource, lease);
+                    lease.reference = new HandleReference(handle, lease, abandonedHandles);
+                    handleReferences.add(lease.reference);
+                    return handle;
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the {@link ModelHandle}s that have been garbage-collected without being released.
+     * <p>
+     * This method is called by {@link #acquire(ModelKey, Function)}, and can be called periodically to unload the
+     * {@link Resource}s pinned by abandoned {@link ModelHandle}s (e.g. {@link ModelHandle}s stored in discarded
+     * sessions).
+     *
+     * @return the number of released {@link ModelHandle}s
+     */
+    public int releaseAbandonedHandles() {
+        int count = 0;
+        Reference<? extends ModelHandle> reference = abandonedHandles.poll();
+        while (nonNull(reference)) {
+            Lease lease = ((HandleReference) reference).lease;
+            if (lease.release()) {
+                Log.info("Released an abandoned handle on the model {0}", lease.entry.key);
+                count++;
+            }
+            reference = abandonedHandles.poll();
+        }
+        return count;
+    }
+
+    /**
+     * Releases the {@link ModelHandle}s that have not been accessed since the idle timeout of the cache.
+     * <p>
+     * A {@link ModelHandle} is accessed when it is acquired and when its {@link Resource} is retrieved (see
+     * {@link ModelHandle#getResource()}). This method is called by {@link #acquire(ModelKey, Function)}, and can be
+     * called periodically to unpin the {@link Resource}s of the sessions that are not used anymore but are still
+     * reachable. It does nothing if the cache has been created without idle timeout.
+     *
+     * @return the number of released {@link ModelHandle}s
+     */
+    public int releaseIdleHandles() {
+        if (handleIdleTimeout == 0) {
+            return 0;
+        }
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(handleIdleTimeout);
+        List<Lease> idleLeases = new ArrayList<>();
+        synchronized (this) {
+            for (HandleReference reference : handleReferences) {
+                if (reference.lease.lastAccess - deadline < 0) {
+                    idleLeases.add(reference.lease);
+                }
+            }
+        }
+        int count = 0;
+        for (Lease lease : idleLeases) {
+            if (lease.release()) {
+                Log.info("Released the handle on the model {0} (idle for more than {1} ms)", lease.entry.key,
+                        handleIdleTimeout);
+                count++;
+            }
+        }
+        synchronized (this) {
+            expiredHandleCount += count;
+        }
+        return count;
+    }
+
+    /**
+     * Loads the {@link Resource} associated to the provided {@code key} and publishes it in the cache.
+     * <p>
+     * This method is typically called from a background thread when a model file has been modified. The
+     * {@code loader} is called in the calling thread, outside of the cache lock, and the previous versions of the
+     * model file remain cached (and are returned by {@link #get(ModelKey, Function)}) until the new version is
+     * loaded. The new version then atomically replaces the previous ones, which are removed from the cache but not
+     * unloaded: queries in progress on a previous version complete on this version.
+     * <p>
+     * This method does not load the model if the provided {@code key} is already cached, and waits for the pending
+     * load if the model is already being loaded.
+     *
+     * @param key    the {@link ModelKey} of the {@link Resource} to load
+     * @param loader the {@link Function} used to load the {@link Resource}
+     * @return the cached or loaded {@link Resource}
+     * @throws NullPointerException if the provided {@code key} or {@code loader} is {@code null}, or if the
+     *                              {@code loader} returns {@code null}
+     * @throws XatkitException      if an error occurred when loading the {@link Resource}
+     */
+    public Resource reload(ModelKey key, Function<ModelKey, Resource> loader) {
+        checkNotNull(key, "Cannot reload the model with the provided key %s", key);
+        checkNotNull(loader, "Cannot reload the model with the provided loader %s", loader);
+        CompletableFuture<Resource> pendingLoad;
+        boolean isLoader = false;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (nonNull(entry)) {
+                return entry.resource;
+            }
+            pendingLoad = pendingLoads.get(key);
+            if (isNull(pendingLoad)) {
+                missCount++;
+                pendingLoad = new CompletableFuture<>();
+                pendingLoads.put(key, pendingLoad);
+                backgroundLoads.add(key);
+                isLoader = true;
+            }
+        }
+        if (isLoader) {
+            load(key, loader, pendingLoad, true);
+        }
+        return join(key, pendingLoad);
+    }
+
+    /**
+     * Waits for the provided {@code pendingLoad} and returns its {@link Resource}.
+     *
+     * @param key         the {@link ModelKey} of the {@link Resource} being loaded
+     * @param pendingLoad the {@link CompletableFuture} to wait for
+     * @return the loaded {@link Resource}
+     * @throws XatkitException if an error occurred when loading the {@link Resource}
+     */
+    private Resource join(ModelKey key, CompletableFuture<Resource> pendingLoad) {
+        try {
+            return pendingLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new XatkitException(MessageFormat.format("Cannot load the model {0}", key), e.getCause());
+        }
+    }
+
+    /**
+     * Loads the {@link Resource} associated to the provided {@code key} and completes the given
+     * {@code pendingLoad} with it.
+     * <p>
+     * The loaded {@link Resource} is added to the cache before the {@code pendingLoad} is completed. The previous
+     * versions of the model file are evicted before loading the model, or after it is loaded for background loads.
+     * Evicted {@link Resource}s are unloaded outside of the cache lock.
+     *
+     * @param key         the {@link ModelKey} of the {@link Resource} to load
+     * @param loader      the {@link Function} used to load the {@link Resource}
+     * @param pendingLoad the {@link CompletableFuture} to complete with the loaded {@link Resource}
+     * @param background  whether the load is a background load started by {@link #reload(ModelKey, Function)}
+     */
+    private void load(ModelKey key, Function<ModelKey, Resource> loader, CompletableFuture<Resource> pendingLoad,
+                      boolean background) {
+        try {
+            if (!background) {
+                List<Entry> evicted = new ArrayList<>();
+                synchronized (this) {
+                    evictPreviousVersions(key, evicted);
+                }
+                unload(evicted);
+            }
+            Resource resource = loader.apply(key);
+            checkNotNull(resource, "Cannot cache the model %s: the loader returned %s", key, resource);
+            Entry entry = new Entry(key, resource, estimateWeight(resource));
+            List<Entry> evicted = new ArrayList<>();
+            synchronized (this) {
+                if (background) {
+                    evictPreviousVersions(key, evicted);
+                }
+                entries.put(key, entry);
+                weight += entry.weight;
+                pendingLoads.remove(key);
+                backgroundLoads.remove(key);
+                evictExceedingEntries(evicted);
+            }
+            pendingLoad.complete(resource);
+            unload(evicted);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingLoads.remove(key);
+                backgroundLoads.remove(key);
+            }
+            pendingLoad.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Registers a listener notified when a {@link Resource} is removed from the cache.
+     * <p>
+     * The listener is notified when a {@link Resource} is evicted, or replaced by a newer version of its model file
+     * (including the {@link Resource}s that are not unloaded because they are referenced by unreleased
+     * {@link ModelHandle}s). Listeners are notified outside of the cache lock, before the {@link Resource} is
+     * unloaded, and can be notified multiple times for the same {@link Resource}.
+     *
+     * @param listener the listener to notify with the removed {@link Resource}s
+     * @throws NullPointerException if the provided {@code listener} is {@code null}
+     */
+    public void addEvictionListener(Consumer<Resource> listener) {
+        checkNotNull(listener, "Cannot register the provided eviction listener %s", listener);
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Evicts all the {@link Resource}s from the cache.
+     * <p>
+     * This method also unloads the {@link Resource}s referenced by unreleased {@link ModelHandle}s.
+     */
+    public void clear() {
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (this) {
+            List<ModelKey> keys = new ArrayList<>(entries.keySet());
+            keys.forEach(key -> evict(key, evicted));
+        }
+        unload(evicted);
+    }
+
+    /**
+     * Returns the number of {@link Resource}s in the cache.
+     *
+     * @return the number of {@link Resource}s in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of unreleased {@link ModelHandle}s on the cached {@link Resource} associated to the
+     * provided {@code key}.
+     *
+     * @param key the {@link ModelKey} of the {@link Resource} to retrieve the reference count of
+     * @return the number of unreleased {@link ModelHandle}s on the {@link Resource}, or {@code 0} if the
+     * {@link Resource} is not cached
+     */
+    public synchronized int getReferenceCount(ModelKey key) {
+        /*
+         * Iterate the entries instead of calling get(key), which would update the access order of the entries.
+         */
+        for (Map.Entry<ModelKey, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().equals(key)) {
+                return entry.getValue().references;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the number of unreleased {@link ModelHandle}s.
+     *
+     * @return the number of unreleased {@link ModelHandle}s
+     */
+    public synchronized int getHandleCount() {
+        return handleReferences.size();
+    }
+
+    /**
+     * Returns the estimated heap weight (in bytes) of the cached {@link Resource}s.
+     *
+     * @return the estimated heap weight of the cached {@link Resource}s
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of cache misses.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of {@link Resource}s evicted from the cache.
+     *
+     * @return the number of evicted {@link Resource}s
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of times the cache bounds could not be enforced because the least recently used
+     * {@link Resource}s are pinned by unreleased {@link ModelHandle}s.
+     *
+     * @return the number of times the cache bounds could not be enforced because of pinned {@link Resource}s
+     */
+    public synchronized long getPinnedOverflowCount() {
+        return pinnedOverflowCount;
+    }
+
+    /**
+     * Returns the number of {@link ModelHandle}s released after the idle timeout of the cache.
+     *
+     * @return the number of expired {@link ModelHandle}s
+     * @see #releaseIdleHandles()
+     */
+    public synchronized long getExpiredHandleCount() {
+        return expiredHandleCount;
+    }
+
+    /**
+     * Estimates the heap weight (in bytes) of the provided {@code resource}.
+     * <p>
+     * The weight is estimated from the number of elements in the {@link Resource} and
+     * {@link #ESTIMATED_ELEMENT_WEIGHT}.
+     *
+     * @param resource the {@link Resource} to estimate the weight of
+     * @return the estimated heap weight of the {@link Resource}
+     */
+    protected long estimateWeight(Resource resource) {
+        return EMFResourceUtils.getSize(resource) * ESTIMATED_ELEMENT_WEIGHT;
+    }
+
+    /**
+     * Evicts the cached versions of the model file represented by the provided {@code key} that do not match its
+     * version.
+     * <p>
+     * Evicted versions are unloaded only if the cache has been created with {@code unloadPreviousVersions} and if
+     * no background load is in progress for the provided {@code key}. Otherwise they are only removed from the cache.
+     * Evicted versions referenced by unreleased {@link ModelHandle}s are unloaded when their last
+     * {@link ModelHandle} is released.
+     * <p>
+     * This method must be called with the cache lock held. The removed entries are added to the provided
+     * {@code evicted} {@link List}, and must be processed with {@link #unload(List)} once the lock is released.
+     *
+     * @param key     the {@link ModelKey} representing the current version of a model file
+     * @param evicted the {@link List} collecting the removed entries
+     */
+    private void evictPreviousVersions(ModelKey key, List<Entry> evicted) {
+        boolean unload = unloadPreviousVersions && !backgroundLoads.contains(key);
+        List<ModelKey> previousVersions = new ArrayList<>();
+        for (ModelKey cachedKey : entries.keySet()) {
+            if (cachedKey.isSameFile(key) && !cachedKey.equals(key)) {
+                previousVersions.add(cachedKey);
+            }
+        }
+        for (ModelKey previousVersion : previousVersions) {
+            if (unload) {
+                Entry entry = entries.get(previousVersion);
+                if (entry.references > 0) {
+                    entries.remove(previousVersion);
+                    weight -= entry.weight;
+                    evictionCount++;
+                    entry.retired = true;
+                    evicted.add(entry);
+                    Log.info("Model {0} replaced by a newer version, it will be unloaded when released",
+                            previousVersion);
+                } else {
+                    evict(previousVersion, evicted);
+                }
+            } else {
+                Entry entry = entries.remove(previousVersion);
+                weight -= entry.weight;
+                evictionCount++;
+                evicted.add(entry);
+                Log.info("Model {0} replaced by a newer version", previousVersion);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached entry of a previous version of the model file represented by the provided {@code key}.
+     *
+     * @param key the {@link ModelKey} representing the current version of a model file
+     * @return the cached entry of a previous version if it exists, {@code null} otherwise
+     */
+    private @Nullable Entry getPreviousVersion(ModelKey key) {
+        for (Map.Entry<ModelKey, Entry> entry : entries.entrySet()) {
+            if (entry.getKey().isSameFile(key) && !entry.getKey().equals(key)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached entry holding the provided {@code resource}.
+     *
+     * @param resource the {@link Resource} to retrieve the entry of
+     * @return the cached entry holding the {@link Resource} if it exists, {@code null} otherwise
+     */
+    private @Nullable Map.Entry<ModelKey, Entry> findEntry(Resource resource) {
+        for (Map.Entry<ModelKey, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().resource == resource) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evicts the least recently used {@link Resource}s until the cache bounds are satisfied.
+     * <p>
+     * This method never evicts the most recently used {@link Resource}, even if its weight exceeds the cache bound,
+     * nor the {@link Resource}s referenced by unreleased {@link ModelHandle}s. If the cache bounds are still exceeded
+     * because of such pinned {@link Resource}s a warning is logged, and the overflow is recorded (see
+     * {@link #getPinnedOverflowCount()}).
+     * <p>
+     * This method must be called with the cache lock held. The removed entries are added to the provided
+     * {@code evicted} {@link List}, and must be processed with {@link #unload(List)} once the lock is released.
+     *
+     * @param evicted the {@link List} collecting the removed entries
+     */
+    private void evictExceedingEntries(List<Entry> evicted) {
+        int pinnedCount = 0;
+        Iterator<Map.Entry<ModelKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && isExceeded()) {
+            Map.Entry<ModelKey, Entry> eldest = it.next();
+            if (!it.hasNext()) {
+                /*
+                 * eldest is the most recently used entry.
+                 */
+                break;
+            }
+            if (eldest.getValue().references == 0) {
+                it.remove();
+                remove(eldest.getValue(), evicted);
+            } else {
+                pinnedCount++;
+            }
+        }
+        if (pinnedCount > 0 && isExceeded()) {
+            pinnedOverflowCount++;
+            Log.warn("The model cache exceeds its bounds ({0}/{1} models, {2}/{3} bytes): {4} model(s) pinned by " +
+                    "unreleased handles cannot be evicted", entries.size(), maxEntries, weight, maxWeight, pinnedCount);
+        }
+    }
+
+    /**
+     * Returns whether the cached {@link Resource}s exceed one of the cache bounds.
+     * <p>
+     * This method must be called with the cache lock held.
+     *
+     * @return {@code true} if the cache bounds are exceeded, {@code false} otherwise
+     */
+    private boolean isExceeded() {
+        return entries.size() > maxEntries || weight > maxWeight;
+    }
+
+    /**
+     * Evicts the {@link Resource} associated to the provided {@code key}.
+     * <p>
+     * This method must be called with the cache lock held. The evicted entry is added to the provided
+     * {@code evicted} {@link List}, and must be processed with {@link #unload(List)} once the lock is released.
+     *
+     * @param key     the {@link ModelKey} of the {@link Resource} to evict
+     * @param evicted the {@link List} collecting the removed entries
+     */
+    private void evict(ModelKey key, List<Entry> evicted) {
+        Entry entry = entries.remove(key);
+        if (nonNull(entry)) {
+            remove(entry, evicted);
+        }
+    }
+
+    /**
+     * Updates the weight and the eviction count of the cache for the provided evicted {@code entry}, and adds it
+     * to the entries to unload.
+     * <p>
+     * This method must be called with the cache lock held, once the {@code entry} has been removed from the cache.
+     *
+     * @param entry   the evicted entry
+     * @param evicted the {@link List} collecting the removed entries
+     */
+    private void remove(Entry entry, List<Entry> evicted) {
+        weight -= entry.weight;
+        evictionCount++;
+        /*
+         * The entry is unloaded now, its last release must not unload it again.
+         */
+        entry.retired = false;
+        entry.unload = true;
+        evicted.add(entry);
+    }
+
+    /**
+     * Notifies the eviction listeners of the provided {@code evicted} entries, and unloads the {@link Resource}s of
+     * the entries to unload.
+     * <p>
+     * This method must be called without holding the cache lock: unloading a large model takes time, and should not
+     * block the sessions retrieving other models from the cache.
+     *
+     * @param evicted the entries removed from the cache
+     * @see #addEvictionListener(Consumer)
+     * @see #unloadResource(Entry)
+     */
+    private void unload(List<Entry> evicted) {
+        for (Entry entry : evicted) {
+            evictionListeners.forEach(listener -> listener.accept(entry.resource));
+            if (entry.unload) {
+                unloadResource(entry);
+                Log.info("Model {0} unloaded", entry.key);
+            }
+        }
+    }
+
+    /**
+     * Unloads the {@link Resource} of the provided {@code entry} and removes it from its {@link ResourceSet}.
+     * <p>
+     * The adapters of the {@link Resource} (e.g. its indexes) and its content are removed before the
+     * {@link Resource} is unloaded: the elements of unloaded {@link Resource}s are detached from their
+     * {@link Resource}, but are not turned into proxies.
+     *
+     * @param entry the entry to unload the {@link Resource} of
+     */
+    private void unloadResource(Entry entry) {
+        Resource resource = entry.resource;
+        /*
+         * Detach the indexes and the content before unloading the resource: unloading the content of a resource
+         * with an attached ExtentIndex removes each element from its extent, and Resource.unload() turns each element
+         * into a proxy by computing its URI fragment, which are both quadratic in the size of the model.
+         */
+        resource.eAdapters().clear();
+        resource.getContents().clear();
+        resource.unload();
+        ResourceSet resourceSet = resource.getResourceSet();
+        if (nonNull(resourceSet)) {
+            resourceSet.getResources().remove(resource);
+        }
+    }
+
+    /**
+     * A cache entry holding a loaded {@link Resource} and its estimated weight.
+     */
+    private static class Entry {
+
+        /**
+         * The {@link ModelKey} of the cached {@link Resource}.
+         */
+        private final ModelKey key;
+
+        /**
+         * The cached {@link Resource}.
+         */
+        private final Resource resource;
+
+        /**
+         * The estimated heap weight of the cached {@link Resource}.
+         */
+        private final long weight;
+
+        /**
+         * The number of unreleased {@link ModelHandle}s on the cached {@link Resource}.
+         */
+        private int references;
+
+        /**
+         * Whether the entry has been removed from the cache while referenced by unreleased {@link ModelHandle}s.
+         * <p>
+         * The {@link Resource} of a retired entry is unloaded when its last {@link ModelHandle} is released.
+         */
+        private boolean retired;
+
+        /**
+         * Whether the {@link Resource} of the entry must be unloaded once it has been removed from the cache.
+         */
+        private boolean unload;
+
+        /**
+         * Constructs an {@link Entry} with the provided {@code key}, {@code resource}, and {@code weight}.
+         *
+         * @param key      the {@link ModelKey} of the cached {@link Resource}
+         * @param resource the cached {@link Resource}
+         * @param weight   the estimated heap weight of the {@link Resource}
+         */
+        private Entry(ModelKey key, Resource resource, long weight) {
+            this.key = key;
+            this.resource = resource;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * The reference of a {@link ModelHandle} on a cache entry.
+     * <p>
+     * Leases are released by {@link ModelHandle#release()}, or by {@link #releaseAbandonedHandles()} if their
+     * {@link ModelHandle} has been garbage-collected without being released.
+     */
+    final class Lease {
+
+        /**
+         * The referenced entry.
+         */
+        private final Entry entry;
+
+        /**
+         * The weak reference of the {@link ModelHandle} holding the lease.
+         */
+        private HandleReference reference;
+
+        /**
+         * Whether the lease has been released.
+         */
+        private volatile boolean released;
+
+        /**
+         * The time (in nanoseconds, see {@link System#nanoTime()}) of the last access to the lease.
+         */
+        private volatile long lastAccess = System.nanoTime();
+
+        /**
+         * Constructs a {@link Lease} on the provided {@code entry}.
+         *
+         * @param entry the referenced entry
+         */
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Returns whether the lease has been released.
+         *
+         * @return {@code true} if the lease has been released, {@code false} otherwise
+         */
+        boolean isReleased() {
+            return released;
+        }
+
+        /**
+         * Records an access to the lease, which postpones its release by {@link #releaseIdleHandles()}.
+         */
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        /**
+         * Releases the lease.
+         * <p>
+         * The {@link Resource} of a retired entry is unloaded when its last lease is released. The cache bounds are
+         * enforced when the last lease of a cached entry is released, since the entry can now be evicted. Evicted
+         * {@link Resource}s are unloaded outside of the cache lock.
+         *
+         * @return {@code true} if the lease has been released, {@code false} if it was already released
+         */
+        boolean release() {
+            List<Entry> evicted = new ArrayList<>();
+            synchronized (ModelCache.this) {
+                if (released) {
+                    return false;
+                }
+                released = true;
+                handleReferences.remove(reference);
+                reference.clear();
+                entry.references--;
+                if (entry.references == 0) {
+                    if (entry.retired) {
+                        entry.retired = false;
+                        entry.unload = true;
+                        evicted.add(entry);
+                    } else {
+                        evictExceedingEntries(evicted);
+                    }
+                }
+            }
+            unload(evicted);
+            return true;
+        }
+    }
+
+    /**
+     * A weak reference of a {@link ModelHandle}, used to release the lease of the {@link ModelHandle}s that have been
+     * garbage-collected without being released.
+     */
+    private static class HandleReference extends WeakReference<ModelHandle> {
+
+        /**
+         * The lease of the referenced {@link ModelHandle}.
+         */
+        private final Lease lease;
+
+        /**
+         * Constructs a {@link HandleReference} with the provided parameters.
+         *
+         * @param handle the referenced {@link ModelHandle}
+         * @param lease  the lease of the {@link ModelHandle}
+         * @param queue  the {@link ReferenceQueue} receiving the reference when the {@link ModelHandle} is
+         *               garbage-collected
+         */
+        private HandleReference(ModelHandle handle, Lease lease, ReferenceQueue<ModelHandle> queue) {
+            super(handle, queue);
+            this.lease = lease;
+        }
+    }
+}
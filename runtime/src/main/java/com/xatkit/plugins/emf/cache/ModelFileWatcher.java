@@ -0,0 +1,276 @@
+package com.xatkit.plugins.emf.cache;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Watches the loaded model files and reloads them in the background when they are modified.
+ * <p>
+ * The watcher registers the directories of the watched files in a {@link WatchService}. When a watched file is
+ * modified (or replaced) the watcher waits for the file to be stable for a configurable delay, and then loads the new
+ * version of the model with {@link ModelCache#reload(ModelKey, Function)}: the new version is loaded and indexed in a
+ * background thread, and atomically replaces the previous version in the {@link ModelCache} once it is ready. Requests
+ * for the model are served with the previous version until then, and queries in progress on the previous version
+ * complete on this version.
+ * <p>
+ * Errors occurring when reloading a model are logged, and the previous version of the model is kept in the cache.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ModelFileWatcher implements AutoCloseable {
+
+    /**
+     * The {@link ModelCache} to publish the reloaded models to.
+     */
+    private final ModelCache modelCache;
+
+    /**
+     * The {@link Function} used to load the models.
+     */
+    private final Function<ModelKey, Resource> loader;
+
+    /**
+     * The delay (in milliseconds) a modified file must be stable for before being reloaded.
+     */
+    private final long debounceMillis;
+
+    /**
+     * The {@link WatchService} notified of the modifications of the watched directories.
+     */
+    private final WatchService watchService;
+
+    /**
+     * The watched directories, associated to their {@link WatchKey}.
+     */
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+
+    /**
+     * The watched files.
+     */
+    private final Set<Path> watchedFiles = new HashSet<>();
+
+    /**
+     * The scheduled reloads, used to postpone the reload of a file modified several times in a row.
+     */
+    private final Map<Path, ScheduledFuture<?>> scheduledReloads = new HashMap<>();
+
+    /**
+     * The executor running the reloads.
+     */
+    private final ScheduledExecutorService reloadExecutor;
+
+    /**
+     * The thread polling the {@link WatchService}.
+     */
+    private final Thread watchThread;
+
+    /**
+     * The number of reloaded models.
+     */
+    private final LongAdder reloadCount = new LongAdder();
+
+    /**
+     * The number of failed reloads.
+     */
+    private final LongAdder reloadErrorCount = new LongAdder();
+
+    /**
+     * Constructs a {@link ModelFileWatcher} with the provided parameters and starts watching.
+     *
+     * @param modelCache     the {@link ModelCache} to publish the reloaded models to
+     * @param loader         the {@link Function} used to load the models
+     * @param debounceMillis the delay (in milliseconds) a modified file must be stable for before being reloaded
+     * @throws NullPointerException     if the provided {@code modelCache} or {@code loader} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code debounceMillis} is negative
+     * @throws UncheckedIOException     if an error occurred when creating the {@link WatchService}
+     */
+    public ModelFileWatcher(ModelCache modelCache, Function<ModelKey, Resource> loader, long debounceMillis) {
+        checkNotNull(modelCache, "Cannot create the %s: the provided model cache is %s",
+                this.getClass().getSimpleName(), modelCache);
+        checkNotNull(loader, "Cannot create the %s: the provided loader is %s", this.getClass().getSimpleName(),
+                loader);
+        checkArgument(debounceMillis >= 0, "Cannot create the %s: the provided delay must be positive or 0, found %s",
+                this.getClass().getSimpleName(), debounceMillis);
+        this.modelCache = modelCache;
+        this.loader = loader;
+        this.debounceMillis = debounceMillis;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "xatkit-emf-model-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchThread = new Thread(this::pollEvents, "xatkit-emf-model-watcher");
+        this.watchThread.setDaemon(true);
+        this.watchThread.start();
+    }
+
+    /**
+     * Watches the provided {@code modelFile}.
+     * <p>
+     * This method does nothing if the file is already watched.
+     *
+     * @param modelFile the model {@link File} to watch
+     * @throws NullPointerException if the provided {@code modelFile} is {@code null}
+     * @throws UncheckedIOException if an error occurred when registering the directory of the file
+     */
+    public void watch(File modelFile) {
+        checkNotNull(modelFile, "Cannot watch the provided model file %s", modelFile);
+        Path path = Paths.get(ModelKey.of(modelFile).getCanonicalPath());
+        synchronized (this) {
+            if (!watchedFiles.add(path)) {
+                return;
+            }
+            Path directory = path.getParent();
+            if (!watchedDirectories.containsKey(directory)) {
+                try {
+                    watchedDirectories.put(directory, directory.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+                } catch (IOException e) {
+                    watchedFiles.remove(path);
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        Log.info("Watching the model file {0}", path);
+    }
+
+    /**
+     * Returns whether the provided {@code modelFile} is watched.
+     *
+     * @param modelFile the model {@link File} to check
+     * @return {@code true} if the file is watched, {@code false} otherwise
+     */
+    public synchronized boolean isWatched(File modelFile) {
+        return watchedFiles.contains(Paths.get(ModelKey.of(modelFile).getCanonicalPath()));
+    }
+
+    /**
+     * Returns the number of reloaded models.
+     *
+     * @return the number of reloaded models
+     */
+    public long getReloadCount() {
+        return reloadCount.sum();
+    }
+
+    /**
+     * Returns the number of failed reloads.
+     *
+     * @return the number of failed reloads
+     */
+    public long getReloadErrorCount() {
+        return reloadErrorCount.sum();
+    }
+
+    /**
+     * Polls the {@link WatchService} and schedules the reload of the modified files.
+     * <p>
+     * This method runs until the watcher is closed.
+     */
+    private void pollEvents() {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path directory = (Path) watchKey.watchable();
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() != StandardWatchEventKinds.OVERFLOW) {
+                    scheduleReload(directory.resolve((Path) event.context()));
+                }
+            }
+            watchKey.reset();
+        }
+    }
+
+    /**
+     * Schedules the reload of the provided {@code path} if it is watched.
+     * <p>
+     * A reload already scheduled for the same {@code path} is cancelled, meaning that files modified several times
+     * in a row are reloaded once they are stable.
+     *
+     * @param path the {@link Path} of the modified file
+     */
+    private synchronized void scheduleReload(Path path) {
+        if (!watchedFiles.contains(path) || reloadExecutor.isShutdown()) {
+            return;
+        }
+        ScheduledFuture<?> scheduledReload = scheduledReloads.get(path);
+        if (nonNull(scheduledReload)) {
+            scheduledReload.cancel(false);
+        }
+        scheduledReloads.put(path, reloadExecutor.schedule(() -> reload(path), debounceMillis,
+                TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Reloads the model file at the provided {@code path} and publishes it in the {@link ModelCache}.
+     *
+     * @param path the {@link Path} of the model file to reload
+     */
+    private void reload(Path path) {
+        synchronized (this) {
+            scheduledReloads.remove(path);
+        }
+        File modelFile = path.toFile();
+        if (!modelFile.exists()) {
+            return;
+        }
+        try {
+            ModelKey modelKey = ModelKey.of(modelFile);
+            modelCache.reload(modelKey, loader);
+            reloadCount.increment();
+            Log.info("Model {0} reloaded", modelKey);
+        } catch (RuntimeException e) {
+            reloadErrorCount.increment();
+            Log.warn("Cannot reload the model {0}, keeping the previous version ({1})", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching the model files and cancels the scheduled reloads.
+     */
+    @Override
+    public void close() {
+        reloadExecutor.shutdownNow();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Log.warn("Cannot close the model file watcher ({0})", e.getMessage());
+        }
+        watchThread.interrupt();
+    }
+}
@@ -0,0 +1,102 @@
+package com.xatkit.plugins.emf.cache;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+
+/**
+ * A reference-counted handle on a {@link Resource} cached in a {@link ModelCache}.
+ * <p>
+ * Handles are created by {@link ModelCache#acquire(ModelKey, java.util.function.Function)}, and pin their
+ * {@link Resource} in the cache until they are released: a {@link Resource} referenced by at least one handle is
+ * never unloaded, and a {@link Resource} evicted or replaced by a newer version of its model file while it is in use
+ * is unloaded when its last handle is released (see {@link #release()}).
+ * <p>
+ * Handles are typically stored in the {@link com.xatkit.core.session.XatkitSession} that uses the model. Handles
+ * that become unreachable without being released (e.g. because their session has been discarded) are released by
+ * the {@link ModelCache} the next time a model is acquired (see {@link ModelCache#releaseAbandonedHandles()}), and
+ * handles that are not accessed for longer than the idle timeout of the {@link ModelCache} are released as well (see
+ * {@link ModelCache#releaseIdleHandles()}).
+ * <p>
+ * This class is thread-safe, and {@link #release()} is idempotent.
+ */
+public final class ModelHandle {
+
+    /**
+     * The {@link ModelKey} of the model file the {@link Resource} has been loaded from.
+     */
+    private final ModelKey key;
+
+    /**
+     * The {@link Resource} pinned by the handle.
+     */
+    private final Resource resource;
+
+    /**
+     * The lease recording the reference of the handle in the {@link ModelCache}.
+     */
+    private final ModelCache.Lease lease;
+
+    /**
+     * Constructs a {@link ModelHandle} with the provided parameters.
+     *
+     * @param key      the {@link ModelKey} of the model file the {@code resource} has been loaded from
+     * @param resource the {@link Resource} pinned by the handle
+     * @param lease    the lease recording the reference of the handle in the {@link ModelCache}
+     * @see ModelCache#acquire(ModelKey, java.util.function.Function)
+     */
+    ModelHandle(ModelKey key, Resource resource, ModelCache.Lease lease) {
+        this.key = key;
+        this.resource = resource;
+        this.lease = lease;
+    }
+
+    /**
+     * Returns the {@link ModelKey} of the model file the {@link Resource} has been loaded from.
+     *
+     * @return the {@link ModelKey} of the model file
+     */
+    public ModelKey getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the {@link Resource} pinned by the handle.
+     * <p>
+     * This method records an access to the handle, which postpones its release by
+     * {@link ModelCache#releaseIdleHandles()}.
+     *
+     * @return the {@link Resource} pinned by the handle
+     * @throws IllegalStateException if the handle has been released
+     */
+    public Resource getResource() {
+        lease.touch();
+        checkState(!isReleased(), "Cannot access the model %s: the %s has been released", key,
+                ModelHandle.class.getSimpleName());
+        return resource;
+    }
+
+    /**
+     * Returns whether the handle has been released.
+     *
+     * @return {@code true} if the handle has been released, {@code false} otherwise
+     */
+    public boolean isReleased() {
+        return lease.isReleased();
+    }
+
+    /**
+     * Releases the handle.
+     * <p>
+     * The {@link Resource} of the handle can be unloaded by the {@link ModelCache} once all its handles have been
+     * released. Calling this method on a released handle has no effect.
+     */
+    public void release() {
+        lease.release();
+    }
+
+    @Override
+    public String toString() {
+        return "ModelHandle(" + key + (isReleased() ? ", released)" : ")");
+    }
+}
@@ -0,0 +1,128 @@
+package com.xatkit.plugins.emf.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * Identifies a version of a model file in the {@link ModelCache}.
+ * <p>
+ * A {@link ModelKey} is composed of the canonical path of the model file, its last modification time, and its size.
+ * Two {@link ModelKey}s with the same path but different modification times or sizes denote different versions of
+ * the same model.
+ */
+public final class ModelKey {
+
+    /**
+     * Creates a {@link ModelKey} representing the current version of the provided {@code modelFile}.
+     *
+     * @param modelFile the model {@link File} to create a key for
+     * @return the created {@link ModelKey}
+     * @throws NullPointerException if the provided {@code modelFile} is {@code null}
+     * @throws UncheckedIOException if an error occurred when computing the canonical path of the file
+     */
+    public static ModelKey of(File modelFile) {
+        checkNotNull(modelFile, "Cannot create a %s from the provided file %s", ModelKey.class.getSimpleName(),
+                modelFile);
+        try {
+            File canonicalFile = modelFile.getCanonicalFile();
+            return new ModelKey(canonicalFile.getPath(), canonicalFile.lastModified(), canonicalFile.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The canonical path of the model file.
+     */
+    private final String canonicalPath;
+
+    /**
+     * The last modification time of the model file.
+     */
+    private final long lastModified;
+
+    /**
+     * The size (in bytes) of the model file.
+     */
+    private final long length;
+
+    /**
+     * Constructs a {@link ModelKey} with the provided parameters.
+     *
+     * @param canonicalPath the canonical path of the model file
+     * @param lastModified  the last modification time of the model file
+     * @param length        the size of the model file
+     */
+    private ModelKey(String canonicalPath, long lastModified, long length) {
+        this.canonicalPath = canonicalPath;
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * Returns the canonical path of the model file.
+     *
+     * @return the canonical path of the model file
+     */
+    public String getCanonicalPath() {
+        return canonicalPath;
+    }
+
+    /**
+     * Returns the last modification time of the model file.
+     *
+     * @return the last modification time of the model file
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the size (in bytes) of the model file.
+     *
+     * @return the size of the model file
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns whether this key and the provided {@code other} one represent the same model file.
+     * <p>
+     * This method does not check the version of the files, see {@link #equals(Object)} to check if two keys
+     * represent the same version of a model file.
+     *
+     * @param other the {@link ModelKey} to compare
+     * @return {@code true} if the keys represent the same model file, {@code false} otherwise
+     */
+    public boolean isSameFile(ModelKey other) {
+        return this.canonicalPath.equals(other.canonicalPath);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ModelKey)) {
+            return false;
+        }
+        ModelKey other = (ModelKey) obj;
+        return this.lastModified == other.lastModified && this.length == other.length
+                && this.canonicalPath.equals(other.canonicalPath);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(canonicalPath, lastModified, length);
+    }
+
+    @Override
+    public String toString() {
+        return canonicalPath + " (lastModified=" + lastModified + ", length=" + length + ")";
+    }
+}
@@ -0,0 +1,526 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.plugins.emf.query.NumericalComparator;
+import com.xatkit.plugins.emf.query.SortDirection;
+import com.xatkit.plugins.emf.query.StringComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A secondary index over the values of an {@link EAttribute} for the instances of a given {@link EClass}.
+ * <p>
+ * The index stores the instances sorted by attribute value, which allows to answer range and prefix conditions with
+ * two binary searches:
+ * <ul>
+ * <li>numerical attributes are indexed in a primitive {@code double[]} array, and support the
+ * {@link NumericalComparator#GREATER_THAN}, {@link NumericalComparator#LOWER_THAN}, and
+ * {@link NumericalComparator#EQUALS} comparators</li>
+ * <li>{@link String} attributes are indexed in a sorted {@code String[]} array supporting the
+ * {@link StringComparator#STARTS_WITH} comparator, and in a hash index supporting the {@link StringComparator#EQUALS}
+ * comparator</li>
+ * </ul>
+ * Instances with a {@code null} value are not indexed, since they never match a condition. The lookup methods return
+ * {@link ModelOrderedList}s preserving the order of the instances in the model: the instances matching a range or a
+ * prefix are sorted back into model order from their positions, so that the result of a condition does not depend
+ * on whether it is answered from an index or from a scan. The returned instances keep their {@link ExtentIndex}
+ * numbers, which allows to merge the results of several indexes without traversing the model.
+ * <p>
+ * {@link AttributeIndex}es are immutable snapshots of the indexed instances, see {@link AttributeIndexManager} to
+ * create and maintain the indexes of a model.
+ *
+ * @see AttributeIndexManager
+ */
+public final class AttributeIndex {
+
+    /**
+     * Returns whether the provided {@code eAttribute} can be indexed.
+     * <p>
+     * Single-valued {@link String} and numerical {@link EAttribute}s can be indexed.
+     *
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the provided {@code eAttribute} can be indexed, {@code false} otherwise
+     */
+    public static boolean isIndexable(EAttribute eAttribute) {
+        return !eAttribute.isMany() && (isString(eAttribute) || isNumerical(eAttribute));
+    }
+
+    /**
+     * Builds the {@link AttributeIndex} of the provided {@code eAttribute} for the given {@code instances}.
+     *
+     * @param eClass     the {@link EClass} of the instances to index
+     * @param eAttribute the {@link EAttribute} to index
+     * @param instances  the numbered instances of the provided {@code eClass} to index (see
+     *                   {@link ExtentIndex#getNumberedInstances(EClass)})
+     * @param version    the version of the model the {@code instances} have been retrieved from
+     * @return the created {@link AttributeIndex}
+     * @throws NullPointerException     if the provided {@code eClass}, {@code eAttribute}, or {@code instances} is
+     *                                  {@code null}
+     * @throws IllegalArgumentException if the provided {@code eAttribute} cannot be indexed
+     * @see #isIndexable(EAttribute)
+     */
+    public static AttributeIndex build(EClass eClass, EAttribute eAttribute, ModelOrderedList instances,
+                                       long version) {
+        checkNotNull(eClass, "Cannot build the %s: the provided %s is null", AttributeIndex.class.getSimpleName(),
+                EClass.class.getSimpleName());
+        checkNotNull(eAttribute, "Cannot build the %s: the provided %s is null", AttributeIndex.class.getSimpleName(),
+                EAttribute.class.getSimpleName());
+        checkNotNull(instances, "Cannot build the %s: the provided instance list is null",
+                AttributeIndex.class.getSimpleName());
+        checkArgument(isIndexable(eAttribute), "Cannot build the %s: the attribute %s.%s cannot be indexed (only " +
+                        "single-valued String and numerical attributes can be indexed)",
+                AttributeIndex.class.getSimpleName(), eClass.getName(), eAttribute.getName());
+        return new AttributeIndex(eClass, eAttribute, instances, version);
+    }
+
+    /**
+     * The {@link EClass} of the indexed instances.
+     */
+    private final EClass eClass;
+
+    /**
+     * The indexed {@link EAttribute}.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The version of the model the index has been built from.
+     */
+    private final long version;
+
+    /**
+     * The indexed instances, in model order.
+     */
+    private final EObject[] modelInstances;
+
+    /**
+     * The numbers in the {@link ExtentIndex} of the instances of {@link #modelInstances}.
+     */
+    private final long[] modelNumbers;
+
+    /**
+     * The positions in {@link #modelInstances} of the indexed instances, sorted by attribute value.
+     */
+    private final int[] positions;
+
+    /**
+     * The sorted numerical values of the indexed instances.
+     * <p>
+     * This array is {@code null} if the indexed {@link EAttribute} is not numerical.
+     */
+    private final double[] numericalKeys;
+
+    /**
+     * The sorted {@link String} values of the indexed instances.
+     * <p>
+     * This array is {@code null} if the indexed {@link EAttribute} is not a {@link String} attribute.
+     */
+    private final String[] stringKeys;
+
+    /**
+     * The hash index mapping each {@link String} value to the instances holding it.
+     * <p>
+     * The values of this map are views of ranges of {@link #positions}. This map is {@code null} if the indexed
+     * {@link EAttribute} is not a {@link String} attribute.
+     */
+    private final Map<String, ModelOrderedList> stringValues;
+
+    /**
+     * Constructs an {@link AttributeIndex} with the provided parameters.
+     *
+     * @param eClass     the {@link EClass} of the instances to index
+     * @param eAttribute the {@link EAttribute} to index
+     * @param instances  the numbered instances of the provided {@code eClass} to index
+     * @param version    the version of the model the {@code instances} have been retrieved from
+     * @see #build(EClass, EAttribute, ModelOrderedList, long)
+     */
+    private AttributeIndex(EClass eClass, EAttribute eAttribute, ModelOrderedList instances, long version) {
+        this.eClass = eClass;
+        this.eAttribute = eAttribute;
+        this.version = version;
+        List<Entry> entries = new ArrayList<>(instances.size());
+        boolean numerical = isNumerical(eAttribute);
+        for (int i = 0; i < instances.size(); i++) {
+            EObject instance = instances.get(i);
+            Object value = instance.eGet(eAttribute);
+            if (isNull(value) || (numerical && Double.isNaN(((Number) value).doubleValue()))) {
+                /*
+                 * null and NaN values never match a condition, there is no need to index them.
+                 */
+                continue;
+            }
+            entries.add(new Entry(value, instance, instances.getNumber(i), entries.size()));
+        }
+        /*
+         * List.sort is stable: instances with the same value keep their model order.
+         */
+        if (numerical) {
+            entries.sort(Comparator.comparingDouble(e -> ((Number) e.value).doubleValue()));
+        } else {
+            entries.sort(Comparator.comparing(e -> (String) e.value));
+        }
+        this.modelInstances = new EObject[entries.size()];
+        this.modelNumbers = new long[entries.size()];
+        this.positions = new int[entries.size()];
+        for (int i = 0; i < positions.length; i++) {
+            Entry entry = entries.get(i);
+            positions[i] = entry.position;
+            modelInstances[entry.position] = entry.instance;
+            modelNumbers[entry.position] = entry.number;
+        }
+        if (numerical) {
+            this.numericalKeys = new double[entries.size()];
+            for (int i = 0; i < numericalKeys.length; i++) {
+                numericalKeys[i] = ((Number) entries.get(i).value).doubleValue();
+            }
+            this.stringKeys = null;
+            this.stringValues = null;
+        } else {
+            this.numericalKeys = null;
+            this.stringKeys = new String[entries.size()];
+            this.stringValues = new HashMap<>();
+            int groupStart = 0;
+            for (int i = 0; i < stringKeys.length; i++) {
+                stringKeys[i] = (String) entries.get(i).value;
+                if (i > 0 && !stringKeys[i].equals(stringKeys[i - 1])) {
+                    stringValues.put(stringKeys[i - 1], sortedRange(groupStart, i));
+                    groupStart = i;
+                }
+            }
+            if (stringKeys.length > 0) {
+                stringValues.put(stringKeys[stringKeys.length - 1], sortedRange(groupStart, stringKeys.length));
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link EClass} of the indexed instances.
+     *
+     * @return the {@link EClass} of the indexed instances
+     */
+    public EClass getEClass() {
+        return eClass;
+    }
+
+    /**
+     * Returns the indexed {@link EAttribute}.
+     *
+     * @return the indexed {@link EAttribute}
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the version of the model the index has been built from.
+     *
+     * @return the version of the model the index has been built from
+     * @see ExtentIndex#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of indexed instances.
+     *
+     * @return the number of indexed instances
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Returns an {@link Iterator} over the indexed instances sorted in the provided {@code direction}.
+     * <p>
+     * Instances with the same value are returned according to their order in the model in both directions. The
+     * returned {@link Iterator} does not contain the instances with a {@code null} value.
+     *
+     * @param direction the {@link SortDirection} of the instances
+     * @return an {@link Iterator} over the sorted instances
+     */
+    public Iterator<EObject> iterator(SortDirection direction) {
+        if (direction == SortDirection.ASCENDING) {
+            return new Iterator<EObject>() {
+
+                /**
+                 * The position of the next instance to return.
+                 */
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < positions.length;
+                }
+
+                @Override
+                public EObject next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return modelInstances[positions[next++]];
+                }
+            };
+        }
+        return new Iterator<EObject>() {
+
+            /**
+             * The start of the group of instances with the same value being iterated.
+             */
+            private int groupStart = positions.length;
+
+            /**
+             * The end (exclusive) of the group of instances with the same value being iterated.
+             */
+            private int groupEnd = groupStart;
+
+            /**
+             * The position of the next instance to return.
+             */
+            private int next = groupStart;
+
+            @Override
+            public boolean hasNext() {
+                return next < groupEnd || groupStart > 0;
+            }
+
+            @Override
+            public EObject next() {
+                if (next == groupEnd) {
+                    if (groupStart == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    groupEnd = groupStart;
+                    groupStart = isNull(numericalKeys) ? lowerBound(stringKeys, stringKeys[groupEnd - 1]) :
+                            lowerBound(numericalKeys, numericalKeys[groupEnd - 1]);
+                    next = groupStart;
+                }
+                return modelInstances[positions[next++]];
+            }
+        };
+    }
+
+    /**
+     * Returns the indexed instances matching the provided {@link String} condition.
+     *
+     * @param comparator the {@link StringComparator} of the condition
+     * @param value      the literal value of the condition
+     * @return a {@link ModelOrderedList} containing the matching instances, or {@code null} if the index does not
+     * support the provided {@code comparator}
+     */
+    public @Nullable ModelOrderedList lookup(StringComparator comparator, String value) {
+        if (isNull(stringKeys)) {
+            return null;
+        }
+        switch (comparator) {
+            case EQUALS:
+                return stringValues.getOrDefault(value, ModelOrderedList.empty());
+            case STARTS_WITH:
+                int from = lowerBound(stringKeys, value);
+                int to = from;
+                int high = stringKeys.length;
+                /*
+                 * The keys starting with the prefix are contiguous in the sorted array: find the end of the range
+                 * with a binary search.
+                 */
+                while (to < high) {
+                    int middle = (to + high) >>> 1;
+                    if (stringKeys[middle].startsWith(value)) {
+                        to = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                return inModelOrder(from, to);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the indexed instances matching the provided numerical condition.
+     *
+     * @param comparator the {@link NumericalComparator} of the condition
+     * @param value      the literal number of the condition
+     * @return a {@link ModelOrderedList} containing the matching instances, or {@code null} if the index does not
+     * support the provided {@code comparator}
+     */
+    public @Nullable ModelOrderedList lookup(NumericalComparator comparator, double value) {
+        if (isNull(numericalKeys)) {
+            return null;
+        }
+        if (Double.isNaN(value)) {
+            return ModelOrderedList.empty();
+        }
+        switch (comparator) {
+            case GREATER_THAN:
+                return inModelOrder(upperBound(numericalKeys, value), numericalKeys.length);
+            case LOWER_THAN:
+                return inModelOrder(0, lowerBound(numericalKeys, value));
+            case EQUALS:
+                return sortedRange(lowerBound(numericalKeys, value), upperBound(numericalKeys, value));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a view of the instances of the provided range of {@link #positions}.
+     * <p>
+     * The instances of the range must have the same value: instances with the same value are already in model order
+     * (see {@link #AttributeIndex(EClass, EAttribute, ModelOrderedList, long)}), and the range does not need to be
+     * copied.
+     *
+     * @param from the start of the range (inclusive)
+     * @param to   the end of the range (exclusive)
+     * @return a {@link ModelOrderedList} containing the instances of the range
+     */
+    private ModelOrderedList sortedRange(int from, int to) {
+        return new ModelOrderedList(modelInstances, modelNumbers, positions, from, to);
+    }
+
+    /**
+     * Returns the instances of the provided range of {@link #positions} in model order.
+     * <p>
+     * The positions of the instances are sorted as primitive {@code int}s, which avoids comparing the instances
+     * themselves. The equality lookups do not need to call this method (see {@link #sortedRange(int, int)}).
+     *
+     * @param from the start of the range (inclusive)
+     * @param to   the end of the range (exclusive)
+     * @return a {@link ModelOrderedList} containing the instances of the range in model order
+     */
+    private ModelOrderedList inModelOrder(int from, int to) {
+        int[] rangePositions = Arrays.copyOfRange(positions, from, to);
+        Arrays.sort(rangePositions);
+        return new ModelOrderedList(modelInstances, modelNumbers, rangePositions, 0, rangePositions.length);
+    }
+
+    /**
+     * Returns whether the provided {@code eAttribute} is a {@link String} attribute.
+     *
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the provided {@code eAttribute} is a {@link String} attribute, {@code false} otherwise
+     */
+    public static boolean isString(EAttribute eAttribute) {
+        return eAttribute.getEAttributeType().getInstanceClass() == String.class;
+    }
+
+    /**
+     * Returns whether the provided {@code eAttribute} is a numerical attribute.
+     *
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the provided {@code eAttribute} is a numerical attribute, {@code false} otherwise
+     */
+    public static boolean isNumerical(EAttribute eAttribute) {
+        Class<?> instanceClass = eAttribute.getEAttributeType().getInstanceClass();
+        if (isNull(instanceClass)) {
+            return false;
+        }
+        return Number.class.isAssignableFrom(instanceClass) || instanceClass == int.class
+                || instanceClass == long.class || instanceClass == double.class || instanceClass == float.class
+                || instanceClass == short.class || instanceClass == byte.class;
+    }
+
+    /**
+     * Returns the index of the first key greater than or equal to the provided {@code value}.
+     *
+     * @param keys  the sorted keys to search
+     * @param value the value to search
+     * @return the index of the first key greater than or equal to the provided {@code value}
+     */
+    private static int lowerBound(double[] keys, double value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first key strictly greater than the provided {@code value}.
+     *
+     * @param keys  the sorted keys to search
+     * @param value the value to search
+     * @return the index of the first key strictly greater than the provided {@code value}
+     */
+    private static int upperBound(double[] keys, double value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first key greater than or equal to the provided {@code value}.
+     *
+     * @param keys  the sorted keys to search
+     * @param value the value to search
+     * @return the index of the first key greater than or equal to the provided {@code value}
+     */
+    private static int lowerBound(String[] keys, String value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeIndex(" + eClass.getName() + "." + eAttribute.getName() + ", size=" + size() + ")";
+    }
+
+    /**
+     * A temporary (value, instance, number, position) tuple used to sort the indexed instances.
+     */
+    private static final class Entry {
+
+        private final Object value;
+
+        private final EObject instance;
+
+        private final long number;
+
+        private final int position;
+
+        private Entry(Object value, EObject instance, long number, int position) {
+            this.value = value;
+            this.instance = instance;
+            this.number = number;
+            this.position = position;
+        }
+    }
+}
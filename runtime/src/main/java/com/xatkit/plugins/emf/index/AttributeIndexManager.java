@@ -0,0 +1,333 @@
+package com.xatkit.plugins.emf.index;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Creates and maintains the {@link AttributeIndex}es of a model {@link Resource}.
+ * <p>
+ * Indexes are created for the {@code (EClass, EAttribute)} pairs declared when installing the manager, and on
+ * demand for the pairs that are queried at least {@code autoIndexThreshold} times. The manager also maintains the
+ * {@link TrigramIndex}es of the {@link String} attributes declared when installing it, which are never created on
+ * demand. Indexes are snapshots of the model: they are rebuilt lazily when the
+ * {@link ExtentIndex#getVersion() version} of the model changes.
+ * <p>
+ * The manager is an adapter attached to the indexed {@link Resource}, see
+ * {@link #install(Resource, Collection, Collection, int)} and {@link #getManager(Resource)}.
+ *
+ * @see AttributeIndex
+ * @see TrigramIndex
+ */
+public final class AttributeIndexManager extends AdapterImpl {
+
+    /**
+     * Installs an {@link AttributeIndexManager} on the provided {@code modelResource} and builds its declared indexes.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist. If the
+     * provided {@link Resource} already has an {@link AttributeIndexManager} the existing manager is returned.
+     *
+     * @param modelResource      the EMF {@link Resource} containing the model to index
+     * @param declaredIndexes    the {@code (EClass, EAttribute)} pairs to index eagerly
+     * @param autoIndexThreshold the number of queries after which a non-declared pair is indexed, or {@code 0} to
+     *                           disable on-demand indexes
+     * @return the {@link AttributeIndexManager} attached to the provided {@code modelResource}
+     * @throws NullPointerException     if the provided {@code modelResource} or {@code declaredIndexes} is
+     *                                  {@code null}
+     * @throws IllegalArgumentException if the provided {@code autoIndexThreshold} is negative
+     */
+    public static AttributeIndexManager install(Resource modelResource, Collection<IndexKey> declaredIndexes,
+                                                int autoIndexThreshold) {
+        return install(modelResource, declaredIndexes, Collections.emptyList(), autoIndexThreshold);
+    }
+
+    /**
+     * Installs an {@link AttributeIndexManager} on the provided {@code modelResource} and builds its declared
+     * {@link AttributeIndex}es and {@link TrigramIndex}es.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist. If the
+     * provided {@link Resource} already has an {@link AttributeIndexManager} the existing manager is returned.
+     *
+     * @param modelResource          the EMF {@link Resource} containing the model to index
+     * @param declaredIndexes        the {@code (EClass, EAttribute)} pairs to index eagerly
+     * @param declaredTrigramIndexes the {@code (EClass, EAttribute)} pairs to index with a {@link TrigramIndex}
+     * @param autoIndexThreshold     the number of queries after which a non-declared pair is indexed, or {@code 0}
+     *                               to disable on-demand indexes
+     * @return the {@link AttributeIndexManager} attached to the provided {@code modelResource}
+     * @throws NullPointerException     if the provided {@code modelResource}, {@code declaredIndexes}, or
+     *                                  {@code declaredTrigramIndexes} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code autoIndexThreshold} is negative, or if a declared
+     *                                  trigram index does not refer to a {@link String} attribute
+     * @see TrigramIndex#isIndexable(EAttribute)
+     */
+    public static AttributeIndexManager install(Resource modelResource, Collection<IndexKey> declaredIndexes,
+                                                Collection<IndexKey> declaredTrigramIndexes,
+                                                int autoIndexThreshold) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s",
+                AttributeIndexManager.class.getSimpleName(), modelResource);
+        checkNotNull(declaredIndexes, "Cannot install the %s: the provided declared indexes are null",
+                AttributeIndexManager.class.getSimpleName());
+        checkNotNull(declaredTrigramIndexes, "Cannot install the %s: the provided declared trigram indexes are null",
+                AttributeIndexManager.class.getSimpleName());
+        checkArgument(autoIndexThreshold >= 0, "Cannot install the %s: the provided threshold must be positive or " +
+                "0, found %s", AttributeIndexManager.class.getSimpleName(), autoIndexThreshold);
+        for (IndexKey key : declaredTrigramIndexes) {
+            checkArgument(TrigramIndex.isIndexable(key.getEAttribute()), "Cannot install the %s: the attribute %s " +
+                    "cannot be indexed with a %s", AttributeIndexManager.class.getSimpleName(), key,
+                    TrigramIndex.class.getSimpleName());
+        }
+        AttributeIndexManager existingManager = getManager(modelResource);
+        if (nonNull(existingManager)) {
+            return existingManager;
+        }
+        AttributeIndexManager manager = new AttributeIndexManager(ExtentIndex.build(modelResource), declaredIndexes,
+                declaredTrigramIndexes, autoIndexThreshold);
+        modelResource.eAdapters().add(manager);
+        for (IndexKey key : manager.declaredIndexes) {
+            manager.getIndex(key.getEClass(), key.getEAttribute());
+        }
+        for (IndexKey key : manager.declaredTrigramIndexes) {
+            manager.getTrigramIndex(key.getEClass(), key.getEAttribute());
+        }
+        return manager;
+    }
+
+    /**
+     * Returns the {@link AttributeIndexManager} attached to the provided {@code modelResource}.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the manager of
+     * @return the {@link AttributeIndexManager} attached to the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static @Nullable AttributeIndexManager getManager(Resource modelResource) {
+        return (AttributeIndexManager) EcoreUtil.getExistingAdapter(modelResource, AttributeIndexManager.class);
+    }
+
+    /**
+     * The {@link ExtentIndex} used to retrieve the instances to index and the version of the model.
+     */
+    private final ExtentIndex extentIndex;
+
+    /**
+     * The {@code (EClass, EAttribute)} pairs to index eagerly.
+     */
+    private final Set<IndexKey> declaredIndexes;
+
+    /**
+     * The {@code (EClass, EAttribute)} pairs to index with a {@link TrigramIndex}.
+     */
+    private final Set<IndexKey> declaredTrigramIndexes;
+
+    /**
+     * The number of queries after which a non-declared pair is indexed.
+     */
+    private final int autoIndexThreshold;
+
+    /**
+     * The built indexes.
+     */
+    private final Map<IndexKey, AttributeIndex> indexes = new HashMap<>();
+
+    /**
+     * The built {@link TrigramIndex}es.
+     */
+    private final Map<IndexKey, TrigramIndex> trigramIndexes = new HashMap<>();
+
+    /**
+     * The number of lookups of each non-indexed pair.
+     */
+    private final Map<IndexKey, Integer> lookupCounts = new HashMap<>();
+
+    /**
+     * Constructs an {@link AttributeIndexManager} with the provided parameters.
+     *
+     * @param extentIndex            the {@link ExtentIndex} of the model to index
+     * @param declaredIndexes        the {@code (EClass, EAttribute)} pairs to index eagerly
+     * @param declaredTrigramIndexes the {@code (EClass, EAttribute)} pairs to index with a {@link TrigramIndex}
+     * @param autoIndexThreshold     the number of queries after which a non-declared pair is indexed
+     * @see #install(Resource, Collection, Collection, int)
+     */
+    private AttributeIndexManager(ExtentIndex extentIndex, Collection<IndexKey> declaredIndexes,
+                                  Collection<IndexKey> declaredTrigramIndexes, int autoIndexThreshold) {
+        this.extentIndex = extentIndex;
+        this.declaredIndexes = new HashSet<>(declaredIndexes);
+        this.declaredTrigramIndexes = new HashSet<>(declaredTrigramIndexes);
+        this.autoIndexThreshold = autoIndexThreshold;
+    }
+
+    /**
+     * Returns the up-to-date {@link AttributeIndex} of the provided {@code eAttribute} for the instances of the given
+     * {@code eClass}.
+     * <p>
+     * This method records the lookup, and builds the index if the pair is declared or has been looked up
+     * {@code autoIndexThreshold} times. Outdated indexes are rebuilt before being returned.
+     *
+     * @param eClass     the {@link EClass} of the instances to retrieve the index of
+     * @param eAttribute the indexed {@link EAttribute}
+     * @return the {@link AttributeIndex} if it exists, {@code null} otherwise
+     */
+    public synchronized @Nullable AttributeIndex getIndex(EClass eClass, EAttribute eAttribute) {
+        if (!AttributeIndex.isIndexable(eAttribute)) {
+            return null;
+        }
+        IndexKey key = new IndexKey(eClass, eAttribute);
+        AttributeIndex index = indexes.get(key);
+        long version = extentIndex.getVersion();
+        if (nonNull(index) && index.getVersion() == version) {
+            return index;
+        }
+        if (isNull(index) && !declaredIndexes.contains(key)) {
+            if (autoIndexThreshold == 0) {
+                return null;
+            }
+            int lookupCount = lookupCounts.merge(key, 1, Integer::sum);
+            if (lookupCount < autoIndexThreshold) {
+                return null;
+            }
+            lookupCounts.remove(key);
+        }
+        index = AttributeIndex.build(eClass, eAttribute, extentIndex.getNumberedInstances(eClass), version);
+        indexes.put(key, index);
+        Log.info("Built {0}", index);
+        return index;
+    }
+
+    /**
+     * Returns the up-to-date {@link TrigramIndex} of the provided {@code eAttribute} for the instances of the given
+     * {@code eClass}.
+     * <p>
+     * {@link TrigramIndex}es are only built for the declared pairs. Outdated indexes are rebuilt before being
+     * returned.
+     *
+     * @param eClass     the {@link EClass} of the instances to retrieve the index of
+     * @param eAttribute the indexed {@link EAttribute}
+     * @return the {@link TrigramIndex} if the pair is declared, {@code null} otherwise
+     */
+    public synchronized @Nullable TrigramIndex getTrigramIndex(EClass eClass, EAttribute eAttribute) {
+        IndexKey key = new IndexKey(eClass, eAttribute);
+        if (!declaredTrigramIndexes.contains(key)) {
+            return null;
+        }
+        TrigramIndex index = trigramIndexes.get(key);
+        long version = extentIndex.getVersion();
+        if (isNull(index) || index.getVersion() != version) {
+            index = TrigramIndex.build(eClass, eAttribute, extentIndex.getNumberedInstances(eClass), version);
+            trigramIndexes.put(key, index);
+            Log.info("Built {0}", index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns whether an index exists for the provided {@code eAttribute} and {@code eClass}.
+     * <p>
+     * This method does not record a lookup and does not check whether the index is up to date.
+     *
+     * @param eClass     the {@link EClass} of the instances to check
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the index exists, {@code false} otherwise
+     */
+    public synchronized boolean isIndexed(EClass eClass, EAttribute eAttribute) {
+        return indexes.containsKey(new IndexKey(eClass, eAttribute));
+    }
+
+    /**
+     * Returns the number of built indexes.
+     *
+     * @return the number of built indexes
+     */
+    public synchronized int getIndexCount() {
+        return indexes.size();
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == AttributeIndexManager.class;
+    }
+
+    /**
+     * An {@code (EClass, EAttribute)} pair identifying an {@link AttributeIndex} or a {@link TrigramIndex}.
+     */
+    public static final class IndexKey {
+
+        /**
+         * The {@link EClass} of the indexed instances.
+         */
+        private final EClass eClass;
+
+        /**
+         * The indexed {@link EAttribute}.
+         */
+        private final EAttribute eAttribute;
+
+        /**
+         * Constructs an {@link IndexKey} with the provided {@code eClass} and {@code eAttribute}.
+         *
+         * @param eClass     the {@link EClass} of the indexed instances
+         * @param eAttribute the indexed {@link EAttribute}
+         * @throws NullPointerException if the provided {@code eClass} or {@code eAttribute} is {@code null}
+         */
+        public IndexKey(EClass eClass, EAttribute eAttribute) {
+            this.eClass = checkNotNull(eClass, "Cannot create the %s: the provided %s is null",
+                    IndexKey.class.getSimpleName(), EClass.class.getSimpleName());
+            this.eAttribute = checkNotNull(eAttribute, "Cannot create the %s: the provided %s is null",
+                    IndexKey.class.getSimpleName(), EAttribute.class.getSimpleName());
+        }
+
+        /**
+         * Returns the {@link EClass} of the indexed instances.
+         *
+         * @return the {@link EClass} of the indexed instances
+         */
+        public EClass getEClass() {
+            return eClass;
+        }
+
+        /**
+         * Returns the indexed {@link EAttribute}.
+         *
+         * @return the indexed {@link EAttribute}
+         */
+        public EAttribute getEAttribute() {
+            return eAttribute;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey other = (IndexKey) o;
+            return eClass == other.eClass && eAttribute == other.eAttribute;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eClass, eAttribute);
+        }
+
+        @Override
+        public String toString() {
+            return eClass.getName() + "." + eAttribute.getName();
+        }
+    }
+}
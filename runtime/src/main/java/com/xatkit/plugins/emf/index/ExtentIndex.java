@@ -0,0 +1,720 @@
+package com.xatkit.plugins.emf.index;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A type-extent index over the content of a model {@link Resource}.
+ * <p>
+ * This index maps each {@link EClass} to its direct instances in the {@link Resource}, and allows to retrieve all the
+ * instances of a given {@link EClass} (including instances of its subtypes) in {@code O(result size)} instead of
+ * traversing the entire model.
+ * <p>
+ * The index is an {@link EContentAdapter} attached to the indexed {@link Resource}: it is populated while the adapter
+ * propagates itself to the content of the {@link Resource} (i.e. with a single traversal of the model), and is kept
+ * up to date when elements are added to or removed from the {@link Resource}.
+ * <p>
+ * Each indexed element is numbered when it is added to the index: the elements of the {@link Resource} are numbered
+ * in containment pre-order (i.e. in the order of {@link Resource#getAllContents()}) when the index is built, and the
+ * elements added to the {@link Resource} afterwards are numbered in insertion order. The instances of an
+ * {@link EClass} are returned in the order of their numbers, which is the order of a scan of the model as long as the
+ * {@link Resource} is not modified. Removed elements are marked as removed and compacted lazily, so that removing a
+ * subtree does not shift the extents once per removed element.
+ *
+ * @see #build(Resource)
+ */
+public final class ExtentIndex extends EContentAdapter {
+
+    /**
+     * Builds the {@link ExtentIndex} of the provided {@code modelResource} and attaches it to the {@link Resource}.
+     * <p>
+     * If the provided {@link Resource} is already indexed the existing {@link ExtentIndex} is returned.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to index
+     * @return the {@link ExtentIndex} attached to the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource} is {@code null}
+     */
+    public static ExtentIndex build(Resource modelResource) {
+        checkNotNull(modelResource, "Cannot build the %s of the provided resource %s",
+                ExtentIndex.class.getSimpleName(), modelResource);
+        ExtentIndex existingIndex = getIndex(modelResource);
+        if (nonNull(existingIndex)) {
+            return existingIndex;
+        }
+        ExtentIndex index = new ExtentIndex();
+        /*
+         * Adding the adapter to the resource propagates it to the entire content of the resource, which populates the
+         * index (see setTarget(EObject)).
+         */
+        index.lock.writeLock().lock();
+        try {
+            modelResource.eAdapters().add(index);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        return index;
+    }
+
+    /**
+     * Returns the {@link ExtentIndex} attached to the provided {@code modelResource}.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the index of
+     * @return the {@link ExtentIndex} attached to the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static @Nullable ExtentIndex getIndex(Resource modelResource) {
+        return (ExtentIndex) EcoreUtil.getExistingAdapter(modelResource, ExtentIndex.class);
+    }
+
+    /**
+     * The direct instances of each {@link EClass} contained in the indexed {@link Resource}.
+     * <p>
+     * This map preserves the order in which the {@link EClass}es have been discovered, and each extent is sorted by
+     * element number.
+     */
+    private final Map<EClass, Extent> extents = new LinkedHashMap<>();
+
+    /**
+     * The elements removed from the {@link Resource} that have not been compacted from their extent yet.
+     *
+     * @see #compact()
+     */
+    private final Set<EObject> removedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The number of the next indexed element.
+     */
+    private long nextNumber;
+
+    /**
+     * The number of indexed elements.
+     */
+    private long size;
+
+    /**
+     * The modification version of the indexed {@link Resource}.
+     * <p>
+     * This version is incremented each time the content of the {@link Resource} is modified, and can be used by
+     * derived indexes and caches to detect outdated data.
+     */
+    private volatile long version;
+
+    /**
+     * The structural version of the index.
+     * <p>
+     * This version is incremented each time an element is added to or removed from the index, and is used to detect
+     * concurrent modifications in the iterators returned by {@link #iterator(EClass)}.
+     */
+    private long structureVersion;
+
+    /**
+     * The lock used to synchronize index updates with concurrent reads.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs an empty {@link ExtentIndex}.
+     * <p>
+     * Use {@link #build(Resource)} to create an index for a given {@link Resource}.
+     */
+    private ExtentIndex() {
+    }
+
+    /**
+     * Returns all the instances of the provided {@code eClass} in the indexed {@link Resource}.
+     * <p>
+     * This method returns the direct instances of the provided {@code eClass} as well as the instances of its
+     * subtypes, in model order (see {@link ExtentIndex}). The extents of the concrete {@link EClass}es are merged by
+     * element number, which costs {@code O(result size * log(matching EClasses))}.
+     *
+     * @param eClass the {@link EClass} to retrieve the instances of
+     * @return a new {@link List} containing the instances of the provided {@code eClass}
+     */
+    public List<EObject> getInstances(EClass eClass) {
+        lockForRead();
+        try {
+            List<Extent> matchingExtents = getMatchingExtents(eClass);
+            int resultSize = 0;
+            for (Extent extent : matchingExtents) {
+                resultSize += extent.size;
+            }
+            if (matchingExtents.size() == 1) {
+                return new ArrayList<>(Arrays.asList(matchingExtents.get(0).elements).subList(0, resultSize));
+            }
+            List<EObject> result = new ArrayList<>(resultSize);
+            ExtentIterator iterator = new ExtentIterator(matchingExtents, structureVersion);
+            while (iterator.hasNextElement()) {
+                result.add(iterator.nextElement());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all the instances of the provided {@code eClass} in the indexed {@link Resource}, with their element
+     * numbers.
+     * <p>
+     * This method returns the same instances as {@link #getInstances(EClass)}, in an unmodifiable
+     * {@link ModelOrderedList} associating each instance to its element number. Indexes built from the returned
+     * {@link ModelOrderedList} can return their results with the same numbers, so that the results of different
+     * indexes can be merged in model order (see {@link ModelOrderedList#union(List)}).
+     *
+     * @param eClass the {@link EClass} to retrieve the instances of
+     * @return a {@link ModelOrderedList} containing the instances of the provided {@code eClass}
+     */
+    public ModelOrderedList getNumberedInstances(EClass eClass) {
+        lockForRead();
+        try {
+            return toModelOrderedList(getMatchingExtents(eClass));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all the elements of the indexed {@link Resource}, in model order, with their element numbers.
+     *
+     * @return a {@link ModelOrderedList} containing the elements of the indexed {@link Resource}
+     * @see #getNumberedInstances(EClass)
+     */
+    public ModelOrderedList getAllNumberedInstances() {
+        lockForRead();
+        try {
+            return toModelOrderedList(new ArrayList<>(extents.values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Merges the provided {@code mergedExtents} by element number in a {@link ModelOrderedList}.
+     * <p>
+     * This method must be called with the read lock held, once the removed elements have been compacted.
+     *
+     * @param mergedExtents the extents to merge
+     * @return a {@link ModelOrderedList} containing the elements of the extents
+     */
+    private ModelOrderedList toModelOrderedList(List<Extent> mergedExtents) {
+        if (mergedExtents.size() == 1) {
+            Extent extent = mergedExtents.get(0);
+            return new ModelOrderedList(Arrays.copyOf(extent.elements, extent.size),
+                    Arrays.copyOf(extent.numbers, extent.size), null, 0, extent.size);
+        }
+        int resultSize = 0;
+        for (Extent extent : mergedExtents) {
+            resultSize += extent.size;
+        }
+        EObject[] elements = new EObject[resultSize];
+        long[] numbers = new long[resultSize];
+        ExtentIterator iterator = new ExtentIterator(mergedExtents, structureVersion);
+        for (int i = 0; iterator.hasNextElement(); i++) {
+            numbers[i] = iterator.nextNumber();
+            elements[i] = iterator.nextElement();
+        }
+        return new ModelOrderedList(elements, numbers, null, 0, resultSize);
+    }
+
+    /**
+     * Returns the {@link EClass}es of the elements of the indexed {@link Resource}.
+     * <p>
+     * The returned {@link List} contains the concrete {@link EClass}es that have at least one direct instance in the
+     * {@link Resource}, in the order they have been discovered.
+     *
+     * @return a new {@link List} containing the {@link EClass}es of the indexed elements
+     */
+    public List<EClass> getEClasses() {
+        lockForRead();
+        try {
+            List<EClass> result = new ArrayList<>(extents.size());
+            for (Map.Entry<EClass, Extent> extent : extents.entrySet()) {
+                if (extent.getValue().size > 0) {
+                    result.add(extent.getKey());
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the direct instances of the provided {@code eClass} in the indexed {@link Resource}.
+     * <p>
+     * Unlike {@link #getInstances(EClass)}, this method does not return the instances of the subtypes of
+     * {@code eClass}.
+     *
+     * @param eClass the {@link EClass} to retrieve the direct instances of
+     * @return a new {@link List} containing the direct instances of the provided {@code eClass}
+     */
+    public List<EObject> getDirectInstances(EClass eClass) {
+        lockForRead();
+        try {
+            Extent extent = extents.get(eClass);
+            return nonNull(extent) ? new ArrayList<>(Arrays.asList(extent.elements).subList(0, extent.size)) :
+                    new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code eClass} in the indexed {@link Resource}.
+     * <p>
+     * This method counts the direct instances of the provided {@code eClass} as well as the instances of its
+     * subtypes. The count is computed from the size of the extents, without iterating or copying the instances.
+     *
+     * @param eClass the {@link EClass} to count the instances of
+     * @return the number of instances of the provided {@code eClass}
+     */
+    public int count(EClass eClass) {
+        lockForRead();
+        try {
+            int count = 0;
+            for (Extent extent : getMatchingExtents(eClass)) {
+                count += extent.size;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a lazy {@link Iterator} over the instances of the provided {@code eClass} in the indexed
+     * {@link Resource}.
+     * <p>
+     * The returned {@link Iterator} iterates the instances in the same order as {@link #getInstances(EClass)}
+     * without copying them. It throws a {@link ConcurrentModificationException} if an element is added to or removed
+     * from the {@link Resource} during the iteration.
+     *
+     * @param eClass the {@link EClass} to iterate the instances of
+     * @return an {@link Iterator} over the instances of the provided {@code eClass}
+     */
+    public Iterator<EObject> iterator(EClass eClass) {
+        lockForRead();
+        try {
+            return new ExtentIterator(getMatchingExtents(eClass), structureVersion);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the indexed {@link Resource}.
+     *
+     * @return the number of elements in the indexed {@link Resource}
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the extents containing the instances of the provided {@code eClass}.
+     * <p>
+     * This method must be called with the read lock held, once the removed elements have been compacted.
+     *
+     * @param eClass the {@link EClass} to retrieve the extents of
+     * @return the extents containing the direct instances of the {@code eClass} or of its subtypes
+     */
+    private List<Extent> getMatchingExtents(EClass eClass) {
+        List<Extent> matchingExtents = new ArrayList<>();
+        for (Extent extent : extents.values()) {
+            /*
+             * All the elements of an extent share the same EClass, we can check the first one to know whether the
+             * entire extent matches.
+             */
+            if (extent.size > 0 && eClass.isInstance(extent.elements[0])) {
+                matchingExtents.add(extent);
+            }
+        }
+        return matchingExtents;
+    }
+
+    /**
+     * Acquires the read lock of the index, once the removed elements have been compacted from their extents.
+     * <p>
+     * The write lock is acquired to compact the extents if needed, and is downgraded to the read lock, so that no
+     * element can be removed between the compaction and the read.
+     */
+    private void lockForRead() {
+        lock.readLock().lock();
+        if (removedElements.isEmpty()) {
+            return;
+        }
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            compact();
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the removed elements from their extents.
+     * <p>
+     * Each extent containing removed elements is compacted in a single pass, which costs {@code O(extent size)}
+     * regardless of the number of removed elements. This method must be called with the write lock held.
+     */
+    private void compact() {
+        if (removedElements.isEmpty()) {
+            return;
+        }
+        for (Extent extent : extents.values()) {
+            if (extent.removed > 0) {
+                extent.compact(removedElements);
+            }
+        }
+        removedElements.clear();
+    }
+
+    /**
+     * Returns the modification version of the indexed {@link Resource}.
+     * <p>
+     * This version is incremented each time the content of the {@link Resource} is modified (including attribute
+     * value changes).
+     *
+     * @return the modification version of the indexed {@link Resource}
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Increments the modification version of the index if the provided {@code notification} represents a
+     * modification, and updates the index content.
+     *
+     * @param notification the {@link Notification} to handle
+     */
+    @Override
+    public void notifyChanged(Notification notification) {
+        if (!notification.isTouch()) {
+            version++;
+        }
+        super.notifyChanged(notification);
+    }
+
+    /**
+     * Adds the provided {@code target} to the index and propagates the adapter to its content.
+     * <p>
+     * The {@code target} is numbered before its content, which numbers the elements in containment pre-order.
+     *
+     * @param target the {@link EObject} to index
+     */
+    @Override
+    protected void setTarget(EObject target) {
+        lock.writeLock().lock();
+        try {
+            if (removedElements.contains(target)) {
+                /*
+                 * The element is moved: compact its previous position before numbering it again.
+                 */
+                compact();
+            }
+            extents.computeIfAbsent(target.eClass(), k -> new Extent()).add(target, nextNumber++);
+            size++;
+            structureVersion++;
+            super.setTarget(target);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the provided {@code target} from the index and removes the adapter from its content.
+     * <p>
+     * The {@code target} is marked as removed in constant time, and is compacted from its extent by the next read
+     * (see {@link #compact()}).
+     *
+     * @param target the {@link EObject} to remove from the index
+     */
+    @Override
+    protected void unsetTarget(EObject target) {
+        lock.writeLock().lock();
+        try {
+            Extent extent = extents.get(target.eClass());
+            if (nonNull(extent) && removedElements.add(target)) {
+                extent.removed++;
+                size--;
+                structureVersion++;
+            }
+            super.unsetTarget(target);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clears the index and removes the adapter from the content of the provided {@code target}.
+     * <p>
+     * This method is called when the index is detached from the indexed {@link Resource}. The extents are cleared at
+     * once before the adapter is removed from the content of the {@link Resource}, so that
+     * {@link #unsetTarget(EObject)} does not mark each element of the model as removed.
+     *
+     * @param target the {@link Resource} the index is detached from
+     */
+    @Override
+    protected void unsetTarget(Resource target) {
+        lock.writeLock().lock();
+        try {
+            extents.clear();
+            removedElements.clear();
+            size = 0;
+            version++;
+            structureVersion++;
+            super.unsetTarget(target);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == ExtentIndex.class;
+    }
+
+    /**
+     * The direct instances of a concrete {@link EClass}, sorted by element number.
+     * <p>
+     * The elements and their numbers are stored in parallel arrays. The elements marked as removed (see
+     * {@link #unsetTarget(EObject)}) remain in the arrays until the extent is compacted.
+     */
+    private static final class Extent {
+
+        /**
+         * The elements of the extent.
+         */
+        private EObject[] elements = new EObject[8];
+
+        /**
+         * The numbers of the elements of the extent.
+         */
+        private long[] numbers = new long[8];
+
+        /**
+         * The number of elements stored in the arrays, including the removed ones.
+         */
+        private int size;
+
+        /**
+         * The number of elements of the extent marked as removed.
+         */
+        private int removed;
+
+        /**
+         * Appends the provided {@code element} to the extent.
+         *
+         * @param element the element to append
+         * @param number  the number of the element, greater than the numbers of the elements of the extent
+         */
+        private void add(EObject element, long number) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            elements[size] = element;
+            numbers[size] = number;
+            size++;
+        }
+
+        /**
+         * Removes the elements contained in the provided {@code removedElements} from the extent, preserving the
+         * order of the remaining elements.
+         *
+         * @param removedElements the elements removed from the index
+         */
+        private void compact(Set<EObject> removedElements) {
+            int newSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removedElements.contains(elements[i])) {
+                    elements[newSize] = elements[i];
+                    numbers[newSize] = numbers[i];
+                    newSize++;
+                }
+            }
+            Arrays.fill(elements, newSize, size, null);
+            size = newSize;
+            removed = 0;
+        }
+    }
+
+    /**
+     * A lazy {@link Iterator} merging a set of extents of the index by element number.
+     * <p>
+     * The iterator keeps a cursor per extent in a {@link PriorityQueue} ordered by the number of the next element of
+     * each cursor.
+     *
+     * @see #iterator(EClass)
+     */
+    private final class ExtentIterator implements Iterator<EObject> {
+
+        /**
+         * The cursors of the extents that have not been entirely iterated.
+         */
+        private final PriorityQueue<ExtentCursor> cursors;
+
+        /**
+         * The structural version of the index when the iterator was created.
+         */
+        private final long expectedStructureVersion;
+
+        /**
+         * Constructs an {@link ExtentIterator} over the provided {@code iteratedExtents}.
+         *
+         * @param iteratedExtents          the extents to iterate
+         * @param expectedStructureVersion the structural version of the index
+         */
+        private ExtentIterator(List<Extent> iteratedExtents, long expectedStructureVersion) {
+            this.cursors = new PriorityQueue<>(Math.max(1, iteratedExtents.size()),
+                    Comparator.comparingLong(ExtentCursor::nextNumber));
+            for (Extent extent : iteratedExtents) {
+                if (extent.size > 0) {
+                    cursors.add(new ExtentCursor(extent));
+                }
+            }
+            this.expectedStructureVersion = expectedStructureVersion;
+        }
+
+        @Override
+        public boolean hasNext() {
+            lock.readLock().lock();
+            try {
+                checkStructureVersion();
+                return hasNextElement();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public EObject next() {
+            lock.readLock().lock();
+            try {
+                checkStructureVersion();
+                if (!hasNextElement()) {
+                    throw new NoSuchElementException();
+                }
+                return nextElement();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Returns whether the merged extents contain more elements.
+         * <p>
+         * This method does not lock the index, it must be called with the read lock held.
+         *
+         * @return {@code true} if the merged extents contain more elements, {@code false} otherwise
+         */
+        private boolean hasNextElement() {
+            return !cursors.isEmpty();
+        }
+
+        /**
+         * Returns the number of the element returned by the next call to {@link #nextElement()}.
+         * <p>
+         * This method does not lock the index, it must be called with the read lock held and only if
+         * {@link #hasNextElement()} returns {@code true}.
+         *
+         * @return the number of the next element of the merged extents
+         */
+        private long nextNumber() {
+            return cursors.peek().nextNumber();
+        }
+
+        /**
+         * Returns the element of the merged extents with the lowest number, and advances its cursor.
+         * <p>
+         * This method does not lock the index, it must be called with the read lock held and only if
+         * {@link #hasNextElement()} returns {@code true}.
+         *
+         * @return the next element of the merged extents
+         */
+        private EObject nextElement() {
+            ExtentCursor cursor = cursors.poll();
+            EObject next = cursor.extent.elements[cursor.position++];
+            if (cursor.position < cursor.extent.size) {
+                cursors.add(cursor);
+            }
+            return next;
+        }
+
+        /**
+         * Checks that the index has not been structurally modified since the creation of the iterator.
+         *
+         * @throws ConcurrentModificationException if the index has been modified
+         */
+        private void checkStructureVersion() {
+            if (structureVersion != expectedStructureVersion) {
+                throw new ConcurrentModificationException("The indexed resource has been modified during the " +
+                        "iteration");
+            }
+        }
+    }
+
+    /**
+     * The position of an {@link ExtentIterator} in an extent.
+     */
+    private static final class ExtentCursor {
+
+        /**
+         * The iterated extent.
+         */
+        private final Extent extent;
+
+        /**
+         * The position of the next element in the extent.
+         */
+        private int position;
+
+        /**
+         * Constructs an {@link ExtentCursor} at the beginning of the provided {@code extent}.
+         *
+         * @param extent the iterated extent
+         */
+        private ExtentCursor(Extent extent) {
+            this.extent = extent;
+        }
+
+        /**
+         * Returns the number of the next element of the cursor.
+         *
+         * @return the number of the next element of the cursor
+         */
+        private long nextNumber() {
+            return extent.numbers[position];
+        }
+    }
+}
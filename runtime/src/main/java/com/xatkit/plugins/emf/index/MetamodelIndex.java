@@ -0,0 +1,239 @@
+package com.xatkit.plugins.emf.index;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable name index over the {@link EClass}es and structural features of a metamodel {@link Resource}.
+ * <p>
+ * The index is computed once with a single traversal of the metamodel, and allows to resolve {@link EClass}es,
+ * {@link EAttribute}s, and {@link EReference}s from their names in constant time. {@link EClass}es can be retrieved
+ * with their simple name or with their qualified name ({@code <nsURI>#<name>}), the latter allowing to disambiguate
+ * {@link EClass}es with the same name defined in different {@link EPackage}s.
+ * <p>
+ * The index is attached to the metamodel {@link Resource} as an adapter, and can be retrieved with
+ * {@link #getIndex(Resource)}.
+ *
+ * @see #build(Resource)
+ */
+public final class MetamodelIndex extends AdapterImpl {
+
+    /**
+     * The separator used between the {@code nsURI} of an {@link EPackage} and the name of an {@link EClass} in
+     * qualified names.
+     */
+    public static final String QUALIFIED_NAME_SEPARATOR = "#";
+
+    /**
+     * Builds the {@link MetamodelIndex} of the provided {@code metamodelResource} and attaches it to the
+     * {@link Resource}.
+     * <p>
+     * If the provided {@link Resource} is already indexed the existing {@link MetamodelIndex} is returned.
+     *
+     * @param metamodelResource the EMF {@link Resource} containing the metamodel to index
+     * @return the {@link MetamodelIndex} attached to the provided {@code metamodelResource}
+     * @throws NullPointerException if the provided {@code metamodelResource} is {@code null}
+     */
+    public static MetamodelIndex build(Resource metamodelResource) {
+        checkNotNull(metamodelResource, "Cannot build the %s of the provided resource %s",
+                MetamodelIndex.class.getSimpleName(), metamodelResource);
+        MetamodelIndex existingIndex = getIndex(metamodelResource);
+        if (nonNull(existingIndex)) {
+            return existingIndex;
+        }
+        MetamodelIndex index = new MetamodelIndex(metamodelResource);
+        metamodelResource.eAdapters().add(index);
+        return index;
+    }
+
+    /**
+     * Returns the {@link MetamodelIndex} attached to the provided {@code metamodelResource}.
+     *
+     * @param metamodelResource the EMF {@link Resource} to retrieve the index of
+     * @return the {@link MetamodelIndex} attached to the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static @Nullable MetamodelIndex getIndex(Resource metamodelResource) {
+        return (MetamodelIndex) EcoreUtil.getExistingAdapter(metamodelResource, MetamodelIndex.class);
+    }
+
+    /**
+     * The indexed {@link EClass}es, by simple name.
+     * <p>
+     * If multiple {@link EClass}es share the same name this map contains the first one found in the metamodel.
+     */
+    private final Map<String, EClass> eClassesByName;
+
+    /**
+     * The indexed {@link EClass}es, by qualified name.
+     */
+    private final Map<String, EClass> eClassesByQualifiedName;
+
+    /**
+     * The {@link EAttribute}s (including inherited ones) of the indexed {@link EClass}es, by name.
+     */
+    private final Map<EClass, Map<String, EAttribute>> eAttributes;
+
+    /**
+     * The {@link EReference}s (including inherited ones) of the indexed {@link EClass}es, by name.
+     */
+    private final Map<EClass, Map<String, EReference>> eReferences;
+
+    /**
+     * Constructs a {@link MetamodelIndex} from the content of the provided {@code metamodelResource}.
+     *
+     * @param metamodelResource the EMF {@link Resource} containing the metamodel to index
+     */
+    private MetamodelIndex(Resource metamodelResource) {
+        Map<String, EClass> byName = new HashMap<>();
+        Map<String, EClass> byQualifiedName = new LinkedHashMap<>();
+        Map<EClass, Map<String, EAttribute>> attributes = new HashMap<>();
+        Map<EClass, Map<String, EReference>> references = new HashMap<>();
+        Iterator<EObject> it = metamodelResource.getAllContents();
+        while (it.hasNext()) {
+            EObject element = it.next();
+            if (element instanceof EClass) {
+                EClass eClass = (EClass) element;
+                EClass previous = byName.putIfAbsent(eClass.getName(), eClass);
+                if (nonNull(previous)) {
+                    Log.warn("Found multiple EClasses with the name {0}, use the qualified name {1} to access the " +
+                            "duplicated one", eClass.getName(), getQualifiedName(eClass));
+                }
+                byQualifiedName.put(getQualifiedName(eClass), eClass);
+                Map<String, EAttribute> eClassAttributes = new HashMap<>();
+                for (EAttribute eAttribute : eClass.getEAllAttributes()) {
+                    eClassAttributes.putIfAbsent(eAttribute.getName(), eAttribute);
+                }
+                attributes.put(eClass, Collections.unmodifiableMap(eClassAttributes));
+                Map<String, EReference> eClassReferences = new HashMap<>();
+                for (EReference eReference : eClass.getEAllReferences()) {
+                    eClassReferences.putIfAbsent(eReference.getName(), eReference);
+                }
+                references.put(eClass, Collections.unmodifiableMap(eClassReferences));
+            }
+        }
+        this.eClassesByName = Collections.unmodifiableMap(byName);
+        this.eClassesByQualifiedName = Collections.unmodifiableMap(byQualifiedName);
+        this.eAttributes = Collections.unmodifiableMap(attributes);
+        this.eReferences = Collections.unmodifiableMap(references);
+    }
+
+    /**
+     * Returns the qualified name of the provided {@code eClass}.
+     * <p>
+     * Qualified names are computed with the following pattern: {@code <nsURI>#<name>}, where {@code nsURI} is the
+     * namespace URI of the {@link EPackage} containing the {@link EClass}.
+     *
+     * @param eClass the {@link EClass} to compute the qualified name of
+     * @return the qualified name of the {@link EClass}
+     */
+    public static String getQualifiedName(EClass eClass) {
+        EPackage ePackage = eClass.getEPackage();
+        String nsURI = isNull(ePackage) ? "" : ePackage.getNsURI();
+        return nsURI + QUALIFIED_NAME_SEPARATOR + eClass.getName();
+    }
+
+    /**
+     * Returns the {@link EClass} matching the provided {@code eClassName}.
+     * <p>
+     * The provided {@code eClassName} can be a simple name or a qualified name (see
+     * {@link #getQualifiedName(EClass)}).
+     *
+     * @param eClassName the name of the {@link EClass} to retrieve
+     * @return the {@link EClass} if it exists, {@code null} otherwise
+     */
+    public @Nullable EClass getEClass(String eClassName) {
+        if (isNull(eClassName)) {
+            return null;
+        }
+        EClass result = eClassesByName.get(eClassName);
+        if (isNull(result) && eClassName.contains(QUALIFIED_NAME_SEPARATOR)) {
+            result = eClassesByQualifiedName.get(eClassName);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@link EAttribute} of the provided {@code eClass} matching the given {@code eAttributeName}.
+     * <p>
+     * This method looks for {@link EAttribute}s defined in the {@link EClass} as well as inherited ones.
+     *
+     * @param eClass         the {@link EClass} to retrieve the {@link EAttribute} from
+     * @param eAttributeName the name of the {@link EAttribute} to retrieve
+     * @return the {@link EAttribute} if it exists, {@code null} otherwise
+     */
+    public @Nullable EAttribute getEAttribute(EClass eClass, String eAttributeName) {
+        Map<String, EAttribute> eClassAttributes = eAttributes.get(eClass);
+        if (isNull(eClassAttributes)) {
+            return null;
+        }
+        return eClassAttributes.get(eAttributeName);
+    }
+
+    /**
+     * Returns the {@link EReference} of the provided {@code eClass} matching the given {@code eReferenceName}.
+     * <p>
+     * This method looks for {@link EReference}s defined in the {@link EClass} as well as inherited ones.
+     *
+     * @param eClass         the {@link EClass} to retrieve the {@link EReference} from
+     * @param eReferenceName the name of the {@link EReference} to retrieve
+     * @return the {@link EReference} if it exists, {@code null} otherwise
+     */
+    public @Nullable EReference getEReference(EClass eClass, String eReferenceName) {
+        Map<String, EReference> eClassReferences = eReferences.get(eClass);
+        if (isNull(eClassReferences)) {
+            return null;
+        }
+        return eClassReferences.get(eReferenceName);
+    }
+
+    /**
+     * Returns the {@link EAttribute} matching the provided {@code eAttributeName} in the {@link EClass} with the
+     * given {@code eClassName}.
+     *
+     * @param eClassName     the name of the {@link EClass} to retrieve the {@link EAttribute} from
+     * @param eAttributeName the name of the {@link EAttribute} to retrieve
+     * @return the {@link EAttribute} if it exists, {@code null} otherwise
+     * @see #getEClass(String)
+     * @see #getEAttribute(EClass, String)
+     */
+    public @Nullable EAttribute getEAttribute(String eClassName, String eAttributeName) {
+        EClass eClass = getEClass(eClassName);
+        if (isNull(eClass)) {
+            return null;
+        }
+        return getEAttribute(eClass, eAttributeName);
+    }
+
+    /**
+     * Returns all the indexed {@link EClass}es.
+     *
+     * @return an unmodifiable {@link Collection} containing the indexed {@link EClass}es
+     */
+    public Collection<EClass> getEClasses() {
+        return eClassesByQualifiedName.values();
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == MetamodelIndex.class;
+    }
+}
@@ -0,0 +1,203 @@
+package com.xatkit.plugins.emf.index;
+
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * An unmodifiable {@link List} of model elements sorted by their number in the {@link ExtentIndex} of their model.
+ * <p>
+ * Each element of the list is associated to the number it has been assigned by the {@link ExtentIndex} (see
+ * {@link #getNumber(int)}). The numbers are shared by all the indexes built from the same {@link ExtentIndex}, which
+ * allows to merge the lists returned by different indexes in model order without traversing the model (see
+ * {@link #union(List)}).
+ * <p>
+ * The list is a view of arrays owned by the index that created it: its elements are either a range of an element
+ * array, or the elements at a range of sorted positions in this array.
+ *
+ * @see ExtentIndex#getNumberedInstances(org.eclipse.emf.ecore.EClass)
+ */
+public final class ModelOrderedList extends AbstractList<EObject> implements RandomAccess {
+
+    /**
+     * The empty {@link ModelOrderedList}.
+     */
+    private static final ModelOrderedList EMPTY = new ModelOrderedList(new EObject[0], new long[0], null, 0, 0);
+
+    /**
+     * Returns an empty {@link ModelOrderedList}.
+     *
+     * @return an empty {@link ModelOrderedList}
+     */
+    public static ModelOrderedList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the union of the provided {@code lists}, in model order.
+     * <p>
+     * The lists are merged by element number with a {@link PriorityQueue} containing a cursor per list, which costs
+     * {@code O(total size * log(lists))}. Elements contained in several lists are returned once.
+     *
+     * @param lists the {@link ModelOrderedList}s to merge, numbered by the same {@link ExtentIndex}
+     * @return a {@link ModelOrderedList} containing the elements of the provided {@code lists}
+     * @throws NullPointerException if the provided {@code lists} is {@code null}
+     */
+    public static ModelOrderedList union(List<ModelOrderedList> lists) {
+        checkNotNull(lists, "Cannot compute the union of the provided lists %s", lists);
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int capacity = 0;
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, lists.size()),
+                Comparator.comparingLong(Cursor::nextNumber));
+        for (ModelOrderedList list : lists) {
+            capacity += list.size();
+            if (!list.isEmpty()) {
+                cursors.add(new Cursor(list));
+            }
+        }
+        EObject[] elements = new EObject[capacity];
+        long[] numbers = new long[capacity];
+        int size = 0;
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            long number = cursor.nextNumber();
+            if (size == 0 || numbers[size - 1] != number) {
+                elements[size] = cursor.list.get(cursor.position);
+                numbers[size] = number;
+                size++;
+            }
+            cursor.position++;
+            if (cursor.position < cursor.list.size()) {
+                cursors.add(cursor);
+            }
+        }
+        return new ModelOrderedList(elements, numbers, null, 0, size);
+    }
+
+    /**
+     * The array containing the elements of the list.
+     */
+    private final EObject[] elements;
+
+    /**
+     * The numbers of the elements of {@link #elements}.
+     */
+    private final long[] numbers;
+
+    /**
+     * The sorted positions in {@link #elements} of the elements of the list.
+     * <p>
+     * This array is {@code null} if the list is a range of {@link #elements}.
+     */
+    private final int[] positions;
+
+    /**
+     * The start of the range of the list (inclusive).
+     */
+    private final int from;
+
+    /**
+     * The end of the range of the list (exclusive).
+     */
+    private final int to;
+
+    /**
+     * Constructs a {@link ModelOrderedList} with the provided parameters.
+     * <p>
+     * The range {@code [from, to)} is a range of {@code elements} if {@code positions} is {@code null}, and a range
+     * of {@code positions} otherwise. The selected elements must be sorted by number.
+     *
+     * @param elements  the array containing the elements of the list
+     * @param numbers   the numbers of the provided {@code elements}
+     * @param positions the sorted positions in {@code elements} of the elements of the list, or {@code null} if the
+     *                  list is a range of {@code elements}
+     * @param from      the start of the range of the list (inclusive)
+     * @param to        the end of the range of the list (exclusive)
+     */
+    ModelOrderedList(EObject[] elements, long[] numbers, @Nullable int[] positions, int from, int to) {
+        this.elements = elements;
+        this.numbers = numbers;
+        this.positions = positions;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public EObject get(int index) {
+        return elements[toElementIndex(index)];
+    }
+
+    /**
+     * Returns the number of the element at the provided {@code index} in the {@link ExtentIndex} of its model.
+     *
+     * @param index the index of the element in the list
+     * @return the number of the element
+     * @throws IndexOutOfBoundsException if the list does not contain an element at the provided {@code index}
+     */
+    public long getNumber(int index) {
+        return numbers[toElementIndex(index)];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * Returns the index in {@link #elements} of the element at the provided {@code index} in the list.
+     *
+     * @param index the index of the element in the list
+     * @return the index of the element in {@link #elements}
+     * @throws IndexOutOfBoundsException if the list does not contain an element at the provided {@code index}
+     */
+    private int toElementIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return isNull(positions) ? from + index : positions[from + index];
+    }
+
+    /**
+     * The position of {@link #union(List)} in a merged {@link ModelOrderedList}.
+     */
+    private static final class Cursor {
+
+        /**
+         * The merged list.
+         */
+        private final ModelOrderedList list;
+
+        /**
+         * The position of the next element in the list.
+         */
+        private int position;
+
+        /**
+         * Constructs a {@link Cursor} at the beginning of the provided {@code list}.
+         *
+         * @param list the merged list
+         */
+        private Cursor(ModelOrderedList list) {
+            this.list = list;
+        }
+
+        /**
+         * Returns the number of the next element of the cursor.
+         *
+         * @return the number of the next element of the cursor
+         */
+        private long nextNumber() {
+            return list.getNumber(position);
+        }
+    }
+}
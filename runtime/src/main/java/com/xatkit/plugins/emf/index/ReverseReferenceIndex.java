@@ -0,0 +1,382 @@
+package com.xatkit.plugins.emf.index;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A reverse-reference index over the content of a model {@link Resource}.
+ * <p>
+ * The index assigns an {@code int} identifier to each element of the {@link Resource} in the order of its
+ * {@link ExtentIndex}, and stores, for each non-derived {@link EReference}, the identifiers of the elements
+ * referencing each element in compressed sparse row layout: the sources referencing the element {@code id} are
+ * stored between {@code offsets[id]} and {@code offsets[id + 1]}. This allows to retrieve the elements referencing a
+ * set of targets (see {@link #getSources(EReference, Collection, EClass)}) without traversing the model, and without
+ * the per-element {@link Map}s of EMF's {@link org.eclipse.emf.ecore.util.ECrossReferenceAdapter}.
+ * <p>
+ * References to elements that are not contained in the indexed {@link Resource} (e.g. unresolved proxies) are not
+ * indexed. The index is attached to the {@link Resource} it represents (see {@link #install(Resource)} and
+ * {@link #getIndex(Resource)}), and is rebuilt lazily when the {@link ExtentIndex#getVersion() version} of the model
+ * changes.
+ */
+public final class ReverseReferenceIndex {
+
+    /**
+     * Installs a {@link ReverseReferenceIndex} on the provided {@code modelResource}.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist, and
+     * builds the index. If the provided {@link Resource} already has a {@link ReverseReferenceIndex} the existing
+     * (up-to-date) index is returned.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to index
+     * @return the {@link ReverseReferenceIndex} attached to the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource} is {@code null}
+     */
+    public static ReverseReferenceIndex install(Resource modelResource) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s",
+                ReverseReferenceIndex.class.getSimpleName(), modelResource);
+        return VersionedHolder.install(modelResource, ReverseReferenceIndex.class, ReverseReferenceIndex::build);
+    }
+
+    /**
+     * Returns the up-to-date {@link ReverseReferenceIndex} attached to the provided {@code modelResource}.
+     * <p>
+     * The index is rebuilt if the model has been modified since its creation.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the index of
+     * @return the {@link ReverseReferenceIndex} attached to the {@link Resource} if it exists, {@code null}
+     * otherwise
+     */
+    public static @Nullable ReverseReferenceIndex getIndex(Resource modelResource) {
+        return VersionedHolder.getValue(modelResource, ReverseReferenceIndex.class);
+    }
+
+    /**
+     * Builds the {@link ReverseReferenceIndex} of the model indexed by the provided {@code extentIndex}.
+     * <p>
+     * This method assigns the identifiers of the elements in model order (see
+     * {@link ExtentIndex#getAllNumberedInstances()}), collects the {@code (source, target)} pairs of each
+     * {@link EReference} in a single pass over the extents, and sorts them by target with a counting sort. The
+     * sources of each target are therefore ordered by identifier.
+     *
+     * @param extentIndex the {@link ExtentIndex} containing the instances of the model
+     * @return the built {@link ReverseReferenceIndex}
+     */
+    static ReverseReferenceIndex build(ExtentIndex extentIndex) {
+        long version = extentIndex.getVersion();
+        ModelOrderedList instances = extentIndex.getAllNumberedInstances();
+        EObject[] objects = instances.toArray(new EObject[0]);
+        long[] numbers = new long[objects.length];
+        Map<EObject, Integer> ids = new IdentityHashMap<>(objects.length);
+        for (int id = 0; id < objects.length; id++) {
+            ids.put(objects[id], id);
+            numbers[id] = instances.getNumber(id);
+        }
+        Map<EReference, EdgeBuffer> edges = new LinkedHashMap<>();
+        for (int source = 0; source < objects.length; source++) {
+            EObject eObject = objects[source];
+            for (EReference eReference : eObject.eClass().getEAllReferences()) {
+                if (eReference.isDerived()) {
+                    continue;
+                }
+                Object value = eObject.eGet(eReference, false);
+                Collection<?> values = eReference.isMany() ? (Collection<?>) value :
+                        Collections.singletonList(value);
+                for (Object target : values) {
+                    Integer targetId = ids.get(target);
+                    if (nonNull(targetId)) {
+                        edges.computeIfAbsent(eReference, r -> new EdgeBuffer()).add(source, targetId);
+                    }
+                }
+            }
+        }
+        Map<EReference, ReverseAdjacency> adjacencies = new LinkedHashMap<>();
+        for (Map.Entry<EReference, EdgeBuffer> entry : edges.entrySet()) {
+            adjacencies.put(entry.getKey(), entry.getValue().toAdjacency(objects.length));
+        }
+        return new ReverseReferenceIndex(version, objects, numbers, ids, adjacencies);
+    }
+
+    /**
+     * The version of the model represented by the index.
+     */
+    private final long version;
+
+    /**
+     * The indexed elements, indexed by their identifier.
+     */
+    private final EObject[] objects;
+
+    /**
+     * The numbers of the indexed elements in the {@link ExtentIndex}, indexed by their identifier.
+     */
+    private final long[] numbers;
+
+    /**
+     * The identifiers of the indexed elements.
+     */
+    private final Map<EObject, Integer> ids;
+
+    /**
+     * The {@link ReverseAdjacency} of each {@link EReference} that has at least one indexed value.
+     */
+    private final Map<EReference, ReverseAdjacency> adjacencies;
+
+    /**
+     * Constructs a {@link ReverseReferenceIndex} with the provided parameters.
+     *
+     * @param version     the version of the model represented by the index
+     * @param objects     the indexed elements, indexed by their identifier
+     * @param numbers     the numbers of the indexed elements in the {@link ExtentIndex}, indexed by their
+     *                    identifier
+     * @param ids         the identifiers of the indexed elements
+     * @param adjacencies the {@link ReverseAdjacency} of each indexed {@link EReference}
+     * @see #build(ExtentIndex)
+     */
+    private ReverseReferenceIndex(long version, EObject[] objects, long[] numbers, Map<EObject, Integer> ids,
+                                  Map<EReference, ReverseAdjacency> adjacencies) {
+        this.version = version;
+        this.objects = objects;
+        this.numbers = numbers;
+        this.ids = ids;
+        this.adjacencies = adjacencies;
+    }
+
+    /**
+     * Returns the version of the model represented by the index.
+     *
+     * @return the version of the model represented by the index
+     * @see ExtentIndex#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of elements of the index.
+     *
+     * @return the number of elements of the index
+     */
+    public int size() {
+        return objects.length;
+    }
+
+    /**
+     * Returns the identifier of the provided {@code eObject}.
+     *
+     * @param eObject the {@link EObject} to retrieve the identifier of
+     * @return the identifier of the {@link EObject}, or {@code -1} if it is not contained in the indexed model
+     */
+    public int getId(EObject eObject) {
+        Integer id = ids.get(eObject);
+        return isNull(id) ? -1 : id;
+    }
+
+    /**
+     * Returns the element with the provided {@code id}.
+     *
+     * @param id the identifier of the element to retrieve
+     * @return the element with the provided identifier
+     * @throws ArrayIndexOutOfBoundsException if the provided {@code id} is not a valid identifier
+     */
+    public EObject getEObject(int id) {
+        return objects[id];
+    }
+
+    /**
+     * Returns whether the provided {@code eReference} can be navigated backward with the index.
+     * <p>
+     * Derived {@link EReference}s are not indexed. {@link EReference}s without any value in the model are indexed,
+     * and do not have any source.
+     *
+     * @param eReference the {@link EReference} to check
+     * @return {@code true} if the {@link EReference} is indexed, {@code false} otherwise
+     */
+    public boolean isIndexed(EReference eReference) {
+        return !eReference.isDerived();
+    }
+
+    /**
+     * Returns the identifiers of the elements referencing the element {@code targetId} through the provided
+     * {@code eReference}.
+     *
+     * @param eReference the {@link EReference} to navigate backward
+     * @param targetId   the identifier of the referenced element
+     * @return the identifiers of the referencing elements, in increasing order
+     */
+    public int[] getSources(EReference eReference, int targetId) {
+        ReverseAdjacency adjacency = adjacencies.get(eReference);
+        return isNull(adjacency) ? new int[0] : adjacency.getSources(targetId);
+    }
+
+    /**
+     * Returns the instances of the provided {@code eClass} referencing at least one of the given {@code targets}
+     * through the provided {@code eReference}.
+     * <p>
+     * This method performs a semi-join between the {@code targets} and the reverse adjacency of the
+     * {@link EReference}: the identifiers of the referencing elements are collected in a {@link BitSet}, which
+     * removes the duplicates and orders the result by identifier. The returned {@link ModelOrderedList} therefore
+     * preserves the order of the instances in the {@link ExtentIndex} (see {@link ExtentIndex#getInstances(EClass)}).
+     *
+     * @param eReference the {@link EReference} to navigate backward
+     * @param targets    the referenced {@link EObject}s
+     * @param eClass     the {@link EClass} of the instances to retrieve
+     * @return the instances referencing at least one of the {@code targets}, or {@code null} if the
+     * {@link EReference} is not indexed
+     */
+    public @Nullable ModelOrderedList getSources(EReference eReference, Collection<EObject> targets,
+                                                 EClass eClass) {
+        if (!isIndexed(eReference)) {
+            return null;
+        }
+        ReverseAdjacency adjacency = adjacencies.get(eReference);
+        if (isNull(adjacency)) {
+            return ModelOrderedList.empty();
+        }
+        BitSet sources = new BitSet(objects.length);
+        for (EObject target : targets) {
+            Integer targetId = ids.get(target);
+            if (nonNull(targetId)) {
+                adjacency.collectSources(targetId, sources);
+            }
+        }
+        int[] sourceIds = new int[sources.cardinality()];
+        int size = 0;
+        for (int id = sources.nextSetBit(0); id >= 0; id = sources.nextSetBit(id + 1)) {
+            if (eClass.isInstance(objects[id])) {
+                sourceIds[size++] = id;
+            }
+        }
+        return new ModelOrderedList(objects, numbers, sourceIds, 0, size);
+    }
+
+    @Override
+    public String toString() {
+        return "ReverseReferenceIndex(version=" + version + ", elements=" + objects.length + ", references="
+                + adjacencies.size() + ")";
+    }
+
+    /**
+     * The reverse adjacency of an {@link EReference}, in compressed sparse row layout.
+     */
+    private static final class ReverseAdjacency {
+
+        /**
+         * The start offset of the sources of each target, followed by the total number of sources.
+         */
+        private final int[] offsets;
+
+        /**
+         * The identifiers of the sources of all the targets.
+         */
+        private final int[] sources;
+
+        /**
+         * Constructs a {@link ReverseAdjacency} with the provided parameters.
+         *
+         * @param offsets the start offset of the sources of each target, followed by the total number of sources
+         * @param sources the identifiers of the sources of all the targets
+         */
+        private ReverseAdjacency(int[] offsets, int[] sources) {
+            this.offsets = offsets;
+            this.sources = sources;
+        }
+
+        /**
+         * Returns the identifiers of the sources of the provided {@code targetId}.
+         *
+         * @param targetId the identifier of the target
+         * @return the identifiers of the sources, in increasing order
+         */
+        private int[] getSources(int targetId) {
+            return Arrays.copyOfRange(sources, offsets[targetId], offsets[targetId + 1]);
+        }
+
+        /**
+         * Adds the identifiers of the sources of the provided {@code targetId} to the given {@code result}.
+         *
+         * @param targetId the identifier of the target
+         * @param result   the {@link BitSet} to add the identifiers to
+         */
+        private void collectSources(int targetId, BitSet result) {
+            for (int i = offsets[targetId]; i < offsets[targetId + 1]; i++) {
+                result.set(sources[i]);
+            }
+        }
+    }
+
+    /**
+     * A growable buffer of {@code (source, target)} pairs used to build a {@link ReverseAdjacency}.
+     */
+    private static final class EdgeBuffer {
+
+        /**
+         * The identifiers of the sources of the pairs.
+         */
+        private int[] sources = new int[16];
+
+        /**
+         * The identifiers of the targets of the pairs.
+         */
+        private int[] targets = new int[16];
+
+        /**
+         * The number of pairs in the buffer.
+         */
+        private int size;
+
+        /**
+         * Adds the provided pair to the buffer.
+         *
+         * @param source the identifier of the source
+         * @param target the identifier of the target
+         */
+        private void add(int source, int target) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            size++;
+        }
+
+        /**
+         * Sorts the pairs of the buffer by target and creates the corresponding {@link ReverseAdjacency}.
+         * <p>
+         * The sort is stable: the sources of each target keep the order in which they have been added.
+         *
+         * @param elementCount the number of elements of the model
+         * @return the created {@link ReverseAdjacency}
+         */
+        private ReverseAdjacency toAdjacency(int elementCount) {
+            int[] offsets = new int[elementCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[targets[i] + 1]++;
+            }
+            for (int id = 0; id < elementCount; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] positions = Arrays.copyOf(offsets, elementCount);
+            int[] sortedSources = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedSources[positions[targets[i]]++] = sources[i];
+            }
+            return new ReverseAdjacency(offsets, sortedSources);
+        }
+    }
+}
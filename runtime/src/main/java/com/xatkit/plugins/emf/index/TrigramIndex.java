@@ -0,0 +1,427 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.plugins.emf.query.StringComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * An inverted index over the trigrams of a {@link String} {@link EAttribute} for the instances of a given
+ * {@link EClass}.
+ * <p>
+ * The index maps each sequence of three consecutive characters (trigram) of the attribute values to the instances
+ * containing it, which allows to narrow the candidates of {@link StringComparator#CONTAINS} conditions to the
+ * instances containing all the trigrams of the searched value (see {@link #lookup(String)}). The candidates must
+ * then be verified: an instance containing all the trigrams of the searched value does not necessarily contain the
+ * value itself.
+ * <p>
+ * Indexed instances are identified by their position in the model order, and keep their {@link ExtentIndex} numbers
+ * in the candidates returned by the index. The posting list of each trigram is
+ * stored as a sequence of variable-length encoded gaps between consecutive positions, and all the posting lists are
+ * stored in a single {@code byte[]}. Instances with a {@code null} value are not indexed, since they never match a
+ * condition.
+ * <p>
+ * {@link TrigramIndex}es are immutable snapshots of the indexed instances, see {@link AttributeIndexManager} to
+ * create and maintain the indexes of a model.
+ *
+ * @see AttributeIndexManager
+ */
+public final class TrigramIndex {
+
+    /**
+     * The number of characters of the indexed grams.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    /**
+     * Returns whether the provided {@code eAttribute} can be indexed.
+     * <p>
+     * Single-valued {@link String} {@link EAttribute}s can be indexed.
+     *
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the provided {@code eAttribute} can be indexed, {@code false} otherwise
+     */
+    public static boolean isIndexable(EAttribute eAttribute) {
+        return !eAttribute.isMany() && AttributeIndex.isString(eAttribute);
+    }
+
+    /**
+     * Builds the {@link TrigramIndex} of the provided {@code eAttribute} for the given {@code instances}.
+     *
+     * @param eClass     the {@link EClass} of the instances to index
+     * @param eAttribute the {@link EAttribute} to index
+     * @param instances  the numbered instances of the provided {@code eClass} to index (see
+     *                   {@link ExtentIndex#getNumberedInstances(EClass)})
+     * @param version    the version of the model the {@code instances} have been retrieved from
+     * @return the created {@link TrigramIndex}
+     * @throws NullPointerException     if the provided {@code eClass}, {@code eAttribute}, or {@code instances} is
+     *                                  {@code null}
+     * @throws IllegalArgumentException if the provided {@code eAttribute} cannot be indexed
+     * @see #isIndexable(EAttribute)
+     */
+    public static TrigramIndex build(EClass eClass, EAttribute eAttribute, ModelOrderedList instances,
+                                     long version) {
+        checkNotNull(eClass, "Cannot build the %s: the provided %s is null", TrigramIndex.class.getSimpleName(),
+                EClass.class.getSimpleName());
+        checkNotNull(eAttribute, "Cannot build the %s: the provided %s is null", TrigramIndex.class.getSimpleName(),
+                EAttribute.class.getSimpleName());
+        checkNotNull(instances, "Cannot build the %s: the provided instance list is null",
+                TrigramIndex.class.getSimpleName());
+        checkArgument(isIndexable(eAttribute), "Cannot build the %s: the attribute %s.%s cannot be indexed (only " +
+                        "single-valued String attributes can be indexed)", TrigramIndex.class.getSimpleName(),
+                eClass.getName(), eAttribute.getName());
+        EObject[] indexedInstances = new EObject[instances.size()];
+        long[] numbers = new long[instances.size()];
+        int position = 0;
+        Map<Long, PostingBuilder> builders = new HashMap<>();
+        for (int i = 0; i < instances.size(); i++) {
+            EObject instance = instances.get(i);
+            String value = (String) instance.eGet(eAttribute);
+            if (isNull(value)) {
+                continue;
+            }
+            indexedInstances[position] = instance;
+            numbers[position] = instances.getNumber(i);
+            for (long trigram : getTrigrams(value)) {
+                builders.computeIfAbsent(trigram, t -> new PostingBuilder()).add(position);
+            }
+            position++;
+        }
+        long[] trigrams = new long[builders.size()];
+        int i = 0;
+        for (long trigram : builders.keySet()) {
+            trigrams[i++] = trigram;
+        }
+        Arrays.sort(trigrams);
+        int[] offsets = new int[trigrams.length + 1];
+        int[] sizes = new int[trigrams.length];
+        for (i = 0; i < trigrams.length; i++) {
+            PostingBuilder builder = builders.get(trigrams[i]);
+            offsets[i + 1] = offsets[i] + builder.length;
+            sizes[i] = builder.size;
+        }
+        byte[] postings = new byte[offsets[trigrams.length]];
+        for (i = 0; i < trigrams.length; i++) {
+            PostingBuilder builder = builders.get(trigrams[i]);
+            System.arraycopy(builder.bytes, 0, postings, offsets[i], builder.length);
+        }
+        return new TrigramIndex(eClass, eAttribute, version, Arrays.copyOf(indexedInstances, position),
+                Arrays.copyOf(numbers, position), trigrams, offsets, sizes, postings);
+    }
+
+    /**
+     * Returns the distinct trigrams of the provided {@code value}, in increasing order.
+     * <p>
+     * Each trigram is encoded in a {@code long} containing its three 16-bit characters.
+     *
+     * @param value the {@link String} to extract the trigrams of
+     * @return the distinct trigrams of the provided {@code value}
+     */
+    private static long[] getTrigrams(String value) {
+        if (value.length() < GRAM_LENGTH) {
+            return new long[0];
+        }
+        long[] trigrams = new long[value.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int size = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[size++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, size);
+    }
+
+    /**
+     * The {@link EClass} of the indexed instances.
+     */
+    private final EClass eClass;
+
+    /**
+     * The indexed {@link EAttribute}.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The version of the model the index has been built from.
+     */
+    private final long version;
+
+    /**
+     * The indexed instances, in model order.
+     */
+    private final EObject[] instances;
+
+    /**
+     * The numbers in the {@link ExtentIndex} of the indexed instances.
+     */
+    private final long[] numbers;
+
+    /**
+     * The sorted trigrams of the indexed values.
+     */
+    private final long[] trigrams;
+
+    /**
+     * The start offset of the posting list of each trigram in {@link #postings}, followed by the total length of the
+     * posting lists.
+     */
+    private final int[] offsets;
+
+    /**
+     * The number of instances in the posting list of each trigram.
+     */
+    private final int[] sizes;
+
+    /**
+     * The encoded posting lists of all the trigrams.
+     */
+    private final byte[] postings;
+
+    /**
+     * Constructs a {@link TrigramIndex} with the provided parameters.
+     *
+     * @param eClass     the {@link EClass} of the indexed instances
+     * @param eAttribute the indexed {@link EAttribute}
+     * @param version    the version of the model the index has been built from
+     * @param instances  the indexed instances, in model order
+     * @param numbers    the numbers in the {@link ExtentIndex} of the indexed instances
+     * @param trigrams   the sorted trigrams of the indexed values
+     * @param offsets    the start offset of the posting list of each trigram, followed by the total length of the
+     *                   posting lists
+     * @param sizes      the number of instances in the posting list of each trigram
+     * @param postings   the encoded posting lists of all the trigrams
+     * @see #build(EClass, EAttribute, ModelOrderedList, long)
+     */
+    private TrigramIndex(EClass eClass, EAttribute eAttribute, long version, EObject[] instances, long[] numbers,
+                         long[] trigrams, int[] offsets, int[] sizes, byte[] postings) {
+        this.eClass = eClass;
+        this.eAttribute = eAttribute;
+        this.version = version;
+        this.instances = instances;
+        this.numbers = numbers;
+        this.trigrams = trigrams;
+        this.offsets = offsets;
+        this.sizes = sizes;
+        this.postings = postings;
+    }
+
+    /**
+     * Returns the {@link EClass} of the indexed instances.
+     *
+     * @return the {@link EClass} of the indexed instances
+     */
+    public EClass getEClass() {
+        return eClass;
+    }
+
+    /**
+     * Returns the indexed {@link EAttribute}.
+     *
+     * @return the indexed {@link EAttribute}
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the version of the model the index has been built from.
+     *
+     * @return the version of the model the index has been built from
+     * @see ExtentIndex#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of indexed instances.
+     *
+     * @return the number of indexed instances
+     */
+    public int size() {
+        return instances.length;
+    }
+
+    /**
+     * Returns the number of distinct trigrams of the indexed values.
+     *
+     * @return the number of distinct trigrams of the indexed values
+     */
+    public int getTrigramCount() {
+        return trigrams.length;
+    }
+
+    /**
+     * Returns the size of the encoded posting lists, in bytes.
+     *
+     * @return the size of the encoded posting lists
+     */
+    public int getPostingsSize() {
+        return postings.length;
+    }
+
+    /**
+     * Returns the indexed instances that may contain the provided {@code value}.
+     * <p>
+     * The returned instances contain all the trigrams of the provided {@code value}, and are ordered according to
+     * their order in the model. They must be verified with {@link StringComparator#CONTAINS}: the index does not
+     * store the position of the trigrams in the values. The posting lists of the trigrams are intersected from the
+     * smallest to the largest, and the lookup stops as soon as the intersection is empty.
+     *
+     * @param value the searched {@link String}
+     * @return the candidate instances, or {@code null} if the provided {@code value} is too short to be searched in
+     * the index (see {@link #GRAM_LENGTH})
+     */
+    public @Nullable ModelOrderedList lookup(String value) {
+        if (value.length() < GRAM_LENGTH) {
+            return null;
+        }
+        long[] valueTrigrams = getTrigrams(value);
+        Integer[] postingIndexes = new Integer[valueTrigrams.length];
+        for (int i = 0; i < valueTrigrams.length; i++) {
+            int postingIndex = Arrays.binarySearch(trigrams, valueTrigrams[i]);
+            if (postingIndex < 0) {
+                return ModelOrderedList.empty();
+            }
+            postingIndexes[i] = postingIndex;
+        }
+        Arrays.sort(postingIndexes, (i1, i2) -> Integer.compare(sizes[i1], sizes[i2]));
+        int[] positions = decode(postingIndexes[0]);
+        int size = positions.length;
+        for (int i = 1; i < postingIndexes.length && size > 0; i++) {
+            size = intersect(positions, size, postingIndexes[i]);
+        }
+        return new ModelOrderedList(instances, numbers, positions, 0, size);
+    }
+
+    /**
+     * Decodes the posting list at the provided {@code postingIndex}.
+     *
+     * @param postingIndex the index of the trigram to decode the posting list of
+     * @return the positions of the instances containing the trigram, in increasing order
+     */
+    private int[] decode(int postingIndex) {
+        int[] result = new int[sizes[postingIndex]];
+        int offset = offsets[postingIndex];
+        int position = -1;
+        for (int i = 0; i < result.length; i++) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[offset++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            position += gap + 1;
+            result[i] = position;
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the first {@code size} provided {@code positions} with the posting list at the given
+     * {@code postingIndex}.
+     * <p>
+     * The posting list is decoded lazily, and the intersection is stored at the beginning of the
+     * {@code positions} array.
+     *
+     * @param positions    the sorted positions to intersect
+     * @param size         the number of positions to intersect
+     * @param postingIndex the index of the trigram to intersect the posting list of
+     * @return the number of positions in the intersection
+     */
+    private int intersect(int[] positions, int size, int postingIndex) {
+        int offset = offsets[postingIndex];
+        int end = offsets[postingIndex + 1];
+        int position = -1;
+        int resultSize = 0;
+        int i = 0;
+        while (i < size && offset < end) {
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[offset++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            position += gap + 1;
+            while (i < size && positions[i] < position) {
+                i++;
+            }
+            if (i < size && positions[i] == position) {
+                positions[resultSize++] = position;
+                i++;
+            }
+        }
+        return resultSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TrigramIndex(" + eClass.getName() + "." + eAttribute.getName() + ", size=" + size() + ", trigrams="
+                + getTrigramCount() + ")";
+    }
+
+    /**
+     * A growable posting list used to build a {@link TrigramIndex}.
+     * <p>
+     * Positions are encoded as the gap with the previous position minus one, in little-endian base-128 (7 bits per
+     * byte, the high bit of each byte indicating that another byte follows).
+     */
+    private static final class PostingBuilder {
+
+        /**
+         * The encoded positions.
+         */
+        private byte[] bytes = new byte[8];
+
+        /**
+         * The number of used bytes of {@link #bytes}.
+         */
+        private int length;
+
+        /**
+         * The number of encoded positions.
+         */
+        private int size;
+
+        /**
+         * The last encoded position.
+         */
+        private int lastPosition = -1;
+
+        /**
+         * Appends the provided {@code position} to the posting list.
+         *
+         * @param position the position to append, greater than the last appended position
+         */
+        private void add(int position) {
+            int gap = position - lastPosition - 1;
+            lastPosition = position;
+            size++;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.xatkit.plugins.emf.index;
+
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An adapter attaching a structure derived from the content of a model {@link Resource} (e.g. an index or a
+ * statistics catalog) to the {@link Resource}, and rebuilding it when the model changes.
+ * <p>
+ * The holder records the {@link ExtentIndex#getVersion() version} of the model its value has been built from, and
+ * rebuilds the value with its builder when it is retrieved after a modification of the model (see
+ * {@link #getValue(Resource, Class)}). Each {@link Resource} holds at most one value of a given type, identified by
+ * its {@link Class}.
+ *
+ * @param <T> the type of the held value
+ * @see #install(Resource, Class, Function)
+ */
+public final class VersionedHolder<T> extends AdapterImpl {
+
+    /**
+     * Installs a value of the provided {@code type} on the given {@code modelResource}.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist, and
+     * builds the value with the provided {@code builder}. If the provided {@link Resource} already holds a value of
+     * the given {@code type} the existing (up-to-date) value is returned.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to derive the value from
+     * @param type          the type of the value to install
+     * @param builder       the function building the value from the {@link ExtentIndex} of the model
+     * @param <T>           the type of the value to install
+     * @return the value held by the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource}, {@code type}, or {@code builder} is
+     *                              {@code null}
+     * @see #install(Resource, Class, Function, Function)
+     */
+    public static <T> T install(Resource modelResource, Class<T> type, Function<ExtentIndex, T> builder) {
+        return install(modelResource, type, builder, builder);
+    }
+
+    /**
+     * Installs a value of the provided {@code type} on the given {@code modelResource}, using a specific builder for
+     * the initial value.
+     * <p>
+     * The initial value is built with the provided {@code initialBuilder} (e.g. to read it from a snapshot), and the
+     * outdated values are rebuilt with the provided {@code builder}. The installation is synchronized on the
+     * {@code modelResource}: concurrent installations of the same type build a single value.
+     *
+     * @param modelResource  the EMF {@link Resource} containing the model to derive the value from
+     * @param type           the type of the value to install
+     * @param initialBuilder the function building the initial value from the {@link ExtentIndex} of the model
+     * @param builder        the function rebuilding the value from the {@link ExtentIndex} of the model
+     * @param <T>            the type of the value to install
+     * @return the value held by the provided {@code modelResource}
+     * @throws NullPointerException if one of the provided parameters is {@code null}
+     */
+    public static <T> T install(Resource modelResource, Class<T> type, Function<ExtentIndex, T> initialBuilder,
+                                Function<ExtentIndex, T> builder) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s", type, modelResource);
+        checkNotNull(type, "Cannot install the provided type %s", type);
+        checkNotNull(initialBuilder, "Cannot install the %s: the provided initial builder is null",
+                type.getSimpleName());
+        checkNotNull(builder, "Cannot install the %s: the provided builder is null", type.getSimpleName());
+        synchronized (modelResource) {
+            T existingValue = getValue(modelResource, type);
+            if (nonNull(existingValue)) {
+                return existingValue;
+            }
+            ExtentIndex extentIndex = ExtentIndex.build(modelResource);
+            long version = extentIndex.getVersion();
+            T value = initialBuilder.apply(extentIndex);
+            modelResource.eAdapters().add(new VersionedHolder<>(modelResource, type, extentIndex, builder, value,
+                    version));
+            return value;
+        }
+    }
+
+    /**
+     * Returns the up-to-date value of the provided {@code type} held by the given {@code modelResource}.
+     * <p>
+     * The value is rebuilt if the model has been modified since its creation.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the value of
+     * @param type          the type of the value to retrieve
+     * @param <T>           the type of the value to retrieve
+     * @return the value held by the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static <T> @Nullable T getValue(Resource modelResource, Class<T> type) {
+        VersionedHolder<?> holder = (VersionedHolder<?>) EcoreUtil.getExistingAdapter(modelResource, type);
+        return isNull(holder) ? null : type.cast(holder.getValue());
+    }
+
+    /**
+     * The {@link Resource} the value is derived from.
+     */
+    private final Resource modelResource;
+
+    /**
+     * The type of the held value.
+     */
+    private final Class<T> type;
+
+    /**
+     * The {@link ExtentIndex} providing the instances and the version of the model.
+     */
+    private final ExtentIndex extentIndex;
+
+    /**
+     * The function rebuilding the value from the {@link ExtentIndex} of the model.
+     */
+    private final Function<ExtentIndex, T> builder;
+
+    /**
+     * The current value.
+     */
+    private T value;
+
+    /**
+     * The version of the model the current value has been built from.
+     */
+    private long version;
+
+    /**
+     * Constructs a {@link VersionedHolder} with the provided parameters.
+     *
+     * @param modelResource the {@link Resource} the value is derived from
+     * @param type          the type of the held value
+     * @param extentIndex   the {@link ExtentIndex} providing the instances and the version of the model
+     * @param builder       the function rebuilding the value from the {@link ExtentIndex} of the model
+     * @param value         the initial value
+     * @param version       the version of the model the initial value has been built from
+     */
+    private VersionedHolder(Resource modelResource, Class<T> type, ExtentIndex extentIndex,
+                            Function<ExtentIndex, T> builder, T value, long version) {
+        this.modelResource = modelResource;
+        this.type = type;
+        this.extentIndex = extentIndex;
+        this.builder = builder;
+        this.value = value;
+        this.version = version;
+    }
+
+    /**
+     * Returns the up-to-date value, rebuilding it if the model has been modified.
+     *
+     * @return the up-to-date value
+     */
+    private synchronized T getValue() {
+        long currentVersion = extentIndex.getVersion();
+        if (version != currentVersion) {
+            Log.info("Rebuilding the outdated {0} of {1}", type.getSimpleName(), modelResource.getURI());
+            value = builder.apply(extentIndex);
+            version = currentVersion;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean isAdapterForType(Object type) {
+        return type == this.type;
+    }
+}
@@ -0,0 +1,52 @@
+package com.xatkit.plugins.emf.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonic counter.
+ * <p>
+ * Counters are backed by a {@link LongAdder} and can be incremented concurrently without contention.
+ */
+public class Counter implements Metric {
+
+    /**
+     * The value of the counter.
+     */
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Increments the counter by {@code 1}.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Increments the counter by the provided {@code amount}.
+     *
+     * @param amount the amount to add to the counter
+     */
+    public void increment(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Returns the value of the counter.
+     *
+     * @return the value of the counter
+     */
+    public long getValue() {
+        return value.sum();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public void collect(String name, Map<String, Number> samples) {
+        samples.put(name, getValue());
+    }
+}
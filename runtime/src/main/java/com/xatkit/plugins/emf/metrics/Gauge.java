@@ -0,0 +1,58 @@
+package com.xatkit.plugins.emf.metrics;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A metric reading its value from a {@link LongSupplier}.
+ * <p>
+ * Gauges expose the statistics computed by other components of the platform (e.g. the hit count of the
+ * {@link com.xatkit.plugins.emf.cache.ModelCache}) without duplicating them. A gauge can be declared as a
+ * {@code counter} if the supplied value is monotonic.
+ */
+public class Gauge implements Metric {
+
+    /**
+     * The {@link LongSupplier} providing the value of the gauge.
+     */
+    private final LongSupplier supplier;
+
+    /**
+     * Whether the supplied value is monotonic.
+     */
+    private final boolean monotonic;
+
+    /**
+     * Constructs a {@link Gauge} reading its value from the provided {@code supplier}.
+     *
+     * @param supplier  the {@link LongSupplier} providing the value of the gauge
+     * @param monotonic whether the supplied value is monotonic
+     * @throws NullPointerException if the provided {@code supplier} is {@code null}
+     */
+    public Gauge(LongSupplier supplier, boolean monotonic) {
+        this.supplier = checkNotNull(supplier, "Cannot create the %s: the provided supplier is null",
+                Gauge.class.getSimpleName());
+        this.monotonic = monotonic;
+    }
+
+    /**
+     * Returns the value of the gauge.
+     *
+     * @return the value of the gauge
+     */
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return monotonic ? "counter" : "gauge";
+    }
+
+    @Override
+    public void collect(String name, Map<String, Number> samples) {
+        samples.put(name, getValue());
+    }
+}
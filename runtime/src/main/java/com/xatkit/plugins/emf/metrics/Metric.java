@@ -0,0 +1,30 @@
+package com.xatkit.plugins.emf.metrics;
+
+import java.util.Map;
+
+/**
+ * A metric registered in a {@link MetricsRegistry}.
+ * <p>
+ * Metrics are identified by the name they are registered with, and expose their values as named samples (see
+ * {@link #collect(String, Map)}). Implementations must be thread-safe.
+ */
+public interface Metric {
+
+    /**
+     * Returns the type of the metric in the Prometheus text format.
+     *
+     * @return the type of the metric ({@code counter}, {@code gauge}, or {@code summary})
+     */
+    String getType();
+
+    /**
+     * Collects the current samples of the metric registered with the provided {@code name}.
+     * <p>
+     * Each sample is added to the provided {@code samples} {@link Map}, with a name derived from the metric's
+     * {@code name}.
+     *
+     * @param name    the name of the metric
+     * @param samples the {@link Map} to add the samples to
+     */
+    void collect(String name, Map<String, Number> samples);
+}
@@ -0,0 +1,168 @@
+package com.xatkit.plugins.emf.metrics;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A registry of named {@link Metric}s.
+ * <p>
+ * The registry exposes the samples of its metrics as a {@link Map} (see {@link #getSamples()}), and in the
+ * Prometheus text exposition format (see {@link #toPrometheusText()}). Metrics are exported in their registration
+ * order.
+ * <p>
+ * This class is thread-safe.
+ */
+public class MetricsRegistry {
+
+    /**
+     * The {@link Pattern} matching valid metric names.
+     */
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    /**
+     * The registered metrics.
+     */
+    private final Map<String, RegisteredMetric> metrics = new LinkedHashMap<>();
+
+    /**
+     * Creates and registers a {@link Counter} with the provided {@code name}.
+     *
+     * @param name the name of the {@link Counter}
+     * @param help the description of the {@link Counter}
+     * @return the registered {@link Counter}
+     * @throws NullPointerException     if the provided {@code name} or {@code help} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code name} is not valid or is already registered
+     */
+    public Counter counter(String name, String help) {
+        return register(name, help, new Counter());
+    }
+
+    /**
+     * Creates and registers a {@link Timer} with the provided {@code name}.
+     *
+     * @param name the name of the {@link Timer}
+     * @param help the description of the {@link Timer}
+     * @return the registered {@link Timer}
+     * @throws NullPointerException     if the provided {@code name} or {@code help} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code name} is not valid or is already registered
+     */
+    public Timer timer(String name, String help) {
+        return register(name, help, new Timer());
+    }
+
+    /**
+     * Registers the provided {@code metric} with the given {@code name}.
+     *
+     * @param name   the name of the {@link Metric}
+     * @param help   the description of the {@link Metric}
+     * @param metric the {@link Metric} to register
+     * @param <T>    the type of the {@link Metric}
+     * @return the registered {@link Metric}
+     * @throws NullPointerException     if the provided {@code name}, {@code help}, or {@code metric} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code name} is not valid or is already registered
+     */
+    public synchronized <T extends Metric> T register(String name, String help, T metric) {
+        checkNotNull(name, "Cannot register the metric with the provided name %s", name);
+        checkNotNull(help, "Cannot register the metric %s with the provided help %s", name, help);
+        checkNotNull(metric, "Cannot register the provided metric %s", metric);
+        checkArgument(NAME_PATTERN.matcher(name).matches(), "Cannot register the metric %s: invalid name", name);
+        checkArgument(!metrics.containsKey(name), "Cannot register the metric %s: the name is already registered",
+                name);
+        metrics.put(name, new RegisteredMetric(help, metric));
+        return metric;
+    }
+
+    /**
+     * Returns the {@link Metric} registered with the provided {@code name}.
+     *
+     * @param name the name of the {@link Metric} to retrieve
+     * @return the {@link Metric} if it exists, {@code null} otherwise
+     */
+    public synchronized @Nullable Metric getMetric(String name) {
+        RegisteredMetric registeredMetric = metrics.get(name);
+        return isNull(registeredMetric) ? null : registeredMetric.metric;
+    }
+
+    /**
+     * Returns the current samples of the registered metrics.
+     * <p>
+     * The returned {@link Map} is a snapshot of the metrics, and is not updated when the metrics change.
+     *
+     * @return the current samples of the registered metrics
+     */
+    public synchronized Map<String, Number> getSamples() {
+        Map<String, Number> samples = new LinkedHashMap<>();
+        metrics.forEach((name, registeredMetric) -> registeredMetric.metric.collect(name, samples));
+        return samples;
+    }
+
+    /**
+     * Returns the current samples of the registered metrics in the Prometheus text exposition format (version
+     * {@code 0.0.4}).
+     * <p>
+     * Samples that do not belong to the family of their metric (e.g. the {@code _max} sample of a {@link Timer}) are
+     * exported as separate {@code gauge} families.
+     *
+     * @return the current samples of the registered metrics in the Prometheus text format
+     */
+    public synchronized String toPrometheusText() {
+        StringBuilder sb = new StringBuilder();
+        metrics.forEach((name, registeredMetric) -> {
+            sb.append("# HELP ").append(name).append(' ').append(escapeHelp(registeredMetric.help)).append('\n');
+            sb.append("# TYPE ").append(name).append(' ').append(registeredMetric.metric.getType()).append('\n');
+            Map<String, Number> samples = new LinkedHashMap<>();
+            registeredMetric.metric.collect(name, samples);
+            samples.forEach((sampleName, value) -> {
+                if (!sampleName.equals(name) && !sampleName.equals(name + "_count")
+                        && !sampleName.equals(name + "_sum")) {
+                    sb.append("# TYPE ").append(sampleName).append(" gauge\n");
+                }
+                sb.append(sampleName).append(' ').append(value).append('\n');
+            });
+        });
+        return sb.toString();
+    }
+
+    /**
+     * Escapes the provided {@code help} text according to the Prometheus text format.
+     *
+     * @param help the help text to escape
+     * @return the escaped help text
+     */
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * A {@link Metric} registered with its description.
+     */
+    private static final class RegisteredMetric {
+
+        /**
+         * The description of the metric.
+         */
+        private final String help;
+
+        /**
+         * The registered metric.
+         */
+        private final Metric metric;
+
+        /**
+         * Constructs a {@link RegisteredMetric} with the provided {@code help} and {@code metric}.
+         *
+         * @param help   the description of the metric
+         * @param metric the registered metric
+         */
+        private RegisteredMetric(String help, Metric metric) {
+            this.help = help;
+            this.metric = metric;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.xatkit.plugins.emf.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A metric recording the number and the duration of timed operations.
+ * <p>
+ * Timers record the number of operations, their total duration, and the duration of the longest operation. They
+ * are exported as Prometheus summaries with the {@code _count} and {@code _sum} samples (in seconds), and a
+ * {@code _max} sample.
+ */
+public class Timer implements Metric {
+
+    /**
+     * The number of recorded operations.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The total duration of the recorded operations (in nanoseconds).
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * The duration of the longest recorded operation (in nanoseconds).
+     */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Returns the current time used to start an operation.
+     * <p>
+     * The returned value must be provided to {@link #stop(long)} when the operation completes.
+     *
+     * @return the current time (in nanoseconds)
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records an operation started at the provided {@code startNanos}.
+     *
+     * @param startNanos the start time of the operation returned by {@link #start()}
+     * @return the duration of the operation (in nanoseconds)
+     */
+    public long stop(long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        record(duration);
+        return duration;
+    }
+
+    /**
+     * Records an operation with the provided {@code durationNanos}.
+     *
+     * @param durationNanos the duration of the operation (in nanoseconds)
+     */
+    public void record(long durationNanos) {
+        count.increment();
+        totalNanos.add(durationNanos);
+        maxNanos.accumulate(durationNanos);
+    }
+
+    /**
+     * Returns the number of recorded operations.
+     *
+     * @return the number of recorded operations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the total duration of the recorded operations in the provided {@code unit}.
+     *
+     * @param unit the {@link TimeUnit} of the returned duration
+     * @return the total duration of the recorded operations
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the duration of the longest recorded operation in the provided {@code unit}.
+     *
+     * @param unit the {@link TimeUnit} of the returned duration
+     * @return the duration of the longest recorded operation
+     */
+    public long getMaxTime(TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String getType() {
+        return "summary";
+    }
+
+    @Override
+    public void collect(String name, Map<String, Number> samples) {
+        samples.put(name + "_count", getCount());
+        samples.put(name + "_sum", totalNanos.sum() / 1e9);
+        samples.put(name + "_max", maxNanos.get() / 1e9);
+    }
+}
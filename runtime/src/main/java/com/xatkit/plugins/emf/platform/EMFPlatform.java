@@ -3,24 +3,60 @@ package com.xatkit.plugins.emf.platform;
 import com.xatkit.core.XatkitCore;
 import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.RuntimePlatform;
+import com.xatkit.core.session.XatkitSession;
 import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.BinaryModelCache;
+import com.xatkit.plugins.emf.cache.ModelCache;
+import com.xatkit.plugins.emf.cache.ModelFileWatcher;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.cache.ModelKey;
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import com.xatkit.plugins.emf.index.AttributeIndexManager;
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.index.ReverseReferenceIndex;
+import com.xatkit.plugins.emf.index.TrigramIndex;
+import com.xatkit.plugins.emf.metrics.Counter;
+import com.xatkit.plugins.emf.metrics.Gauge;
+import com.xatkit.plugins.emf.metrics.MetricsRegistry;
+import com.xatkit.plugins.emf.metrics.Timer;
+import com.xatkit.plugins.emf.query.QueryCompiler;
+import com.xatkit.plugins.emf.query.QueryResultCache;
+import com.xatkit.plugins.emf.stats.ModelStatistics;
+import com.xatkit.plugins.emf.store.QueryStore;
+import com.xatkit.plugins.emf.store.StoreSnapshotCache;
+import com.xatkit.plugins.emf.util.BinaryResourceFactoryImpl;
+import com.xatkit.plugins.emf.util.ModelScanner;
+import com.xatkit.plugins.emf.util.ProjectingXMILoader;
 import com.xatkit.util.FileUtils;
 import fr.inria.atlanmod.commons.log.Log;
 import org.apache.commons.configuration2.Configuration;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -32,9 +68,18 @@ import static java.util.Objects.nonNull;
 public class EMFPlatform extends RuntimePlatform {
 
     /**
-     * The {@link ResourceSet} used to load the metamodel as well as its concrete instances.
+     * The namespace of the metamodel snapshots stored in the binary cache directory.
+     *
+     * @see EMFPlatformUtils#METAMODEL_SNAPSHOT_ENABLED_KEY
+     */
+    private static final String METAMODEL_SNAPSHOT_NAMESPACE = "metamodel";
+
+    /**
+     * The {@link ResourceSet} used to load the metamodel.
      * <p>
-     * The {@link ResourceSet} is configured to laod {@code .ecore} and {@code .xmi} files.
+     * The {@link ResourceSet} is configured to laod {@code .ecore} and {@code .xmi} files. Its
+     * {@link org.eclipse.emf.ecore.EPackage.Registry} contains the {@link EPackage}s of the metamodel, and is shared
+     * with the isolated {@link ResourceSet}s used to load models (see {@link #createModelResourceSet()}).
      */
     private ResourceSet rSet;
 
@@ -43,11 +88,145 @@ public class EMFPlatform extends RuntimePlatform {
      */
     private Resource metamodelResource;
 
+    /**
+     * The {@link MetamodelIndex} used to resolve {@link org.eclipse.emf.ecore.EClass}es and
+     * {@link org.eclipse.emf.ecore.EAttribute}s of the metamodel from their names.
+     * <p>
+     * This index is built once when loading the metamodel, see {@link #loadMetamodelResource(File, BinaryModelCache)}.
+     */
+    private MetamodelIndex metamodelIndex;
+
+    /**
+     * The {@link QueryCompiler} used to compile and cache the queries executed on the loaded models.
+     */
+    private QueryCompiler queryCompiler;
+
+    /**
+     * The {@link QueryResultCache} storing the results of the queries executed on the loaded models.
+     * <p>
+     * This cache is {@code null} if the {@link EMFPlatformUtils#RESULT_CACHE_ENABLED_KEY} configuration key is not
+     * set.
+     */
+    private QueryResultCache queryResultCache;
+
+    /**
+     * The {@link ModelScanner} used to scan and filter the loaded models.
+     * <p>
+     * The scanner is parallel if the {@link EMFPlatformUtils#PARALLEL_ENABLED_KEY} configuration key is set to
+     * {@code true}.
+     */
+    private ModelScanner modelScanner;
+
+    /**
+     * The {@link ModelCache} holding the models loaded by the platform.
+     * <p>
+     * The cache is bounded by the {@link EMFPlatformUtils#CACHE_MAX_ENTRIES_KEY} and
+     * {@link EMFPlatformUtils#CACHE_MAX_WEIGHT_KEY} configuration keys.
+     */
+    private ModelCache modelCache;
+
+    /**
+     * The {@link BinaryModelCache} storing binary copies of the loaded XMI models.
+     * <p>
+     * This cache is {@code null} if the {@link EMFPlatformUtils#BINARY_CACHE_ENABLED_KEY} configuration key is not
+     * set to {@code true}.
+     */
+    private BinaryModelCache binaryModelCache;
+
+    /**
+     * The {@code (EClass, EAttribute)} pairs to index when loading a model.
+     *
+     * @see EMFPlatformUtils#INDEX_ATTRIBUTES_KEY
+     */
+    private List<AttributeIndexManager.IndexKey> declaredIndexes;
+
+    /**
+     * The {@code (EClass, EAttribute)} pairs to index with a {@link TrigramIndex} when loading a model.
+     *
+     * @see EMFPlatformUtils#INDEX_TRIGRAM_ATTRIBUTES_KEY
+     */
+    private List<AttributeIndexManager.IndexKey> declaredTrigramIndexes;
+
+    /**
+     * The number of queries after which a non-declared attribute is indexed.
+     *
+     * @see EMFPlatformUtils#INDEX_AUTO_THRESHOLD_KEY
+     */
+    private int autoIndexThreshold;
+
+    /**
+     * The {@link ProjectingXMILoader} used to load a projection of the XMI models.
+     * <p>
+     * This loader is {@code null} if the {@link EMFPlatformUtils#PROJECTION_CLASSES_KEY} configuration key is not
+     * set.
+     */
+    private ProjectingXMILoader projectingLoader;
+
+    /**
+     * Whether a {@link QueryStore} is built for the loaded models.
+     *
+     * @see EMFPlatformUtils#QUERY_STORE_ENABLED_KEY
+     */
+    private boolean queryStoreEnabled;
+
+    /**
+     * Whether the statistics of the models are collected when they are loaded.
+     *
+     * @see EMFPlatformUtils#STATISTICS_ENABLED_KEY
+     */
+    private boolean statisticsEnabled;
+
+    /**
+     * Whether a {@link ReverseReferenceIndex} is built for the loaded models.
+     *
+     * @see EMFPlatformUtils#REVERSE_INDEX_ENABLED_KEY
+     */
+    private boolean reverseIndexEnabled;
+
+    /**
+     * The {@link StoreSnapshotCache} used to map the query stores of the loaded models.
+     * <p>
+     * This cache is {@code null} if the {@link EMFPlatformUtils#QUERY_STORE_SNAPSHOT_ENABLED_KEY} configuration key
+     * is not set, or if a projection is declared.
+     */
+    private StoreSnapshotCache storeSnapshotCache;
+
+    /**
+     * The {@link ModelFileWatcher} reloading the modified model files.
+     * <p>
+     * This watcher is {@code null} if the {@link EMFPlatformUtils#WATCH_ENABLED_KEY} configuration key is not set.
+     */
+    private ModelFileWatcher modelFileWatcher;
+
+    /**
+     * The {@link MetricsRegistry} containing the metrics of the platform.
+     *
+     * @see #getMetrics()
+     */
+    private MetricsRegistry metrics;
+
+    /**
+     * The {@link Timer} recording the duration of the model loads.
+     */
+    private Timer modelLoadTimer;
+
+    /**
+     * The {@link Counter} recording the number of bytes of the loaded model files.
+     */
+    private Counter modelLoadBytesCounter;
+
+    /**
+     * The {@link Counter} recording the number of elements of the loaded models.
+     */
+    private Counter modelLoadElementsCounter;
+
     /**
      * Constructs an {@link EMFPlatform} with the provided {@code xatkitCore} and {@code configuration}.
      * <p>
      * The provided {@code configuration} must contain a valid metamodel file location associated to the
-     * {@link EMFPlatformUtils#METAMODEL_LOCATION_KEY} key.
+     * {@link EMFPlatformUtils#METAMODEL_LOCATION_KEY} key, or refer to an {@link EPackage} available in the classpath
+     * with the {@link EMFPlatformUtils#METAMODEL_NSURI_KEY} or {@link EMFPlatformUtils#METAMODEL_PACKAGE_CLASS_KEY}
+     * keys.
      *
      * @param xatkitCore    the {@link XatkitCore} instance associated to the platform
      * @param configuration the {@link Configuration} used to initialize the platform
@@ -57,15 +236,171 @@ public class EMFPlatform extends RuntimePlatform {
      */
     public EMFPlatform(XatkitCore xatkitCore, Configuration configuration) {
         super(xatkitCore, configuration);
-        String metamodelLocation = configuration.getString(EMFPlatformUtils.METAMODEL_LOCATION_KEY);
-        checkArgument(nonNull(metamodelLocation) && !metamodelLocation.isEmpty(), "Cannot construct the %s: cannot " +
-                        "find a valid metamodel location in the provided configuration (configuration key: %s)",
-                this.getClass().getSimpleName(), EMFPlatformUtils.METAMODEL_LOCATION_KEY);
-        File metamodelFile = FileUtils.getFile(metamodelLocation, configuration);
-        checkArgument(metamodelFile.exists(), "Cannot construct the %s: the provided metamodel file does not exist " +
-                "(path=%s)", this.getClass().getSimpleName(), metamodelFile.getAbsolutePath());
         this.rSet = initializeResourceSet();
-        this.metamodelResource = loadMetamodelResource(metamodelFile);
+        String metamodelNsURI = configuration.getString(EMFPlatformUtils.METAMODEL_NSURI_KEY);
+        String metamodelPackageClass = configuration.getString(EMFPlatformUtils.METAMODEL_PACKAGE_CLASS_KEY);
+        String metamodelId;
+        if (nonNull(metamodelNsURI) || nonNull(metamodelPackageClass)) {
+            this.metamodelResource = loadRegisteredMetamodelResource(metamodelNsURI, metamodelPackageClass);
+            metamodelId = this.metamodelResource.getURI().toString();
+        } else {
+            String metamodelLocation = configuration.getString(EMFPlatformUtils.METAMODEL_LOCATION_KEY);
+            checkArgument(nonNull(metamodelLocation) && !metamodelLocation.isEmpty(), "Cannot construct the %s: " +
+                            "cannot find a valid metamodel location in the provided configuration (configuration " +
+                            "key: %s)", this.getClass().getSimpleName(), EMFPlatformUtils.METAMODEL_LOCATION_KEY);
+            File metamodelFile = FileUtils.getFile(metamodelLocation, configuration);
+            checkArgument(metamodelFile.exists(), "Cannot construct the %s: the provided metamodel file does not " +
+                    "exist (path=%s)", this.getClass().getSimpleName(), metamodelFile.getAbsolutePath());
+            BinaryModelCache metamodelSnapshotCache = null;
+            if (configuration.getBoolean(EMFPlatformUtils.METAMODEL_SNAPSHOT_ENABLED_KEY, false)) {
+                metamodelSnapshotCache = new BinaryModelCache(getBinaryCacheDirectory(configuration),
+                        METAMODEL_SNAPSHOT_NAMESPACE);
+            }
+            this.metamodelResource = loadMetamodelResource(metamodelFile, metamodelSnapshotCache);
+            metamodelId = ModelKey.of(metamodelFile).toString();
+        }
+        this.queryCompiler = new QueryCompiler(this.metamodelIndex,
+                configuration.getInt(EMFPlatformUtils.QUERY_PLAN_CACHE_SIZE_KEY,
+                        EMFPlatformUtils.DEFAULT_QUERY_PLAN_CACHE_SIZE));
+        if (configuration.getBoolean(EMFPlatformUtils.RESULT_CACHE_ENABLED_KEY, false)) {
+            long resultCacheMaxSize = configuration.getLong(EMFPlatformUtils.RESULT_CACHE_MAX_SIZE_KEY,
+                    EMFPlatformUtils.DEFAULT_RESULT_CACHE_MAX_SIZE);
+            this.queryResultCache = new QueryResultCache(resultCacheMaxSize);
+            Log.info("Query result cache enabled (max size={0})", resultCacheMaxSize);
+        }
+        this.declaredIndexes = getDeclaredIndexes(configuration);
+        this.declaredTrigramIndexes = getDeclaredTrigramIndexes(configuration);
+        this.projectingLoader = createProjectingLoader(configuration);
+        this.queryStoreEnabled = configuration.getBoolean(EMFPlatformUtils.QUERY_STORE_ENABLED_KEY, false);
+        this.statisticsEnabled = configuration.getBoolean(EMFPlatformUtils.STATISTICS_ENABLED_KEY, false);
+        this.reverseIndexEnabled = configuration.getBoolean(EMFPlatformUtils.REVERSE_INDEX_ENABLED_KEY, false);
+        this.autoIndexThreshold = configuration.getInt(EMFPlatformUtils.INDEX_AUTO_THRESHOLD_KEY,
+                EMFPlatformUtils.DEFAULT_INDEX_AUTO_THRESHOLD);
+        checkArgument(autoIndexThreshold >= 0, "Cannot construct the %s: the provided index threshold must be " +
+                        "positive or 0 (configuration key: %s, value: %s)", this.getClass().getSimpleName(),
+                EMFPlatformUtils.INDEX_AUTO_THRESHOLD_KEY, autoIndexThreshold);
+        if (configuration.getBoolean(EMFPlatformUtils.PARALLEL_ENABLED_KEY, false)) {
+            int parallelism = configuration.getInt(EMFPlatformUtils.PARALLEL_PARALLELISM_KEY,
+                    Runtime.getRuntime().availableProcessors());
+            int threshold = configuration.getInt(EMFPlatformUtils.PARALLEL_THRESHOLD_KEY,
+                    EMFPlatformUtils.DEFAULT_PARALLEL_THRESHOLD);
+            this.modelScanner = new ModelScanner(parallelism, threshold);
+            Log.info("Parallel model scans enabled (parallelism={0}, threshold={1})", parallelism, threshold);
+        } else {
+            this.modelScanner = ModelScanner.sequential();
+        }
+        int cacheMaxEntries = configuration.getInt(EMFPlatformUtils.CACHE_MAX_ENTRIES_KEY,
+                EMFPlatformUtils.DEFAULT_CACHE_MAX_ENTRIES);
+        long cacheMaxWeight = configuration.getLong(EMFPlatformUtils.CACHE_MAX_WEIGHT_KEY,
+                Runtime.getRuntime().maxMemory() / 2);
+        long handleIdleTimeout = configuration.getLong(EMFPlatformUtils.CACHE_HANDLE_IDLE_TIMEOUT_KEY,
+                EMFPlatformUtils.DEFAULT_CACHE_HANDLE_IDLE_TIMEOUT);
+        boolean watchEnabled = configuration.getBoolean(EMFPlatformUtils.WATCH_ENABLED_KEY, false);
+        /*
+         * Previous versions of the models are not unloaded if the model files are watched: sessions may still be
+         * querying them.
+         */
+        this.modelCache = new ModelCache(cacheMaxEntries, cacheMaxWeight, !watchEnabled, handleIdleTimeout);
+        if (nonNull(this.queryResultCache)) {
+            /*
+             * Cached results retain their model, drop them when the model is removed from the cache.
+             */
+            this.modelCache.addEvictionListener(this.queryResultCache::invalidate);
+        }
+        if (watchEnabled) {
+            long debounce = configuration.getLong(EMFPlatformUtils.WATCH_DEBOUNCE_KEY,
+                    EMFPlatformUtils.DEFAULT_WATCH_DEBOUNCE);
+            this.modelFileWatcher = new ModelFileWatcher(this.modelCache, this::loadModelResource, debounce);
+            Log.info("Model hot reload enabled (debounce={0} ms)", debounce);
+        }
+        if (configuration.getBoolean(EMFPlatformUtils.BINARY_CACHE_ENABLED_KEY, false)) {
+            File binaryCacheDirectory = getBinaryCacheDirectory(configuration);
+            this.binaryModelCache = new BinaryModelCache(binaryCacheDirectory, metamodelId);
+            Log.info("Binary model cache enabled (directory={0})", binaryCacheDirectory.getAbsolutePath());
+        }
+        if (this.queryStoreEnabled
+                && configuration.getBoolean(EMFPlatformUtils.QUERY_STORE_SNAPSHOT_ENABLED_KEY, false)) {
+            if (nonNull(this.projectingLoader)) {
+                Log.warn("Query store snapshots are not used for projected models (configuration key: {0})",
+                        EMFPlatformUtils.PROJECTION_CLASSES_KEY);
+            } else {
+                File snapshotDirectory = getBinaryCacheDirectory(configuration);
+                this.storeSnapshotCache = new StoreSnapshotCache(snapshotDirectory, metamodelId);
+                Log.info("Query store snapshots enabled (directory={0})", snapshotDirectory.getAbsolutePath());
+            }
+        }
+        this.metrics = createMetrics();
+    }
+
+    /**
+     * Creates the {@link MetricsRegistry} of the platform and registers its metrics.
+     * <p>
+     * The statistics of the {@link ModelCache} and of the {@link ModelScanner} are registered in the returned
+     * registry, and are not duplicated.
+     *
+     * @return the created {@link MetricsRegistry}
+     */
+    private MetricsRegistry createMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        this.modelLoadTimer = registry.timer("xatkit_emf_model_load_seconds", "Time spent loading models");
+        this.modelLoadBytesCounter = registry.counter("xatkit_emf_model_load_bytes_total", "Size of the loaded " +
+                "model files");
+        this.modelLoadElementsCounter = registry.counter("xatkit_emf_model_load_elements_total", "Number of " +
+                "elements of the loaded models");
+        registry.register("xatkit_emf_model_cache_hits_total", "Number of model cache hits",
+                new Gauge(modelCache::getHitCount, true));
+        registry.register("xatkit_emf_model_cache_misses_total", "Number of model cache misses",
+                new Gauge(modelCache::getMissCount, true));
+        registry.register("xatkit_emf_model_cache_evictions_total", "Number of models evicted from the cache",
+                new Gauge(modelCache::getEvictionCount, true));
+        registry.register("xatkit_emf_model_cache_entries", "Number of models in the cache",
+                new Gauge(modelCache::size, false));
+        registry.register("xatkit_emf_model_cache_weight_bytes", "Estimated heap weight of the cached models",
+                new Gauge(modelCache::getWeight, false));
+        registry.register("xatkit_emf_model_handles", "Number of unreleased model handles",
+                new Gauge(modelCache::getHandleCount, false));
+        registry.register("xatkit_emf_model_handles_expired_total", "Number of model handles released after their " +
+                "idle timeout", new Gauge(modelCache::getExpiredHandleCount, true));
+        registry.register("xatkit_emf_model_cache_pinned_overflows_total", "Number of times the model cache bounds " +
+                "could not be enforced because of pinned models", new Gauge(modelCache::getPinnedOverflowCount, true));
+        registry.register("xatkit_emf_scan_seconds", "Time spent scanning, filtering, and counting model elements",
+                modelScanner.getScanTimer());
+        registry.register("xatkit_emf_scan_visited_total", "Number of model elements tested by scans",
+                modelScanner.getVisitedCounter());
+        registry.register("xatkit_emf_scan_matched_total", "Number of model elements matched by scans",
+                modelScanner.getMatchedCounter());
+        if (nonNull(queryResultCache)) {
+            registry.register("xatkit_emf_result_cache_hits_total", "Number of query result cache hits",
+                    new Gauge(queryResultCache::getHitCount, true));
+            registry.register("xatkit_emf_result_cache_misses_total", "Number of query result cache misses",
+                    new Gauge(queryResultCache::getMissCount, true));
+            registry.register("xatkit_emf_result_cache_evictions_total", "Number of query results evicted from " +
+                    "the cache", new Gauge(queryResultCache::getEvictionCount, true));
+            registry.register("xatkit_emf_result_cache_invalidations_total", "Number of cached query results " +
+                    "invalidated by a model modification", new Gauge(queryResultCache::getInvalidationCount, true));
+            registry.register("xatkit_emf_result_cache_elements", "Number of elements in the cached query results",
+                    new Gauge(queryResultCache::size, false));
+        }
+        if (nonNull(modelFileWatcher)) {
+            registry.register("xatkit_emf_model_reloads_total", "Number of models reloaded after a modification",
+                    new Gauge(modelFileWatcher::getReloadCount, true));
+            registry.register("xatkit_emf_model_reload_errors_total", "Number of failed model reloads",
+                    new Gauge(modelFileWatcher::getReloadErrorCount, true));
+        }
+        return registry;
+    }
+
+    /**
+     * Returns the directory containing the binary copies of the models and metamodels.
+     *
+     * @param configuration the {@link Configuration} containing the directory location
+     * @return the directory containing the binary copies of the models and metamodels
+     * @see EMFPlatformUtils#BINARY_CACHE_DIRECTORY_KEY
+     */
+    private static File getBinaryCacheDirectory(Configuration configuration) {
+        String binaryCacheLocation = configuration.getString(EMFPlatformUtils.BINARY_CACHE_DIRECTORY_KEY,
+                new File(System.getProperty("java.io.tmpdir"), "xatkit-emf-cache").getAbsolutePath());
+        return FileUtils.getFile(binaryCacheLocation, configuration);
     }
 
     /**
@@ -77,10 +412,80 @@ public class EMFPlatform extends RuntimePlatform {
         return this.metamodelResource;
     }
 
+    /**
+     * Returns the {@link MetamodelIndex} of the metamodel associated to the platform.
+     *
+     * @return the {@link MetamodelIndex} of the metamodel associated to the platform
+     */
+    public MetamodelIndex getMetamodelIndex() {
+        return this.metamodelIndex;
+    }
+
+    /**
+     * Returns the {@link QueryCompiler} used to compile and cache the queries executed on the loaded models.
+     *
+     * @return the {@link QueryCompiler} used to compile and cache the queries executed on the loaded models
+     */
+    public QueryCompiler getQueryCompiler() {
+        return this.queryCompiler;
+    }
+
+    /**
+     * Returns the {@link QueryResultCache} storing the results of the queries executed on the loaded models.
+     *
+     * @return the {@link QueryResultCache}, or {@code null} if the result cache is not enabled
+     * @see EMFPlatformUtils#RESULT_CACHE_ENABLED_KEY
+     */
+    public @Nullable QueryResultCache getQueryResultCache() {
+        return this.queryResultCache;
+    }
+
+    /**
+     * Returns the {@link ModelScanner} used to scan and filter the loaded models.
+     *
+     * @return the {@link ModelScanner} used to scan and filter the loaded models
+     */
+    public ModelScanner getModelScanner() {
+        return this.modelScanner;
+    }
+
+    /**
+     * Returns the {@link ModelCache} holding the models loaded by the platform.
+     *
+     * @return the {@link ModelCache} holding the models loaded by the platform
+     */
+    public ModelCache getModelCache() {
+        return this.modelCache;
+    }
+
+    /**
+     * Returns the {@link ModelFileWatcher} reloading the modified model files.
+     *
+     * @return the {@link ModelFileWatcher}, or {@code null} if hot reload is not enabled
+     * @see EMFPlatformUtils#WATCH_ENABLED_KEY
+     */
+    public @Nullable ModelFileWatcher getModelFileWatcher() {
+        return modelFileWatcher;
+    }
+
+    /**
+     * Returns the {@link MetricsRegistry} containing the metrics of the platform.
+     * <p>
+     * The registry contains the duration, size, and number of elements of the model loads, the statistics of the
+     * {@link ModelCache}, and the duration and number of visited and matched elements of the model scans.
+     *
+     * @return the {@link MetricsRegistry} containing the metrics of the platform
+     * @see MetricsRegistry#toPrometheusText()
+     */
+    public MetricsRegistry getMetrics() {
+        return this.metrics;
+    }
+
     /**
      * Initializes the underlying {@link ResourceSet} and registers its {@link Resource} factories.
      * <p>
-     * The created {@link ResourceSet} handles {@code .ecore} and {@code .xmi} files.
+     * The created {@link ResourceSet} handles {@code .ecore} and {@code .xmi} files, as well as EMF binary
+     * {@code .xmib} files.
      *
      * @return the initialized {@link ResourceSet}
      */
@@ -89,30 +494,234 @@ public class EMFPlatform extends RuntimePlatform {
         rSet.getPackageRegistry().put(EcorePackage.eINSTANCE.getNsURI(), EcorePackage.eINSTANCE);
         rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
         rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(BinaryResourceFactoryImpl.BINARY_EXTENSION,
+                new BinaryResourceFactoryImpl());
         return rSet;
     }
 
     /**
      * Loads the metamodel {@link Resource} associated to the provided {@code metamodelFile}.
+     * <p>
+     * If the provided {@code snapshotCache} is not {@code null} the metamodel is loaded from its binary snapshot if
+     * it exists, skipping the parsing of the {@code .ecore} file. Otherwise the {@code .ecore} file is parsed and its
+     * snapshot is written for the next starts of the platform.
+     * <p>
+     * This method registers the {@link EPackage}s of the loaded metamodel in the platform's
+     * {@link org.eclipse.emf.ecore.EPackage.Registry}, and builds the {@link MetamodelIndex} of the loaded
+     * metamodel (see {@link #getMetamodelIndex()}).
      *
      * @param metamodelFile the {@link File} containing the metamodel to load
+     * @param snapshotCache the {@link BinaryModelCache} storing the snapshot of the metamodel, or {@code null} to
+     *                      parse the metamodel file
      * @return the EMF {@link Resource} containing the loaded metamodel
      * @throws NullPointerException     if the provided {@code metamodelFile} is {@code null}
      * @throws IllegalArgumentException if the provided {@code metamodelFile} does not exist
      */
-    private Resource loadMetamodelResource(File metamodelFile) {
+    private Resource loadMetamodelResource(File metamodelFile, @Nullable BinaryModelCache snapshotCache) {
         checkNotNull(metamodelFile, "Cannot load the metamodel from the provided file: %s", metamodelFile);
         checkArgument(metamodelFile.exists(), "Cannot load the metamodel from the provided file: %s, the file does " +
                 "not exist", metamodelFile.getAbsolutePath());
-        String absolutePath = metamodelFile.getAbsolutePath();
-        URI metamodelURI = URI.createFileURI(absolutePath);
-        return rSet.getResource(metamodelURI, true);
+        Resource resource;
+        if (nonNull(snapshotCache)) {
+            resource = snapshotCache.load(metamodelFile, rSet);
+        } else {
+            String absolutePath = metamodelFile.getAbsolutePath();
+            URI metamodelURI = URI.createFileURI(absolutePath);
+            resource = rSet.getResource(metamodelURI, true);
+        }
+        registerMetamodelResource(resource);
+        return resource;
+    }
+
+    /**
+     * Loads the metamodel {@link Resource} of an {@link EPackage} available in the classpath.
+     * <p>
+     * The {@link EPackage} is retrieved from its generated {@code packageClass} if it is provided (by accessing its
+     * {@code eINSTANCE} field, which initializes and registers the package), or from the global
+     * {@link org.eclipse.emf.ecore.EPackage.Registry} with the provided {@code nsURI}. This allows to start the
+     * platform without parsing an {@code .ecore} file.
+     *
+     * @param nsURI        the namespace URI of the registered {@link EPackage}
+     * @param packageClass the fully qualified name of the generated {@link EPackage} class
+     * @return the EMF {@link Resource} containing the registered metamodel
+     * @throws IllegalArgumentException if the {@link EPackage} cannot be found
+     * @throws XatkitException          if an error occurred when accessing the generated {@code packageClass}
+     * @see EMFPlatformUtils#METAMODEL_NSURI_KEY
+     * @see EMFPlatformUtils#METAMODEL_PACKAGE_CLASS_KEY
+     */
+    private Resource loadRegisteredMetamodelResource(@Nullable String nsURI, @Nullable String packageClass) {
+        EPackage ePackage;
+        if (nonNull(packageClass)) {
+            try {
+                ePackage = (EPackage) Class.forName(packageClass).getField("eINSTANCE").get(null);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new XatkitException(MessageFormat.format("Cannot retrieve the {0} instance of the class {1}",
+                        EPackage.class.getSimpleName(), packageClass), e);
+            }
+        } else {
+            ePackage = EPackage.Registry.INSTANCE.getEPackage(nsURI);
+        }
+        checkArgument(nonNull(ePackage), "Cannot construct the %s: cannot find the registered %s (nsURI=%s, " +
+                        "class=%s)", this.getClass().getSimpleName(), EPackage.class.getSimpleName(), nsURI,
+                packageClass);
+        Resource resource = ePackage.eResource();
+        if (isNull(resource)) {
+            resource = new ResourceImpl(URI.createURI(ePackage.getNsURI()));
+            resource.getContents().add(ePackage);
+        }
+        registerMetamodelResource(resource);
+        Log.info("Using the registered metamodel {0}", ePackage.getNsURI());
+        return resource;
+    }
+
+    /**
+     * Registers the {@link EPackage}s of the provided {@code resource} and builds its {@link MetamodelIndex}.
+     *
+     * @param resource the {@link Resource} containing the metamodel to register
+     */
+    private void registerMetamodelResource(Resource resource) {
+        resource.getAllContents().forEachRemaining(element -> {
+            if (element instanceof EPackage) {
+                EPackage ePackage = (EPackage) element;
+                rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+            }
+        });
+        this.metamodelIndex = MetamodelIndex.build(resource);
+    }
+
+    /**
+     * Resolves the attributes to index declared in the provided {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} declaring the attributes to index
+     * @return the {@code (EClass, EAttribute)} pairs to index
+     * @throws IllegalArgumentException if a declared attribute is not a valid {@code ClassName.attributeName} entry,
+     *                                  or if it cannot be indexed
+     * @see EMFPlatformUtils#INDEX_ATTRIBUTES_KEY
+     */
+    private List<AttributeIndexManager.IndexKey> getDeclaredIndexes(Configuration configuration) {
+        List<AttributeIndexManager.IndexKey> result = new ArrayList<>();
+        for (String entry : getListEntries(configuration, EMFPlatformUtils.INDEX_ATTRIBUTES_KEY)) {
+            AttributeIndexManager.IndexKey indexKey = resolveAttribute(entry, EMFPlatformUtils.INDEX_ATTRIBUTES_KEY);
+            checkArgument(AttributeIndex.isIndexable(indexKey.getEAttribute()), "Cannot construct the %s: the " +
+                            "declared index %s does not refer to an indexable attribute (configuration key: %s)",
+                    this.getClass().getSimpleName(), entry, EMFPlatformUtils.INDEX_ATTRIBUTES_KEY);
+            result.add(indexKey);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the attributes to index with a {@link TrigramIndex} declared in the provided {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} declaring the attributes to index
+     * @return the {@code (EClass, EAttribute)} pairs to index
+     * @throws IllegalArgumentException if a declared attribute is not a valid {@code ClassName.attributeName} entry,
+     *                                  or if it is not a single-valued {@link String} attribute
+     * @see EMFPlatformUtils#INDEX_TRIGRAM_ATTRIBUTES_KEY
+     */
+    private List<AttributeIndexManager.IndexKey> getDeclaredTrigramIndexes(Configuration configuration) {
+        List<AttributeIndexManager.IndexKey> result = new ArrayList<>();
+        for (String entry : getListEntries(configuration, EMFPlatformUtils.INDEX_TRIGRAM_ATTRIBUTES_KEY)) {
+            AttributeIndexManager.IndexKey indexKey = resolveAttribute(entry,
+                    EMFPlatformUtils.INDEX_TRIGRAM_ATTRIBUTES_KEY);
+            checkArgument(TrigramIndex.isIndexable(indexKey.getEAttribute()), "Cannot construct the %s: the " +
+                            "declared trigram index %s does not refer to a String attribute (configuration key: %s)",
+                    this.getClass().getSimpleName(), entry, EMFPlatformUtils.INDEX_TRIGRAM_ATTRIBUTES_KEY);
+            result.add(indexKey);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the {@link ProjectingXMILoader} corresponding to the projection declared in the provided
+     * {@code configuration}.
+     *
+     * @param configuration the {@link Configuration} declaring the projection
+     * @return the created {@link ProjectingXMILoader}, or {@code null} if the {@code configuration} does not
+     * declare a projection
+     * @throws IllegalArgumentException if a projected class or attribute cannot be found in the metamodel
+     * @see EMFPlatformUtils#PROJECTION_CLASSES_KEY
+     * @see EMFPlatformUtils#PROJECTION_ATTRIBUTES_KEY
+     */
+    private @Nullable ProjectingXMILoader createProjectingLoader(Configuration configuration) {
+        List<EClass> projectedClasses = new ArrayList<>();
+        for (String entry : getListEntries(configuration, EMFPlatformUtils.PROJECTION_CLASSES_KEY)) {
+            EClass eClass = metamodelIndex.getEClass(entry);
+            checkArgument(nonNull(eClass), "Cannot construct the %s: the projected class %s does not exist " +
+                            "(configuration key: %s)", this.getClass().getSimpleName(), entry,
+                    EMFPlatformUtils.PROJECTION_CLASSES_KEY);
+            projectedClasses.add(eClass);
+        }
+        if (projectedClasses.isEmpty()) {
+            return null;
+        }
+        List<EAttribute> projectedAttributes = new ArrayList<>();
+        for (String entry : getListEntries(configuration, EMFPlatformUtils.PROJECTION_ATTRIBUTES_KEY)) {
+            projectedAttributes.add(resolveAttribute(entry, EMFPlatformUtils.PROJECTION_ATTRIBUTES_KEY)
+                    .getEAttribute());
+        }
+        Log.info("Model projection enabled (classes={0}, attributes={1})", projectedClasses.stream()
+                .map(EClass::getName).collect(Collectors.toList()), projectedAttributes.isEmpty() ? "all" :
+                projectedAttributes.stream().map(EAttribute::getName).collect(Collectors.toList()));
+        return new ProjectingXMILoader(this.rSet.getPackageRegistry(), projectedClasses, projectedAttributes);
+    }
+
+    /**
+     * Returns the comma-separated entries of the provided configuration {@code key}.
+     *
+     * @param configuration the {@link Configuration} to retrieve the entries from
+     * @param key           the configuration key to retrieve the entries of
+     * @return the trimmed, non-empty entries of the provided {@code key}
+     */
+    private static List<String> getListEntries(Configuration configuration, String key) {
+        List<String> result = new ArrayList<>();
+        for (String entries : configuration.getList(String.class, key, Collections.emptyList())) {
+            for (String entry : entries.split(",")) {
+                String trimmedEntry = entry.trim();
+                if (!trimmedEntry.isEmpty()) {
+                    result.add(trimmedEntry);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the provided {@code ClassName.attributeName} {@code entry}.
+     *
+     * @param entry the {@code ClassName.attributeName} entry to resolve
+     * @param key   the configuration key declaring the entry
+     * @return the resolved {@code (EClass, EAttribute)} pair
+     * @throws IllegalArgumentException if the provided {@code entry} does not refer to an existing attribute
+     */
+    private AttributeIndexManager.IndexKey resolveAttribute(String entry, String key) {
+        int separatorIndex = entry.lastIndexOf('.');
+        EClass eClass = separatorIndex > 0 ? metamodelIndex.getEClass(entry.substring(0, separatorIndex)) : null;
+        EAttribute eAttribute = nonNull(eClass) ? metamodelIndex.getEAttribute(eClass,
+                entry.substring(separatorIndex + 1)) : null;
+        checkArgument(nonNull(eAttribute), "Cannot construct the %s: %s does not refer to an existing attribute " +
+                "(configuration key: %s)", this.getClass().getSimpleName(), entry, key);
+        return new AttributeIndexManager.IndexKey(eClass, eAttribute);
     }
 
     /**
      * Loads the {@link Resource} associated to the provided {@code modelPath}.
      * <p>
      * The provided path should point to a file containing an instance of the metamodel associated to this platform.
+     * <p>
+     * The returned {@link Resource} is indexed with an {@link ExtentIndex}, allowing to efficiently retrieve the
+     * instances of a given type (see
+     * {@link com.xatkit.plugins.emf.util.EMFResourceUtils#getAllInstancesOfType(Resource,
+     * org.eclipse.emf.ecore.EClass)}).
+     * <p>
+     * Loaded {@link Resource}s are stored in the platform's {@link ModelCache}: loading the same model file multiple
+     * times returns the cached {@link Resource} as long as the file is not modified and the {@link Resource} is not
+     * evicted.
+     * <p>
+     * This method can be safely called by concurrent sessions: each model is loaded in its own {@link ResourceSet}
+     * (allowing to load different models in parallel), and concurrent calls for the same model share a single load.
+     * If hot reload is enabled (see {@link EMFPlatformUtils#WATCH_ENABLED_KEY}) the loaded model file is watched, and
+     * this method returns the previous version of the model while its new version is reloaded in the background.
      *
      * @param modelPath the path of the model to load
      * @return the EMF {@link Resource} containing the loaded model
@@ -121,6 +730,105 @@ public class EMFPlatform extends RuntimePlatform {
      */
     public Resource getModelResource(String modelPath) {
         checkNotNull(modelPath, "Cannot load the model from the provided path: %s", modelPath);
+        File modelFile = resolveModelFile(modelPath);
+        Resource modelResource = this.modelCache.get(ModelKey.of(modelFile), this::loadModelResource);
+        if (nonNull(this.modelFileWatcher)) {
+            this.modelFileWatcher.watch(modelFile);
+        }
+        return modelResource;
+    }
+
+    /**
+     * Acquires a {@link ModelHandle} on the model associated to the provided {@code modelPath}.
+     * <p>
+     * This method loads the model like {@link #getModelResource(String)}, but returns a reference-counted
+     * {@link ModelHandle} pinning the model in the platform's {@link ModelCache}: the model is not evicted from the
+     * cache while the handle is in use, and a previous version of the model file is unloaded when its last handle is
+     * released. The returned handle must be released once the model is not used anymore (see
+     * {@link #releaseModel(XatkitSession)} to release the model of a session).
+     *
+     * @param modelPath the path of the model to load
+     * @return a {@link ModelHandle} on the loaded model
+     * @throws NullPointerException if the provided {@code modelPath} is {@code null}
+     * @throws XatkitException      if the provided {@code modelPath} does not correspond to a valid file location
+     * @see ModelCache#acquire(ModelKey, java.util.function.Function)
+     */
+    public ModelHandle acquireModel(String modelPath) {
+        checkNotNull(modelPath, "Cannot load the model from the provided path: %s", modelPath);
+        File modelFile = resolveModelFile(modelPath);
+        ModelHandle modelHandle = this.modelCache.acquire(ModelKey.of(modelFile), this::loadModelResource);
+        if (nonNull(this.modelFileWatcher)) {
+            this.modelFileWatcher.watch(modelFile);
+        }
+        return modelHandle;
+    }
+
+    /**
+     * Releases the {@link ModelHandle} stored in the provided {@code session}.
+     * <p>
+     * This method releases the {@link ModelHandle} stored with the {@link EMFPlatformUtils#MODEL_SESSION_KEY} key,
+     * and removes it from the {@code session}. The cursor of the last paged query (see
+     * {@link EMFPlatformUtils#CURSOR_SESSION_KEY}) is also removed, since it iterates the released model. This method
+     * does nothing if the {@code session} does not contain a {@link ModelHandle}.
+     *
+     * @param session the {@link XatkitSession} to release the model of
+     * @throws NullPointerException if the provided {@code session} is {@code null}
+     */
+    public void releaseModel(XatkitSession session) {
+        checkNotNull(session, "Cannot release the model of the provided %s %s", XatkitSession.class.getSimpleName(),
+                session);
+        Object sessionModel = session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        if (sessionModel instanceof ModelHandle) {
+            ((ModelHandle) sessionModel).release();
+            session.store(EMFPlatformUtils.MODEL_SESSION_KEY, null);
+            session.store(EMFPlatformUtils.CURSOR_SESSION_KEY, null);
+        }
+    }
+
+    /**
+     * Returns the model {@link Resource} of the {@link ModelHandle} stored in the provided {@code session}.
+     * <p>
+     * If the {@link ModelHandle} has been released because the session did not use it for longer than the
+     * {@link EMFPlatformUtils#CACHE_HANDLE_IDLE_TIMEOUT_KEY} timeout, the model is acquired again and its new
+     * {@link ModelHandle} is stored in the {@code session}. The cursor of the last paged query of the
+     * {@code session} (see {@link EMFPlatformUtils#CURSOR_SESSION_KEY}) is removed in this case, since it iterates
+     * the released model.
+     *
+     * @param session the {@link XatkitSession} to retrieve the model of
+     * @return the model {@link Resource} of the {@code session}, or {@code null} if the {@code session} does not
+     * contain a {@link ModelHandle}
+     * @throws NullPointerException if the provided {@code session} is {@code null}
+     * @throws XatkitException      if an error occurred when acquiring the released model again
+     */
+    public @Nullable Resource getSessionModelResource(XatkitSession session) {
+        checkNotNull(session, "Cannot retrieve the model of the provided %s %s", XatkitSession.class.getSimpleName(),
+                session);
+        Object sessionModel = session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        if (!(sessionModel instanceof ModelHandle)) {
+            return null;
+        }
+        ModelHandle modelHandle = (ModelHandle) sessionModel;
+        if (modelHandle.isReleased()) {
+            Log.info("The model {0} has been released after its idle timeout, acquiring it again",
+                    modelHandle.getKey());
+            modelHandle = acquireModel(modelHandle.getKey().getCanonicalPath());
+            session.store(EMFPlatformUtils.MODEL_SESSION_KEY, modelHandle);
+            session.store(EMFPlatformUtils.CURSOR_SESSION_KEY, null);
+        }
+        return modelHandle.getResource();
+    }
+
+    /**
+     * Resolves the model file associated to the provided {@code modelPath}.
+     * <p>
+     * The {@code modelPath} is resolved against the platform's configuration, or in the classpath if it does not
+     * correspond to an existing file.
+     *
+     * @param modelPath the path of the model file to resolve
+     * @return the resolved model {@link File}
+     * @throws XatkitException if the provided {@code modelPath} does not correspond to a valid file location
+     */
+    private File resolveModelFile(String modelPath) {
         File modelFile = FileUtils.getFile(modelPath, configuration);
         if (!modelFile.exists()) {
             Log.warn("Cannot locate the file {0}, trying to resolve it in the classpath", modelPath);
@@ -136,7 +844,101 @@ public class EMFPlatform extends RuntimePlatform {
                         modelPath));
             }
         }
-        URI modelURI = URI.createFileURI(modelFile.getAbsolutePath());
-        return this.rSet.getResource(modelURI, true);
+        return modelFile;
+    }
+
+    /**
+     * Loads and indexes the model file represented by the provided {@code modelKey}.
+     * <p>
+     * XMI models are loaded with the {@link ProjectingXMILoader} if a projection is declared (see
+     * {@link EMFPlatformUtils#PROJECTION_CLASSES_KEY}), or through the {@link BinaryModelCache} if it is enabled (see
+     * {@link EMFPlatformUtils#BINARY_CACHE_ENABLED_KEY}). Projected models are not stored in the
+     * {@link BinaryModelCache}. An {@link AttributeIndexManager} is installed on the loaded model if attribute
+     * indexes are declared or built on demand (see {@link EMFPlatformUtils#INDEX_ATTRIBUTES_KEY} and
+     * {@link EMFPlatformUtils#INDEX_TRIGRAM_ATTRIBUTES_KEY}), and a {@link QueryStore} is built if it is enabled (see
+     * {@link EMFPlatformUtils#QUERY_STORE_ENABLED_KEY}), or mapped from its snapshot if snapshots are enabled (see
+     * {@link EMFPlatformUtils#QUERY_STORE_SNAPSHOT_ENABLED_KEY}). The {@link ModelStatistics} of the model are
+     * collected from its {@link ExtentIndex} if they are enabled (see {@link EMFPlatformUtils#STATISTICS_ENABLED_KEY}),
+     * and its {@link ReverseReferenceIndex} is built if it is enabled (see
+     * {@link EMFPlatformUtils#REVERSE_INDEX_ENABLED_KEY}).
+     * <p>
+     * The number of elements of the model is collected when building its {@link ExtentIndex}, and recorded in the
+     * platform's metrics with the duration of the load and the size of the file.
+     *
+     * @param modelKey the {@link ModelKey} representing the model file to load
+     * @return the loaded {@link Resource}
+     */
+    private Resource loadModelResource(ModelKey modelKey) {
+        long start = this.modelLoadTimer.start();
+        URI modelURI = URI.createFileURI(modelKey.getCanonicalPath());
+        ResourceSet modelResourceSet = createModelResourceSet();
+        Resource modelResource;
+        boolean binaryFile = BinaryResourceFactoryImpl.BINARY_EXTENSION.equals(modelURI.fileExtension());
+        if (nonNull(this.projectingLoader) && !binaryFile) {
+            modelResource = this.projectingLoader.load(new File(modelKey.getCanonicalPath()), modelResourceSet);
+        } else if (nonNull(this.binaryModelCache) && !binaryFile) {
+            modelResource = this.binaryModelCache.load(new File(modelKey.getCanonicalPath()), modelResourceSet);
+        } else {
+            modelResource = modelResourceSet.getResource(modelURI, true);
+        }
+        ExtentIndex extentIndex = ExtentIndex.build(modelResource);
+        if (!this.declaredIndexes.isEmpty() || !this.declaredTrigramIndexes.isEmpty()
+                || this.autoIndexThreshold > 0) {
+            AttributeIndexManager.install(modelResource, this.declaredIndexes, this.declaredTrigramIndexes,
+                    this.autoIndexThreshold);
+        }
+        if (nonNull(this.storeSnapshotCache)) {
+            this.storeSnapshotCache.install(modelResource, modelKey);
+        } else if (this.queryStoreEnabled) {
+            QueryStore.install(modelResource);
+        }
+        if (this.statisticsEnabled) {
+            ModelStatistics.install(modelResource);
+        }
+        if (this.reverseIndexEnabled) {
+            ReverseReferenceIndex.install(modelResource);
+        }
+        long duration = this.modelLoadTimer.stop(start);
+        this.modelLoadBytesCounter.increment(modelKey.getLength());
+        this.modelLoadElementsCounter.increment(extentIndex.size());
+        Log.info("Model {0} loaded in {1} ms ({2} elements)", modelKey.getCanonicalPath(),
+                TimeUnit.NANOSECONDS.toMillis(duration), extentIndex.size());
+        return modelResource;
+    }
+
+    /**
+     * Creates an isolated {@link ResourceSet} used to load a model.
+     * <p>
+     * The created {@link ResourceSet} shares the {@link Resource} factories and the registered {@link EPackage}s
+     * of the platform's {@link ResourceSet}, but not its {@link Resource}s. This allows to load models concurrently
+     * without synchronizing on a shared {@link ResourceSet}.
+     *
+     * @return the created {@link ResourceSet}
+     */
+    private ResourceSet createModelResourceSet() {
+        ResourceSetImpl modelResourceSet = new ResourceSetImpl();
+        modelResourceSet.setPackageRegistry(new EPackageRegistryImpl(this.rSet.getPackageRegistry()));
+        modelResourceSet.setResourceFactoryRegistry(this.rSet.getResourceFactoryRegistry());
+        return modelResourceSet;
+    }
+
+    /**
+     * Shuts down the platform, unloads the cached models, and stops the threads used to scan them.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        if (nonNull(this.modelFileWatcher)) {
+            this.modelFileWatcher.close();
+        }
+        if (nonNull(this.queryResultCache)) {
+            this.queryResultCache.clear();
+        }
+        if (nonNull(this.modelCache)) {
+            this.modelCache.clear();
+        }
+        if (nonNull(this.modelScanner)) {
+            this.modelScanner.shutdown();
+        }
     }
 }
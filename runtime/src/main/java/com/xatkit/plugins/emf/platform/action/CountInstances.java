@@ -0,0 +1,54 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * A {@link RuntimeAction} that returns the number of instances of the provided {@code clazzName} in the session
+ * {@link Resource}.
+ * <p>
+ * This action does not collect the instances: the count is computed from the metadata of the model's
+ * {@link com.xatkit.plugins.emf.index.ExtentIndex} if it exists. See {@link GetAllInstances} to retrieve the
+ * instances.
+ *
+ * @see LoadModel
+ * @see GetAllInstances
+ */
+public class CountInstances extends GetAllInstances {
+
+    /**
+     * Constructs a new {@link CountInstances} action from the provided {@code emfPlatform}, {@code session}, and
+     * {@code clazzName}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     * @param clazzName   the name of the {@link EClass} to count the instances of
+     * @throws IllegalArgumentException if the provided {@code clazzName} is {@code null} or {@code empty}
+     */
+    public CountInstances(EMFPlatform emfPlatform, XatkitSession session, String clazzName) {
+        super(emfPlatform, session, clazzName);
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code clazzName} in the session {@link Resource} model.
+     *
+     * @return the number of instances of the {@link EClass} associated to the provided {@code clazzName}
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a model {@link Resource} (see
+     *                              {@link EMFPlatformUtils#MODEL_SESSION_KEY})
+     * @throws XatkitException      if the metamodel associated to the platform does not contain an {@link EClass}
+     *                              with a name matching the provided {@code clazzName}
+     */
+    @Override
+    protected Object compute() {
+        EClass eClass = getEClass();
+        long count = this.runtimePlatform.getModelScanner().countInstancesOfType(getModelResource(), eClass);
+        Log.info("Counted {0} instances of {1}", count, eClass.getName());
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.query.QueryPlan;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.Map;
+
+/**
+ * A {@link RuntimeAction} that returns the number of instances of the provided {@code clazzName} in the session
+ * {@link Resource} that satisfy the given {@code query}.
+ * <p>
+ * This action does not collect the matching instances: conditions exactly answered by an attribute index are
+ * counted from the index metadata, and other queries test and count the candidate instances (see
+ * {@link QueryPlan#count(Resource, Map, com.xatkit.plugins.emf.util.ModelScanner)}).
+ *
+ * @see GetAllInstancesSelect
+ * @see com.xatkit.plugins.emf.query.QueryCompiler
+ */
+public class CountInstancesSelect extends GetAllInstancesSelect {
+
+    /**
+     * Constructs a new {@link CountInstancesSelect} action from the provided {@code emfPlatform}, {@code session},
+     * {@code clazzName}, and {@code query}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     * @param clazzName   the name of the {@link EClass} to count the instances of
+     * @param query       the query {@link Map} containing the conditions to apply
+     * @throws IllegalArgumentException if the provided {@code clazzName} is {@code null} or {@code empty}
+     * @throws NullPointerException     if the provided {@code query} is {@code null}
+     */
+    public CountInstancesSelect(EMFPlatform emfPlatform, XatkitSession session, String clazzName, Map<String,
+            Object> query) {
+        super(emfPlatform, session, clazzName, query);
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code clazzName} that satisfy the {@code query}.
+     *
+     * @return the number of instances that satisfy the {@code query}
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a model {@link Resource}
+     * @throws XatkitException      if the metamodel associated to the platform does not contain an {@link EClass}
+     *                              with a name matching the provided {@code clazzName}, or if the query is not valid
+     */
+    @Override
+    protected Object compute() {
+        Resource modelResource = getModelResource();
+        QueryPlan plan = this.runtimePlatform.getQueryCompiler().compile(clazzName, query);
+        long count = plan.count(modelResource, query, this.runtimePlatform.getModelScanner());
+        Log.info("Counted {0} instances of {1} matching the query", count, plan.getEClass().getName());
+        return count;
+    }
+}
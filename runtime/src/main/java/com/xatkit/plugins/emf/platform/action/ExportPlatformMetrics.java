@@ -0,0 +1,41 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.metrics.MetricsRegistry;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+
+/**
+ * A {@link RuntimeAction} that returns the metrics of the {@link EMFPlatform} in the Prometheus text exposition
+ * format.
+ * <p>
+ * The returned {@link String} can be served to a Prometheus scraper, or stored to compare the metrics of different
+ * runs.
+ *
+ * @see EMFPlatform#getMetrics()
+ * @see GetPlatformMetrics
+ */
+public class ExportPlatformMetrics extends RuntimeAction<EMFPlatform> {
+
+    /**
+     * Constructs a new {@link ExportPlatformMetrics} action from the provided {@code emfPlatform} and
+     * {@code session}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     */
+    public ExportPlatformMetrics(EMFPlatform emfPlatform, XatkitSession session) {
+        super(emfPlatform, session);
+    }
+
+    /**
+     * Returns the metrics of the {@link EMFPlatform} in the Prometheus text exposition format.
+     *
+     * @return the metrics of the platform in the Prometheus text format
+     * @see MetricsRegistry#toPrometheusText()
+     */
+    @Override
+    protected Object compute() {
+        return this.runtimePlatform.getMetrics().toPrometheusText();
+    }
+}
@@ -4,8 +4,8 @@ import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.action.RuntimeAction;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
 import com.xatkit.plugins.emf.platform.EMFPlatform;
-import com.xatkit.plugins.emf.util.EMFResourceUtils;
 import fr.inria.atlanmod.commons.log.Log;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -62,13 +62,13 @@ public class GetAllInstances extends RuntimeAction<EMFPlatform> {
     /**
      * Returns all the instances of the provided {@code clazzName} in the session {@link Resource} model.
      * <p>
-     * This method accesses the {@link Resource} stored in the session with the {@link EMFPlatformUtils#MODEL_SESSION_KEY}
-     * key. If there is no {@link Resource} in the session a {@link NullPointerException} is thrown. See
-     * {@link LoadModel} to load a model from a given path.
+     * This method accesses the {@link Resource} of the {@link ModelHandle} stored in the session with the
+     * {@link EMFPlatformUtils#MODEL_SESSION_KEY} key. If there is no {@link ModelHandle} in the session a
+     * {@link NullPointerException} is thrown. See {@link LoadModel} to load a model from a given path.
      * <p>
-     * This method relies on the {@link EMFResourceUtils} utility class to retrieve the {@link EClass} corresponding
-     * to the provided {@code clazzName} in the platform's metamodel, and to retrieve the instances of this
-     * {@link EClass}.
+     * This method relies on the platform's {@link com.xatkit.plugins.emf.index.MetamodelIndex} to retrieve the
+     * {@link EClass} corresponding to the provided {@code clazzName}, and on the platform's
+     * {@link com.xatkit.plugins.emf.util.ModelScanner} to retrieve the instances of this {@link EClass}.
      *
      * @return a {@link List} of {@link EObject} that are instances of the {@link EClass} associated to the
      * provided {@code clazzName}
@@ -76,21 +76,48 @@ public class GetAllInstances extends RuntimeAction<EMFPlatform> {
      * @throws XatkitException      if the metamodel associated to the platform does not contain an {@link EClass}
      *                              with a name matching the provided {@code clazzName}
      * @see LoadModel
-     * @see EMFResourceUtils
+     * @see com.xatkit.plugins.emf.util.ModelScanner
      */
     @Override
     protected Object compute() {
-        Resource modelResource = (Resource) this.session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        Resource modelResource = getModelResource();
+        EClass eClass = getEClass();
+        List<EObject> allInstances = this.runtimePlatform.getModelScanner().getAllInstancesOfType(modelResource,
+                eClass);
+        Log.info("Found {0} instances of {1}", allInstances.size(), eClass.getName());
+        return allInstances;
+    }
+
+    /**
+     * Returns the model {@link Resource} of the {@link ModelHandle} stored in the session.
+     * <p>
+     * The model is acquired again if its {@link ModelHandle} has been released after the idle timeout of the
+     * platform (see {@link EMFPlatform#getSessionModelResource(XatkitSession)}).
+     *
+     * @return the model {@link Resource} of the {@link ModelHandle} stored in the session
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a {@link ModelHandle}
+     */
+    protected Resource getModelResource() {
+        Resource modelResource = this.runtimePlatform.getSessionModelResource(this.session);
         checkNotNull(modelResource, "Cannot compute %s, cannot find the model from the %s (session key=%s)",
-                this.getClass().getSimpleName(), XatkitSession.class.getSimpleName(), EMFPlatformUtils.MODEL_SESSION_KEY);
-        Resource metamodelResource = this.runtimePlatform.getMetamodelResource();
-        EClass eClass = EMFResourceUtils.getEClassWithName(metamodelResource, clazzName);
+                this.getClass().getSimpleName(), XatkitSession.class.getSimpleName(),
+                EMFPlatformUtils.MODEL_SESSION_KEY);
+        return modelResource;
+    }
+
+    /**
+     * Returns the {@link EClass} corresponding to the provided {@code clazzName}.
+     *
+     * @return the {@link EClass} corresponding to the provided {@code clazzName}
+     * @throws XatkitException if the metamodel associated to the platform does not contain an {@link EClass} with a
+     *                         name matching the provided {@code clazzName}
+     */
+    protected EClass getEClass() {
+        EClass eClass = this.runtimePlatform.getMetamodelIndex().getEClass(clazzName);
         if (isNull(eClass)) {
             throw new XatkitException(MessageFormat.format("Cannot find the EClass with the provided name {0} in the" +
-                    " resource {1}", clazzName, metamodelResource.getURI().toString()));
+                    " resource {1}", clazzName, this.runtimePlatform.getMetamodelResource().getURI().toString()));
         }
-        List<EObject> allInstances = EMFResourceUtils.getAllInstancesOfType(modelResource, eClass);
-        Log.info("Found {0} instances of {1}", allInstances.size(), eClass.getName());
-        return allInstances;
+        return eClass;
     }
 }
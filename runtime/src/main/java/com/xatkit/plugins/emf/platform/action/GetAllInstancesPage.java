@@ -0,0 +1,87 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.query.QueryCursor;
+import com.xatkit.plugins.emf.query.QueryPlan;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link RuntimeAction} that returns the first page of instances of the provided {@code clazzName} in the session
+ * {@link Resource} that satisfy the given {@code query}.
+ * <p>
+ * This action opens a lazy {@link QueryCursor} over the results of the query and stores it in the
+ * {@link XatkitSession} using the {@link EMFPlatformUtils#CURSOR_SESSION_KEY} key. The following pages can be
+ * retrieved with the {@link NextPage} action. Results are computed on demand: the cost of a page does not depend on
+ * the total number of instances matching the query.
+ * <p>
+ * An empty {@code query} returns all the instances of the provided {@code clazzName}. See
+ * {@link com.xatkit.plugins.emf.query.QueryCompiler} for the supported query structure.
+ *
+ * @see NextPage
+ * @see GetAllInstancesSelect
+ */
+public class GetAllInstancesPage extends GetAllInstancesSelect {
+
+    /**
+     * The maximum number of instances returned in a page.
+     */
+    private int pageSize;
+
+    /**
+     * Constructs a new {@link GetAllInstancesPage} action from the provided {@code emfPlatform}, {@code session},
+     * {@code clazzName}, {@code query}, and {@code pageSize}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     * @param clazzName   the name of the {@link EClass} to retrieve the instances of
+     * @param query       the query {@link Map} containing the conditions to apply
+     * @param pageSize    the maximum number of instances returned in a page
+     * @throws IllegalArgumentException if the provided {@code clazzName} is {@code null} or {@code empty}, or if the
+     *                                  provided {@code pageSize} is {@code null} or lower than {@code 1}
+     * @throws NullPointerException     if the provided {@code query} is {@code null}
+     */
+    public GetAllInstancesPage(EMFPlatform emfPlatform, XatkitSession session, String clazzName, Map<String,
+            Object> query, Integer pageSize) {
+        super(emfPlatform, session, clazzName, query);
+        checkArgument(nonNull(pageSize) && pageSize > 0, "Cannot construct %s: the provided page size is not valid " +
+                "(pageSize=%s)", this.getClass().getSimpleName(), pageSize);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the first page of instances of the provided {@code clazzName} that satisfy the {@code query}.
+     * <p>
+     * This method stores the {@link QueryCursor} used to compute the page in the {@link XatkitSession} using the
+     * {@link EMFPlatformUtils#CURSOR_SESSION_KEY} key, replacing the existing cursor if there is one.
+     *
+     * @return a {@link List} containing at most {@code pageSize} {@link EObject}s that satisfy the {@code query}
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a model {@link Resource}
+     * @throws XatkitException      if the metamodel associated to the platform does not contain an {@link EClass}
+     *                              with a name matching the provided {@code clazzName}, or if the query is not valid
+     * @see NextPage
+     */
+    @Override
+    protected Object compute() {
+        Resource modelResource = getModelResource();
+        QueryPlan plan = this.runtimePlatform.getQueryCompiler().compile(clazzName, query);
+        QueryCursor cursor = plan.openCursor(modelResource, query, pageSize);
+        this.session.store(EMFPlatformUtils.CURSOR_SESSION_KEY, cursor);
+        List<EObject> page = cursor.nextPage();
+        Log.info("Returning the first page of instances of {0} matching the query ({1} instances)",
+                plan.getEClass().getName(), page.size());
+        return page;
+    }
+}
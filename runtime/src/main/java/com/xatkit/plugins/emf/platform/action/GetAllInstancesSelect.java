@@ -1,28 +1,58 @@
 package com.xatkit.plugins.emf.platform.action;
 
 import com.xatkit.core.XatkitException;
+import com.xatkit.core.platform.action.RuntimeAction;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.plugins.emf.platform.EMFPlatform;
-import com.xatkit.plugins.emf.util.EMFResourceUtils;
+import com.xatkit.plugins.emf.query.QueryCompiler;
+import com.xatkit.plugins.emf.query.QueryPlan;
+import com.xatkit.plugins.emf.query.QueryResultCache;
 import fr.inria.atlanmod.commons.log.Log;
-import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 
-import javax.annotation.Nullable;
-import java.text.MessageFormat;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
-import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
-import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+/**
+ * A {@link RuntimeAction} that returns the instances of the provided {@code clazzName} in the session
+ * {@link Resource} that satisfy the given {@code query}.
+ * <p>
+ * The provided {@code query} is compiled into a {@link QueryPlan} by the platform's {@link QueryCompiler}. Compiled
+ * plans are cached, meaning that queries with the same shape (i.e. the same attributes, comparators, and
+ * composition) only need to bind their literal values. See {@link QueryCompiler} for the supported query structure.
+ * <p>
+ * The results can be sorted and limited with the {@code resultClause} and {@code limit} entries of the query (see
+ * {@link com.xatkit.plugins.emf.query.ResultOrdering}).
+ * <p>
+ * If the platform's {@link QueryResultCache} is enabled, repeated queries on the same version of the model are
+ * served from the cache.
+ *
+ * @see GetAllInstances
+ * @see QueryCompiler
+ */
 public class GetAllInstancesSelect extends GetAllInstances {
 
-    private Map<String, Object> query;
+    /**
+     * The query {@link Map} containing the conditions to apply.
+     */
+    protected Map<String, Object> query;
 
+    /**
+     * Constructs a new {@link GetAllInstancesSelect} action from the provided {@code emfPlatform}, {@code session},
+     * {@code clazzName}, and {@code query}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     * @param clazzName   the name of the {@link EClass} to retrieve the instances of
+     * @param query       the query {@link Map} containing the conditions to apply
+     * @throws IllegalArgumentException if the provided {@code clazzName} is {@code null} or {@code empty}
+     * @throws NullPointerException     if the provided {@code query} is {@code null}
+     */
     public GetAllInstancesSelect(EMFPlatform emfPlatform, XatkitSession session, String clazzName, Map<String,
             Object> query) {
         super(emfPlatform, session, clazzName);
@@ -31,121 +61,33 @@ public class GetAllInstancesSelect extends GetAllInstances {
         this.query = query;
     }
 
+    /**
+     * Returns the instances of the provided {@code clazzName} that satisfy the {@code query}.
+     * <p>
+     * Conditions on indexed attributes are answered from the model's
+     * {@link com.xatkit.plugins.emf.index.AttributeIndexManager} (see {@link QueryPlan#execute(Resource, Map,
+     * com.xatkit.plugins.emf.util.ModelScanner)}), other queries filter all the instances of the {@link EClass}.
+     * The result is retrieved from the platform's {@link QueryResultCache} if it contains a valid result for the
+     * {@code query}.
+     *
+     * @return a {@link List} of {@link EObject}s that satisfy the {@code query}
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a model {@link Resource}
+     * @throws XatkitException      if the metamodel associated to the platform does not contain an {@link EClass}
+     *                              with a name matching the provided {@code clazzName}, or if the query is not valid
+     */
     @Override
     protected Object compute() {
-        System.out.println("test0");
-        List<EObject> allInstances = (List<EObject>) super.compute();
-        Predicate<EObject> p1 = null;
-        Predicate<EObject> p2 = null;
-        p1 = getPredicate(query, "condition1");
-        p2 = getPredicate(query, "condition2");
-        Predicate<EObject> pGlobal = applyConditionComposition(query, p1, p2);
-        return allInstances.stream().filter(pGlobal).collect(Collectors.toList());
-    }
-
-    private @Nullable Predicate<EObject> getPredicate(Map<String, Object> query, String conditionField) {
-        checkArgument(conditionField.equals("condition1") || conditionField.equals("condition2"), "Cannot create a " +
-                "predicate for the condition field %s, expected 'condition1' or 'condition2'", conditionField);
-        Object condition = query.get(conditionField);
-        if (condition instanceof Map) {
-            Map<String, Object> mapCondition1 = (Map<String, Object>) query.get(conditionField);
-            if (mapCondition1.containsKey("StringAttribute")) {
-                String stringAttribute = (String) mapCondition1.get("StringAttribute");
-                EAttribute eAttribute = EMFResourceUtils.getEAttribute(this.runtimePlatform.getMetamodelResource(),
-                        clazzName, stringAttribute);
-                String stringComparator = (String) mapCondition1.get("StringComparator");
-                String stringValueField = conditionField.equals("condition1") ? "stringValue1" : "stringValue2";
-                String stringValue = (String) query.get(stringValueField);
-                return getStringComparisonPredicate(eAttribute, stringComparator, stringValue);
-            } else if(mapCondition1.containsKey("NumericalAttribute")) {
-                String numericalAttribute = (String) mapCondition1.get("NumericalAttribute");
-                EAttribute eAttribute = EMFResourceUtils.getEAttribute(this.runtimePlatform.getMetamodelResource(),
-                        clazzName, numericalAttribute);
-                String numericalComparator = (String) mapCondition1.get("NumericalComparator");
-                String stringNumber = (String) mapCondition1.get("number");
-                Double number = new Double(stringNumber);
-                return getNumericalComparisonPredicate(eAttribute, numericalComparator, number);
-            } else {
-                throw new XatkitException("Unsupported condition type, expecting StringComparator or " +
-                        "NumericalComparator");
-            }
+        Resource modelResource = getModelResource();
+        QueryPlan plan = this.runtimePlatform.getQueryCompiler().compile(clazzName, query);
+        QueryResultCache resultCache = this.runtimePlatform.getQueryResultCache();
+        List<EObject> result;
+        if (nonNull(resultCache)) {
+            result = resultCache.get(modelResource, clazzName, query, () -> plan.execute(modelResource, query,
+                    this.runtimePlatform.getModelScanner()));
         } else {
-            return null;
-        }
-    }
-
-    private Predicate<EObject> getStringComparisonPredicate(EAttribute eAttribute, String stringComparator,
-                                                            String value) {
-        switch (stringComparator) {
-            case "starts with":
-                return eObject -> {
-                    String eObjectValue = (String) eObject.eGet(eAttribute);
-                    return eObjectValue.startsWith(value);
-                };
-            case "ends with":
-                return eObject -> {
-                    String eObjectValue = (String) eObject.eGet(eAttribute);
-                    return eObjectValue.endsWith(value);
-                };
-            case "contains":
-                return eObject -> {
-                    String eObjectValue = (String) eObject.eGet(eAttribute);
-                    return eObjectValue.contains(value);
-                };
-            case "equals":
-                return eObject -> {
-                    String eObjectValue = (String) eObject.eGet(eAttribute);
-                    return eObjectValue.equals(value);
-                };
-            default:
-                throw new XatkitException(MessageFormat.format("Cannot construct a String comparison predicate from " +
-                        "the provided comparator {0}", stringComparator));
-        }
-    }
-
-    private Predicate<EObject> getNumericalComparisonPredicate(EAttribute eAttribute, String numericalComparator,
-                                                               Double value) {
-        switch (numericalComparator) {
-            case "greater than":
-                return eObject -> {
-                    Number eObjectValue = (Number) eObject.eGet(eAttribute);
-                    return eObjectValue.doubleValue() > value;
-                };
-            case "lower than":
-                return eObject -> {
-                    Number eObjectValue = (Number) eObject.eGet(eAttribute);
-                    return eObjectValue.doubleValue() < value;
-                };
-            case "equals":
-                return eObject -> {
-                    Number eObjectValue = (Number) eObject.eGet(eAttribute);
-                    return eObjectValue.doubleValue() == value;
-                };
-            default:
-                throw new XatkitException(MessageFormat.format("Cannot construct a Numerical comparison predicate " +
-                        "from the provided comparator {0}", numericalComparator));
-        }
-    }
-
-    private Predicate<EObject> applyConditionComposition(Map<String, Object> query, Predicate<EObject> p1,
-                                                         Predicate<EObject> p2) {
-        if(isNull(p2)) {
-            return p1;
-        }
-        Object conditionComposition = query.get("conditionComposition");
-        if(isNull(conditionComposition)) {
-            Log.warn("No condition composition found, returning p1");
-            return p1;
-        }
-        String stringConditionComposition = (String) conditionComposition;
-        switch (stringConditionComposition) {
-            case "and":
-                return p1.and(p2);
-            case "or":
-                return p1.or(p2);
-            default:
-                throw new XatkitException(MessageFormat.format("Cannot apply the condition composition {0}, expecting" +
-                        " 'and' or 'or'", stringConditionComposition));
+            result = plan.execute(modelResource, query, this.runtimePlatform.getModelScanner());
         }
+        Log.info("Found {0} instances of {1} matching the query", result.size(), plan.getEClass().getName());
+        return result;
     }
 }
@@ -0,0 +1,52 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.stats.ModelStatistics;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link RuntimeAction} that returns the statistics of the model stored in the session.
+ * <p>
+ * The returned {@link Map} contains the number of elements of the model, and the number of instances and attribute
+ * statistics of each of its classes (see {@link ModelStatistics#toMap()}). The statistics are collected when the
+ * model is loaded if they are enabled (see {@link EMFPlatformUtils#STATISTICS_ENABLED_KEY}), and are built by this
+ * action otherwise.
+ *
+ * @see LoadModel
+ */
+public class GetModelStatistics extends RuntimeAction<EMFPlatform> {
+
+    /**
+     * Constructs a new {@link GetModelStatistics} action from the provided {@code emfPlatform} and {@code session}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     */
+    public GetModelStatistics(EMFPlatform emfPlatform, XatkitSession session) {
+        super(emfPlatform, session);
+    }
+
+    /**
+     * Returns the statistics of the model stored in the session.
+     *
+     * @return a {@link Map} containing the statistics of the model
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a {@link ModelHandle} (see
+     *                              {@link EMFPlatformUtils#MODEL_SESSION_KEY})
+     */
+    @Override
+    protected Object compute() {
+        Resource modelResource = this.runtimePlatform.getSessionModelResource(this.session);
+        checkNotNull(modelResource, "Cannot compute %s, cannot find the model from the %s (session key=%s)",
+                this.getClass().getSimpleName(), XatkitSession.class.getSimpleName(),
+                EMFPlatformUtils.MODEL_SESSION_KEY);
+        return ModelStatistics.install(modelResource).toMap();
+    }
+}
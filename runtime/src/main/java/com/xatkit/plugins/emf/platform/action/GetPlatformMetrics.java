@@ -0,0 +1,42 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.metrics.MetricsRegistry;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+
+import java.util.Map;
+
+/**
+ * A {@link RuntimeAction} that returns the current values of the metrics of the {@link EMFPlatform}.
+ * <p>
+ * The returned {@link Map} associates the name of each sample to its value, e.g.
+ * {@code xatkit_emf_model_load_seconds_count} or {@code xatkit_emf_model_cache_hits_total}. See
+ * {@link ExportPlatformMetrics} to retrieve the metrics in the Prometheus text format.
+ *
+ * @see EMFPlatform#getMetrics()
+ * @see ExportPlatformMetrics
+ */
+public class GetPlatformMetrics extends RuntimeAction<EMFPlatform> {
+
+    /**
+     * Constructs a new {@link GetPlatformMetrics} action from the provided {@code emfPlatform} and {@code session}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     */
+    public GetPlatformMetrics(EMFPlatform emfPlatform, XatkitSession session) {
+        super(emfPlatform, session);
+    }
+
+    /**
+     * Returns the current values of the metrics of the {@link EMFPlatform}.
+     *
+     * @return a {@link Map} containing the current samples of the platform's metrics
+     * @see MetricsRegistry#getSamples()
+     */
+    @Override
+    protected Object compute() {
+        return this.runtimePlatform.getMetrics().getSamples();
+    }
+}
@@ -4,21 +4,22 @@ import com.xatkit.core.XatkitException;
 import com.xatkit.core.platform.action.RuntimeAction;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
 import com.xatkit.plugins.emf.platform.EMFPlatform;
-import com.xatkit.plugins.emf.util.EMFResourceUtils;
 import fr.inria.atlanmod.commons.log.Log;
 import org.eclipse.emf.ecore.resource.Resource;
 
-import java.text.MessageFormat;
-
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static java.util.Objects.nonNull;
 
 /**
  * A {@link RuntimeAction} that loads a given model and registers it in the current {@link XatkitSession}.
  * <p>
- * The loaded EMF {@link Resource} is stored in the {@link XatkitSession} using the
- * {@link EMFPlatformUtils#MODEL_SESSION_KEY} key, easing its access by other EMF-related actions.
+ * A {@link ModelHandle} on the loaded EMF {@link Resource} is stored in the {@link XatkitSession} using the
+ * {@link EMFPlatformUtils#MODEL_SESSION_KEY} key, easing its access by other EMF-related actions. The handle pins the
+ * model in the {@link EMFPlatform}'s model cache until it is released, i.e. until another model is loaded in the
+ * session (see {@link EMFPlatform#releaseModel(XatkitSession)}), or until the session does not use it for longer than
+ * the {@link EMFPlatformUtils#CACHE_HANDLE_IDLE_TIMEOUT_KEY} timeout.
  */
 public class LoadModel extends RuntimeAction<EMFPlatform> {
 
@@ -49,21 +50,25 @@ public class LoadModel extends RuntimeAction<EMFPlatform> {
     /**
      * Loads the EMF {@link Resource} at the given {@code modelPath} and returns it.
      * <p>
-     * This method stores the loaded {@link Resource} in the {@link XatkitSession} using the
-     * {@link EMFPlatformUtils#MODEL_SESSION_KEY} key, easing its access by other EMF-related actions.
+     * This method stores a {@link ModelHandle} on the loaded {@link Resource} in the {@link XatkitSession} using the
+     * {@link EMFPlatformUtils#MODEL_SESSION_KEY} key, easing its access by other EMF-related actions. The
+     * {@link ModelHandle} of the model previously loaded in the session is released, and the cursor of its last
+     * paged query is removed from the session.
      *
      * @return the loaded {@link Resource}
      * @throws XatkitException if the provided {@code modelPath} does not correspond to a valid file location
      */
     @Override
     protected Object compute() {
-        Resource resource = this.runtimePlatform.getModelResource(modelPath);
-        if (nonNull(resource)) {
-            this.session.store(EMFPlatformUtils.MODEL_SESSION_KEY, resource);
-            Log.info("Resource {0} loaded ({1} elements)", this.modelPath, EMFResourceUtils.getSize(resource));
-        } else {
-            throw new XatkitException(MessageFormat.format("Cannot load the model at the given path: {0}", modelPath));
-        }
+        ModelHandle modelHandle = this.runtimePlatform.acquireModel(modelPath);
+        Resource resource = modelHandle.getResource();
+        /*
+         * Release the previous model after acquiring the new one: reloading the same model does not unpin it.
+         */
+        this.runtimePlatform.releaseModel(this.session);
+        this.session.store(EMFPlatformUtils.MODEL_SESSION_KEY, modelHandle);
+        Log.info("Resource {0} loaded ({1} elements)", this.modelPath,
+                this.runtimePlatform.getModelScanner().getSize(resource));
         return resource;
     }
 }
@@ -0,0 +1,64 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.platform.action.RuntimeAction;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.query.QueryCursor;
+import org.eclipse.emf.ecore.EObject;
+
+import java.util.List;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link RuntimeAction} that returns the next page of instances of the {@link QueryCursor} stored in the session.
+ * <p>
+ * This action manipulates the {@link QueryCursor} stored in the {@link XatkitSession} using the
+ * {@link EMFPlatformUtils#CURSOR_SESSION_KEY} key, and will throw an exception if no cursor has been opened. See
+ * {@link GetAllInstancesPage} action to open a cursor.
+ *
+ * @see GetAllInstancesPage
+ */
+public class NextPage extends RuntimeAction<EMFPlatform> {
+
+    /**
+     * Constructs a new {@link NextPage} action from the provided {@code emfPlatform} and {@code session}.
+     *
+     * @param emfPlatform the {@link EMFPlatform} containing this action
+     * @param session     the {@link XatkitSession} associated to this action
+     */
+    public NextPage(EMFPlatform emfPlatform, XatkitSession session) {
+        super(emfPlatform, session);
+        /*
+         * Do not check here that the session contains a cursor, it may not be the case if the GetAllInstancesPage
+         * action hasn't been computed yet.
+         */
+    }
+
+    /**
+     * Returns the next page of instances of the {@link QueryCursor} stored in the session.
+     * <p>
+     * The returned {@link List} is empty if the cursor does not have more instances.
+     * <p>
+     * The model of the session is accessed before the cursor, which postpones the release of its
+     * {@link com.xatkit.plugins.emf.cache.ModelHandle} after the idle timeout of the platform. If the model has
+     * already been released the cursor is removed from the session (see
+     * {@link EMFPlatform#getSessionModelResource(XatkitSession)}).
+     *
+     * @return a {@link List} containing the next page of {@link EObject}s
+     * @throws NullPointerException if the {@link XatkitSession} does not contain a {@link QueryCursor}
+     * @throws XatkitException      if the queried model has been modified since the creation of the cursor
+     * @see GetAllInstancesPage
+     */
+    @Override
+    protected Object compute() {
+        this.runtimePlatform.getSessionModelResource(this.session);
+        QueryCursor cursor = (QueryCursor) this.session.get(EMFPlatformUtils.CURSOR_SESSION_KEY);
+        checkNotNull(cursor, "Cannot compute %s, cannot find the cursor from the %s (session key=%s)",
+                this.getClass().getSimpleName(), XatkitSession.class.getSimpleName(),
+                EMFPlatformUtils.CURSOR_SESSION_KEY);
+        return cursor.nextPage();
+    }
+}
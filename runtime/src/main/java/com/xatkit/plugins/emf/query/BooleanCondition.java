@@ -0,0 +1,75 @@
+package com.xatkit.plugins.emf.query;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Condition} checking the value of a {@link Boolean} {@link EAttribute}.
+ * <p>
+ * The expected value is part of the condition (i.e. {@code true} and {@code false} conditions have different
+ * shapes). Instances with an unset value are considered {@code false}.
+ */
+public class BooleanCondition extends Condition {
+
+    /**
+     * The {@link EAttribute} to check.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The expected value of the {@link EAttribute}.
+     */
+    private final boolean expected;
+
+    /**
+     * Constructs a {@link BooleanCondition} with the provided parameters.
+     *
+     * @param eAttribute the {@link EAttribute} to check
+     * @param expected   the expected value of the {@link EAttribute}
+     */
+    public BooleanCondition(EAttribute eAttribute, boolean expected) {
+        this.eAttribute = eAttribute;
+        this.expected = expected;
+    }
+
+    /**
+     * Returns the {@link EAttribute} to check.
+     *
+     * @return the {@link EAttribute} to check
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the expected value of the {@link EAttribute}.
+     *
+     * @return the expected value of the {@link EAttribute}
+     */
+    public boolean getExpected() {
+        return expected;
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        return eObject -> Boolean.TRUE.equals(eObject.eGet(eAttribute)) == expected;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Boolean conditions do not need to bind any literal value, and are cheaper than the other comparisons.
+     */
+    @Override
+    public double getCost() {
+        return 0.5;
+    }
+
+    @Override
+    public String getShape() {
+        return "boolean(" + eAttribute.getName() + " is " + expected + ")";
+    }
+}
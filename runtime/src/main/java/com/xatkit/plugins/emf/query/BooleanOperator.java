@@ -0,0 +1,54 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+
+import java.text.MessageFormat;
+
+/**
+ * The operators that can be used to compose {@link Condition}s (see {@link CompositeCondition}).
+ */
+public enum BooleanOperator {
+
+    AND("and"),
+    OR("or");
+
+    /**
+     * The literal representing the operator in query {@link java.util.Map}s.
+     */
+    private final String literal;
+
+    /**
+     * Constructs a {@link BooleanOperator} with the provided {@code literal}.
+     *
+     * @param literal the literal representing the operator in query {@link java.util.Map}s
+     */
+    BooleanOperator(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the literal representing the operator in query {@link java.util.Map}s.
+     *
+     * @return the literal representing the operator
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Returns the {@link BooleanOperator} represented by the provided {@code literal}.
+     *
+     * @param literal the literal to retrieve the operator of
+     * @return the {@link BooleanOperator} represented by the provided {@code literal}
+     * @throws XatkitException if the provided {@code literal} does not represent a {@link BooleanOperator}
+     */
+    public static BooleanOperator fromLiteral(String literal) {
+        for (BooleanOperator operator : values()) {
+            if (operator.literal.equals(literal)) {
+                return operator;
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot apply the condition composition {0}, expecting 'and' " +
+                "or 'or'", literal));
+    }
+}
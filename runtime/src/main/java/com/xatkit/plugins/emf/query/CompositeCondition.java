@@ -0,0 +1,245 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.plugins.emf.index.ModelOrderedList;
+import com.xatkit.plugins.emf.store.ClassTable;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Condition} composing other {@link Condition}s with a {@link BooleanOperator}.
+ * <p>
+ * The composed {@link Condition}s are ordered by their estimated cost and selectivity when the composition is
+ * created, so that cheap {@link Condition}s likely to decide the result of the composition are evaluated first:
+ * {@link BooleanOperator#AND} compositions first evaluate the cheap {@link Condition}s rejecting most instances, and
+ * {@link BooleanOperator#OR} compositions the cheap {@link Condition}s accepting most instances. The evaluation of
+ * the composed {@link Condition}s stops as soon as the result of the composition is known.
+ */
+public class CompositeCondition extends Condition {
+
+    /**
+     * The minimum probability used to compute the rank of the composed {@link Condition}s, avoiding divisions by
+     * zero.
+     */
+    private static final double MIN_PROBABILITY = 1e-6;
+
+    /**
+     * The {@link BooleanOperator} used to compose the {@link Condition}s.
+     */
+    private final BooleanOperator operator;
+
+    /**
+     * The composed {@link Condition}s.
+     */
+    private final List<Condition> conditions;
+
+    /**
+     * Constructs a {@link CompositeCondition} with the provided {@code operator} and {@code conditions}.
+     * <p>
+     * The provided {@code conditions} are ordered by their evaluation rank, computed from their estimated cost and
+     * selectivity. {@link Condition}s with the same rank keep their relative order.
+     *
+     * @param operator   the {@link BooleanOperator} used to compose the {@link Condition}s
+     * @param conditions the {@link Condition}s to compose
+     */
+    public CompositeCondition(BooleanOperator operator, List<Condition> conditions) {
+        this.operator = operator;
+        List<Condition> orderedConditions = new ArrayList<>(conditions);
+        orderedConditions.sort(Comparator.comparingDouble(this::getRank));
+        this.conditions = Collections.unmodifiableList(orderedConditions);
+    }
+
+    /**
+     * Returns the evaluation rank of the provided {@code condition} in the composition.
+     * <p>
+     * The rank is the estimated cost of the {@link Condition} divided by the probability that it decides the result
+     * of the composition, i.e. the probability that it does not match an instance for {@link BooleanOperator#AND}
+     * compositions, and that it matches an instance for {@link BooleanOperator#OR} compositions. {@link Condition}s
+     * with a lower rank are evaluated first.
+     *
+     * @param condition the {@link Condition} to compute the rank of
+     * @return the evaluation rank of the {@link Condition}
+     */
+    private double getRank(Condition condition) {
+        double decisionProbability = operator == BooleanOperator.AND ? 1 - condition.getSelectivity() :
+                condition.getSelectivity();
+        return condition.getCost() / Math.max(decisionProbability, MIN_PROBABILITY);
+    }
+
+    /**
+     * Returns the {@link BooleanOperator} used to compose the {@link Condition}s.
+     *
+     * @return the {@link BooleanOperator} used to compose the {@link Condition}s
+     */
+    public BooleanOperator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Returns the composed {@link Condition}s.
+     *
+     * @return an unmodifiable {@link List} containing the composed {@link Condition}s
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The returned {@link Predicate} tests the composed {@link Condition}s in order, and stops at the first
+     * {@link Condition} deciding the result of the composition.
+     */
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        List<Predicate<EObject>> predicates = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            predicates.add(condition.bind(query));
+        }
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        boolean and = operator == BooleanOperator.AND;
+        return eObject -> {
+            for (Predicate<EObject> predicate : predicates) {
+                if (predicate.test(eObject) != and) {
+                    return !and;
+                }
+            }
+            return and;
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link BooleanOperator#AND} compositions return the smallest candidate {@link List} of their composed
+     * {@link Condition}s, and can be answered from an index if at least one of their {@link Condition}s can.
+     * {@link BooleanOperator#OR} compositions return the union of the candidates of their composed
+     * {@link Condition}s, and can be answered from an index only if all their {@link Condition}s can. The candidates
+     * are merged by element number to preserve the order of the instances in the model (see
+     * {@link ModelOrderedList#union(List)}), which does not traverse the instances that are not candidates.
+     */
+    @Override
+    public @Nullable ModelOrderedList lookup(EClass eClass, Resource modelResource, Map<String, Object> query) {
+        List<ModelOrderedList> candidateLists = new ArrayList<>();
+        for (Condition condition : conditions) {
+            ModelOrderedList candidates = condition.lookup(eClass, modelResource, query);
+            if (nonNull(candidates)) {
+                candidateLists.add(candidates);
+            } else if (operator == BooleanOperator.OR) {
+                return null;
+            }
+        }
+        if (candidateLists.isEmpty()) {
+            return null;
+        }
+        if (operator == BooleanOperator.AND) {
+            ModelOrderedList smallest = candidateLists.get(0);
+            for (ModelOrderedList candidates : candidateLists) {
+                if (candidates.size() < smallest.size()) {
+                    smallest = candidates;
+                }
+            }
+            return smallest;
+        }
+        return ModelOrderedList.union(candidateLists);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The candidates of {@link BooleanOperator#OR} compositions are exact if the candidates of all their composed
+     * {@link Condition}s are exact. The candidates of {@link BooleanOperator#AND} compositions are only tested
+     * against one of their composed {@link Condition}s, and are exact only if the composition contains a single
+     * {@link Condition}.
+     */
+    @Override
+    public boolean isExactLookup() {
+        if (operator == BooleanOperator.AND && conditions.size() > 1) {
+            return false;
+        }
+        return conditions.stream().allMatch(Condition::isExactLookup);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rows matched by the composed {@link Condition}s are intersected ({@link BooleanOperator#AND}) or united
+     * ({@link BooleanOperator#OR}). The composition can be evaluated only if all its composed {@link Condition}s
+     * can, and the evaluation of a {@link BooleanOperator#AND} composition stops as soon as no row matches.
+     */
+    @Override
+    public @Nullable BitSet evaluate(ClassTable table, Map<String, Object> query) {
+        BitSet result = null;
+        for (Condition condition : conditions) {
+            BitSet rows = condition.evaluate(table, query);
+            if (isNull(rows)) {
+                return null;
+            }
+            if (isNull(result)) {
+                result = rows;
+            } else if (operator == BooleanOperator.AND) {
+                result.and(rows);
+            } else {
+                result.or(rows);
+            }
+            if (operator == BooleanOperator.AND && result.isEmpty()) {
+                return result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The cost of a composition is the expected cost of evaluating its composed {@link Condition}s in order, until
+     * one of them decides the result of the composition.
+     */
+    @Override
+    public double getCost() {
+        double cost = 0;
+        double evaluationProbability = 1;
+        for (Condition condition : conditions) {
+            cost += evaluationProbability * condition.getCost();
+            evaluationProbability *= operator == BooleanOperator.AND ? condition.getSelectivity() :
+                    1 - condition.getSelectivity();
+        }
+        return cost;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The selectivity of a composition is computed assuming that its composed {@link Condition}s are independent.
+     */
+    @Override
+    public double getSelectivity() {
+        double selectivity = 1;
+        for (Condition condition : conditions) {
+            selectivity *= operator == BooleanOperator.AND ? condition.getSelectivity() :
+                    1 - condition.getSelectivity();
+        }
+        return operator == BooleanOperator.AND ? selectivity : 1 - selectivity;
+    }
+
+    @Override
+    public String getShape() {
+        return operator.getLiteral() + conditions.stream().map(Condition::getShape).collect(Collectors.joining(", ",
+                "(", ")"));
+    }
+}
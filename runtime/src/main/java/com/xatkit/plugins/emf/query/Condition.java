@@ -0,0 +1,135 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.plugins.emf.index.ModelOrderedList;
+import com.xatkit.plugins.emf.store.ClassTable;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A compiled condition of a {@link QueryPlan}.
+ * <p>
+ * {@link Condition}s are immutable and do not contain the literal values of the query they have been compiled from:
+ * these values are extracted from the query {@link Map} when the condition is bound (see {@link #bind(Map)}). This
+ * allows to reuse the same {@link Condition} for all the queries sharing the same shape.
+ *
+ * @see QueryCompiler
+ */
+public abstract class Condition {
+
+    /**
+     * Binds the condition to the literal values of the provided {@code query} and returns the resulting
+     * {@link Predicate}.
+     *
+     * @param query the query {@link Map} containing the literal values to bind
+     * @return the {@link Predicate} matching the {@link EObject}s that satisfy the condition
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain a valid value for the
+     *                                         condition
+     */
+    public abstract Predicate<EObject> bind(Map<String, Object> query);
+
+    /**
+     * Returns the candidate instances of the provided {@code eClass} that may satisfy the condition, using the
+     * indexes attached to the given {@code modelResource} (e.g. its
+     * {@link com.xatkit.plugins.emf.index.AttributeIndexManager}).
+     * <p>
+     * The returned {@link ModelOrderedList} contains all the instances of {@code eClass} satisfying the condition,
+     * but may also contain instances that do not satisfy it: callers are expected to filter the candidates with the
+     * {@link Predicate} returned by {@link #bind(Map)}. The candidates are returned in the model order of the
+     * {@link com.xatkit.plugins.emf.index.ExtentIndex} (see
+     * {@link com.xatkit.plugins.emf.index.ExtentIndex#getInstances(EClass)}), so that the results of a query do not
+     * depend on the indexes of the queried model, and keep their element numbers, so that the candidates of several
+     * conditions can be merged without traversing the model.
+     * <p>
+     * This method returns {@code null} by default, meaning that the condition cannot be answered from an index.
+     *
+     * @param eClass        the {@link EClass} of the instances to retrieve
+     * @param modelResource the {@link Resource} containing the queried model
+     * @param query         the query {@link Map} containing the literal values to bind
+     * @return the candidate instances, or {@code null} if the condition cannot be answered from an index
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain a valid value for the
+     *                                         condition
+     */
+    public @Nullable ModelOrderedList lookup(EClass eClass, Resource modelResource, Map<String, Object> query) {
+        return null;
+    }
+
+    /**
+     * Returns whether the candidates returned by {@link #lookup(EClass, Resource, Map)} exactly match the
+     * condition.
+     * <p>
+     * Exact candidates do not need to be tested with the condition's {@link Predicate}, which allows for example to
+     * count the matching instances from the size of the candidate {@link List}. This method returns {@code false} by
+     * default.
+     *
+     * @return {@code true} if the candidates returned by the index lookup exactly match the condition, {@code false}
+     * otherwise
+     */
+    public boolean isExactLookup() {
+        return false;
+    }
+
+    /**
+     * Evaluates the condition on the columns of the provided {@code table}.
+     * <p>
+     * This method returns {@code null} by default, meaning that the condition cannot be evaluated on the columns of
+     * a {@link ClassTable} and must be evaluated with the {@link Predicate} returned by {@link #bind(Map)}.
+     *
+     * @param table the {@link ClassTable} to evaluate the condition on
+     * @param query the query {@link Map} containing the literal values to bind
+     * @return a {@link BitSet} containing the indexes of the rows satisfying the condition, or {@code null} if the
+     * condition cannot be evaluated on the columns of the {@code table}
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain a valid value for the
+     *                                         condition
+     */
+    public @Nullable BitSet evaluate(ClassTable table, Map<String, Object> query) {
+        return null;
+    }
+
+    /**
+     * Returns the estimated cost of testing the condition on a single instance.
+     * <p>
+     * Costs are relative: a simple comparison of an attribute value costs {@code 1}. They are used with the
+     * selectivity of the conditions to order the operands of {@link CompositeCondition}s.
+     *
+     * @return the estimated cost of testing the condition on a single instance
+     * @see #getSelectivity()
+     */
+    public double getCost() {
+        return 1;
+    }
+
+    /**
+     * Returns the estimated fraction of the instances satisfying the condition.
+     * <p>
+     * Selectivities are heuristic estimates between {@code 0} (no instance matches) and {@code 1} (all the
+     * instances match).
+     *
+     * @return the estimated fraction of the instances satisfying the condition
+     * @see #getCost()
+     */
+    public double getSelectivity() {
+        return 0.5;
+    }
+
+    /**
+     * Returns the canonical shape of the condition.
+     * <p>
+     * The shape of a condition identifies its structure (attributes, comparators, composition operators), but does
+     * not contain its literal values.
+     *
+     * @return the canonical shape of the condition
+     */
+    public abstract String getShape();
+
+    @Override
+    public String toString() {
+        return getShape();
+    }
+}
@@ -0,0 +1,85 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+
+import java.text.MessageFormat;
+
+/**
+ * The comparators that can be used in {@link DateCondition}s.
+ * <p>
+ * Date comparators compare a date value with a time range: the literal dates of the queries denote a single instant
+ * if they contain a time, and an entire day otherwise. Each comparator is associated to the literal used in the query
+ * {@link java.util.Map}s (see {@link #fromLiteral(String)}).
+ */
+public enum DateComparator {
+
+    GREATER_THAN("greater than"),
+    LOWER_THAN("lower than"),
+    EQUALS("equals"),
+    CONTAINS("contains");
+
+    /**
+     * The literal representing the comparator in query {@link java.util.Map}s.
+     */
+    private final String literal;
+
+    /**
+     * Constructs a {@link DateComparator} with the provided {@code literal}.
+     *
+     * @param literal the literal representing the comparator in query {@link java.util.Map}s
+     */
+    DateComparator(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the literal representing the comparator in query {@link java.util.Map}s.
+     *
+     * @return the literal representing the comparator
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Applies the comparator to the provided {@code value} and time range.
+     * <p>
+     * {@link #GREATER_THAN} matches the values after the range, {@link #LOWER_THAN} the values before the range, and
+     * {@link #EQUALS} and {@link #CONTAINS} the values within the range.
+     *
+     * @param value the time (in milliseconds since the epoch) to compare
+     * @param start the start (inclusive) of the range to compare the value with
+     * @param end   the end (exclusive) of the range to compare the value with
+     * @return {@code true} if the value matches the comparator, {@code false} otherwise
+     */
+    public boolean apply(long value, long start, long end) {
+        switch (this) {
+            case GREATER_THAN:
+                return value >= end;
+            case LOWER_THAN:
+                return value < start;
+            case EQUALS:
+            case CONTAINS:
+                return value >= start && value < end;
+            default:
+                throw new IllegalStateException(MessageFormat.format("Unsupported comparator {0}", this));
+        }
+    }
+
+    /**
+     * Returns the {@link DateComparator} represented by the provided {@code literal}.
+     *
+     * @param literal the literal to retrieve the comparator of
+     * @return the {@link DateComparator} represented by the provided {@code literal}
+     * @throws XatkitException if the provided {@code literal} does not represent a {@link DateComparator}
+     */
+    public static DateComparator fromLiteral(String literal) {
+        for (DateComparator comparator : values()) {
+            if (comparator.literal.equals(literal)) {
+                return comparator;
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot construct a Date comparison predicate from the " +
+                "provided comparator {0}", literal));
+    }
+}
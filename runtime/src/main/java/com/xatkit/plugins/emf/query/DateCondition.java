@@ -0,0 +1,150 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Condition} comparing the value of a {@link Date} {@link EAttribute} with a literal date.
+ * <p>
+ * The literal date is retrieved from the {@code date} entry of the condition {@link Map}, which is stored in the
+ * query {@link Map} with the condition's {@code conditionKey} (e.g. {@code condition1}). It can be stored as a
+ * {@link Date}, as a number of milliseconds since the epoch, or as an ISO-8601 {@link String}. ISO-8601 dates without
+ * a time (e.g. {@code 2020-03-01}) denote the entire day in the default time zone (see {@link DateComparator}).
+ */
+public class DateCondition extends Condition {
+
+    /**
+     * The key of the condition {@link Map} entry containing the literal date.
+     */
+    public static final String DATE_KEY = "date";
+
+    /**
+     * The {@link EAttribute} to compare.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The {@link DateComparator} used to compare the attribute values.
+     */
+    private final DateComparator comparator;
+
+    /**
+     * The key of the query {@link Map} entry containing the condition {@link Map}.
+     */
+    private final String conditionKey;
+
+    /**
+     * Constructs a {@link DateCondition} with the provided parameters.
+     *
+     * @param eAttribute   the {@link EAttribute} to compare
+     * @param comparator   the {@link DateComparator} used to compare the attribute values
+     * @param conditionKey the key of the query {@link Map} entry containing the condition {@link Map}
+     */
+    public DateCondition(EAttribute eAttribute, DateComparator comparator, String conditionKey) {
+        this.eAttribute = eAttribute;
+        this.comparator = comparator;
+        this.conditionKey = conditionKey;
+    }
+
+    /**
+     * Returns the {@link EAttribute} to compare.
+     *
+     * @return the {@link EAttribute} to compare
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the {@link DateComparator} used to compare the attribute values.
+     *
+     * @return the {@link DateComparator} used to compare the attribute values
+     */
+    public DateComparator getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the time range denoted by the literal date of the condition in the provided {@code query}.
+     *
+     * @param query the query {@link Map} containing the literal date
+     * @return a two-element array containing the start (inclusive) and the end (exclusive) of the range, in
+     * milliseconds since the epoch
+     * @throws XatkitException if the provided {@code query} does not contain a valid date for the condition
+     */
+    public long[] getRange(Map<String, Object> query) {
+        Object conditionMap = query.get(conditionKey);
+        Object value = conditionMap instanceof Map ? ((Map<?, ?>) conditionMap).get(DATE_KEY) : null;
+        if (value instanceof Date) {
+            long time = ((Date) value).getTime();
+            return new long[]{time, time + 1};
+        }
+        if (value instanceof Number) {
+            long time = ((Number) value).longValue();
+            return new long[]{time, time + 1};
+        }
+        if (value instanceof String) {
+            String literal = ((String) value).trim();
+            try {
+                long time = OffsetDateTime.parse(literal).toInstant().toEpochMilli();
+                return new long[]{time, time + 1};
+            } catch (DateTimeParseException e) {
+                /*
+                 * The literal does not contain an offset, try the local formats.
+                 */
+            }
+            ZoneId zone = ZoneId.systemDefault();
+            try {
+                long time = LocalDateTime.parse(literal).atZone(zone).toInstant().toEpochMilli();
+                return new long[]{time, time + 1};
+            } catch (DateTimeParseException e) {
+                /*
+                 * The literal does not contain a time, try the date format.
+                 */
+            }
+            try {
+                LocalDate date = LocalDate.parse(literal);
+                return new long[]{date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                        date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli()};
+            } catch (DateTimeParseException e) {
+                throw new XatkitException(MessageFormat.format("Cannot bind the condition {0}: {1} is not a valid " +
+                        "date", this, value), e);
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot bind the condition {0}: expected a date for the key " +
+                "{1}.{2}, found {3}", this, conditionKey, DATE_KEY, value));
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        long[] range = getRange(query);
+        long start = range[0];
+        long end = range[1];
+        return eObject -> {
+            Object value = eObject.eGet(eAttribute);
+            return value instanceof Date && comparator.apply(((Date) value).getTime(), start, end);
+        };
+    }
+
+    @Override
+    public double getSelectivity() {
+        return comparator == DateComparator.GREATER_THAN || comparator == DateComparator.LOWER_THAN ? 0.33 : 0.05;
+    }
+
+    @Override
+    public String getShape() {
+        return "date(" + eAttribute.getName() + " " + comparator.getLiteral() + " $" + conditionKey + "." + DATE_KEY
+                + ")";
+    }
+}
@@ -0,0 +1,77 @@
+package com.xatkit.plugins.emf.query;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Condition} checking whether an {@link EStructuralFeature} is set.
+ * <p>
+ * Empty conditions can be used on attributes and references, and rely on {@link EObject#eIsSet(EStructuralFeature)}:
+ * multi-valued features are empty if they do not contain any value.
+ */
+public class EmptyCondition extends Condition {
+
+    /**
+     * The {@link EStructuralFeature} to check.
+     */
+    private final EStructuralFeature eStructuralFeature;
+
+    /**
+     * Whether the condition matches the instances with an empty {@link EStructuralFeature}.
+     */
+    private final boolean empty;
+
+    /**
+     * Constructs an {@link EmptyCondition} with the provided parameters.
+     *
+     * @param eStructuralFeature the {@link EStructuralFeature} to check
+     * @param empty              {@code true} to match the instances with an empty {@link EStructuralFeature},
+     *                           {@code false} to match the instances with a set {@link EStructuralFeature}
+     */
+    public EmptyCondition(EStructuralFeature eStructuralFeature, boolean empty) {
+        this.eStructuralFeature = eStructuralFeature;
+        this.empty = empty;
+    }
+
+    /**
+     * Returns the {@link EStructuralFeature} to check.
+     *
+     * @return the {@link EStructuralFeature} to check
+     */
+    public EStructuralFeature getEStructuralFeature() {
+        return eStructuralFeature;
+    }
+
+    /**
+     * Returns whether the condition matches the instances with an empty {@link EStructuralFeature}.
+     *
+     * @return {@code true} if the condition matches the empty instances, {@code false} if it matches the set
+     * instances
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        return eObject -> eObject.eIsSet(eStructuralFeature) != empty;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Empty conditions do not need to bind any literal value, and are cheaper than the other comparisons.
+     */
+    @Override
+    public double getCost() {
+        return 0.5;
+    }
+
+    @Override
+    public String getShape() {
+        return "empty(" + eStructuralFeature.getName() + " is " + (empty ? "unset" : "set") + ")";
+    }
+}
@@ -0,0 +1,78 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.plugins.emf.store.ClassTable;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link Condition} negating another {@link Condition}.
+ * <p>
+ * Negated conditions cannot be answered from an index, but can be evaluated on the columns of a {@link ClassTable}
+ * if their negated {@link Condition} can.
+ */
+public class NotCondition extends Condition {
+
+    /**
+     * The negated {@link Condition}.
+     */
+    private final Condition condition;
+
+    /**
+     * Constructs a {@link NotCondition} negating the provided {@code condition}.
+     *
+     * @param condition the {@link Condition} to negate
+     */
+    public NotCondition(Condition condition) {
+        this.condition = condition;
+    }
+
+    /**
+     * Returns the negated {@link Condition}.
+     *
+     * @return the negated {@link Condition}
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        return condition.bind(query).negate();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rows matched by the negated {@link Condition} are flipped.
+     */
+    @Override
+    public @Nullable BitSet evaluate(ClassTable table, Map<String, Object> query) {
+        BitSet rows = condition.evaluate(table, query);
+        if (isNull(rows)) {
+            return null;
+        }
+        rows.flip(0, table.size());
+        return rows;
+    }
+
+    @Override
+    public double getCost() {
+        return condition.getCost();
+    }
+
+    @Override
+    public double getSelectivity() {
+        return 1 - condition.getSelectivity();
+    }
+
+    @Override
+    public String getShape() {
+        return "not(" + condition.getShape() + ")";
+    }
+}
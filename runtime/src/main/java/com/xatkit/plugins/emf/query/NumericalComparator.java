@@ -0,0 +1,78 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+
+import java.text.MessageFormat;
+
+/**
+ * The comparators that can be used in {@link NumericalCondition}s.
+ * <p>
+ * Each comparator is associated to the literal used in the query {@link java.util.Map}s (see
+ * {@link #fromLiteral(String)}).
+ */
+public enum NumericalComparator {
+
+    GREATER_THAN("greater than"),
+    LOWER_THAN("lower than"),
+    EQUALS("equals");
+
+    /**
+     * The literal representing the comparator in query {@link java.util.Map}s.
+     */
+    private final String literal;
+
+    /**
+     * Constructs a {@link NumericalComparator} with the provided {@code literal}.
+     *
+     * @param literal the literal representing the comparator in query {@link java.util.Map}s
+     */
+    NumericalComparator(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the literal representing the comparator in query {@link java.util.Map}s.
+     *
+     * @return the literal representing the comparator
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Applies the comparator to the provided {@code value} and {@code operand}.
+     *
+     * @param value   the value to compare
+     * @param operand the operand to compare the value with
+     * @return {@code true} if the value matches the comparator, {@code false} otherwise
+     */
+    public boolean apply(double value, double operand) {
+        switch (this) {
+            case GREATER_THAN:
+                return value > operand;
+            case LOWER_THAN:
+                return value < operand;
+            case EQUALS:
+                return value == operand;
+            default:
+                throw new IllegalStateException(MessageFormat.format("Unsupported comparator {0}", this));
+        }
+    }
+
+    /**
+     * Returns the {@link NumericalComparator} represented by the provided {@code literal}.
+     *
+     * @param literal the literal to retrieve the comparator of
+     * @return the {@link NumericalComparator} represented by the provided {@code literal}
+     * @throws XatkitException if the provided {@code literal} does not represent a {@link NumericalComparator}
+     */
+    public static NumericalComparator fromLiteral(String literal) {
+        for (NumericalComparator comparator : values()) {
+            if (comparator.literal.equals(literal)) {
+                return comparator;
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot construct a Numerical comparison predicate from the " +
+                "provided comparator {0}", literal));
+    }
+}
@@ -0,0 +1,162 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import com.xatkit.plugins.emf.index.AttributeIndexManager;
+import com.xatkit.plugins.emf.index.ModelOrderedList;
+import com.xatkit.plugins.emf.store.ClassTable;
+import com.xatkit.plugins.emf.store.Column;
+import com.xatkit.plugins.emf.store.NumericColumn;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Condition} comparing the value of a numerical {@link EAttribute} with a literal number.
+ * <p>
+ * The literal number is retrieved from the {@code number} entry of the condition {@link Map}, which is stored in the
+ * query {@link Map} with the condition's {@code conditionKey} (e.g. {@code condition1}).
+ */
+public class NumericalCondition extends Condition {
+
+    /**
+     * The key of the condition {@link Map} entry containing the literal number.
+     */
+    public static final String NUMBER_KEY = "number";
+
+    /**
+     * The {@link EAttribute} to compare.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The {@link NumericalComparator} used to compare the attribute values.
+     */
+    private final NumericalComparator comparator;
+
+    /**
+     * The key of the query {@link Map} entry containing the condition {@link Map}.
+     */
+    private final String conditionKey;
+
+    /**
+     * Constructs a {@link NumericalCondition} with the provided parameters.
+     *
+     * @param eAttribute   the {@link EAttribute} to compare
+     * @param comparator   the {@link NumericalComparator} used to compare the attribute values
+     * @param conditionKey the key of the query {@link Map} entry containing the condition {@link Map}
+     */
+    public NumericalCondition(EAttribute eAttribute, NumericalComparator comparator, String conditionKey) {
+        this.eAttribute = eAttribute;
+        this.comparator = comparator;
+        this.conditionKey = conditionKey;
+    }
+
+    /**
+     * Returns the {@link EAttribute} to compare.
+     *
+     * @return the {@link EAttribute} to compare
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the {@link NumericalComparator} used to compare the attribute values.
+     *
+     * @return the {@link NumericalComparator} used to compare the attribute values
+     */
+    public NumericalComparator getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the literal number of the condition in the provided {@code query}.
+     * <p>
+     * The literal number can be stored as a {@link Number} or as a {@link String}.
+     *
+     * @param query the query {@link Map} containing the literal number
+     * @return the literal number of the condition
+     * @throws XatkitException if the provided {@code query} does not contain a valid number for the condition
+     */
+    public double getValue(Map<String, Object> query) {
+        Object conditionMap = query.get(conditionKey);
+        Object value = conditionMap instanceof Map ? ((Map<?, ?>) conditionMap).get(NUMBER_KEY) : null;
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                throw new XatkitException(MessageFormat.format("Cannot bind the condition {0}: {1} is not a valid " +
+                        "number", this, value), e);
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot bind the condition {0}: expected a number for the key " +
+                "{1}.{2}, found {3}", this, conditionKey, NUMBER_KEY, value));
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        double value = getValue(query);
+        return eObject -> {
+            Number eObjectValue = (Number) eObject.eGet(eAttribute);
+            return nonNull(eObjectValue) && comparator.apply(eObjectValue.doubleValue(), value);
+        };
+    }
+
+    @Override
+    public @Nullable ModelOrderedList lookup(EClass eClass, Resource modelResource, Map<String, Object> query) {
+        AttributeIndexManager indexManager = AttributeIndexManager.getManager(modelResource);
+        if (isNull(indexManager)) {
+            return null;
+        }
+        double value = getValue(query);
+        AttributeIndex index = indexManager.getIndex(eClass, eAttribute);
+        return isNull(index) ? null : index.lookup(comparator, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The candidates returned by an {@link AttributeIndex} exactly match the condition.
+     */
+    @Override
+    public boolean isExactLookup() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The condition can be evaluated if the compared {@link EAttribute} is stored in a {@link NumericColumn}.
+     */
+    @Override
+    public @Nullable BitSet evaluate(ClassTable table, Map<String, Object> query) {
+        double value = getValue(query);
+        Column column = table.getColumn(eAttribute);
+        return column instanceof NumericColumn ? ((NumericColumn) column).select(comparator, value) : null;
+    }
+
+    @Override
+    public double getSelectivity() {
+        return comparator == NumericalComparator.EQUALS ? 0.05 : 0.33;
+    }
+
+    @Override
+    public String getShape() {
+        return "numerical(" + eAttribute.getName() + " " + comparator.getLiteral() + " $" + conditionKey + "."
+                + NUMBER_KEY + ")";
+    }
+}
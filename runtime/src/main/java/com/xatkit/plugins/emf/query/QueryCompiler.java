@@ -0,0 +1,827 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import javax.annotation.Nullable;
+import java.math.BigInteger;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Compiles query {@link Map}s into {@link QueryPlan}s.
+ * <p>
+ * The compiler resolves the {@link EClass}es, {@link EAttribute}s, and comparators of a query once, and caches the
+ * resulting {@link QueryPlan} using the canonical shape of the query (i.e. its structure without its literal
+ * values). Subsequent queries with the same shape reuse the cached plan, and only need to bind their literal values
+ * (see {@link QueryPlan#bind(Map)}).
+ * <p>
+ * The compiler supports query {@link Map}s with the following structure:
+ * <ul>
+ * <li>{@code condition1}, {@code condition2}, ...: condition {@link Map}s containing one of the following
+ * combinations of keys:
+ * <ul>
+ * <li>a {@code StringAttribute} and a {@code StringComparator}</li>
+ * <li>a {@code NumericalAttribute}, a {@code NumericalComparator}, and a {@code number}</li>
+ * <li>a {@code BooleanAttribute} and a {@code BooleanValue} ({@code true} or {@code false})</li>
+ * <li>a {@code DateAttribute}, a {@code DateComparator}, and a {@code date}</li>
+ * <li>an {@code Attribute} or a {@code Reference}, and an {@code EmptyValue} ({@code unset} or {@code set})</li>
+ * <li>a {@code StringReference} and a {@code StringComparator}, or a {@code DateReference}, a
+ * {@code DateComparator}, and a {@code date}</li>
+ * <li>a {@code StringReferenceVerb}, a {@code NumericalReferenceVerb} and a {@code number}, or a
+ * {@code DateReferenceVerb} and a {@code date}</li>
+ * </ul>
+ * </li>
+ * <li>{@code stringValue1}, {@code stringValue2}, ...: the literal values of the {@link String} conditions with the
+ * same number</li>
+ * <li>{@code conditionComposition}: the operator ({@code and} or {@code or}) used to compose all the conditions, or
+ * a boolean expression over the condition keys (e.g. {@code condition1 and (condition2 or not condition3)})</li>
+ * <li>{@code resultClause}: an optional result clause {@link Map} containing the {@code Attribute} used to sort the
+ * results, and an optional {@code SortDirection} ({@code ascending} or {@code descending}, defaults to
+ * {@code ascending})</li>
+ * <li>{@code limit}: the optional maximum number of results</li>
+ * </ul>
+ * The result clause is part of the shape of the query, while the limit is a literal value bound at execution time
+ * (see {@link QueryPlan#getLimit(Map)}).
+ */
+public class QueryCompiler {
+
+    /**
+     * The query {@link Map} key containing the first condition.
+     */
+    public static final String CONDITION_1_KEY = "condition1";
+
+    /**
+     * The query {@link Map} key containing the second condition.
+     */
+    public static final String CONDITION_2_KEY = "condition2";
+
+    /**
+     * The query {@link Map} key containing the literal value of the first condition.
+     */
+    public static final String STRING_VALUE_1_KEY = "stringValue1";
+
+    /**
+     * The query {@link Map} key containing the literal value of the second condition.
+     */
+    public static final String STRING_VALUE_2_KEY = "stringValue2";
+
+    /**
+     * The prefix of the query {@link Map} keys containing conditions (e.g. {@code condition3}).
+     */
+    public static final String CONDITION_KEY_PREFIX = "condition";
+
+    /**
+     * The prefix of the query {@link Map} keys containing the literal values of {@link String} conditions (e.g.
+     * {@code stringValue3}).
+     */
+    public static final String STRING_VALUE_KEY_PREFIX = "stringValue";
+
+    /**
+     * The query {@link Map} key containing the operator or the expression used to compose the conditions.
+     */
+    public static final String CONDITION_COMPOSITION_KEY = "conditionComposition";
+
+    /**
+     * The query {@link Map} key containing the result clause.
+     */
+    public static final String RESULT_CLAUSE_KEY = "resultClause";
+
+    /**
+     * The query {@link Map} key containing the maximum number of results.
+     */
+    public static final String LIMIT_KEY = "limit";
+
+    /**
+     * The condition {@link Map} key containing the name of a {@link String} attribute.
+     */
+    public static final String STRING_ATTRIBUTE_KEY = "StringAttribute";
+
+    /**
+     * The condition {@link Map} key containing a {@link StringComparator} literal.
+     */
+    public static final String STRING_COMPARATOR_KEY = "StringComparator";
+
+    /**
+     * The condition {@link Map} key containing the name of a numerical attribute.
+     */
+    public static final String NUMERICAL_ATTRIBUTE_KEY = "NumericalAttribute";
+
+    /**
+     * The condition {@link Map} key containing a {@link NumericalComparator} literal.
+     */
+    public static final String NUMERICAL_COMPARATOR_KEY = "NumericalComparator";
+
+    /**
+     * The condition {@link Map} key containing the name of a boolean attribute.
+     */
+    public static final String BOOLEAN_ATTRIBUTE_KEY = "BooleanAttribute";
+
+    /**
+     * The condition {@link Map} key containing the expected value ({@code true} or {@code false}) of a boolean
+     * attribute.
+     */
+    public static final String BOOLEAN_VALUE_KEY = "BooleanValue";
+
+    /**
+     * The condition {@link Map} key containing the name of a date attribute.
+     */
+    public static final String DATE_ATTRIBUTE_KEY = "DateAttribute";
+
+    /**
+     * The condition {@link Map} key containing a {@link DateComparator} literal.
+     */
+    public static final String DATE_COMPARATOR_KEY = "DateComparator";
+
+    /**
+     * The condition {@link Map} key containing the {@code unset} or {@code set} literal of an empty condition.
+     */
+    public static final String EMPTY_VALUE_KEY = "EmptyValue";
+
+    /**
+     * The condition {@link Map} key containing the name of the reference checked by an empty condition.
+     */
+    public static final String REFERENCE_KEY = "Reference";
+
+    /**
+     * The condition {@link Map} key containing the name of a reference whose targets are compared with a
+     * {@link StringComparator}.
+     */
+    public static final String STRING_REFERENCE_KEY = "StringReference";
+
+    /**
+     * The condition {@link Map} key containing the name of a reference whose targets are compared with a
+     * {@link DateComparator}.
+     */
+    public static final String DATE_REFERENCE_KEY = "DateReference";
+
+    /**
+     * The condition {@link Map} key containing the name of a reference whose targets must be equal to a
+     * {@link String} value.
+     */
+    public static final String STRING_REFERENCE_VERB_KEY = "StringReferenceVerb";
+
+    /**
+     * The condition {@link Map} key containing the name of a reference whose targets must be equal to a number.
+     */
+    public static final String NUMERICAL_REFERENCE_VERB_KEY = "NumericalReferenceVerb";
+
+    /**
+     * The condition {@link Map} key containing the name of a reference whose targets must be equal to a date.
+     */
+    public static final String DATE_REFERENCE_VERB_KEY = "DateReferenceVerb";
+
+    /**
+     * The result clause {@link Map} key containing the name of the attribute used to sort the results.
+     * <p>
+     * This key also contains the name of the attribute checked by empty conditions.
+     */
+    public static final String ATTRIBUTE_KEY = "Attribute";
+
+    /**
+     * The result clause {@link Map} key containing a {@link SortDirection} literal.
+     */
+    public static final String SORT_DIRECTION_KEY = "SortDirection";
+
+    /**
+     * The pattern matching the query {@link Map} keys containing conditions.
+     */
+    private static final Pattern CONDITION_KEY_PATTERN = Pattern.compile(CONDITION_KEY_PREFIX + "\\d+");
+
+    /**
+     * The {@code EmptyValue} literal matching the instances with an empty feature.
+     */
+    private static final String UNSET_LITERAL = "unset";
+
+    /**
+     * The {@code EmptyValue} literal matching the instances with a set feature.
+     */
+    private static final String SET_LITERAL = "set";
+
+    /**
+     * The literal negating conditions in composition expressions.
+     */
+    private static final String NOT_LITERAL = "not";
+
+    /**
+     * The name of the preferred label attribute of the types targeted by reference conditions.
+     */
+    private static final String LABEL_ATTRIBUTE_NAME = "name";
+
+    /**
+     * The {@link MetamodelIndex} used to resolve the {@link EClass}es and {@link EAttribute}s of the queries.
+     */
+    private final MetamodelIndex metamodelIndex;
+
+    /**
+     * The cached {@link QueryPlan}s, by canonical shape, in access order.
+     */
+    private final Map<String, QueryPlan> planCache;
+
+    /**
+     * Constructs a {@link QueryCompiler} with the provided {@code metamodelIndex}.
+     *
+     * @param metamodelIndex the {@link MetamodelIndex} used to resolve the {@link EClass}es and {@link EAttribute}s
+     *                       of the queries
+     * @param cacheSize      the maximum number of {@link QueryPlan}s to cache
+     * @throws NullPointerException     if the provided {@code metamodelIndex} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code cacheSize} is negative
+     */
+    public QueryCompiler(MetamodelIndex metamodelIndex, int cacheSize) {
+        checkNotNull(metamodelIndex, "Cannot create the %s: the provided %s is %s", this.getClass().getSimpleName(),
+                MetamodelIndex.class.getSimpleName(), metamodelIndex);
+        checkArgument(cacheSize >= 0, "Cannot create the %s: the cache size must be positive (found %s)",
+                this.getClass().getSimpleName(), cacheSize);
+        this.metamodelIndex = metamodelIndex;
+        this.planCache = new LinkedHashMap<String, QueryPlan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueryPlan> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the {@link QueryPlan} of the provided {@code query}.
+     * <p>
+     * This method returns the cached plan associated to the shape of the query if it exists, and compiles the query
+     * otherwise.
+     *
+     * @param clazzName the name of the {@link EClass} to retrieve the instances of
+     * @param query     the query {@link Map} to compile
+     * @return the {@link QueryPlan} of the provided {@code query}
+     * @throws NullPointerException if the provided {@code clazzName} or {@code query} is {@code null}
+     * @throws XatkitException      if the provided {@code query} is not valid
+     */
+    public QueryPlan compile(String clazzName, Map<String, Object> query) {
+        checkNotNull(clazzName, "Cannot compile the query for the provided class name %s", clazzName);
+        checkNotNull(query, "Cannot compile the provided query %s", query);
+        String shape = computeShape(clazzName, query);
+        QueryPlan plan;
+        synchronized (planCache) {
+            plan = planCache.get(shape);
+        }
+        if (isNull(plan)) {
+            plan = doCompile(clazzName, query, shape);
+            synchronized (planCache) {
+                planCache.put(shape, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the number of cached {@link QueryPlan}s.
+     *
+     * @return the number of cached {@link QueryPlan}s
+     */
+    public int getCacheSize() {
+        synchronized (planCache) {
+            return planCache.size();
+        }
+    }
+
+    /**
+     * Compiles the provided {@code query} into a {@link QueryPlan}.
+     *
+     * @param clazzName the name of the {@link EClass} to retrieve the instances of
+     * @param query     the query {@link Map} to compile
+     * @param shape     the canonical shape of the query
+     * @return the compiled {@link QueryPlan}
+     * @throws XatkitException if the provided {@code query} is not valid
+     */
+    private QueryPlan doCompile(String clazzName, Map<String, Object> query, String shape) {
+        EClass eClass = metamodelIndex.getEClass(clazzName);
+        if (isNull(eClass)) {
+            throw new XatkitException(MessageFormat.format("Cannot find the EClass with the provided name {0}",
+                    clazzName));
+        }
+        Map<String, Condition> conditions = new LinkedHashMap<>();
+        for (String conditionKey : getConditionKeys(query)) {
+            String valueKey = STRING_VALUE_KEY_PREFIX + conditionKey.substring(CONDITION_KEY_PREFIX.length());
+            conditions.put(conditionKey, compileCondition(eClass, (Map<?, ?>) query.get(conditionKey), conditionKey,
+                    valueKey));
+        }
+        return new QueryPlan(eClass, composeConditions(conditions, query.get(CONDITION_COMPOSITION_KEY)),
+                compileOrdering(eClass, query), shape);
+    }
+
+    /**
+     * Returns the keys of the conditions stored in the provided {@code query}, sorted by condition number.
+     *
+     * @param query the query {@link Map} to retrieve the condition keys of
+     * @return the sorted keys of the conditions stored in the {@code query}
+     */
+    private static List<String> getConditionKeys(Map<String, Object> query) {
+        List<String> conditionKeys = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : query.entrySet()) {
+            if (CONDITION_KEY_PATTERN.matcher(entry.getKey()).matches() && entry.getValue() instanceof Map) {
+                conditionKeys.add(entry.getKey());
+            }
+        }
+        conditionKeys.sort(Comparator.comparing((String key) ->
+                new BigInteger(key.substring(CONDITION_KEY_PREFIX.length()))).thenComparing(key -> key));
+        return conditionKeys;
+    }
+
+    /**
+     * Composes the provided {@code conditions} using the given {@code conditionComposition}.
+     * <p>
+     * The {@code and} and {@code or} compositions compose all the {@code conditions} with the corresponding
+     * {@link BooleanOperator}. Other compositions are parsed as boolean expressions over the condition keys (see
+     * {@link CompositionParser}). Queries containing multiple conditions without composition only use their first
+     * condition.
+     *
+     * @param conditions           the compiled {@link Condition}s, by condition key
+     * @param conditionComposition the composition of the conditions
+     * @return the composed {@link Condition}, or {@code null} if there is no condition to compose
+     * @throws XatkitException if the provided {@code conditionComposition} is not valid
+     */
+    private static @Nullable Condition composeConditions(Map<String, Condition> conditions,
+                                                         @Nullable Object conditionComposition) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        Condition firstCondition = conditions.values().iterator().next();
+        if (isNull(conditionComposition)) {
+            if (conditions.size() > 1) {
+                Log.warn("No condition composition found, using {0}", conditions.keySet().iterator().next());
+            }
+            return firstCondition;
+        }
+        String composition = conditionComposition.toString().trim();
+        for (BooleanOperator operator : BooleanOperator.values()) {
+            if (operator.getLiteral().equalsIgnoreCase(composition)) {
+                return conditions.size() == 1 ? firstCondition : new CompositeCondition(operator,
+                        new ArrayList<>(conditions.values()));
+            }
+        }
+        return new CompositionParser(composition, conditions).parse();
+    }
+
+    /**
+     * Compiles the result clause stored in the provided {@code query}.
+     *
+     * @param eClass the {@link EClass} of the instances to sort
+     * @param query  the query {@link Map} containing the result clause to compile
+     * @return the compiled {@link ResultOrdering}, or {@code null} if the query does not contain a result clause
+     * @throws XatkitException if the result clause is not valid
+     */
+    private @Nullable ResultOrdering compileOrdering(EClass eClass, Map<String, Object> query) {
+        Object resultClause = query.get(RESULT_CLAUSE_KEY);
+        if (!(resultClause instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> resultClauseMap = (Map<?, ?>) resultClause;
+        Object attributeName = resultClauseMap.get(ATTRIBUTE_KEY);
+        if (isNull(attributeName)) {
+            throw new XatkitException(MessageFormat.format("Cannot compile the result clause {0}: expected an " +
+                    "attribute for the key {1}", resultClauseMap, ATTRIBUTE_KEY));
+        }
+        EAttribute eAttribute = getEAttribute(eClass, attributeName.toString());
+        if (eAttribute.isMany()) {
+            throw new XatkitException(MessageFormat.format("Cannot sort the results by the multi-valued attribute " +
+                    "{0}", eAttribute.getName()));
+        }
+        Object directionLiteral = resultClauseMap.get(SORT_DIRECTION_KEY);
+        SortDirection direction = isNull(directionLiteral) ? SortDirection.ASCENDING :
+                SortDirection.fromLiteral(directionLiteral.toString());
+        return new ResultOrdering(eAttribute, direction);
+    }
+
+    /**
+     * Compiles the provided {@code conditionMap}.
+     * <p>
+     * Conditions on references are compiled into {@link ReferenceCondition}s, and apply their comparison to the
+     * label attribute of the referenced {@link EObject}s (see {@link #getLabelEAttribute(EReference, String)}).
+     *
+     * @param eClass       the {@link EClass} of the instances to filter
+     * @param conditionMap the condition {@link Map} to compile
+     * @param conditionKey the key of the condition to compile
+     * @param valueKey     the key of the literal value of the condition if it is a {@link String} condition
+     * @return the compiled {@link Condition}
+     * @throws XatkitException if the condition is not valid
+     */
+    private Condition compileCondition(EClass eClass, Map<?, ?> conditionMap, String conditionKey,
+                                       String valueKey) {
+        if (conditionMap.containsKey(EMPTY_VALUE_KEY)) {
+            return new EmptyCondition(getEStructuralFeature(eClass, conditionMap),
+                    isEmptyLiteral(conditionMap.get(EMPTY_VALUE_KEY)));
+        } else if (conditionMap.containsKey(STRING_ATTRIBUTE_KEY)) {
+            EAttribute eAttribute = getEAttribute(eClass, (String) conditionMap.get(STRING_ATTRIBUTE_KEY));
+            StringComparator comparator =
+                    StringComparator.fromLiteral((String) conditionMap.get(STRING_COMPARATOR_KEY));
+            return new StringCondition(eAttribute, comparator, valueKey);
+        } else if (conditionMap.containsKey(NUMERICAL_ATTRIBUTE_KEY)) {
+            EAttribute eAttribute = getEAttribute(eClass, (String) conditionMap.get(NUMERICAL_ATTRIBUTE_KEY));
+            NumericalComparator comparator =
+                    NumericalComparator.fromLiteral((String) conditionMap.get(NUMERICAL_COMPARATOR_KEY));
+            return new NumericalCondition(eAttribute, comparator, conditionKey);
+        } else if (conditionMap.containsKey(BOOLEAN_ATTRIBUTE_KEY)) {
+            EAttribute eAttribute = getEAttribute(eClass, (String) conditionMap.get(BOOLEAN_ATTRIBUTE_KEY));
+            return new BooleanCondition(eAttribute, isTrueLiteral(conditionMap.get(BOOLEAN_VALUE_KEY)));
+        } else if (conditionMap.containsKey(DATE_ATTRIBUTE_KEY)) {
+            EAttribute eAttribute = getEAttribute(eClass, (String) conditionMap.get(DATE_ATTRIBUTE_KEY));
+            DateComparator comparator = DateComparator.fromLiteral((String) conditionMap.get(DATE_COMPARATOR_KEY));
+            return new DateCondition(eAttribute, comparator, conditionKey);
+        } else if (conditionMap.containsKey(STRING_REFERENCE_KEY)) {
+            EReference eReference = getEReference(eClass, (String) conditionMap.get(STRING_REFERENCE_KEY));
+            StringComparator comparator =
+                    StringComparator.fromLiteral((String) conditionMap.get(STRING_COMPARATOR_KEY));
+            return new ReferenceCondition(eReference, new StringCondition(getLabelEAttribute(eReference,
+                    STRING_ATTRIBUTE_KEY), comparator, valueKey));
+        } else if (conditionMap.containsKey(DATE_REFERENCE_KEY)) {
+            EReference eReference = getEReference(eClass, (String) conditionMap.get(DATE_REFERENCE_KEY));
+            DateComparator comparator = DateComparator.fromLiteral((String) conditionMap.get(DATE_COMPARATOR_KEY));
+            return new ReferenceCondition(eReference, new DateCondition(getLabelEAttribute(eReference,
+                    DATE_ATTRIBUTE_KEY), comparator, conditionKey));
+        } else if (conditionMap.containsKey(STRING_REFERENCE_VERB_KEY)) {
+            EReference eReference = getEReference(eClass, (String) conditionMap.get(STRING_REFERENCE_VERB_KEY));
+            return new ReferenceCondition(eReference, new StringCondition(getLabelEAttribute(eReference,
+                    STRING_ATTRIBUTE_KEY), StringComparator.EQUALS, valueKey));
+        } else if (conditionMap.containsKey(NUMERICAL_REFERENCE_VERB_KEY)) {
+            EReference eReference = getEReference(eClass, (String) conditionMap.get(NUMERICAL_REFERENCE_VERB_KEY));
+            return new ReferenceCondition(eReference, new NumericalCondition(getLabelEAttribute(eReference,
+                    NUMERICAL_ATTRIBUTE_KEY), NumericalComparator.EQUALS, conditionKey));
+        } else if (conditionMap.containsKey(DATE_REFERENCE_VERB_KEY)) {
+            EReference eReference = getEReference(eClass, (String) conditionMap.get(DATE_REFERENCE_VERB_KEY));
+            return new ReferenceCondition(eReference, new DateCondition(getLabelEAttribute(eReference,
+                    DATE_ATTRIBUTE_KEY), DateComparator.EQUALS, conditionKey));
+        } else {
+            throw new XatkitException(MessageFormat.format("Unsupported condition type {0}, expecting a String, " +
+                    "numerical, boolean, date, empty, or reference condition", conditionMap.keySet()));
+        }
+    }
+
+    /**
+     * Returns whether the provided {@code EmptyValue} literal denotes empty features.
+     *
+     * @param literal the literal to check ({@code unset} or {@code set})
+     * @return {@code true} if the literal is {@code unset}, {@code false} if it is {@code set}
+     * @throws XatkitException if the provided {@code literal} is not {@code unset} or {@code set}
+     */
+    private static boolean isEmptyLiteral(@Nullable Object literal) {
+        if (UNSET_LITERAL.equals(literal)) {
+            return true;
+        } else if (SET_LITERAL.equals(literal)) {
+            return false;
+        }
+        throw new XatkitException(MessageFormat.format("Cannot compile the empty condition: expected {0} or {1} for " +
+                "the key {2}, found {3}", UNSET_LITERAL, SET_LITERAL, EMPTY_VALUE_KEY, literal));
+    }
+
+    /**
+     * Returns whether the provided {@code BooleanValue} literal is {@code true}.
+     *
+     * @param literal the literal to check ({@code true} or {@code false})
+     * @return {@code true} if the literal is {@code true}, {@code false} if it is {@code false}
+     * @throws XatkitException if the provided {@code literal} is not {@code true} or {@code false}
+     */
+    private static boolean isTrueLiteral(@Nullable Object literal) {
+        if (nonNull(literal) && Boolean.TRUE.toString().equalsIgnoreCase(literal.toString())) {
+            return true;
+        } else if (nonNull(literal) && Boolean.FALSE.toString().equalsIgnoreCase(literal.toString())) {
+            return false;
+        }
+        throw new XatkitException(MessageFormat.format("Cannot compile the boolean condition: expected true or false " +
+                "for the key {0}, found {1}", BOOLEAN_VALUE_KEY, literal));
+    }
+
+    /**
+     * Returns the {@link EStructuralFeature} checked by the provided empty {@code conditionMap}.
+     * <p>
+     * The name of the feature is stored in the {@code Attribute} or {@code Reference} entry of the condition
+     * {@link Map}, either directly or in a nested {@link Map} (e.g. {@code {StringAttribute=name}}).
+     *
+     * @param eClass       the {@link EClass} containing the {@link EStructuralFeature}
+     * @param conditionMap the empty condition {@link Map}
+     * @return the {@link EStructuralFeature}
+     * @throws XatkitException if the {@link EClass} does not contain the {@link EStructuralFeature}
+     */
+    private EStructuralFeature getEStructuralFeature(EClass eClass, Map<?, ?> conditionMap) {
+        if (conditionMap.containsKey(ATTRIBUTE_KEY)) {
+            return getEAttribute(eClass, getFeatureName(conditionMap.get(ATTRIBUTE_KEY)));
+        } else if (conditionMap.containsKey(REFERENCE_KEY)) {
+            return getEReference(eClass, getFeatureName(conditionMap.get(REFERENCE_KEY)));
+        }
+        throw new XatkitException(MessageFormat.format("Cannot compile the empty condition {0}: expected an {1} or a " +
+                "{2}", conditionMap, ATTRIBUTE_KEY, REFERENCE_KEY));
+    }
+
+    /**
+     * Returns the feature name stored in the provided {@code value}.
+     *
+     * @param value the {@link String} or nested {@link Map} containing the feature name
+     * @return the feature name
+     */
+    private static String getFeatureName(Object value) {
+        if (value instanceof Map && !((Map<?, ?>) value).isEmpty()) {
+            return String.valueOf(((Map<?, ?>) value).values().iterator().next());
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Returns the {@link EAttribute} of the provided {@code eClass} with the given {@code eAttributeName}.
+     *
+     * @param eClass         the {@link EClass} containing the {@link EAttribute}
+     * @param eAttributeName the name of the {@link EAttribute} to retrieve
+     * @return the {@link EAttribute}
+     * @throws XatkitException if the {@link EClass} does not contain an {@link EAttribute} with the provided name
+     */
+    private EAttribute getEAttribute(EClass eClass, String eAttributeName) {
+        EAttribute eAttribute = metamodelIndex.getEAttribute(eClass, eAttributeName);
+        if (isNull(eAttribute)) {
+            throw new XatkitException(MessageFormat.format("Cannot find the attribute {0} in the EClass {1}",
+                    eAttributeName, eClass.getName()));
+        }
+        return eAttribute;
+    }
+
+    /**
+     * Returns the {@link EReference} of the provided {@code eClass} with the given {@code eReferenceName}.
+     *
+     * @param eClass         the {@link EClass} containing the {@link EReference}
+     * @param eReferenceName the name of the {@link EReference} to retrieve
+     * @return the {@link EReference}
+     * @throws XatkitException if the {@link EClass} does not contain an {@link EReference} with the provided name
+     */
+    private EReference getEReference(EClass eClass, String eReferenceName) {
+        EReference eReference = metamodelIndex.getEReference(eClass, eReferenceName);
+        if (isNull(eReference)) {
+            throw new XatkitException(MessageFormat.format("Cannot find the reference {0} in the EClass {1}",
+                    eReferenceName, eClass.getName()));
+        }
+        return eReference;
+    }
+
+    /**
+     * Returns the label {@link EAttribute} of the type of the provided {@code eReference}.
+     * <p>
+     * The label attribute is the single-valued {@code name} attribute of the referenced type if it exists and has the
+     * expected kind, and its first single-valued attribute of the expected kind otherwise.
+     *
+     * @param eReference    the {@link EReference} to retrieve the label attribute of
+     * @param attributeKind the kind of the attribute to retrieve ({@code StringAttribute}, {@code NumericalAttribute},
+     *                      or {@code DateAttribute})
+     * @return the label {@link EAttribute}
+     * @throws XatkitException if the referenced type does not contain an attribute of the expected kind
+     */
+    private static EAttribute getLabelEAttribute(EReference eReference, String attributeKind) {
+        EAttribute label = null;
+        for (EAttribute eAttribute : eReference.getEReferenceType().getEAllAttributes()) {
+            if (!eAttribute.isMany() && isAttributeKind(eAttribute, attributeKind)) {
+                if (LABEL_ATTRIBUTE_NAME.equals(eAttribute.getName())) {
+                    return eAttribute;
+                }
+                if (isNull(label)) {
+                    label = eAttribute;
+                }
+            }
+        }
+        if (isNull(label)) {
+            throw new XatkitException(MessageFormat.format("Cannot compile the condition on the reference {0}: the " +
+                    "EClass {1} does not contain a {2}", eReference.getName(),
+                    eReference.getEReferenceType().getName(), attributeKind));
+        }
+        return label;
+    }
+
+    /**
+     * Returns whether the provided {@code eAttribute} has the given {@code attributeKind}.
+     *
+     * @param eAttribute    the {@link EAttribute} to check
+     * @param attributeKind the expected kind ({@code StringAttribute}, {@code NumericalAttribute}, or
+     *                      {@code DateAttribute})
+     * @return {@code true} if the {@link EAttribute} has the expected kind, {@code false} otherwise
+     */
+    private static boolean isAttributeKind(EAttribute eAttribute, String attributeKind) {
+        switch (attributeKind) {
+            case STRING_ATTRIBUTE_KEY:
+                return AttributeIndex.isString(eAttribute);
+            case NUMERICAL_ATTRIBUTE_KEY:
+                return AttributeIndex.isNumerical(eAttribute);
+            default:
+                return eAttribute.getEAttributeType().getInstanceClass() == Date.class;
+        }
+    }
+
+    /**
+     * Computes the canonical shape of the provided {@code query}.
+     * <p>
+     * The shape of a query contains the name of the queried {@link EClass}, as well as the attributes, comparators,
+     * and composition operator of its conditions, and its result clause. It does not contain the literal values of
+     * the query.
+     *
+     * @param clazzName the name of the {@link EClass} to retrieve the instances of
+     * @param query     the query {@link Map} to compute the shape of
+     * @return the canonical shape of the query
+     */
+    private String computeShape(String clazzName, Map<String, Object> query) {
+        StringBuilder sb = new StringBuilder(clazzName);
+        for (String conditionKey : getConditionKeys(query)) {
+            sb.append('|').append(conditionKey).append(':');
+            appendShape(sb, query.get(conditionKey));
+        }
+        sb.append('|').append(query.get(CONDITION_COMPOSITION_KEY));
+        Object resultClause = query.get(RESULT_CLAUSE_KEY);
+        if (resultClause instanceof Map) {
+            Map<?, ?> resultClauseMap = (Map<?, ?>) resultClause;
+            sb.append("|sorted:").append(resultClauseMap.get(ATTRIBUTE_KEY)).append(':')
+                    .append(resultClauseMap.get(SORT_DIRECTION_KEY));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the shape of the provided condition {@code value} to the given {@link StringBuilder}.
+     * <p>
+     * Condition {@link Map}s are appended with their entries sorted by key, excluding their literal numbers and
+     * dates.
+     *
+     * @param sb    the {@link StringBuilder} to append the shape to
+     * @param value the condition value to append the shape of
+     */
+    private static void appendShape(StringBuilder sb, Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> sortedMap = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                if (!NumericalCondition.NUMBER_KEY.equals(key) && !DateCondition.DATE_KEY.equals(key)) {
+                    sortedMap.put(key, entry.getValue());
+                }
+            }
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, Object> entry : sortedMap.entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                sb.append(entry.getKey()).append('=');
+                appendShape(sb, entry.getValue());
+            }
+            sb.append('}');
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * Parses boolean expressions composing conditions (e.g. {@code condition1 and (condition2 or not condition3)}).
+     * <p>
+     * Expressions are made of condition keys, parentheses, and the case-insensitive {@code not}, {@code and}, and
+     * {@code or} operators, in decreasing precedence order. Chained operators of the same kind are composed in a
+     * single {@link CompositeCondition}.
+     */
+    private static final class CompositionParser {
+
+        /**
+         * The pattern matching the tokens of the expressions.
+         */
+        private static final Pattern TOKEN_PATTERN = Pattern.compile("\\s*([()]|[^\\s()]+)");
+
+        /**
+         * The parsed expression.
+         */
+        private final String expression;
+
+        /**
+         * The compiled {@link Condition}s, by condition key.
+         */
+        private final Map<String, Condition> conditions;
+
+        /**
+         * The tokens of the parsed expression.
+         */
+        private final List<String> tokens = new ArrayList<>();
+
+        /**
+         * The position of the next token to parse.
+         */
+        private int position;
+
+        /**
+         * Constructs a {@link CompositionParser} for the provided {@code expression}.
+         *
+         * @param expression the expression to parse
+         * @param conditions the compiled {@link Condition}s, by condition key
+         */
+        private CompositionParser(String expression, Map<String, Condition> conditions) {
+            this.expression = expression;
+            this.conditions = conditions;
+            Matcher matcher = TOKEN_PATTERN.matcher(expression);
+            while (matcher.find()) {
+                tokens.add(matcher.group(1));
+            }
+        }
+
+        /**
+         * Parses the expression.
+         *
+         * @return the {@link Condition} represented by the expression
+         * @throws XatkitException if the expression is not valid
+         */
+        private Condition parse() {
+            Condition condition = parseComposition(BooleanOperator.OR);
+            if (position < tokens.size()) {
+                throw error("unexpected token " + tokens.get(position));
+            }
+            return condition;
+        }
+
+        /**
+         * Parses a sequence of operands composed with the provided {@code operator}.
+         *
+         * @param operator the {@link BooleanOperator} composing the operands
+         * @return the parsed {@link Condition}
+         * @throws XatkitException if the expression is not valid
+         */
+        private Condition parseComposition(BooleanOperator operator) {
+            List<Condition> operands = new ArrayList<>();
+            do {
+                Condition operand = operator == BooleanOperator.OR ? parseComposition(BooleanOperator.AND) :
+                        parseUnary();
+                if (operand instanceof CompositeCondition
+                        && ((CompositeCondition) operand).getOperator() == operator) {
+                    operands.addAll(((CompositeCondition) operand).getConditions());
+                } else {
+                    operands.add(operand);
+                }
+            } while (accept(operator.getLiteral()));
+            return operands.size() == 1 ? operands.get(0) : new CompositeCondition(operator, operands);
+        }
+
+        /**
+         * Parses a negation, a parenthesized expression, or a condition key.
+         *
+         * @return the parsed {@link Condition}
+         * @throws XatkitException if the expression is not valid
+         */
+        private Condition parseUnary() {
+            if (accept(NOT_LITERAL)) {
+                return new NotCondition(parseUnary());
+            }
+            if (accept("(")) {
+                Condition condition = parseComposition(BooleanOperator.OR);
+                if (!accept(")")) {
+                    throw error("missing closing parenthesis");
+                }
+                return condition;
+            }
+            if (position >= tokens.size()) {
+                throw error("unexpected end of expression");
+            }
+            String token = tokens.get(position++);
+            Condition condition = conditions.get(token);
+            if (isNull(condition)) {
+                throw error("unknown condition " + token);
+            }
+            return condition;
+        }
+
+        /**
+         * Consumes the next token if it matches the provided {@code literal}, ignoring case.
+         *
+         * @param literal the literal to match
+         * @return {@code true} if the next token has been consumed, {@code false} otherwise
+         */
+        private boolean accept(String literal) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(literal)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Creates a {@link XatkitException} reporting an invalid expression.
+         *
+         * @param reason the reason why the expression is not valid
+         * @return the created {@link XatkitException}
+         */
+        private XatkitException error(String reason) {
+            return new XatkitException(MessageFormat.format("Cannot apply the condition composition {0}: {1}",
+                    expression, reason));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import org.eclipse.emf.ecore.EObject;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A lazy cursor over the results of a query.
+ * <p>
+ * A {@link QueryCursor} wraps a lazy {@link Iterator} over the candidate instances of a query, and returns the
+ * instances satisfying the query page by page (see {@link #nextPage()}). Candidates are only tested when a page is
+ * requested, meaning that the cost of a page depends on the page size and the selectivity of the query, but not on
+ * the total number of matches.
+ * <p>
+ * Cursors are stateful and are not thread-safe.
+ *
+ * @see QueryPlan#openCursor(org.eclipse.emf.ecore.resource.Resource, java.util.Map, int)
+ */
+public class QueryCursor {
+
+    /**
+     * The candidate instances of the query.
+     */
+    private final Iterator<EObject> candidates;
+
+    /**
+     * The {@link Predicate} matching the instances satisfying the query.
+     */
+    private final Predicate<EObject> predicate;
+
+    /**
+     * The maximum number of instances returned by {@link #nextPage()}.
+     */
+    private final int pageSize;
+
+    /**
+     * The maximum number of instances returned by the cursor.
+     */
+    private final long limit;
+
+    /**
+     * The number of matching instances found by the cursor.
+     */
+    private long matchCount;
+
+    /**
+     * The next matching instance, or {@code null} if it has not been computed yet.
+     */
+    private EObject nextMatch;
+
+    /**
+     * The number of pages returned by the cursor.
+     */
+    private int pageCount;
+
+    /**
+     * The number of instances returned by the cursor.
+     */
+    private long returnedCount;
+
+    /**
+     * Constructs a {@link QueryCursor} with the provided parameters.
+     *
+     * @param candidates the lazy {@link Iterator} over the candidate instances of the query
+     * @param predicate  the {@link Predicate} matching the instances satisfying the query
+     * @param pageSize   the maximum number of instances returned by {@link #nextPage()}
+     * @throws NullPointerException     if the provided {@code candidates} or {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code pageSize} is lower than {@code 1}
+     */
+    public QueryCursor(Iterator<EObject> candidates, Predicate<EObject> predicate, int pageSize) {
+        this(candidates, predicate, pageSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a {@link QueryCursor} returning at most {@code limit} instances.
+     * <p>
+     * The cursor stops testing candidates once {@code limit} matching instances have been found.
+     *
+     * @param candidates the lazy {@link Iterator} over the candidate instances of the query
+     * @param predicate  the {@link Predicate} matching the instances satisfying the query
+     * @param pageSize   the maximum number of instances returned by {@link #nextPage()}
+     * @param limit      the maximum number of instances returned by the cursor
+     * @throws NullPointerException     if the provided {@code candidates} or {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code pageSize} is lower than {@code 1} or if the provided
+     *                                  {@code limit} is negative
+     */
+    public QueryCursor(Iterator<EObject> candidates, Predicate<EObject> predicate, int pageSize, long limit) {
+        checkNotNull(candidates, "Cannot construct the %s: the provided candidates are null",
+                QueryCursor.class.getSimpleName());
+        checkNotNull(predicate, "Cannot construct the %s: the provided predicate is null",
+                QueryCursor.class.getSimpleName());
+        checkArgument(pageSize > 0, "Cannot construct the %s: the page size must be strictly positive, found %s",
+                QueryCursor.class.getSimpleName(), pageSize);
+        checkArgument(limit >= 0, "Cannot construct the %s: the limit must be positive or 0, found %s",
+                QueryCursor.class.getSimpleName(), limit);
+        this.candidates = candidates;
+        this.predicate = predicate;
+        this.pageSize = pageSize;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns whether the cursor has more matching instances.
+     *
+     * @return {@code true} if the cursor has more matching instances, {@code false} otherwise
+     * @throws XatkitException if the queried model has been modified since the creation of the cursor
+     */
+    public boolean hasNext() {
+        if (nonNull(nextMatch)) {
+            return true;
+        }
+        if (matchCount >= limit) {
+            return false;
+        }
+        try {
+            while (candidates.hasNext()) {
+                EObject candidate = candidates.next();
+                if (predicate.test(candidate)) {
+                    nextMatch = candidate;
+                    matchCount++;
+                    return true;
+                }
+            }
+        } catch (ConcurrentModificationException e) {
+            throw new XatkitException(MessageFormat.format("Cannot compute the next page of the cursor: {0}",
+                    e.getMessage()), e);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the next page of matching instances.
+     * <p>
+     * The returned {@link List} contains at most {@link #getPageSize()} instances, and is empty if the cursor does
+     * not have more matching instances.
+     *
+     * @return the next page of matching instances
+     * @throws XatkitException if the queried model has been modified since the creation of the cursor
+     */
+    public List<EObject> nextPage() {
+        List<EObject> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && hasNext()) {
+            page.add(nextMatch);
+            nextMatch = null;
+        }
+        if (!page.isEmpty()) {
+            pageCount++;
+            returnedCount += page.size();
+        }
+        return page;
+    }
+
+    /**
+     * Returns the maximum number of instances returned by {@link #nextPage()}.
+     *
+     * @return the maximum number of instances returned by {@link #nextPage()}
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns the number of non-empty pages returned by the cursor.
+     *
+     * @return the number of non-empty pages returned by the cursor
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the number of instances returned by the cursor.
+     *
+     * @return the number of instances returned by the cursor
+     */
+    public long getReturnedCount() {
+        return returnedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCursor(pageSize=" + pageSize + ", pages=" + pageCount + ", returned=" + returnedCount + ")";
+    }
+}
@@ -0,0 +1,381 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import com.xatkit.plugins.emf.index.AttributeIndexManager;
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.store.QueryStore;
+import com.xatkit.plugins.emf.util.ModelScanner;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable, compiled representation of a query.
+ * <p>
+ * A {@link QueryPlan} contains the resolved {@link EClass} of the query, and the {@link Condition} tree that
+ * instances of this {@link EClass} must satisfy. Plans do not contain the literal values of the query they have been
+ * compiled from, and can be reused for all the queries sharing the same shape (see {@link #getShape()}).
+ * <p>
+ * A plan may also contain a {@link ResultOrdering} sorting its results. The maximum number of results is a literal
+ * value of the query (see {@link #getLimit(Map)}).
+ *
+ * @see QueryCompiler
+ */
+public class QueryPlan {
+
+    /**
+     * The {@link EClass} of the instances to retrieve.
+     */
+    private final EClass eClass;
+
+    /**
+     * The {@link Condition} that instances must satisfy.
+     * <p>
+     * This condition is {@code null} if the query does not contain any condition.
+     */
+    private final Condition condition;
+
+    /**
+     * The {@link ResultOrdering} of the results.
+     * <p>
+     * This ordering is {@code null} if the query does not contain a result clause.
+     */
+    private final ResultOrdering ordering;
+
+    /**
+     * The canonical shape of the query.
+     */
+    private final String shape;
+
+    /**
+     * Constructs a {@link QueryPlan} with the provided parameters.
+     *
+     * @param eClass    the {@link EClass} of the instances to retrieve
+     * @param condition the {@link Condition} that instances must satisfy, or {@code null} if the query does not
+     *                  contain any condition
+     * @param shape     the canonical shape of the query
+     */
+    public QueryPlan(EClass eClass, @Nullable Condition condition, String shape) {
+        this(eClass, condition, null, shape);
+    }
+
+    /**
+     * Constructs a {@link QueryPlan} with the provided parameters.
+     *
+     * @param eClass    the {@link EClass} of the instances to retrieve
+     * @param condition the {@link Condition} that instances must satisfy, or {@code null} if the query does not
+     *                  contain any condition
+     * @param ordering  the {@link ResultOrdering} of the results, or {@code null} if the query does not contain a
+     *                  result clause
+     * @param shape     the canonical shape of the query
+     */
+    public QueryPlan(EClass eClass, @Nullable Condition condition, @Nullable ResultOrdering ordering, String shape) {
+        this.eClass = eClass;
+        this.condition = condition;
+        this.ordering = ordering;
+        this.shape = shape;
+    }
+
+    /**
+     * Returns the {@link EClass} of the instances to retrieve.
+     *
+     * @return the {@link EClass} of the instances to retrieve
+     */
+    public EClass getEClass() {
+        return eClass;
+    }
+
+    /**
+     * Returns the {@link Condition} that instances must satisfy.
+     *
+     * @return the {@link Condition} that instances must satisfy, or {@code null} if the query does not contain any
+     * condition
+     */
+    public @Nullable Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Returns the {@link ResultOrdering} of the results.
+     *
+     * @return the {@link ResultOrdering} of the results, or {@code null} if the query does not contain a result
+     * clause
+     */
+    public @Nullable ResultOrdering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * Returns the canonical shape of the query.
+     *
+     * @return the canonical shape of the query
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * Binds the plan to the literal values of the provided {@code query} and returns the resulting
+     * {@link Predicate}.
+     *
+     * @param query the query {@link Map} containing the literal values to bind
+     * @return the {@link Predicate} matching the {@link EObject}s that satisfy the query
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         plan's conditions
+     */
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        if (isNull(condition)) {
+            return eObject -> true;
+        }
+        return condition.bind(query);
+    }
+
+    /**
+     * Returns the maximum number of results of the provided {@code query}.
+     * <p>
+     * The limit can be stored as a {@link Number} or as a {@link String} with the
+     * {@link QueryCompiler#LIMIT_KEY} key.
+     *
+     * @param query the query {@link Map} containing the limit
+     * @return the maximum number of results, or {@link Integer#MAX_VALUE} if the query does not contain a limit
+     * @throws XatkitException if the provided {@code query} does not contain a valid limit
+     */
+    public int getLimit(Map<String, Object> query) {
+        Object value = query.get(QueryCompiler.LIMIT_KEY);
+        if (isNull(value)) {
+            return Integer.MAX_VALUE;
+        }
+        long limit;
+        if (value instanceof Number) {
+            limit = ((Number) value).longValue();
+        } else {
+            try {
+                limit = Long.parseLong(value.toString().trim());
+            } catch (NumberFormatException e) {
+                throw new XatkitException(MessageFormat.format("Cannot apply the limit {0}: expected an integer",
+                        value), e);
+            }
+        }
+        if (limit < 0) {
+            throw new XatkitException(MessageFormat.format("Cannot apply the limit {0}: the limit must be positive " +
+                    "or 0", value));
+        }
+        return (int) Math.min(limit, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Executes the plan on the provided {@code modelResource} with the literal values of the given {@code query}.
+     * <p>
+     * If the plan's {@link Condition} can be answered from the indexes of the {@code modelResource} (see
+     * {@link Condition#lookup(EClass, Resource, Map)}) only the candidates returned by the indexes are filtered. The
+     * indexes return their candidates in the model order of the {@link ExtentIndex} (containment pre-order for the
+     * elements indexed when the model is loaded, followed by the elements added afterwards in insertion order), like
+     * the scans of the model. Otherwise, if the
+     * {@code modelResource} has a {@link QueryStore} and the plan's {@link Condition} can be evaluated on its columns
+     * (see {@link Condition#evaluate(com.xatkit.plugins.emf.store.ClassTable, Map)}), only the matching instances
+     * are materialized, grouped by {@link EClass}. Otherwise all the instances of the plan's {@link EClass} are
+     * retrieved and filtered with the provided {@code scanner}, which may split the filter into
+     * parallel tasks, and the returned {@link List} preserves the order of the instances in the model.
+     * <p>
+     * If the plan contains a {@link ResultOrdering} the matching instances are sorted, and only the first
+     * {@link #getLimit(Map)} ones are returned (see {@link ResultOrdering#sort(List, int)}). If the
+     * {@link Condition} cannot be answered from the indexes but the sorted {@link EAttribute} is indexed, the
+     * instances are retrieved in order from its {@link AttributeIndex}, and the retrieval stops once the limit is
+     * reached.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param query         the query {@link Map} containing the literal values to bind
+     * @param scanner       the {@link ModelScanner} used to retrieve and filter the instances
+     * @return the {@link List} of instances satisfying the query
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         plan's conditions or limit
+     */
+    public List<EObject> execute(Resource modelResource, Map<String, Object> query, ModelScanner scanner) {
+        Predicate<EObject> predicate = bind(query);
+        int limit = getLimit(query);
+        AttributeIndexManager indexManager = AttributeIndexManager.getManager(modelResource);
+        List<EObject> result = null;
+        if (nonNull(condition)) {
+            List<EObject> candidates = condition.lookup(eClass, modelResource, query);
+            if (nonNull(candidates)) {
+                result = condition.isExactLookup() ? new ArrayList<>(candidates) : scanner.filter(candidates,
+                        predicate);
+            }
+        }
+        if (isNull(result) && nonNull(ordering) && nonNull(indexManager)) {
+            AttributeIndex sortIndex = indexManager.getIndex(eClass, ordering.getEAttribute());
+            if (nonNull(sortIndex)) {
+                return executeSorted(modelResource, sortIndex, predicate, limit, scanner);
+            }
+        }
+        if (isNull(result)) {
+            QueryStore store = QueryStore.getStore(modelResource);
+            if (nonNull(store)) {
+                result = store.select(eClass, condition, query);
+            }
+        }
+        if (isNull(result)) {
+            result = scanner.filter(scanner.getAllInstancesOfType(modelResource, eClass), predicate);
+        }
+        if (nonNull(ordering)) {
+            return ordering.sort(result, limit);
+        }
+        return limit < result.size() ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Counts the instances satisfying the plan on the provided {@code modelResource} with the literal values of the
+     * given {@code query}.
+     * <p>
+     * This method does not collect the matching instances. The count is computed from the index metadata if
+     * possible (i.e. if the query does not contain any condition, or if its {@link Condition} is exactly answered by
+     * the indexes of the {@code modelResource}, see {@link Condition#isExactLookup()}), or
+     * from the columns of the {@link QueryStore} of the {@code modelResource}. Otherwise the candidates returned by
+     * the indexes, or all the instances of the plan's {@link EClass}, are tested and counted.
+     * <p>
+     * The returned count is bounded by the limit of the query (see {@link #getLimit(Map)}), the
+     * {@link ResultOrdering} of the plan is ignored.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param query         the query {@link Map} containing the literal values to bind
+     * @param scanner       the {@link ModelScanner} used to count the instances
+     * @return the number of instances satisfying the query
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         plan's conditions or limit
+     */
+    public long count(Resource modelResource, Map<String, Object> query, ModelScanner scanner) {
+        return Math.min(doCount(modelResource, query, scanner), getLimit(query));
+    }
+
+    /**
+     * Counts the instances satisfying the plan on the provided {@code modelResource}, regardless of the limit of the
+     * query.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param query         the query {@link Map} containing the literal values to bind
+     * @param scanner       the {@link ModelScanner} used to count the instances
+     * @return the number of instances satisfying the query
+     * @see #count(Resource, Map, ModelScanner)
+     */
+    private long doCount(Resource modelResource, Map<String, Object> query, ModelScanner scanner) {
+        if (isNull(condition)) {
+            return scanner.countInstancesOfType(modelResource, eClass);
+        }
+        Predicate<EObject> predicate = bind(query);
+        List<EObject> candidates = condition.lookup(eClass, modelResource, query);
+        if (nonNull(candidates)) {
+            return condition.isExactLookup() ? candidates.size() : candidates.stream().filter(predicate).count();
+        }
+        QueryStore store = QueryStore.getStore(modelResource);
+        if (nonNull(store)) {
+            Long count = store.count(eClass, condition, query);
+            if (nonNull(count)) {
+                return count;
+            }
+        }
+        return scanner.count(modelResource, eClass, predicate);
+    }
+
+    /**
+     * Opens a lazy {@link QueryCursor} over the results of the plan on the provided {@code modelResource}.
+     * <p>
+     * The candidates of the cursor are retrieved from the indexes of the {@code modelResource} if the plan's
+     * {@link Condition} can be answered from them. Otherwise they are iterated lazily from the
+     * {@link ExtentIndex} of the {@code modelResource}, or from its content if it is not indexed. Opening a cursor
+     * does not test any candidate.
+     * <p>
+     * If the plan contains a {@link ResultOrdering} the results are sorted when the cursor is opened. The cursor
+     * returns at most {@link #getLimit(Map)} instances.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param query         the query {@link Map} containing the literal values to bind
+     * @param pageSize      the maximum number of instances returned by each page of the cursor
+     * @return the opened {@link QueryCursor}
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         plan's conditions or limit
+     * @throws IllegalArgumentException        if the provided {@code pageSize} is lower than {@code 1}
+     * @see QueryCursor#nextPage()
+     */
+    public QueryCursor openCursor(Resource modelResource, Map<String, Object> query, int pageSize) {
+        Predicate<EObject> predicate = bind(query);
+        int limit = getLimit(query);
+        Iterator<EObject> candidates = null;
+        if (nonNull(condition)) {
+            List<EObject> indexCandidates = condition.lookup(eClass, modelResource, query);
+            if (nonNull(indexCandidates)) {
+                candidates = indexCandidates.iterator();
+            }
+        }
+        if (isNull(candidates)) {
+            ExtentIndex extentIndex = ExtentIndex.getIndex(modelResource);
+            if (nonNull(extentIndex)) {
+                candidates = extentIndex.iterator(eClass);
+            } else {
+                Predicate<EObject> isInstance = eClass::isInstance;
+                predicate = isInstance.and(predicate);
+                candidates = modelResource.getAllContents();
+            }
+        }
+        if (nonNull(ordering)) {
+            List<EObject> matches = new ArrayList<>();
+            while (candidates.hasNext()) {
+                EObject candidate = candidates.next();
+                if (predicate.test(candidate)) {
+                    matches.add(candidate);
+                }
+            }
+            return new QueryCursor(ordering.sort(matches, limit).iterator(), eObject -> true, pageSize);
+        }
+        return new QueryCursor(candidates, predicate, pageSize, limit);
+    }
+
+    /**
+     * Retrieves the instances satisfying the provided {@code predicate} in the order of the given
+     * {@code sortIndex}.
+     * <p>
+     * The instances that do not hold a value for the sorted {@link EAttribute} are not indexed: they are scanned and
+     * appended to the result if the {@code limit} is not reached.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param sortIndex     the {@link AttributeIndex} of the sorted {@link EAttribute}
+     * @param predicate     the {@link Predicate} that instances must satisfy
+     * @param limit         the maximum number of instances to retrieve
+     * @param scanner       the {@link ModelScanner} used to retrieve the instances without value
+     * @return the {@link List} of sorted instances satisfying the {@code predicate}
+     */
+    private List<EObject> executeSorted(Resource modelResource, AttributeIndex sortIndex,
+                                        Predicate<EObject> predicate, int limit, ModelScanner scanner) {
+        List<EObject> result = new ArrayList<>(Math.min(limit, sortIndex.size()));
+        Iterator<EObject> it = sortIndex.iterator(ordering.getDirection());
+        while (result.size() < limit && it.hasNext()) {
+            EObject instance = it.next();
+            if (predicate.test(instance)) {
+                result.add(instance);
+            }
+        }
+        if (result.size() < limit && sortIndex.size() < scanner.countInstancesOfType(modelResource, eClass)) {
+            List<EObject> withoutValue = scanner.filter(scanner.getAllInstancesOfType(modelResource, eClass),
+                    predicate.and(eObject -> !ordering.hasValue(eObject)));
+            result.addAll(withoutValue.subList(0, Math.min(withoutValue.size(), limit - result.size())));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return shape;
+    }
+}
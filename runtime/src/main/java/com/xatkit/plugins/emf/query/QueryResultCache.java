@@ -0,0 +1,400 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded cache of query results.
+ * <p>
+ * Results are identified by the identity of the queried {@link Resource} and the canonical form of the query (see
+ * {@link #canonicalQuery(String, Map)}), and are valid for a given modification version of the {@link Resource} (see
+ * {@link ExtentIndex#getVersion()}). A cached result is invalidated when the {@link Resource} is modified, and is
+ * recomputed by the next request. Only {@link Resource}s indexed with an {@link ExtentIndex} are cached.
+ * <p>
+ * Results are stored as arrays of {@link EObject}s, and the cache is bounded by the total number of cached
+ * elements. Empty results count as one element, so that the number of cached results is bounded as well. When this
+ * bound is exceeded the least recently used results are evicted. The results of a {@link Resource} can also be
+ * invalidated explicitly when the {@link Resource} is evicted from the model cache (see
+ * {@link #invalidate(Resource)}), so that the cache does not retain the evicted {@link Resource}s.
+ * <p>
+ * The cache records the number of hits, misses, evictions, and invalidations, see {@link #getHitCount()},
+ * {@link #getMissCount()}, {@link #getEvictionCount()}, and {@link #getInvalidationCount()}.
+ * <p>
+ * This class is thread-safe: results are computed outside of the cache lock.
+ */
+public class QueryResultCache {
+
+    /**
+     * The maximum number of elements in the cached results.
+     */
+    private final long maxSize;
+
+    /**
+     * The cached entries, in access order (the least recently used entry is the first one).
+     */
+    private final LinkedHashMap<ResultKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The number of elements in the cached results.
+     * <p>
+     * Empty results count as one element (see {@link Entry#getSize()}).
+     */
+    private long size;
+
+    /**
+     * The number of requests served from the cache.
+     */
+    private long hitCount;
+
+    /**
+     * The number of requests that computed their result.
+     */
+    private long missCount;
+
+    /**
+     * The number of results evicted from the cache.
+     */
+    private long evictionCount;
+
+    /**
+     * The number of results invalidated by a modification of their {@link Resource}.
+     */
+    private long invalidationCount;
+
+    /**
+     * Constructs a {@link QueryResultCache} with the provided {@code maxSize}.
+     *
+     * @param maxSize the maximum number of elements in the cached results
+     * @throws IllegalArgumentException if the provided {@code maxSize} is lower than {@code 1}
+     */
+    public QueryResultCache(long maxSize) {
+        checkArgument(maxSize > 0, "Cannot create the %s: the maximum size must be greater than 0 (found %s)",
+                this.getClass().getSimpleName(), maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the result of the provided {@code query} on the given {@code modelResource}.
+     * <p>
+     * This method returns a copy of the cached result if it exists and is valid for the current version of the
+     * {@code modelResource}. Otherwise the result is computed with the provided {@code supplier}, and cached if the
+     * {@code modelResource} has not been modified during the computation.
+     *
+     * @param modelResource the {@link Resource} containing the model to query
+     * @param clazzName     the name of the queried {@link org.eclipse.emf.ecore.EClass}
+     * @param query         the query {@link Map}
+     * @param supplier      the {@link Supplier} computing the result of the query
+     * @return a new {@link List} containing the result of the query
+     * @throws NullPointerException if one of the provided parameters is {@code null}
+     */
+    public List<EObject> get(Resource modelResource, String clazzName, Map<String, Object> query,
+                             Supplier<List<EObject>> supplier) {
+        checkNotNull(modelResource, "Cannot retrieve the result of the query: the provided resource is null");
+        checkNotNull(supplier, "Cannot retrieve the result of the query: the provided supplier is null");
+        ExtentIndex extentIndex = ExtentIndex.getIndex(modelResource);
+        if (isNull(extentIndex)) {
+            return supplier.get();
+        }
+        ResultKey key = new ResultKey(modelResource, canonicalQuery(clazzName, query));
+        long version = extentIndex.getVersion();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (nonNull(entry)) {
+                if (entry.version == version) {
+                    hitCount++;
+                    return new ArrayList<>(Arrays.asList(entry.result));
+                }
+                remove(key, entry);
+                invalidationCount++;
+            }
+            missCount++;
+        }
+        List<EObject> result = supplier.get();
+        Entry newEntry = new Entry(version, result.toArray(new EObject[0]));
+        if (newEntry.getSize() <= maxSize && extentIndex.getVersion() == version) {
+            synchronized (this) {
+                Entry previous = entries.put(key, newEntry);
+                if (nonNull(previous)) {
+                    size -= previous.getSize();
+                }
+                size += newEntry.getSize();
+                evictEntries();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of elements in the cached results.
+     * <p>
+     * Empty results count as one element.
+     *
+     * @return the number of elements in the cached results
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of requests served from the cache.
+     *
+     * @return the number of requests served from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests that computed their result.
+     *
+     * @return the number of requests that computed their result
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of results evicted from the cache.
+     *
+     * @return the number of results evicted from the cache
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of results invalidated by a modification of their {@link Resource}.
+     *
+     * @return the number of results invalidated by a modification of their {@link Resource}
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * Removes the cached results of the provided {@code modelResource}.
+     * <p>
+     * This method is typically called when the {@code modelResource} is evicted from the model cache: its results
+     * cannot be requested anymore, and would otherwise retain the {@link Resource} until they are evicted. Removed
+     * results are counted as invalidations.
+     *
+     * @param modelResource the {@link Resource} to remove the cached results of
+     */
+    public synchronized void invalidate(Resource modelResource) {
+        Iterator<Map.Entry<ResultKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ResultKey, Entry> entry = it.next();
+            if (entry.getKey().resource == modelResource) {
+                it.remove();
+                size -= entry.getValue().getSize();
+                invalidationCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Computes the canonical form of the provided {@code query}.
+     * <p>
+     * The canonical form contains the name of the queried {@link org.eclipse.emf.ecore.EClass} and the content of
+     * the query {@link Map}, including its literal values. The entries of the query (and of its nested condition
+     * {@link Map}s) are sorted by key, meaning that equivalent query {@link Map}s have the same canonical form
+     * regardless of their iteration order.
+     *
+     * @param clazzName the name of the queried {@link org.eclipse.emf.ecore.EClass}
+     * @param query     the query {@link Map}
+     * @return the canonical form of the query
+     * @throws NullPointerException if the provided {@code clazzName} or {@code query} is {@code null}
+     */
+    public static String canonicalQuery(String clazzName, Map<String, Object> query) {
+        checkNotNull(clazzName, "Cannot compute the canonical form of the query for the provided class name %s",
+                clazzName);
+        checkNotNull(query, "Cannot compute the canonical form of the provided query %s", query);
+        StringBuilder sb = new StringBuilder(clazzName);
+        appendCanonicalValue(sb, query);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the canonical form of the provided {@code value} to the given {@link StringBuilder}.
+     * <p>
+     * {@link String}s are quoted to distinguish them from other literals (e.g. the {@link String} {@code "1"} from
+     * the {@link Integer} {@code 1}).
+     *
+     * @param sb    the {@link StringBuilder} to append the canonical form to
+     * @param value the value to append the canonical form of
+     */
+    private static void appendCanonicalValue(StringBuilder sb, Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> sortedMap = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sortedMap.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            sb.append('{');
+            Iterator<Map.Entry<String, Object>> it = sortedMap.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Object> entry = it.next();
+                appendCanonicalValue(sb, entry.getKey());
+                sb.append('=');
+                appendCanonicalValue(sb, entry.getValue());
+                if (it.hasNext()) {
+                    sb.append(',');
+                }
+            }
+            sb.append('}');
+        } else if (value instanceof List) {
+            sb.append('[');
+            Iterator<?> it = ((List<?>) value).iterator();
+            while (it.hasNext()) {
+                appendCanonicalValue(sb, it.next());
+                if (it.hasNext()) {
+                    sb.append(',');
+                }
+            }
+            sb.append(']');
+        } else if (value instanceof String) {
+            sb.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * Evicts the least recently used results until the size of the cache is lower than its maximum size.
+     */
+    private void evictEntries() {
+        Iterator<Map.Entry<ResultKey, Entry>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Entry entry = it.next().getValue();
+            it.remove();
+            size -= entry.getSize();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Removes the provided {@code entry} from the cache.
+     *
+     * @param key   the {@link ResultKey} of the entry to remove
+     * @param entry the {@link Entry} to remove
+     */
+    private void remove(ResultKey key, Entry entry) {
+        entries.remove(key);
+        size -= entry.getSize();
+    }
+
+    /**
+     * The key of a cached result.
+     * <p>
+     * Keys compare the queried {@link Resource}s by identity.
+     */
+    private static class ResultKey {
+
+        /**
+         * The queried {@link Resource}.
+         */
+        private final Resource resource;
+
+        /**
+         * The canonical form of the query.
+         */
+        private final String query;
+
+        /**
+         * Constructs a {@link ResultKey} with the provided {@code resource} and {@code query}.
+         *
+         * @param resource the queried {@link Resource}
+         * @param query    the canonical form of the query
+         */
+        private ResultKey(Resource resource, String query) {
+            this.resource = resource;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey other = (ResultKey) obj;
+            return resource == other.resource && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(resource) + query.hashCode();
+        }
+    }
+
+    /**
+     * A cached result.
+     */
+    private static class Entry {
+
+        /**
+         * The modification version of the {@link Resource} the result has been computed on.
+         */
+        private final long version;
+
+        /**
+         * The cached result.
+         */
+        private final EObject[] result;
+
+        /**
+         * Constructs an {@link Entry} with the provided {@code version} and {@code result}.
+         *
+         * @param version the modification version of the {@link Resource} the result has been computed on
+         * @param result  the cached result
+         */
+        private Entry(long version, EObject[] result) {
+            this.version = version;
+            this.result = result;
+        }
+
+        /**
+         * Returns the size of the entry.
+         * <p>
+         * The size of an entry is the number of elements in its result, and at least {@code 1} for empty results.
+         *
+         * @return the size of the entry
+         */
+        private long getSize() {
+            return Math.max(1, result.length);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.index.ModelOrderedList;
+import com.xatkit.plugins.emf.index.ReverseReferenceIndex;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link Condition} matching the instances referencing at least one {@link EObject} that satisfies a target
+ * {@link Condition}.
+ * <p>
+ * The target {@link Condition} is compiled against the type of the {@link EReference} (see
+ * {@link QueryCompiler}), and is bound to the same query {@link Map} as the reference condition. If the queried
+ * model has a {@link ReverseReferenceIndex} the condition is answered by joining the targets satisfying the target
+ * {@link Condition} with the reverse adjacency of the {@link EReference}, instead of navigating the
+ * {@link EReference} from each instance (see {@link #lookup(EClass, Resource, Map)}).
+ */
+public class ReferenceCondition extends Condition {
+
+    /**
+     * The estimated number of {@link EObject}s referenced by a multi-valued {@link EReference}.
+     */
+    private static final int ESTIMATED_REFERENCE_SIZE = 4;
+
+    /**
+     * The {@link EReference} to navigate.
+     */
+    private final EReference eReference;
+
+    /**
+     * The {@link Condition} that the referenced {@link EObject}s must satisfy.
+     */
+    private final Condition targetCondition;
+
+    /**
+     * Constructs a {@link ReferenceCondition} with the provided parameters.
+     *
+     * @param eReference      the {@link EReference} to navigate
+     * @param targetCondition the {@link Condition} that the referenced {@link EObject}s must satisfy
+     */
+    public ReferenceCondition(EReference eReference, Condition targetCondition) {
+        this.eReference = eReference;
+        this.targetCondition = targetCondition;
+    }
+
+    /**
+     * Returns the {@link EReference} to navigate.
+     *
+     * @return the {@link EReference} to navigate
+     */
+    public EReference getEReference() {
+        return eReference;
+    }
+
+    /**
+     * Returns the {@link Condition} that the referenced {@link EObject}s must satisfy.
+     *
+     * @return the {@link Condition} that the referenced {@link EObject}s must satisfy
+     */
+    public Condition getTargetCondition() {
+        return targetCondition;
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        Predicate<EObject> targetPredicate = targetCondition.bind(query);
+        if (eReference.isMany()) {
+            return eObject -> {
+                for (Object target : (Collection<?>) eObject.eGet(eReference)) {
+                    if (targetPredicate.test((EObject) target)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return eObject -> {
+            Object target = eObject.eGet(eReference);
+            return target instanceof EObject && targetPredicate.test((EObject) target);
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The targets satisfying the target {@link Condition} are retrieved from the indexes of the
+     * {@code modelResource} if possible, or filtered from the instances of the type of the {@link EReference}. The
+     * instances referencing them are then retrieved from the {@link ReverseReferenceIndex} of the
+     * {@code modelResource}, in model order. This method returns {@code null} if the {@code modelResource} does not
+     * have a {@link ReverseReferenceIndex}.
+     */
+    @Override
+    public @Nullable ModelOrderedList lookup(EClass eClass, Resource modelResource, Map<String, Object> query) {
+        ReverseReferenceIndex reverseIndex = ReverseReferenceIndex.getIndex(modelResource);
+        if (isNull(reverseIndex) || !reverseIndex.isIndexed(eReference)) {
+            return null;
+        }
+        EClass targetEClass = eReference.getEReferenceType();
+        List<EObject> targets = targetCondition.lookup(targetEClass, modelResource, query);
+        if (isNull(targets) || !targetCondition.isExactLookup()) {
+            Predicate<EObject> targetPredicate = targetCondition.bind(query);
+            Collection<EObject> candidates = isNull(targets) ?
+                    ExtentIndex.build(modelResource).getInstances(targetEClass) : targets;
+            targets = new ArrayList<>();
+            for (EObject candidate : candidates) {
+                if (targetPredicate.test(candidate)) {
+                    targets.add(candidate);
+                }
+            }
+        }
+        return reverseIndex.getSources(eReference, targets, eClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The targets are tested against the target {@link Condition} before being joined with the
+     * {@link ReverseReferenceIndex}, the returned candidates exactly match the condition.
+     */
+    @Override
+    public boolean isExactLookup() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Reference conditions navigate the {@link EReference} and test the target {@link Condition} on the referenced
+     * {@link EObject}s, and are more expensive than the conditions on the attributes of the instances.
+     */
+    @Override
+    public double getCost() {
+        return 2 + (eReference.isMany() ? ESTIMATED_REFERENCE_SIZE : 1) * targetCondition.getCost();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Instances match the condition if any of their referenced {@link EObject}s matches the target
+     * {@link Condition}.
+     */
+    @Override
+    public double getSelectivity() {
+        double targetSelectivity = targetCondition.getSelectivity();
+        if (eReference.isMany()) {
+            return 1 - Math.pow(1 - targetSelectivity, ESTIMATED_REFERENCE_SIZE);
+        }
+        return targetSelectivity;
+    }
+
+    @Override
+    public String getShape() {
+        return "reference(" + eReference.getName() + " any " + targetCondition.getShape() + ")";
+    }
+}
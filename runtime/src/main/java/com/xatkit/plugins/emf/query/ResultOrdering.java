@@ -0,0 +1,277 @@
+package com.xatkit.plugins.emf.query;
+
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * The ordering of the results of a query.
+ * <p>
+ * Results are sorted by the value of a single-valued {@link EAttribute}, in a given {@link SortDirection}. Instances
+ * without value (i.e. holding {@code null} or {@code NaN}) are placed after the other instances regardless of the
+ * direction, and instances with the same value keep their relative order.
+ * <p>
+ * Limited results are computed with a bounded heap (see {@link #sort(List, int)}), meaning that retrieving the first
+ * {@code K} instances of a result of size {@code N} takes {@code O(N log K)} time and {@code O(K)} additional
+ * memory.
+ *
+ * @see QueryCompiler
+ */
+public class ResultOrdering {
+
+    /**
+     * The {@link EAttribute} used to sort the results.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The {@link SortDirection} of the results.
+     */
+    private final SortDirection direction;
+
+    /**
+     * The {@link Comparator} defining the order of the ranked instances.
+     */
+    private final Comparator<Ranked> order = (r1, r2) -> compare(r1.key, r1.position, r2.key, r2.position);
+
+    /**
+     * Constructs a {@link ResultOrdering} with the provided {@code eAttribute} and {@code direction}.
+     *
+     * @param eAttribute the {@link EAttribute} used to sort the results
+     * @param direction  the {@link SortDirection} of the results
+     * @throws NullPointerException     if the provided {@code eAttribute} or {@code direction} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code eAttribute} is multi-valued
+     */
+    public ResultOrdering(EAttribute eAttribute, SortDirection direction) {
+        checkNotNull(eAttribute, "Cannot create the %s: the provided %s is null", this.getClass().getSimpleName(),
+                EAttribute.class.getSimpleName());
+        checkNotNull(direction, "Cannot create the %s: the provided %s is null", this.getClass().getSimpleName(),
+                SortDirection.class.getSimpleName());
+        checkArgument(!eAttribute.isMany(), "Cannot create the %s: cannot sort the results by the multi-valued " +
+                "attribute %s", this.getClass().getSimpleName(), eAttribute.getName());
+        this.eAttribute = eAttribute;
+        this.direction = direction;
+    }
+
+    /**
+     * Returns the {@link EAttribute} used to sort the results.
+     *
+     * @return the {@link EAttribute} used to sort the results
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the {@link SortDirection} of the results.
+     *
+     * @return the {@link SortDirection} of the results
+     */
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    /**
+     * Returns whether the provided {@code eObject} holds a value for the sorted {@link EAttribute}.
+     * <p>
+     * Instances without value are placed after the other instances.
+     *
+     * @param eObject the {@link EObject} to check
+     * @return {@code true} if the provided {@code eObject} holds a value, {@code false} otherwise
+     */
+    public boolean hasValue(EObject eObject) {
+        return !isNull(getKey(eObject));
+    }
+
+    /**
+     * Sorts the provided {@code instances} and returns the first {@code limit} ones.
+     * <p>
+     * If the {@code limit} is lower than the number of {@code instances} the result is computed with a bounded heap
+     * containing the best {@code limit} instances. Otherwise all the {@code instances} are sorted in parallel. The
+     * sort key of each instance is retrieved once.
+     *
+     * @param instances the instances to sort
+     * @param limit     the maximum number of instances to return
+     * @return a new {@link List} containing the first {@code limit} sorted instances
+     * @throws NullPointerException     if the provided {@code instances} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code limit} is negative
+     */
+    public List<EObject> sort(List<EObject> instances, int limit) {
+        checkNotNull(instances, "Cannot sort the provided instances %s", instances);
+        checkArgument(limit >= 0, "Cannot sort the instances: the limit must be positive or 0 (found %s)", limit);
+        Ranked[] ranked;
+        if (limit < instances.size()) {
+            ranked = selectTop(instances, limit);
+            Arrays.sort(ranked, order);
+        } else {
+            ranked = new Ranked[instances.size()];
+            int position = 0;
+            for (EObject instance : instances) {
+                ranked[position] = new Ranked(instance, getKey(instance), position);
+                position++;
+            }
+            Arrays.parallelSort(ranked, order);
+        }
+        List<EObject> result = new ArrayList<>(ranked.length);
+        for (Ranked r : ranked) {
+            result.add(r.eObject);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the canonical shape of the ordering.
+     *
+     * @return the canonical shape of the ordering
+     */
+    public String getShape() {
+        return "sorted(" + eAttribute.getName() + " " + direction.getLiteral() + ")";
+    }
+
+    @Override
+    public String toString() {
+        return getShape();
+    }
+
+    /**
+     * Selects the first {@code limit} {@code instances} with a bounded heap.
+     * <p>
+     * The head of the heap is the last selected instance: candidates that are not ordered before it are discarded
+     * without being added to the heap.
+     *
+     * @param instances the instances to select from
+     * @param limit     the number of instances to select, lower than the number of {@code instances}
+     * @return the selected instances, in heap order
+     */
+    private Ranked[] selectTop(List<EObject> instances, int limit) {
+        if (limit == 0) {
+            return new Ranked[0];
+        }
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(limit, order.reversed());
+        int position = 0;
+        for (EObject instance : instances) {
+            Object key = getKey(instance);
+            if (heap.size() < limit) {
+                heap.add(new Ranked(instance, key, position));
+            } else {
+                Ranked last = heap.peek();
+                if (compare(key, position, last.key, last.position) < 0) {
+                    heap.poll();
+                    heap.add(new Ranked(instance, key, position));
+                }
+            }
+            position++;
+        }
+        return heap.toArray(new Ranked[0]);
+    }
+
+    /**
+     * Compares two instances from their sort keys and their positions in the sorted {@link List}.
+     *
+     * @param key1      the sort key of the first instance
+     * @param position1 the position of the first instance
+     * @param key2      the sort key of the second instance
+     * @param position2 the position of the second instance
+     * @return a negative integer, zero, or a positive integer if the first instance is ordered before, at the same
+     * position as, or after the second one
+     */
+    private int compare(@Nullable Object key1, int position1, @Nullable Object key2, int position2) {
+        int result;
+        if (isNull(key1)) {
+            result = isNull(key2) ? 0 : 1;
+        } else if (isNull(key2)) {
+            result = -1;
+        } else {
+            result = compareKeys(key1, key2);
+            if (direction == SortDirection.DESCENDING) {
+                result = -result;
+            }
+        }
+        return result != 0 ? result : Integer.compare(position1, position2);
+    }
+
+    /**
+     * Returns the sort key of the provided {@code eObject}.
+     * <p>
+     * Numerical values and {@link Enumerator}s are converted to {@link Double}s.
+     *
+     * @param eObject the {@link EObject} to retrieve the sort key of
+     * @return the sort key, or {@code null} if the {@code eObject} does not hold a value for the sorted
+     * {@link EAttribute}
+     */
+    private @Nullable Object getKey(EObject eObject) {
+        Object value = eObject.eGet(eAttribute);
+        if (value instanceof Enumerator) {
+            return (double) ((Enumerator) value).getValue();
+        }
+        if (value instanceof Number) {
+            double doubleValue = ((Number) value).doubleValue();
+            return Double.isNaN(doubleValue) ? null : doubleValue;
+        }
+        return value;
+    }
+
+    /**
+     * Compares the provided non-{@code null} sort keys.
+     * <p>
+     * Keys of different types, or that are not {@link Comparable}, are compared by their {@link String}
+     * representation.
+     *
+     * @param key1 the first key to compare
+     * @param key2 the second key to compare
+     * @return a negative integer, zero, or a positive integer if the first key is lower than, equal to, or greater
+     * than the second one
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(Object key1, Object key2) {
+        if (key1 instanceof Comparable && key1.getClass() == key2.getClass()) {
+            return ((Comparable<Object>) key1).compareTo(key2);
+        }
+        return String.valueOf(key1).compareTo(String.valueOf(key2));
+    }
+
+    /**
+     * An instance ranked by its sort key and its position in the sorted {@link List}.
+     */
+    private static final class Ranked {
+
+        /**
+         * The ranked instance.
+         */
+        private final EObject eObject;
+
+        /**
+         * The sort key of the instance.
+         */
+        private final Object key;
+
+        /**
+         * The position of the instance in the sorted {@link List}.
+         */
+        private final int position;
+
+        /**
+         * Constructs a {@link Ranked} instance with the provided parameters.
+         *
+         * @param eObject  the ranked instance
+         * @param key      the sort key of the instance
+         * @param position the position of the instance in the sorted {@link List}
+         */
+        private Ranked(EObject eObject, @Nullable Object key, int position) {
+            this.eObject = eObject;
+            this.key = key;
+            this.position = position;
+        }
+    }
+}
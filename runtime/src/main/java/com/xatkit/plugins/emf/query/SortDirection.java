@@ -0,0 +1,54 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+
+import java.text.MessageFormat;
+
+/**
+ * The directions that can be used to sort the results of a query (see {@link ResultOrdering}).
+ */
+public enum SortDirection {
+
+    ASCENDING("ascending"),
+    DESCENDING("descending");
+
+    /**
+     * The literal representing the direction in query {@link java.util.Map}s.
+     */
+    private final String literal;
+
+    /**
+     * Constructs a {@link SortDirection} with the provided {@code literal}.
+     *
+     * @param literal the literal representing the direction in query {@link java.util.Map}s
+     */
+    SortDirection(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the literal representing the direction in query {@link java.util.Map}s.
+     *
+     * @return the literal representing the direction
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Returns the {@link SortDirection} represented by the provided {@code literal}.
+     *
+     * @param literal the literal to retrieve the direction of
+     * @return the {@link SortDirection} represented by the provided {@code literal}
+     * @throws XatkitException if the provided {@code literal} does not represent a {@link SortDirection}
+     */
+    public static SortDirection fromLiteral(String literal) {
+        for (SortDirection direction : values()) {
+            if (direction.literal.equals(literal)) {
+                return direction;
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot apply the sort direction {0}, expecting 'ascending' " +
+                "or 'descending'", literal));
+    }
+}
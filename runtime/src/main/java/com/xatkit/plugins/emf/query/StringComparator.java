@@ -0,0 +1,87 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+
+import java.text.MessageFormat;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The comparators that can be used in {@link StringCondition}s.
+ * <p>
+ * Each comparator is associated to the literal used in the query {@link java.util.Map}s (see
+ * {@link #fromLiteral(String)}).
+ */
+public enum StringComparator {
+
+    STARTS_WITH("starts with"),
+    ENDS_WITH("ends with"),
+    CONTAINS("contains"),
+    EQUALS("equals");
+
+    /**
+     * The literal representing the comparator in query {@link java.util.Map}s.
+     */
+    private final String literal;
+
+    /**
+     * Constructs a {@link StringComparator} with the provided {@code literal}.
+     *
+     * @param literal the literal representing the comparator in query {@link java.util.Map}s
+     */
+    StringComparator(String literal) {
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the literal representing the comparator in query {@link java.util.Map}s.
+     *
+     * @return the literal representing the comparator
+     */
+    public String getLiteral() {
+        return literal;
+    }
+
+    /**
+     * Applies the comparator to the provided {@code value} and {@code operand}.
+     *
+     * @param value   the value to compare
+     * @param operand the operand to compare the value with
+     * @return {@code true} if the value matches the comparator, {@code false} otherwise (including if the provided
+     * {@code value} is {@code null})
+     */
+    public boolean apply(String value, String operand) {
+        if (isNull(value)) {
+            return false;
+        }
+        switch (this) {
+            case STARTS_WITH:
+                return value.startsWith(operand);
+            case ENDS_WITH:
+                return value.endsWith(operand);
+            case CONTAINS:
+                return value.contains(operand);
+            case EQUALS:
+                return value.equals(operand);
+            default:
+                throw new IllegalStateException(MessageFormat.format("Unsupported comparator {0}", this));
+        }
+    }
+
+    /**
+     * Returns the {@link StringComparator} represented by the provided {@code literal}.
+     *
+     * @param literal the literal to retrieve the comparator of
+     * @return the {@link StringComparator} represented by the provided {@code literal}
+     * @throws XatkitException if the provided {@code literal} does not represent a {@link StringComparator}
+     */
+    public static StringComparator fromLiteral(String literal) {
+        for (StringComparator comparator : values()) {
+            if (comparator.literal.equals(literal)) {
+                return comparator;
+            }
+        }
+        throw new XatkitException(MessageFormat.format("Cannot construct a String comparison predicate from the " +
+                "provided comparator {0}", literal));
+    }
+}
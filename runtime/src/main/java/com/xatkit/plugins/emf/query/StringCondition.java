@@ -0,0 +1,176 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import com.xatkit.plugins.emf.index.AttributeIndexManager;
+import com.xatkit.plugins.emf.index.ModelOrderedList;
+import com.xatkit.plugins.emf.index.TrigramIndex;
+import com.xatkit.plugins.emf.store.ClassTable;
+import com.xatkit.plugins.emf.store.Column;
+import com.xatkit.plugins.emf.store.StringColumn;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.text.MessageFormat;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Condition} comparing the value of a {@link String} {@link EAttribute} with a literal value.
+ * <p>
+ * The literal value is retrieved from the query {@link Map} using the condition's {@code valueKey} (e.g.
+ * {@code stringValue1}).
+ */
+public class StringCondition extends Condition {
+
+    /**
+     * The {@link EAttribute} to compare.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The {@link StringComparator} used to compare the attribute values.
+     */
+    private final StringComparator comparator;
+
+    /**
+     * The key of the query {@link Map} entry containing the literal value to compare the attribute values with.
+     */
+    private final String valueKey;
+
+    /**
+     * Constructs a {@link StringCondition} with the provided parameters.
+     *
+     * @param eAttribute the {@link EAttribute} to compare
+     * @param comparator the {@link StringComparator} used to compare the attribute values
+     * @param valueKey   the key of the query {@link Map} entry containing the literal value
+     */
+    public StringCondition(EAttribute eAttribute, StringComparator comparator, String valueKey) {
+        this.eAttribute = eAttribute;
+        this.comparator = comparator;
+        this.valueKey = valueKey;
+    }
+
+    /**
+     * Returns the {@link EAttribute} to compare.
+     *
+     * @return the {@link EAttribute} to compare
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the {@link StringComparator} used to compare the attribute values.
+     *
+     * @return the {@link StringComparator} used to compare the attribute values
+     */
+    public StringComparator getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns the literal value of the condition in the provided {@code query}.
+     *
+     * @param query the query {@link Map} containing the literal value
+     * @return the literal value of the condition
+     * @throws XatkitException if the provided {@code query} does not contain a {@link String} value for the
+     *                         condition
+     */
+    public String getValue(Map<String, Object> query) {
+        Object value = query.get(valueKey);
+        if (!(value instanceof String)) {
+            throw new XatkitException(MessageFormat.format("Cannot bind the condition {0}: expected a String value " +
+                    "for the key {1}, found {2}", this, valueKey, value));
+        }
+        return (String) value;
+    }
+
+    @Override
+    public Predicate<EObject> bind(Map<String, Object> query) {
+        String value = getValue(query);
+        return eObject -> comparator.apply((String) eObject.eGet(eAttribute), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link StringComparator#CONTAINS} conditions are answered from the {@link TrigramIndex} of the compared
+     * {@link EAttribute} if it is declared, and the other comparators from its {@link AttributeIndex}.
+     */
+    @Override
+    public @Nullable ModelOrderedList lookup(EClass eClass, Resource modelResource, Map<String, Object> query) {
+        AttributeIndexManager indexManager = AttributeIndexManager.getManager(modelResource);
+        if (isNull(indexManager)) {
+            return null;
+        }
+        String value = getValue(query);
+        if (comparator == StringComparator.CONTAINS) {
+            TrigramIndex trigramIndex = indexManager.getTrigramIndex(eClass, eAttribute);
+            if (nonNull(trigramIndex)) {
+                return trigramIndex.lookup(value);
+            }
+        }
+        AttributeIndex index = indexManager.getIndex(eClass, eAttribute);
+        return isNull(index) ? null : index.lookup(comparator, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The candidates returned by an {@link AttributeIndex} exactly match the condition. The candidates of
+     * {@link StringComparator#CONTAINS} conditions returned by a {@link TrigramIndex} contain all the trigrams of the
+     * literal value, and must be verified.
+     */
+    @Override
+    public boolean isExactLookup() {
+        return comparator != StringComparator.CONTAINS;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The condition can be evaluated if the compared {@link EAttribute} is stored in a {@link StringColumn}.
+     */
+    @Override
+    public @Nullable BitSet evaluate(ClassTable table, Map<String, Object> query) {
+        String value = getValue(query);
+        Column column = table.getColumn(eAttribute);
+        return column instanceof StringColumn ? ((StringColumn) column).select(comparator, value) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link StringComparator#CONTAINS} conditions search the literal value in the entire attribute value, and are
+     * more expensive than the other comparators.
+     */
+    @Override
+    public double getCost() {
+        return comparator == StringComparator.CONTAINS ? 2 : 1;
+    }
+
+    @Override
+    public double getSelectivity() {
+        switch (comparator) {
+            case EQUALS:
+                return 0.05;
+            case CONTAINS:
+                return 0.2;
+            default:
+                return 0.1;
+        }
+    }
+
+    @Override
+    public String getShape() {
+        return "string(" + eAttribute.getName() + " " + comparator.getLiteral() + " $" + valueKey + ")";
+    }
+}
@@ -0,0 +1,239 @@
+package com.xatkit.plugins.emf.stats;
+
+import com.xatkit.plugins.emf.index.AttributeIndex;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The statistics of the values of an {@link EAttribute} for the direct instances of an
+ * {@link org.eclipse.emf.ecore.EClass}.
+ * <p>
+ * The statistics contain the number of values and of instances without value, the estimated number of distinct
+ * values (see {@link DistinctCountSketch}), and the minimum and maximum values of {@link Comparable} attributes.
+ * Numerical attributes also have an equi-depth {@link Histogram} of their values. The values of multi-valued
+ * attributes are counted individually.
+ *
+ * @see #build(EAttribute, Collection, int)
+ */
+public final class AttributeStatistics {
+
+    /**
+     * Builds the {@link AttributeStatistics} of the provided {@code eAttribute} for the given {@code instances}.
+     *
+     * @param eAttribute  the {@link EAttribute} to build the statistics of
+     * @param instances   the instances containing the values of the {@code eAttribute}
+     * @param bucketCount the maximum number of buckets of the {@link Histogram} of numerical attributes
+     * @return the built {@link AttributeStatistics}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static AttributeStatistics build(EAttribute eAttribute, Collection<EObject> instances, int bucketCount) {
+        boolean numerical = AttributeIndex.isNumerical(eAttribute);
+        double[] numbers = numerical ? new double[instances.size()] : null;
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        long valueCount = 0;
+        long nullCount = 0;
+        Comparable min = null;
+        Comparable max = null;
+        for (EObject instance : instances) {
+            Object value = instance.eGet(eAttribute);
+            Collection<?> values = eAttribute.isMany() ? (Collection<?>) value :
+                    isNull(value) ? Collections.emptyList() : Collections.singletonList(value);
+            if (values.isEmpty()) {
+                nullCount++;
+            }
+            for (Object v : values) {
+                if (isNull(v)) {
+                    continue;
+                }
+                sketch.add(v);
+                if (numerical) {
+                    if (valueCount == numbers.length) {
+                        numbers = Arrays.copyOf(numbers, numbers.length * 2 + 1);
+                    }
+                    numbers[(int) valueCount] = ((Number) v).doubleValue();
+                }
+                valueCount++;
+                if (v instanceof Comparable) {
+                    Comparable comparable = (Comparable) v;
+                    if (isNull(min) || comparable.compareTo(min) < 0) {
+                        min = comparable;
+                    }
+                    if (isNull(max) || comparable.compareTo(max) > 0) {
+                        max = comparable;
+                    }
+                }
+            }
+        }
+        Histogram histogram = null;
+        if (numerical && valueCount > 0) {
+            double[] sortedNumbers = Arrays.copyOf(numbers, (int) valueCount);
+            Arrays.sort(sortedNumbers);
+            histogram = Histogram.build(sortedNumbers, bucketCount);
+        }
+        return new AttributeStatistics(eAttribute, valueCount, nullCount, sketch.estimate(), min, max, histogram);
+    }
+
+    /**
+     * The {@link EAttribute} described by the statistics.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * The number of values of the {@link EAttribute}.
+     */
+    private final long valueCount;
+
+    /**
+     * The number of instances without value for the {@link EAttribute}.
+     */
+    private final long nullCount;
+
+    /**
+     * The estimated number of distinct values of the {@link EAttribute}.
+     */
+    private final long distinctCount;
+
+    /**
+     * The minimum value of the {@link EAttribute}.
+     */
+    private final Object min;
+
+    /**
+     * The maximum value of the {@link EAttribute}.
+     */
+    private final Object max;
+
+    /**
+     * The {@link Histogram} of the values of the {@link EAttribute}.
+     */
+    private final Histogram histogram;
+
+    /**
+     * Constructs an {@link AttributeStatistics} with the provided parameters.
+     *
+     * @param eAttribute    the {@link EAttribute} described by the statistics
+     * @param valueCount    the number of values of the {@link EAttribute}
+     * @param nullCount     the number of instances without value for the {@link EAttribute}
+     * @param distinctCount the estimated number of distinct values of the {@link EAttribute}
+     * @param min           the minimum value of the {@link EAttribute}
+     * @param max           the maximum value of the {@link EAttribute}
+     * @param histogram     the {@link Histogram} of the values of the {@link EAttribute}
+     * @see #build(EAttribute, Collection, int)
+     */
+    private AttributeStatistics(EAttribute eAttribute, long valueCount, long nullCount, long distinctCount,
+                                @Nullable Object min, @Nullable Object max, @Nullable Histogram histogram) {
+        this.eAttribute = eAttribute;
+        this.valueCount = valueCount;
+        this.nullCount = nullCount;
+        this.distinctCount = distinctCount;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns the {@link EAttribute} described by the statistics.
+     *
+     * @return the {@link EAttribute} described by the statistics
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the number of values of the {@link EAttribute}.
+     *
+     * @return the number of values of the {@link EAttribute}
+     */
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Returns the number of instances without value for the {@link EAttribute}.
+     * <p>
+     * Single-valued attributes with a default value (e.g. {@code int} attributes) always have a value.
+     *
+     * @return the number of instances without value for the {@link EAttribute}
+     */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * Returns the estimated number of distinct values of the {@link EAttribute}.
+     *
+     * @return the estimated number of distinct values of the {@link EAttribute}
+     * @see DistinctCountSketch
+     */
+    public long getDistinctCount() {
+        return distinctCount;
+    }
+
+    /**
+     * Returns the minimum value of the {@link EAttribute}.
+     *
+     * @return the minimum value of the {@link EAttribute}, or {@code null} if the {@link EAttribute} does not have
+     * any {@link Comparable} value
+     */
+    public @Nullable Object getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum value of the {@link EAttribute}.
+     *
+     * @return the maximum value of the {@link EAttribute}, or {@code null} if the {@link EAttribute} does not have
+     * any {@link Comparable} value
+     */
+    public @Nullable Object getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the {@link Histogram} of the values of the {@link EAttribute}.
+     *
+     * @return the {@link Histogram} of the values, or {@code null} if the {@link EAttribute} is not numerical or
+     * does not have any value
+     */
+    public @Nullable Histogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Returns the statistics as a {@link Map}.
+     *
+     * @return a {@link Map} containing the {@code values}, {@code nulls}, {@code distinct}, {@code min},
+     * {@code max}, and {@code histogram} statistics of the {@link EAttribute}
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("values", valueCount);
+        result.put("nulls", nullCount);
+        result.put("distinct", distinctCount);
+        if (nonNull(min)) {
+            result.put("min", min);
+            result.put("max", max);
+        }
+        if (nonNull(histogram)) {
+            result.put("histogram", histogram.toList());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeStatistics(" + eAttribute.getName() + ", values=" + valueCount + ", nulls=" + nullCount
+                + ", distinct=" + distinctCount + ")";
+    }
+}
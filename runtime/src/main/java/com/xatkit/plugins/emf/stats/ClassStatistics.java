@@ -0,0 +1,129 @@
+package com.xatkit.plugins.emf.stats;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statistics of the direct instances of an {@link EClass}.
+ * <p>
+ * The statistics contain the number of direct instances of the {@link EClass}, and the {@link AttributeStatistics}
+ * of each of its {@link EAttribute}s.
+ *
+ * @see #build(EClass, List, int)
+ */
+public final class ClassStatistics {
+
+    /**
+     * Builds the {@link ClassStatistics} of the provided {@code eClass}.
+     *
+     * @param eClass      the {@link EClass} to build the statistics of
+     * @param instances   the direct instances of the {@code eClass}
+     * @param bucketCount the maximum number of buckets of the {@link Histogram}s of numerical attributes
+     * @return the built {@link ClassStatistics}
+     */
+    static ClassStatistics build(EClass eClass, List<EObject> instances, int bucketCount) {
+        Map<EAttribute, AttributeStatistics> attributeStatistics = new LinkedHashMap<>();
+        for (EAttribute eAttribute : eClass.getEAllAttributes()) {
+            attributeStatistics.put(eAttribute, AttributeStatistics.build(eAttribute, instances, bucketCount));
+        }
+        return new ClassStatistics(eClass, instances.size(), attributeStatistics);
+    }
+
+    /**
+     * The {@link EClass} described by the statistics.
+     */
+    private final EClass eClass;
+
+    /**
+     * The number of direct instances of the {@link EClass}.
+     */
+    private final long instanceCount;
+
+    /**
+     * The {@link AttributeStatistics} of the {@link EAttribute}s of the {@link EClass}.
+     */
+    private final Map<EAttribute, AttributeStatistics> attributeStatistics;
+
+    /**
+     * Constructs a {@link ClassStatistics} with the provided parameters.
+     *
+     * @param eClass              the {@link EClass} described by the statistics
+     * @param instanceCount       the number of direct instances of the {@link EClass}
+     * @param attributeStatistics the {@link AttributeStatistics} of the {@link EAttribute}s of the {@link EClass}
+     * @see #build(EClass, List, int)
+     */
+    private ClassStatistics(EClass eClass, long instanceCount,
+                            Map<EAttribute, AttributeStatistics> attributeStatistics) {
+        this.eClass = eClass;
+        this.instanceCount = instanceCount;
+        this.attributeStatistics = Collections.unmodifiableMap(attributeStatistics);
+    }
+
+    /**
+     * Returns the {@link EClass} described by the statistics.
+     *
+     * @return the {@link EClass} described by the statistics
+     */
+    public EClass getEClass() {
+        return eClass;
+    }
+
+    /**
+     * Returns the number of direct instances of the {@link EClass}.
+     *
+     * @return the number of direct instances of the {@link EClass}
+     */
+    public long getInstanceCount() {
+        return instanceCount;
+    }
+
+    /**
+     * Returns the {@link AttributeStatistics} of the provided {@code eAttribute}.
+     *
+     * @param eAttribute the {@link EAttribute} to retrieve the statistics of
+     * @return the {@link AttributeStatistics} of the {@link EAttribute}, or {@code null} if the {@link EClass} does
+     * not contain the provided {@code eAttribute}
+     */
+    public @Nullable AttributeStatistics getAttributeStatistics(EAttribute eAttribute) {
+        return attributeStatistics.get(eAttribute);
+    }
+
+    /**
+     * Returns the {@link AttributeStatistics} of all the {@link EAttribute}s of the {@link EClass}.
+     *
+     * @return an unmodifiable {@link Collection} containing the {@link AttributeStatistics} of the {@link EClass}
+     */
+    public Collection<AttributeStatistics> getAttributeStatistics() {
+        return attributeStatistics.values();
+    }
+
+    /**
+     * Returns the statistics as a {@link Map}.
+     *
+     * @return a {@link Map} containing the number of {@code instances} of the {@link EClass} and the statistics of
+     * its {@code attributes}, by attribute name
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (AttributeStatistics statistics : attributeStatistics.values()) {
+            attributes.put(statistics.getEAttribute().getName(), statistics.toMap());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("instances", instanceCount);
+        result.put("attributes", attributes);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassStatistics(" + eClass.getName() + ", instances=" + instanceCount + ")";
+    }
+}
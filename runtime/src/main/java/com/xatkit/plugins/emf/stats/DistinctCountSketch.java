@@ -0,0 +1,97 @@
+package com.xatkit.plugins.emf.stats;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A fixed-size sketch estimating the number of distinct values of a stream.
+ * <p>
+ * This sketch implements the HyperLogLog algorithm with {@code 2^12} one-byte registers: it uses 4 KB of memory
+ * regardless of the number of added values, and estimates the number of distinct values with a typical relative
+ * error of 1.6%. Small cardinalities are estimated with linear counting, and are almost exact.
+ * <p>
+ * Numbers are hashed from their {@code double} value (i.e. {@code 3} and {@code 3.0} are the same value), and other
+ * values from their {@link Object#hashCode()}.
+ */
+public final class DistinctCountSketch {
+
+    /**
+     * The number of bits of the hashes used to select a register.
+     */
+    private static final int PRECISION = 12;
+
+    /**
+     * The number of registers of the sketch.
+     */
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+
+    /**
+     * The bias correction constant of the HyperLogLog estimator for {@link #REGISTER_COUNT} registers.
+     */
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    /**
+     * The registers of the sketch, containing the maximum rank observed for each register.
+     */
+    private final byte[] registers = new byte[REGISTER_COUNT];
+
+    /**
+     * Adds the provided {@code value} to the sketch.
+     *
+     * @param value the value to add
+     * @throws NullPointerException if the provided {@code value} is {@code null}
+     */
+    public void add(Object value) {
+        checkNotNull(value, "Cannot add the provided value %s to the %s", value,
+                DistinctCountSketch.class.getSimpleName());
+        long hash = mix(value instanceof Number ? Double.doubleToLongBits(((Number) value).doubleValue()) :
+                value.hashCode());
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        /*
+         * The sentinel bit bounds the rank when all the remaining bits of the hash are 0.
+         */
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[register]) {
+            registers[register] = (byte) rank;
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values added to the sketch.
+     *
+     * @return the estimated number of distinct values
+     */
+    public long estimate() {
+        double sum = 0;
+        int emptyRegisters = 0;
+        for (byte rank : registers) {
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                emptyRegisters++;
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && emptyRegisters > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / emptyRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Mixes the bits of the provided {@code value} into a 64-bit hash.
+     * <p>
+     * This method implements the finalization step of MurmurHash3, which spreads the entropy of the input over all
+     * the bits of the hash.
+     *
+     * @param value the value to hash
+     * @return the 64-bit hash of the value
+     */
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
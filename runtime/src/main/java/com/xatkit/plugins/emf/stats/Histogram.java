@@ -0,0 +1,190 @@
+package com.xatkit.plugins.emf.stats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * An equi-depth histogram of numerical values.
+ * <p>
+ * The histogram divides the sorted values into buckets containing (almost) the same number of values, and stores the
+ * lower bound, upper bound, and number of values of each bucket. Equi-depth histograms keep the same precision for
+ * skewed distributions, where most values are concentrated in a small range.
+ *
+ * @see #build(double[], int)
+ */
+public final class Histogram {
+
+    /**
+     * Builds the {@link Histogram} of the provided {@code sortedValues}.
+     * <p>
+     * The built histogram contains {@code bucketCount} buckets, or one bucket per value if there are less values than
+     * buckets. Equal values may be split between consecutive buckets.
+     *
+     * @param sortedValues the values to build the histogram of, in ascending order
+     * @param bucketCount  the maximum number of buckets of the histogram
+     * @return the built {@link Histogram}
+     * @throws NullPointerException     if the provided {@code sortedValues} is {@code null}
+     * @throws IllegalArgumentException if the provided {@code bucketCount} is not strictly positive
+     */
+    public static Histogram build(double[] sortedValues, int bucketCount) {
+        checkNotNull(sortedValues, "Cannot build the %s of the provided values %s", Histogram.class.getSimpleName(),
+                sortedValues);
+        checkArgument(bucketCount > 0, "Cannot build the %s: the number of buckets must be strictly positive (found " +
+                "%s)", Histogram.class.getSimpleName(), bucketCount);
+        int buckets = Math.min(bucketCount, sortedValues.length);
+        double[] lowerBounds = new double[buckets];
+        double[] upperBounds = new double[buckets];
+        long[] counts = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            int start = (int) ((long) i * sortedValues.length / buckets);
+            int end = (int) ((long) (i + 1) * sortedValues.length / buckets);
+            lowerBounds[i] = sortedValues[start];
+            upperBounds[i] = sortedValues[end - 1];
+            counts[i] = end - start;
+        }
+        return new Histogram(lowerBounds, upperBounds, counts, sortedValues.length);
+    }
+
+    /**
+     * The lower bound (inclusive) of each bucket.
+     */
+    private final double[] lowerBounds;
+
+    /**
+     * The upper bound (inclusive) of each bucket.
+     */
+    private final double[] upperBounds;
+
+    /**
+     * The number of values of each bucket.
+     */
+    private final long[] counts;
+
+    /**
+     * The total number of values of the histogram.
+     */
+    private final long total;
+
+    /**
+     * Constructs a {@link Histogram} with the provided buckets.
+     *
+     * @param lowerBounds the lower bound (inclusive) of each bucket
+     * @param upperBounds the upper bound (inclusive) of each bucket
+     * @param counts      the number of values of each bucket
+     * @param total       the total number of values of the histogram
+     * @see #build(double[], int)
+     */
+    private Histogram(double[] lowerBounds, double[] upperBounds, long[] counts, long total) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    /**
+     * Returns the number of buckets of the histogram.
+     *
+     * @return the number of buckets of the histogram
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the lower bound (inclusive) of the bucket at the provided {@code index}.
+     *
+     * @param index the index of the bucket
+     * @return the lower bound of the bucket
+     * @throws ArrayIndexOutOfBoundsException if the histogram does not contain a bucket at the provided
+     *                                        {@code index}
+     */
+    public double getLowerBound(int index) {
+        return lowerBounds[index];
+    }
+
+    /**
+     * Returns the upper bound (inclusive) of the bucket at the provided {@code index}.
+     *
+     * @param index the index of the bucket
+     * @return the upper bound of the bucket
+     * @throws ArrayIndexOutOfBoundsException if the histogram does not contain a bucket at the provided
+     *                                        {@code index}
+     */
+    public double getUpperBound(int index) {
+        return upperBounds[index];
+    }
+
+    /**
+     * Returns the number of values of the bucket at the provided {@code index}.
+     *
+     * @param index the index of the bucket
+     * @return the number of values of the bucket
+     * @throws ArrayIndexOutOfBoundsException if the histogram does not contain a bucket at the provided
+     *                                        {@code index}
+     */
+    public long getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Returns the total number of values of the histogram.
+     *
+     * @return the total number of values of the histogram
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the estimated fraction of the values lower than the provided {@code value}.
+     * <p>
+     * The values of the bucket containing {@code value} are assumed to be uniformly distributed between its bounds.
+     *
+     * @param value the value to compare the values of the histogram with
+     * @return the estimated fraction of the values strictly lower than {@code value}, between {@code 0} and
+     * {@code 1}
+     */
+    public double estimateLowerThan(double value) {
+        if (total == 0) {
+            return 0;
+        }
+        double lowerCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (upperBounds[i] < value) {
+                lowerCount += counts[i];
+            } else if (lowerBounds[i] < value) {
+                lowerCount += counts[i] * (value - lowerBounds[i]) / (upperBounds[i] - lowerBounds[i]);
+            }
+        }
+        return lowerCount / total;
+    }
+
+    /**
+     * Returns the buckets of the histogram as a {@link List} of {@link Map}s.
+     * <p>
+     * Each {@link Map} contains the {@code lower} and {@code upper} bounds and the {@code count} of a bucket.
+     *
+     * @return the buckets of the histogram
+     */
+    public List<Map<String, Object>> toList() {
+        List<Map<String, Object>> result = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("lower", lowerBounds[i]);
+            bucket.put("upper", upperBounds[i]);
+            bucket.put("count", counts[i]);
+            result.add(bucket);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram(buckets=" + counts.length + ", total=" + total + ")";
+    }
+}
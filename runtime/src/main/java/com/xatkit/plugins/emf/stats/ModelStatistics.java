@@ -0,0 +1,201 @@
+package com.xatkit.plugins.emf.stats;
+
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.index.VersionedHolder;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * The statistics catalog of a model {@link Resource}.
+ * <p>
+ * The catalog contains the {@link ClassStatistics} of each concrete {@link EClass} of the model, which describe the
+ * cardinality of the {@link EClass} and the distribution of the values of its attributes. These statistics are
+ * collected from the extents of the model's {@link ExtentIndex}, which are populated when the model is loaded, and
+ * do not require an additional traversal of the model.
+ * <p>
+ * The catalog is attached to the {@link Resource} it describes (see {@link #install(Resource)} and
+ * {@link #getStatistics(Resource)}), and is rebuilt lazily when the {@link ExtentIndex#getVersion() version} of the
+ * model changes.
+ */
+public final class ModelStatistics {
+
+    /**
+     * The maximum number of buckets of the {@link Histogram}s of numerical attributes.
+     */
+    public static final int HISTOGRAM_BUCKET_COUNT = 16;
+
+    /**
+     * Installs a {@link ModelStatistics} catalog on the provided {@code modelResource}.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist, and
+     * builds the catalog. If the provided {@link Resource} already has a {@link ModelStatistics} catalog the existing
+     * (up-to-date) catalog is returned. The installation is synchronized on the {@link Resource} (see
+     * {@link VersionedHolder#install(Resource, Class, Function)}), and can be called concurrently by the actions
+     * sharing the same model.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to describe
+     * @return the {@link ModelStatistics} attached to the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource} is {@code null}
+     */
+    public static ModelStatistics install(Resource modelResource) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s",
+                ModelStatistics.class.getSimpleName(), modelResource);
+        return VersionedHolder.install(modelResource, ModelStatistics.class, ModelStatistics::build);
+    }
+
+    /**
+     * Returns the up-to-date {@link ModelStatistics} attached to the provided {@code modelResource}.
+     * <p>
+     * The catalog is rebuilt if the model has been modified since its creation.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the statistics of
+     * @return the {@link ModelStatistics} attached to the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static @Nullable ModelStatistics getStatistics(Resource modelResource) {
+        return VersionedHolder.getValue(modelResource, ModelStatistics.class);
+    }
+
+    /**
+     * Builds the {@link ModelStatistics} of the model indexed by the provided {@code extentIndex}.
+     *
+     * @param extentIndex the {@link ExtentIndex} containing the instances of the model
+     * @return the built {@link ModelStatistics}
+     */
+    static ModelStatistics build(ExtentIndex extentIndex) {
+        long version = extentIndex.getVersion();
+        Map<EClass, ClassStatistics> classStatistics = new LinkedHashMap<>();
+        for (EClass eClass : extentIndex.getEClasses()) {
+            classStatistics.put(eClass, ClassStatistics.build(eClass, extentIndex.getDirectInstances(eClass),
+                    HISTOGRAM_BUCKET_COUNT));
+        }
+        return new ModelStatistics(version, extentIndex.size(), classStatistics);
+    }
+
+    /**
+     * The version of the model described by the catalog.
+     */
+    private final long version;
+
+    /**
+     * The number of elements of the model.
+     */
+    private final long size;
+
+    /**
+     * The {@link ClassStatistics} of the concrete {@link EClass}es of the model.
+     */
+    private final Map<EClass, ClassStatistics> classStatistics;
+
+    /**
+     * Constructs a {@link ModelStatistics} with the provided parameters.
+     *
+     * @param version         the version of the model described by the catalog
+     * @param size            the number of elements of the model
+     * @param classStatistics the {@link ClassStatistics} of the concrete {@link EClass}es of the model
+     * @see #build(ExtentIndex)
+     */
+    private ModelStatistics(long version, long size, Map<EClass, ClassStatistics> classStatistics) {
+        this.version = version;
+        this.size = size;
+        this.classStatistics = Collections.unmodifiableMap(classStatistics);
+    }
+
+    /**
+     * Returns the version of the model described by the catalog.
+     *
+     * @return the version of the model described by the catalog
+     * @see ExtentIndex#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of elements of the model.
+     *
+     * @return the number of elements of the model
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the {@link ClassStatistics} of the provided concrete {@code eClass}.
+     *
+     * @param eClass the {@link EClass} to retrieve the statistics of
+     * @return the {@link ClassStatistics} of the {@link EClass}, or {@code null} if the model does not contain any
+     * direct instance of {@code eClass}
+     */
+    public @Nullable ClassStatistics getClassStatistics(EClass eClass) {
+        return classStatistics.get(eClass);
+    }
+
+    /**
+     * Returns the {@link ClassStatistics} of all the concrete {@link EClass}es of the model.
+     *
+     * @return an unmodifiable {@link Collection} containing the {@link ClassStatistics} of the model
+     */
+    public Collection<ClassStatistics> getClassStatistics() {
+        return classStatistics.values();
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code eClass}, including the instances of its subtypes.
+     *
+     * @param eClass the {@link EClass} to count the instances of
+     * @return the number of instances of the provided {@code eClass}
+     */
+    public long getInstanceCount(EClass eClass) {
+        long count = 0;
+        for (ClassStatistics statistics : classStatistics.values()) {
+            if (eClass.isSuperTypeOf(statistics.getEClass())) {
+                count += statistics.getInstanceCount();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the statistics as a {@link Map}.
+     * <p>
+     * The returned {@link Map} contains the number of {@code elements} of the model, and the statistics of its
+     * {@code classes} by name. {@link EClass}es sharing the same name in different packages are identified by their
+     * qualified name (see {@link MetamodelIndex#getQualifiedName(EClass)}).
+     *
+     * @return a {@link Map} containing the statistics of the model
+     * @see ClassStatistics#toMap()
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (EClass eClass : classStatistics.keySet()) {
+            nameCounts.merge(eClass.getName(), 1, Integer::sum);
+        }
+        Map<String, Object> classes = new LinkedHashMap<>();
+        for (ClassStatistics statistics : classStatistics.values()) {
+            EClass eClass = statistics.getEClass();
+            classes.put(nameCounts.get(eClass.getName()) > 1 ? MetamodelIndex.getQualifiedName(eClass) :
+                    eClass.getName(), statistics.toMap());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("elements", size);
+        result.put("classes", classes);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelStatistics(version=" + version + ", elements=" + size + ", classes=" + classStatistics.size()
+                + ")";
+    }
+}
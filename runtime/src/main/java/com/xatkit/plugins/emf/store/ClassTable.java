@@ -0,0 +1,185 @@
+package com.xatkit.plugins.emf.store;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * The columnar representation of the direct instances of an {@link EClass}.
+ * <p>
+ * Each row of the table represents an instance, identified by its {@link QueryStore} identifier (see
+ * {@link #getId(int)}). Single-valued {@link String} and numerical attributes are stored in {@link Column}s, and
+ * non-derived references in {@link ReferenceColumn}s.
+ */
+public final class ClassTable {
+
+    /**
+     * The {@link EClass} of the instances stored in the table.
+     */
+    private final EClass eClass;
+
+    /**
+     * The {@link QueryStore} identifier of the first row.
+     * <p>
+     * The identifiers of the rows of a table are consecutive.
+     */
+    private final int firstId;
+
+    /**
+     * The number of rows of the table.
+     */
+    private final int size;
+
+    /**
+     * The attribute {@link Column}s of the table.
+     */
+    private final Map<EAttribute, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * The {@link ReferenceColumn}s of the table.
+     */
+    private final Map<EReference, ReferenceColumn> referenceColumns = new LinkedHashMap<>();
+
+    /**
+     * Builds the {@link ClassTable} storing the provided {@code rows}.
+     *
+     * @param eClass   the {@link EClass} of the instances stored in the table
+     * @param rows     the direct instances of {@code eClass} to store
+     * @param firstId  the identifier of the first row
+     * @param storeIds the identifiers of all the elements of the {@link QueryStore}
+     * @return the built {@link ClassTable}
+     */
+    static ClassTable build(EClass eClass, List<EObject> rows, int firstId, Map<EObject, Integer> storeIds) {
+        ClassTable table = new ClassTable(eClass, firstId, rows.size());
+        for (EAttribute eAttribute : eClass.getEAllAttributes()) {
+            if (!eAttribute.isDerived()) {
+                Column column = Column.build(eAttribute, rows);
+                if (nonNull(column)) {
+                    table.addColumn(column);
+                }
+            }
+        }
+        for (EReference eReference : eClass.getEAllReferences()) {
+            if (!eReference.isDerived()) {
+                table.addReferenceColumn(ReferenceColumn.build(eReference, rows, storeIds));
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Constructs an empty {@link ClassTable} with the provided parameters.
+     * <p>
+     * The columns of the table are added with {@link #addColumn(Column)} and
+     * {@link #addReferenceColumn(ReferenceColumn)}.
+     *
+     * @param eClass  the {@link EClass} of the instances stored in the table
+     * @param firstId the identifier of the first row
+     * @param size    the number of rows of the table
+     */
+    ClassTable(EClass eClass, int firstId, int size) {
+        this.eClass = eClass;
+        this.firstId = firstId;
+        this.size = size;
+    }
+
+    /**
+     * Adds the provided {@code column} to the table.
+     *
+     * @param column the {@link Column} to add
+     */
+    void addColumn(Column column) {
+        columns.put(column.getEAttribute(), column);
+    }
+
+    /**
+     * Adds the provided {@code referenceColumn} to the table.
+     *
+     * @param referenceColumn the {@link ReferenceColumn} to add
+     */
+    void addReferenceColumn(ReferenceColumn referenceColumn) {
+        referenceColumns.put(referenceColumn.getEReference(), referenceColumn);
+    }
+
+    /**
+     * Returns the {@link EClass} of the instances stored in the table.
+     *
+     * @return the {@link EClass} of the instances stored in the table
+     */
+    public EClass getEClass() {
+        return eClass;
+    }
+
+    /**
+     * Returns the number of rows of the table.
+     *
+     * @return the number of rows of the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the {@link QueryStore} identifier of the provided {@code row}.
+     *
+     * @param row the index of the row
+     * @return the identifier of the row
+     * @see QueryStore#getEObject(int)
+     */
+    public int getId(int row) {
+        return firstId + row;
+    }
+
+    /**
+     * Returns the {@link Column} storing the values of the provided {@code eAttribute}.
+     *
+     * @param eAttribute the {@link EAttribute} to retrieve the column of
+     * @return the {@link Column} if the attribute is stored in the table, {@code null} otherwise
+     */
+    public @Nullable Column getColumn(EAttribute eAttribute) {
+        return columns.get(eAttribute);
+    }
+
+    /**
+     * Returns the attribute {@link Column}s of the table.
+     *
+     * @return an unmodifiable {@link Collection} containing the attribute {@link Column}s of the table
+     */
+    public Collection<Column> getColumns() {
+        return Collections.unmodifiableCollection(columns.values());
+    }
+
+    /**
+     * Returns the {@link ReferenceColumn}s of the table.
+     *
+     * @return an unmodifiable {@link Collection} containing the {@link ReferenceColumn}s of the table
+     */
+    public Collection<ReferenceColumn> getReferenceColumns() {
+        return Collections.unmodifiableCollection(referenceColumns.values());
+    }
+
+    /**
+     * Returns the {@link ReferenceColumn} storing the values of the provided {@code eReference}.
+     *
+     * @param eReference the {@link EReference} to retrieve the column of
+     * @return the {@link ReferenceColumn} if the reference is stored in the table, {@code null} otherwise
+     */
+    public @Nullable ReferenceColumn getReferenceColumn(EReference eReference) {
+        return referenceColumns.get(eReference);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassTable(" + eClass.getName() + ", rows=" + size + ", columns=" + columns.size() + ")";
+    }
+}
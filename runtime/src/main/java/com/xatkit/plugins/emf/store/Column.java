@@ -0,0 +1,70 @@
+package com.xatkit.plugins.emf.store;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * A column of a {@link ClassTable} storing the values of an {@link EAttribute} in a compact representation.
+ * <p>
+ * Columns are immutable snapshots of the attribute values of the rows of their table. The value of a row is stored
+ * at the row's index in the column.
+ *
+ * @see #build(EAttribute, List)
+ */
+public abstract class Column {
+
+    /**
+     * Builds the {@link Column} storing the values of the provided {@code eAttribute} for the given {@code rows}.
+     * <p>
+     * Single-valued {@link String} attributes are stored in a {@link StringColumn}, and single-valued numerical
+     * attributes in a {@link NumericColumn}. This method returns {@code null} for the other attributes, which are
+     * not stored in the columnar representation.
+     *
+     * @param eAttribute the {@link EAttribute} to store the values of
+     * @param rows       the {@link EObject}s to store the values of
+     * @return the built {@link Column}, or {@code null} if the attribute cannot be stored in a column
+     */
+    static @Nullable Column build(EAttribute eAttribute, List<EObject> rows) {
+        if (eAttribute.isMany()) {
+            return null;
+        }
+        Class<?> type = eAttribute.getEAttributeType().getInstanceClass();
+        if (type == String.class) {
+            return StringColumn.build(eAttribute, rows);
+        }
+        return NumericColumn.build(eAttribute, type, rows);
+    }
+
+    /**
+     * The {@link EAttribute} stored in the column.
+     */
+    private final EAttribute eAttribute;
+
+    /**
+     * Constructs a {@link Column} storing the values of the provided {@code eAttribute}.
+     *
+     * @param eAttribute the {@link EAttribute} stored in the column
+     */
+    protected Column(EAttribute eAttribute) {
+        this.eAttribute = eAttribute;
+    }
+
+    /**
+     * Returns the {@link EAttribute} stored in the column.
+     *
+     * @return the {@link EAttribute} stored in the column
+     */
+    public EAttribute getEAttribute() {
+        return eAttribute;
+    }
+
+    /**
+     * Returns the number of rows of the column.
+     *
+     * @return the number of rows of the column
+     */
+    public abstract int size();
+}
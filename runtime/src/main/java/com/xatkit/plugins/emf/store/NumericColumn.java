@@ -0,0 +1,257 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.plugins.emf.query.NumericalComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import javax.annotation.Nullable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.BitSet;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Column} storing the values of a numerical {@link EAttribute} in a primitive buffer.
+ * <p>
+ * {@code int}, {@code short} and {@code byte} values are stored in an {@link IntBuffer}, {@code long} values in a
+ * {@link LongBuffer}, and {@code float} and {@code double} values in a {@link DoubleBuffer}. Buffers wrap heap arrays
+ * when the column is built from a model, and are views of a mapped file when the column is read from a
+ * {@link StoreSnapshot}. Rows without value (i.e. rows with a {@code null} boxed value) are tracked in a separate
+ * {@link BitSet}.
+ * <p>
+ * Comparisons are performed on the {@code double} representation of the values, like
+ * {@link com.xatkit.plugins.emf.query.NumericalCondition}.
+ */
+public abstract class NumericColumn extends Column {
+
+    /**
+     * Builds the {@link NumericColumn} storing the values of the provided {@code eAttribute} for the given
+     * {@code rows}.
+     *
+     * @param eAttribute the {@link EAttribute} to store the values of
+     * @param type       the instance class of the {@code eAttribute}'s type
+     * @param rows       the {@link EObject}s to store the values of
+     * @return the built {@link NumericColumn}, or {@code null} if the provided {@code type} is not supported
+     */
+    static @Nullable NumericColumn build(EAttribute eAttribute, Class<?> type, List<EObject> rows) {
+        BitSet present = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (nonNull(rows.get(i).eGet(eAttribute))) {
+                present.set(i);
+            }
+        }
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            int[] values = new int[rows.size()];
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                values[row] = ((Number) rows.get(row).eGet(eAttribute)).intValue();
+            }
+            return new IntColumn(eAttribute, present, IntBuffer.wrap(values));
+        }
+        if (type == long.class || type == Long.class) {
+            long[] values = new long[rows.size()];
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                values[row] = ((Number) rows.get(row).eGet(eAttribute)).longValue();
+            }
+            return new LongColumn(eAttribute, present, LongBuffer.wrap(values));
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            double[] values = new double[rows.size()];
+            for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+                values[row] = ((Number) rows.get(row).eGet(eAttribute)).doubleValue();
+            }
+            return new DoubleColumn(eAttribute, present, DoubleBuffer.wrap(values));
+        }
+        return null;
+    }
+
+    /**
+     * The rows containing a value.
+     */
+    private final BitSet present;
+
+    /**
+     * The number of rows of the column.
+     */
+    private final int size;
+
+    /**
+     * Constructs a {@link NumericColumn} with the provided parameters.
+     *
+     * @param eAttribute the {@link EAttribute} stored in the column
+     * @param present    the rows containing a value
+     * @param size       the number of rows of the column
+     */
+    protected NumericColumn(EAttribute eAttribute, BitSet present, int size) {
+        super(eAttribute);
+        this.present = present;
+        this.size = size;
+    }
+
+    /**
+     * Returns whether the provided {@code row} contains a value.
+     *
+     * @param row the index of the row
+     * @return {@code true} if the row contains a value, {@code false} otherwise
+     */
+    public boolean isPresent(int row) {
+        return present.get(row);
+    }
+
+    /**
+     * Returns the rows containing a value.
+     *
+     * @return the rows containing a value
+     */
+    BitSet getPresent() {
+        return present;
+    }
+
+    /**
+     * Returns the {@code double} representation of the value of the provided {@code row}.
+     * <p>
+     * The returned value is undefined if the row does not contain a value (see {@link #isPresent(int)}).
+     *
+     * @param row the index of the row
+     * @return the {@code double} representation of the value of the row
+     */
+    public abstract double getDouble(int row);
+
+    /**
+     * Returns the rows matching the provided {@code comparator} and {@code operand}.
+     * <p>
+     * Rows without value never match.
+     *
+     * @param comparator the {@link NumericalComparator} used to compare the values
+     * @param operand    the operand to compare the values with
+     * @return a {@link BitSet} containing the indexes of the matching rows
+     */
+    public BitSet select(NumericalComparator comparator, double operand) {
+        BitSet result = new BitSet(size);
+        for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+            if (comparator.apply(getDouble(row), operand)) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A {@link NumericColumn} storing its values in an {@link IntBuffer}.
+     */
+    static final class IntColumn extends NumericColumn {
+
+        /**
+         * The values of the column.
+         */
+        private final IntBuffer values;
+
+        /**
+         * Constructs an {@link IntColumn} with the provided parameters.
+         *
+         * @param eAttribute the {@link EAttribute} stored in the column
+         * @param present    the rows containing a value
+         * @param values     the values of the column
+         */
+        IntColumn(EAttribute eAttribute, BitSet present, IntBuffer values) {
+            super(eAttribute, present, values.limit());
+            this.values = values;
+        }
+
+        /**
+         * Returns the values of the column.
+         *
+         * @return the values of the column
+         */
+        IntBuffer getValues() {
+            return values.duplicate();
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values.get(row);
+        }
+    }
+
+    /**
+     * A {@link NumericColumn} storing its values in a {@link LongBuffer}.
+     */
+    static final class LongColumn extends NumericColumn {
+
+        /**
+         * The values of the column.
+         */
+        private final LongBuffer values;
+
+        /**
+         * Constructs a {@link LongColumn} with the provided parameters.
+         *
+         * @param eAttribute the {@link EAttribute} stored in the column
+         * @param present    the rows containing a value
+         * @param values     the values of the column
+         */
+        LongColumn(EAttribute eAttribute, BitSet present, LongBuffer values) {
+            super(eAttribute, present, values.limit());
+            this.values = values;
+        }
+
+        /**
+         * Returns the values of the column.
+         *
+         * @return the values of the column
+         */
+        LongBuffer getValues() {
+            return values.duplicate();
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values.get(row);
+        }
+    }
+
+    /**
+     * A {@link NumericColumn} storing its values in a {@link DoubleBuffer}.
+     */
+    static final class DoubleColumn extends NumericColumn {
+
+        /**
+         * The values of the column.
+         */
+        private final DoubleBuffer values;
+
+        /**
+         * Constructs a {@link DoubleColumn} with the provided parameters.
+         *
+         * @param eAttribute the {@link EAttribute} stored in the column
+         * @param present    the rows containing a value
+         * @param values     the values of the column
+         */
+        DoubleColumn(EAttribute eAttribute, BitSet present, DoubleBuffer values) {
+            super(eAttribute, present, values.limit());
+            this.values = values;
+        }
+
+        /**
+         * Returns the values of the column.
+         *
+         * @return the values of the column
+         */
+        DoubleBuffer getValues() {
+            return values.duplicate();
+        }
+
+        @Override
+        public double getDouble(int row) {
+            return values.get(row);
+        }
+    }
+}
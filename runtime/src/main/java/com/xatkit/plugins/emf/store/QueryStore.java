@@ -0,0 +1,331 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.index.VersionedHolder;
+import com.xatkit.plugins.emf.query.Condition;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * An immutable columnar snapshot of the content of a model {@link Resource}.
+ * <p>
+ * The store assigns an {@code int} identifier to each element of the {@link Resource}, and stores the direct
+ * instances of each {@link EClass} in a {@link ClassTable}. Queries are evaluated on the columns of the tables (see
+ * {@link Condition#evaluate(ClassTable, Map)}) without accessing the {@link EObject}s, which are only materialized
+ * for the matching rows (see {@link #select(EClass, Condition, Map)}).
+ * <p>
+ * The store is attached to the {@link Resource} it represents (see {@link #install(Resource)} and
+ * {@link #getStore(Resource)}), and is rebuilt lazily when the {@link ExtentIndex#getVersion() version} of the model
+ * changes.
+ */
+public final class QueryStore {
+
+    /**
+     * Installs a {@link QueryStore} on the provided {@code modelResource}.
+     * <p>
+     * This method builds the {@link ExtentIndex} of the provided {@code modelResource} if it does not exist, and
+     * builds the store. If the provided {@link Resource} already has a {@link QueryStore} the existing store is
+     * returned.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to store
+     * @return the {@link QueryStore} attached to the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource} is {@code null}
+     */
+    public static QueryStore install(Resource modelResource) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s",
+                QueryStore.class.getSimpleName(), modelResource);
+        return install(modelResource, extentIndex -> build(modelResource, extentIndex.getVersion()));
+    }
+
+    /**
+     * Installs a {@link QueryStore} created by the provided {@code initialBuilder} on the given
+     * {@code modelResource}.
+     * <p>
+     * The initial store is returned by {@link #getStore(Resource)} until the model is modified, the outdated stores
+     * are then rebuilt from the model. If the provided {@link Resource} already has a {@link QueryStore} the existing
+     * store is returned and the {@code initialBuilder} is not called.
+     *
+     * @param modelResource  the EMF {@link Resource} represented by the store
+     * @param initialBuilder the function creating the initial store from the {@link ExtentIndex} of the
+     *                       {@code modelResource}
+     * @return the {@link QueryStore} attached to the provided {@code modelResource}
+     * @see VersionedHolder#install(Resource, Class, Function, Function)
+     */
+    static QueryStore install(Resource modelResource, Function<ExtentIndex, QueryStore> initialBuilder) {
+        return VersionedHolder.install(modelResource, QueryStore.class, initialBuilder,
+                extentIndex -> build(modelResource, extentIndex.getVersion()));
+    }
+
+    /**
+     * Returns the up-to-date {@link QueryStore} attached to the provided {@code modelResource}.
+     * <p>
+     * The store is rebuilt if the model has been modified since its creation.
+     *
+     * @param modelResource the EMF {@link Resource} to retrieve the store of
+     * @return the {@link QueryStore} attached to the {@link Resource} if it exists, {@code null} otherwise
+     */
+    public static @Nullable QueryStore getStore(Resource modelResource) {
+        return VersionedHolder.getValue(modelResource, QueryStore.class);
+    }
+
+    /**
+     * Builds the {@link QueryStore} of the provided {@code modelResource}.
+     * <p>
+     * This method traverses the content of the {@link Resource} once to collect the direct instances of each
+     * {@link EClass}, and builds their {@link ClassTable}s.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to store
+     * @param version       the version of the model
+     * @return the built {@link QueryStore}
+     */
+    static QueryStore build(Resource modelResource, long version) {
+        Map<EClass, List<EObject>> extents = collectExtents(modelResource);
+        EObject[] objects = toArray(extents);
+        Map<EObject, Integer> ids = new IdentityHashMap<>(objects.length);
+        for (int id = 0; id < objects.length; id++) {
+            ids.put(objects[id], id);
+        }
+        List<ClassTable> tables = new ArrayList<>(extents.size());
+        int firstId = 0;
+        for (Map.Entry<EClass, List<EObject>> extent : extents.entrySet()) {
+            tables.add(ClassTable.build(extent.getKey(), extent.getValue(), firstId, ids));
+            firstId += extent.getValue().size();
+        }
+        return new QueryStore(version, objects, tables);
+    }
+
+    /**
+     * Collects the direct instances of each {@link EClass} contained in the provided {@code modelResource}.
+     * <p>
+     * The returned {@link Map} is ordered by first occurrence of each {@link EClass} in the content of the
+     * {@link Resource}, and the instances of each {@link EClass} are ordered by occurrence. This order defines the
+     * identifiers of the elements of the store, and is stable for a given model.
+     *
+     * @param modelResource the EMF {@link Resource} to collect the instances of
+     * @return the direct instances of each {@link EClass}
+     */
+    static Map<EClass, List<EObject>> collectExtents(Resource modelResource) {
+        Map<EClass, List<EObject>> extents = new LinkedHashMap<>();
+        Iterator<EObject> it = modelResource.getAllContents();
+        while (it.hasNext()) {
+            EObject eObject = it.next();
+            extents.computeIfAbsent(eObject.eClass(), eClass -> new ArrayList<>()).add(eObject);
+        }
+        return extents;
+    }
+
+    /**
+     * Returns the elements of the provided {@code extents} indexed by their store identifier.
+     *
+     * @param extents the direct instances of each {@link EClass}, see {@link #collectExtents(Resource)}
+     * @return the elements indexed by their identifier
+     */
+    static EObject[] toArray(Map<EClass, List<EObject>> extents) {
+        int size = 0;
+        for (List<EObject> extent : extents.values()) {
+            size += extent.size();
+        }
+        EObject[] objects = new EObject[size];
+        int id = 0;
+        for (List<EObject> extent : extents.values()) {
+            for (EObject eObject : extent) {
+                objects[id++] = eObject;
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * The version of the model represented by the store.
+     */
+    private final long version;
+
+    /**
+     * The stored elements, indexed by their identifier.
+     */
+    private final EObject[] objects;
+
+    /**
+     * The {@link ClassTable}s of the store, in the order their {@link EClass} is encountered in the model.
+     */
+    private final List<ClassTable> tables;
+
+    /**
+     * Constructs a {@link QueryStore} with the provided parameters.
+     *
+     * @param version the version of the model represented by the store
+     * @param objects the stored elements, indexed by their identifier
+     * @param tables  the {@link ClassTable}s of the store
+     * @see #build(Resource, long)
+     */
+    QueryStore(long version, EObject[] objects, List<ClassTable> tables) {
+        this.version = version;
+        this.objects = objects;
+        this.tables = Collections.unmodifiableList(tables);
+    }
+
+    /**
+     * Returns the version of the model represented by the store.
+     *
+     * @return the version of the model represented by the store
+     * @see ExtentIndex#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of elements of the store.
+     *
+     * @return the number of elements of the store
+     */
+    public int size() {
+        return objects.length;
+    }
+
+    /**
+     * Returns the element with the provided {@code id}.
+     *
+     * @param id the identifier of the element
+     * @return the element with the provided {@code id}
+     * @throws ArrayIndexOutOfBoundsException if the store does not contain an element with the provided {@code id}
+     */
+    public EObject getEObject(int id) {
+        return objects[id];
+    }
+
+    /**
+     * Returns the {@link ClassTable}s of the store.
+     *
+     * @return an unmodifiable {@link List} containing the {@link ClassTable}s of the store
+     */
+    public List<ClassTable> getTables() {
+        return tables;
+    }
+
+    /**
+     * Returns the {@link ClassTable}s containing the instances of the provided {@code eClass}.
+     * <p>
+     * The returned {@link List} contains the table of {@code eClass} and the tables of its subtypes.
+     *
+     * @param eClass the {@link EClass} to retrieve the tables of
+     * @return the {@link ClassTable}s containing the instances of {@code eClass}
+     */
+    public List<ClassTable> getTables(EClass eClass) {
+        List<ClassTable> result = new ArrayList<>();
+        for (ClassTable table : tables) {
+            if (eClass.isInstance(objects[table.getId(0)])) {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the instances of the provided {@code eClass} satisfying the given {@code condition}.
+     * <p>
+     * The returned {@link List} is ordered by {@link ClassTable}, and then by row.
+     *
+     * @param eClass    the {@link EClass} of the instances to retrieve
+     * @param condition the {@link Condition} that instances must satisfy, or {@code null} to retrieve all the
+     *                  instances
+     * @param query     the query {@link Map} containing the literal values of the {@code condition}
+     * @return the matching instances, or {@code null} if the {@code condition} cannot be evaluated on the store
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         {@code condition}
+     */
+    public @Nullable List<EObject> select(EClass eClass, @Nullable Condition condition, Map<String, Object> query) {
+        List<ClassTable> eClassTables = getTables(eClass);
+        List<BitSet> matches = evaluate(eClassTables, condition, query);
+        if (isNull(matches)) {
+            return null;
+        }
+        int size = 0;
+        for (BitSet match : matches) {
+            size += match.cardinality();
+        }
+        List<EObject> result = new ArrayList<>(size);
+        for (int i = 0; i < eClassTables.size(); i++) {
+            ClassTable table = eClassTables.get(i);
+            BitSet match = matches.get(i);
+            for (int row = match.nextSetBit(0); row >= 0; row = match.nextSetBit(row + 1)) {
+                result.add(objects[table.getId(row)]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the instances of the provided {@code eClass} satisfying the given {@code condition}.
+     * <p>
+     * This method does not materialize the matching instances.
+     *
+     * @param eClass    the {@link EClass} of the instances to count
+     * @param condition the {@link Condition} that instances must satisfy, or {@code null} to count all the
+     *                  instances
+     * @param query     the query {@link Map} containing the literal values of the {@code condition}
+     * @return the number of matching instances, or {@code null} if the {@code condition} cannot be evaluated on the
+     * store
+     * @throws com.xatkit.core.XatkitException if the provided {@code query} does not contain valid values for the
+     *                                         {@code condition}
+     */
+    public @Nullable Long count(EClass eClass, @Nullable Condition condition, Map<String, Object> query) {
+        List<BitSet> matches = evaluate(getTables(eClass), condition, query);
+        if (isNull(matches)) {
+            return null;
+        }
+        long count = 0;
+        for (BitSet match : matches) {
+            count += match.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * Evaluates the provided {@code condition} on the given {@code eClassTables}.
+     *
+     * @param eClassTables the {@link ClassTable}s to evaluate the condition on
+     * @param condition    the {@link Condition} to evaluate, or {@code null} to match all the rows
+     * @param query        the query {@link Map} containing the literal values of the {@code condition}
+     * @return the matching rows of each table, or {@code null} if the {@code condition} cannot be evaluated on one
+     * of the tables
+     */
+    private @Nullable List<BitSet> evaluate(List<ClassTable> eClassTables, @Nullable Condition condition,
+                                            Map<String, Object> query) {
+        List<BitSet> result = new ArrayList<>(eClassTables.size());
+        for (ClassTable table : eClassTables) {
+            BitSet match;
+            if (isNull(condition)) {
+                match = new BitSet(table.size());
+                match.set(0, table.size());
+            } else {
+                match = condition.evaluate(table, query);
+                if (isNull(match)) {
+                    return null;
+                }
+            }
+            result.add(match);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStore(version=" + version + ", elements=" + objects.length + ", tables=" + tables.size() + ")";
+    }
+}
@@ -0,0 +1,133 @@
+package com.xatkit.plugins.emf.store;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A column of a {@link ClassTable} storing the values of an {@link EReference} as {@code int} identifiers.
+ * <p>
+ * The referenced elements of all the rows are stored in a single {@code int[]} in compressed sparse row layout: the
+ * targets of a row are stored between {@code offsets[row]} and {@code offsets[row + 1]}. Identifiers are resolved
+ * with {@link QueryStore#getEObject(int)}. References to elements that are not contained in the stored
+ * {@link org.eclipse.emf.ecore.resource.Resource} (e.g. unresolved proxies) are not stored.
+ */
+public final class ReferenceColumn {
+
+    /**
+     * The {@link EReference} stored in the column.
+     */
+    private final EReference eReference;
+
+    /**
+     * The start offset of the targets of each row, followed by the total number of targets.
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * The identifiers of the targets of all the rows.
+     */
+    private final IntBuffer targets;
+
+    /**
+     * Builds the {@link ReferenceColumn} storing the values of the provided {@code eReference} for the given
+     * {@code rows}.
+     *
+     * @param eReference the {@link EReference} to store the values of
+     * @param rows       the {@link EObject}s to store the values of
+     * @param ids        the identifiers of the stored {@link EObject}s
+     * @return the built {@link ReferenceColumn}
+     */
+    static ReferenceColumn build(EReference eReference, List<EObject> rows, Map<EObject, Integer> ids) {
+        int[] offsets = new int[rows.size() + 1];
+        int[] buffer = new int[rows.size()];
+        int size = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            offsets[row] = size;
+            Object value = rows.get(row).eGet(eReference, false);
+            Collection<?> values = eReference.isMany() ? (Collection<?>) value : Arrays.asList(value);
+            for (Object target : values) {
+                Integer id = ids.get(target);
+                if (nonNull(id)) {
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, Math.max(16, buffer.length * 2));
+                    }
+                    buffer[size++] = id;
+                }
+            }
+        }
+        offsets[rows.size()] = size;
+        return new ReferenceColumn(eReference, IntBuffer.wrap(offsets), IntBuffer.wrap(Arrays.copyOf(buffer, size)));
+    }
+
+    /**
+     * Constructs a {@link ReferenceColumn} with the provided parameters.
+     *
+     * @param eReference the {@link EReference} stored in the column
+     * @param offsets    the start offset of the targets of each row, followed by the total number of targets
+     * @param targets    the identifiers of the targets of all the rows
+     */
+    ReferenceColumn(EReference eReference, IntBuffer offsets, IntBuffer targets) {
+        this.eReference = eReference;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Returns the {@link EReference} stored in the column.
+     *
+     * @return the {@link EReference} stored in the column
+     */
+    public EReference getEReference() {
+        return eReference;
+    }
+
+    /**
+     * Returns the identifiers of the elements referenced by the provided {@code row}.
+     *
+     * @param row the index of the row
+     * @return the identifiers of the referenced elements, in the order of the reference
+     */
+    public int[] getTargets(int row) {
+        int start = offsets.get(row);
+        int[] result = new int[offsets.get(row + 1) - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = targets.get(start + i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the start offset of the targets of each row, followed by the total number of targets.
+     *
+     * @return the offsets of the column
+     */
+    IntBuffer getOffsets() {
+        return offsets.duplicate();
+    }
+
+    /**
+     * Returns the identifiers of the targets of all the rows.
+     *
+     * @return the targets of the column
+     */
+    IntBuffer getTargets() {
+        return targets.duplicate();
+    }
+
+    /**
+     * Returns the number of rows of the column.
+     *
+     * @return the number of rows of the column
+     */
+    public int size() {
+        return offsets.limit() - 1;
+    }
+}
@@ -0,0 +1,434 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.plugins.emf.store.NumericColumn.DoubleColumn;
+import com.xatkit.plugins.emf.store.NumericColumn.IntColumn;
+import com.xatkit.plugins.emf.store.NumericColumn.LongColumn;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link QueryStore}s to snapshot files, and opens them as memory-mapped {@link QueryStore}s.
+ * <p>
+ * A snapshot file contains the columns of the {@link ClassTable}s of a store in a binary layout that can be accessed
+ * in place: the columns of a store opened from a snapshot are views of a read-only {@link MappedByteBuffer}, meaning
+ * that they are not copied in the heap, and that the pages of the file are shared by all the processes opening it.
+ * Only the dictionaries of the {@link StringColumn}s and the {@link BitSet}s of the {@link NumericColumn}s are
+ * decoded when the snapshot is opened.
+ * <p>
+ * The file starts with a header (magic number, format version, and the key of the snapshotted model), followed by
+ * the column sections aligned on 8 bytes, a directory containing the offset of each column section, and a footer
+ * containing the offset of the directory. Snapshots do not contain the model elements: opening a snapshot requires
+ * the {@link Resource} it has been written from, whose content is traversed once to map the store identifiers to
+ * their {@link EObject}s (see {@link QueryStore#collectExtents(Resource)}).
+ * <p>
+ * <b>Note</b>: snapshot files are limited to {@code 2GB}, which is the maximum size of a {@link MappedByteBuffer}.
+ */
+final class StoreSnapshot {
+
+    /**
+     * The magic number identifying snapshot files.
+     */
+    static final int MAGIC = 0x58515331;
+
+    /**
+     * The version of the snapshot format.
+     * <p>
+     * Snapshots written with a different version are ignored.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * The size of the footer of the snapshot files.
+     */
+    private static final int FOOTER_SIZE = 16;
+
+    /**
+     * The kind of the {@link IntColumn} sections.
+     */
+    private static final byte INT_COLUMN = 1;
+
+    /**
+     * The kind of the {@link LongColumn} sections.
+     */
+    private static final byte LONG_COLUMN = 2;
+
+    /**
+     * The kind of the {@link DoubleColumn} sections.
+     */
+    private static final byte DOUBLE_COLUMN = 3;
+
+    /**
+     * The kind of the {@link StringColumn} sections.
+     */
+    private static final byte STRING_COLUMN = 4;
+
+    /**
+     * Disables the default constructor, this class only provides static methods.
+     */
+    private StoreSnapshot() {
+    }
+
+    /**
+     * Writes the provided {@code store} to the given {@code snapshotFile}.
+     *
+     * @param store        the {@link QueryStore} to write
+     * @param key          the key of the snapshotted model, checked when the snapshot is opened
+     * @param snapshotFile the {@link Path} of the snapshot file to write
+     * @throws IOException if an error occurred when writing the file, or if the snapshot exceeds the maximum size of
+     *                     a snapshot file
+     */
+    static void write(QueryStore store, String key, Path snapshotFile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(snapshotFile),
+                64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, key);
+            List<long[]> columnOffsets = new ArrayList<>();
+            List<long[]> referenceOffsets = new ArrayList<>();
+            for (ClassTable table : store.getTables()) {
+                long[] offsets = new long[table.getColumns().size()];
+                int i = 0;
+                for (Column column : table.getColumns()) {
+                    offsets[i++] = writeColumn(out, column);
+                }
+                columnOffsets.add(offsets);
+                offsets = new long[table.getReferenceColumns().size()];
+                i = 0;
+                for (ReferenceColumn column : table.getReferenceColumns()) {
+                    align(out, 8);
+                    offsets[i++] = out.size();
+                    writeInts(out, column.getOffsets());
+                    writeInts(out, column.getTargets());
+                }
+                referenceOffsets.add(offsets);
+            }
+            align(out, 8);
+            long directoryOffset = out.size();
+            out.writeInt(store.getTables().size());
+            for (int t = 0; t < store.getTables().size(); t++) {
+                ClassTable table = store.getTables().get(t);
+                writeString(out, table.getEClass().getEPackage().getNsURI());
+                writeString(out, table.getEClass().getName());
+                out.writeInt(table.size());
+                out.writeInt(table.getColumns().size());
+                int i = 0;
+                for (Column column : table.getColumns()) {
+                    writeString(out, column.getEAttribute().getName());
+                    out.writeByte(getKind(column));
+                    out.writeLong(columnOffsets.get(t)[i++]);
+                }
+                out.writeInt(table.getReferenceColumns().size());
+                i = 0;
+                for (ReferenceColumn column : table.getReferenceColumns()) {
+                    writeString(out, column.getEReference().getName());
+                    out.writeLong(referenceOffsets.get(t)[i++]);
+                }
+            }
+            out.writeInt(store.size());
+            out.writeLong(directoryOffset);
+            out.writeInt(MAGIC);
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("The snapshot exceeds the maximum size of a snapshot file");
+            }
+        }
+    }
+
+    /**
+     * Opens the provided {@code snapshotFile} as a {@link QueryStore} representing the given {@code modelResource}.
+     * <p>
+     * This method returns {@code null} if the snapshot has been written with another format version or for another
+     * model, or if its tables do not match the content of the provided {@code modelResource}.
+     *
+     * @param snapshotFile  the {@link Path} of the snapshot file to open
+     * @param key           the key of the snapshotted model
+     * @param modelResource the EMF {@link Resource} the snapshot has been written from
+     * @param version       the version of the model
+     * @return the opened {@link QueryStore}, or {@code null} if the snapshot does not match the provided
+     * {@code key} and {@code modelResource}
+     * @throws IOException if an error occurred when reading the file
+     */
+    static @Nullable QueryStore open(Path snapshotFile, String key, Resource modelResource, long version)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE || channel.size() < FOOTER_SIZE) {
+                Log.warn("Cannot open the snapshot {0}: invalid file size {1}", snapshotFile, channel.size());
+                return null;
+            }
+            /*
+             * The mapping remains valid after the channel is closed.
+             */
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(buffer.limit() - 4) != MAGIC) {
+            Log.warn("Cannot open the snapshot {0}: the file is not a snapshot", snapshotFile);
+            return null;
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            Log.warn("Cannot open the snapshot {0}: unsupported format version {1}", snapshotFile,
+                    buffer.getInt(4));
+            return null;
+        }
+        ByteBuffer header = slice(buffer, 8);
+        if (!key.equals(readString(header))) {
+            Log.warn("Cannot open the snapshot {0}: the snapshot does not represent the model {1}", snapshotFile,
+                    modelResource.getURI());
+            return null;
+        }
+        int elementCount = buffer.getInt(buffer.limit() - FOOTER_SIZE);
+        ByteBuffer directory = slice(buffer, (int) buffer.getLong(buffer.limit() - FOOTER_SIZE + 4));
+        Map<EClass, List<EObject>> extents = QueryStore.collectExtents(modelResource);
+        EObject[] objects = QueryStore.toArray(extents);
+        int tableCount = directory.getInt();
+        if (objects.length != elementCount || extents.size() != tableCount) {
+            Log.warn("Cannot open the snapshot {0}: the snapshot does not match the content of the model {1}",
+                    snapshotFile, modelResource.getURI());
+            return null;
+        }
+        List<ClassTable> tables = new ArrayList<>(tableCount);
+        Iterator<Map.Entry<EClass, List<EObject>>> extentIterator = extents.entrySet().iterator();
+        int firstId = 0;
+        for (int t = 0; t < tableCount; t++) {
+            Map.Entry<EClass, List<EObject>> extent = extentIterator.next();
+            EClass eClass = extent.getKey();
+            String nsURI = readString(directory);
+            String name = readString(directory);
+            int size = directory.getInt();
+            if (!eClass.getName().equals(name) || !eClass.getEPackage().getNsURI().equals(nsURI)
+                    || extent.getValue().size() != size) {
+                Log.warn("Cannot open the snapshot {0}: the table {1} does not match the content of the model {2}",
+                        snapshotFile, name, modelResource.getURI());
+                return null;
+            }
+            ClassTable table = new ClassTable(eClass, firstId, size);
+            int columnCount = directory.getInt();
+            for (int i = 0; i < columnCount; i++) {
+                EStructuralFeature feature = eClass.getEStructuralFeature(readString(directory));
+                byte kind = directory.get();
+                int offset = (int) directory.getLong();
+                if (!(feature instanceof EAttribute)) {
+                    Log.warn("Cannot open the snapshot {0}: unknown attribute in the table {1}", snapshotFile, name);
+                    return null;
+                }
+                table.addColumn(readColumn(buffer, offset, kind, (EAttribute) feature, size));
+            }
+            int referenceCount = directory.getInt();
+            for (int i = 0; i < referenceCount; i++) {
+                EStructuralFeature feature = eClass.getEStructuralFeature(readString(directory));
+                int offset = (int) directory.getLong();
+                if (!(feature instanceof EReference)) {
+                    Log.warn("Cannot open the snapshot {0}: unknown reference in the table {1}", snapshotFile, name);
+                    return null;
+                }
+                IntBuffer offsets = slice(buffer, offset).asIntBuffer();
+                ((Buffer) offsets).limit(size + 1);
+                int targetCount = offsets.get(size);
+                IntBuffer targets = slice(buffer, offset + (size + 1) * 4).asIntBuffer();
+                ((Buffer) targets).limit(targetCount);
+                table.addReferenceColumn(new ReferenceColumn((EReference) feature, offsets, targets));
+            }
+            tables.add(table);
+            firstId += size;
+        }
+        return new QueryStore(version, objects, tables);
+    }
+
+    /**
+     * Writes the provided {@code column} section.
+     *
+     * @param out    the {@link DataOutputStream} to write the section to
+     * @param column the {@link Column} to write
+     * @return the offset of the written section
+     * @throws IOException if an error occurred when writing the section
+     */
+    private static long writeColumn(DataOutputStream out, Column column) throws IOException {
+        align(out, 8);
+        long offset = out.size();
+        if (column instanceof NumericColumn) {
+            long[] words = ((NumericColumn) column).getPresent().toLongArray();
+            out.writeInt(words.length);
+            out.writeInt(0);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+            if (column instanceof IntColumn) {
+                writeInts(out, ((IntColumn) column).getValues());
+            } else if (column instanceof LongColumn) {
+                LongBuffer values = ((LongColumn) column).getValues();
+                while (values.hasRemaining()) {
+                    out.writeLong(values.get());
+                }
+            } else {
+                DoubleBuffer values = ((DoubleColumn) column).getValues();
+                while (values.hasRemaining()) {
+                    out.writeDouble(values.get());
+                }
+            }
+        } else {
+            StringColumn stringColumn = (StringColumn) column;
+            out.writeInt(stringColumn.getDictionarySize());
+            for (String value : stringColumn.getDictionary()) {
+                writeString(out, value);
+            }
+            align(out, 4);
+            writeInts(out, stringColumn.getCodes());
+        }
+        return offset;
+    }
+
+    /**
+     * Reads the {@link Column} section at the provided {@code offset}.
+     *
+     * @param buffer     the mapped snapshot file
+     * @param offset     the offset of the section
+     * @param kind       the kind of the section
+     * @param eAttribute the {@link EAttribute} stored in the column
+     * @param size       the number of rows of the column
+     * @return the read {@link Column}
+     * @throws IOException if the provided {@code kind} is not supported
+     */
+    private static Column readColumn(ByteBuffer buffer, int offset, byte kind, EAttribute eAttribute, int size)
+            throws IOException {
+        if (kind == STRING_COLUMN) {
+            ByteBuffer section = slice(buffer, offset);
+            String[] dictionary = new String[section.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(section);
+            }
+            int codesOffset = offset + section.position();
+            codesOffset += (4 - codesOffset % 4) % 4;
+            IntBuffer codes = slice(buffer, codesOffset).asIntBuffer();
+            ((Buffer) codes).limit(size);
+            return new StringColumn(eAttribute, dictionary, codes);
+        }
+        int wordCount = buffer.getInt(offset);
+        LongBuffer words = slice(buffer, offset + 8).asLongBuffer();
+        ((Buffer) words).limit(wordCount);
+        BitSet present = BitSet.valueOf(words);
+        ByteBuffer values = slice(buffer, offset + 8 + wordCount * 8);
+        switch (kind) {
+            case INT_COLUMN:
+                IntBuffer intValues = values.asIntBuffer();
+                ((Buffer) intValues).limit(size);
+                return new IntColumn(eAttribute, present, intValues);
+            case LONG_COLUMN:
+                LongBuffer longValues = values.asLongBuffer();
+                ((Buffer) longValues).limit(size);
+                return new LongColumn(eAttribute, present, longValues);
+            case DOUBLE_COLUMN:
+                DoubleBuffer doubleValues = values.asDoubleBuffer();
+                ((Buffer) doubleValues).limit(size);
+                return new DoubleColumn(eAttribute, present, doubleValues);
+            default:
+                throw new IOException("Unsupported column kind " + kind);
+        }
+    }
+
+    /**
+     * Returns the kind of the section of the provided {@code column}.
+     *
+     * @param column the {@link Column} to retrieve the kind of
+     * @return the kind of the section of the column
+     */
+    private static byte getKind(Column column) {
+        if (column instanceof IntColumn) {
+            return INT_COLUMN;
+        } else if (column instanceof LongColumn) {
+            return LONG_COLUMN;
+        } else if (column instanceof DoubleColumn) {
+            return DOUBLE_COLUMN;
+        }
+        return STRING_COLUMN;
+    }
+
+    /**
+     * Writes the remaining values of the provided {@code values}.
+     *
+     * @param out    the {@link DataOutputStream} to write the values to
+     * @param values the values to write
+     * @throws IOException if an error occurred when writing the values
+     */
+    private static void writeInts(DataOutputStream out, IntBuffer values) throws IOException {
+        while (values.hasRemaining()) {
+            out.writeInt(values.get());
+        }
+    }
+
+    /**
+     * Writes the provided {@code value} as its UTF-8 length followed by its UTF-8 bytes.
+     *
+     * @param out   the {@link DataOutputStream} to write the value to
+     * @param value the {@link String} to write
+     * @throws IOException if an error occurred when writing the value
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a {@link String} written with {@link #writeString(DataOutputStream, String)} at the current position of
+     * the provided {@code buffer}.
+     *
+     * @param buffer the {@link ByteBuffer} to read the value from
+     * @return the read {@link String}
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pads the provided {@code out} with {@code 0} bytes until its size is a multiple of {@code alignment}.
+     *
+     * @param out       the {@link DataOutputStream} to pad
+     * @param alignment the alignment of the next section
+     * @throws IOException if an error occurred when writing the padding
+     */
+    private static void align(DataOutputStream out, int alignment) throws IOException {
+        while (out.size() % alignment != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Returns a {@link ByteBuffer} sharing the content of the provided {@code buffer} from the given {@code offset}.
+     *
+     * @param buffer the {@link ByteBuffer} to slice
+     * @param offset the offset of the slice
+     * @return the sliced {@link ByteBuffer}
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int offset) {
+        ByteBuffer duplicate = buffer.duplicate();
+        ((Buffer) duplicate).position(offset);
+        return duplicate.slice();
+    }
+}
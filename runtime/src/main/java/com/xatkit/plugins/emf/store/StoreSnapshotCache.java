@@ -0,0 +1,173 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.plugins.emf.cache.ModelKey;
+import fr.inria.atlanmod.commons.log.Log;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A disk cache storing memory-mapped snapshots of {@link QueryStore}s.
+ * <p>
+ * The first time a {@link QueryStore} is installed on a model through this cache its columns are written to a
+ * snapshot file in the cache directory (see {@link StoreSnapshot}). Subsequent installations of the same model,
+ * including from other processes sharing the cache directory, map the snapshot file instead of building the columns,
+ * meaning that the column data is not copied in the heap and that its pages are shared by the processes.
+ * <p>
+ * Snapshot files are identified by a hash of the cache namespace (typically derived from the metamodel) and of the
+ * {@link ModelKey} of the model file, meaning that modified models are snapshotted again.
+ */
+public class StoreSnapshotCache {
+
+    /**
+     * The extension of the snapshot files.
+     */
+    public static final String SNAPSHOT_EXTENSION = "xqs";
+
+    /**
+     * The hash algorithm used to identify snapshot files.
+     */
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * The directory containing the snapshot files.
+     */
+    private final File cacheDirectory;
+
+    /**
+     * The namespace of the cache, included in the key of the snapshot files.
+     */
+    private final String namespace;
+
+    /**
+     * Constructs a {@link StoreSnapshotCache} storing its snapshot files in the provided {@code cacheDirectory}.
+     * <p>
+     * The provided {@code cacheDirectory} is created if it does not exist.
+     *
+     * @param cacheDirectory the directory containing the snapshot files
+     * @param namespace      the namespace of the cache
+     * @throws NullPointerException if the provided {@code cacheDirectory} or {@code namespace} is {@code null}
+     * @throws UncheckedIOException if an error occurred when creating the cache directory
+     */
+    public StoreSnapshotCache(File cacheDirectory, String namespace) {
+        checkNotNull(cacheDirectory, "Cannot create the %s: the provided cache directory is %s",
+                this.getClass().getSimpleName(), cacheDirectory);
+        checkNotNull(namespace, "Cannot create the %s: the provided namespace is %s",
+                this.getClass().getSimpleName(), namespace);
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.cacheDirectory = cacheDirectory;
+        this.namespace = namespace;
+    }
+
+    /**
+     * Returns the directory containing the snapshot files.
+     *
+     * @return the directory containing the snapshot files
+     */
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Installs a {@link QueryStore} on the provided {@code modelResource}, using its snapshot if it exists.
+     * <p>
+     * This method maps the snapshot file of the provided {@code modelKey} if it exists and matches the content of the
+     * {@code modelResource}. Otherwise the store is built from the {@code modelResource} and written to the cache
+     * directory. Errors related to the snapshot files are logged and do not prevent the store from being installed.
+     * If the provided {@link Resource} already has a {@link QueryStore} the existing store is returned.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to store
+     * @param modelKey      the {@link ModelKey} of the model file the {@code modelResource} has been loaded from
+     * @return the {@link QueryStore} attached to the provided {@code modelResource}
+     * @throws NullPointerException if the provided {@code modelResource} or {@code modelKey} is {@code null}
+     */
+    public QueryStore install(Resource modelResource, ModelKey modelKey) {
+        checkNotNull(modelResource, "Cannot install the %s on the provided resource %s",
+                QueryStore.class.getSimpleName(), modelResource);
+        checkNotNull(modelKey, "Cannot install the %s: the provided model key is %s",
+                QueryStore.class.getSimpleName(), modelKey);
+        return QueryStore.install(modelResource, extentIndex -> {
+            String key = namespace + "\n" + modelKey;
+            File snapshotFile = getSnapshotFile(modelKey);
+            if (snapshotFile.exists()) {
+                try {
+                    QueryStore store = StoreSnapshot.open(snapshotFile.toPath(), key, modelResource,
+                            extentIndex.getVersion());
+                    if (nonNull(store)) {
+                        return store;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    Log.warn("Cannot open the snapshot of the model {0} ({1}), building the query store",
+                            modelKey.getCanonicalPath(), e.getMessage());
+                }
+            }
+            QueryStore store = QueryStore.build(modelResource, extentIndex.getVersion());
+            writeSnapshotFile(store, key, snapshotFile);
+            return store;
+        });
+    }
+
+    /**
+     * Writes the provided {@code store} to the given {@code snapshotFile}.
+     * <p>
+     * The content is first written to a temporary file which is then atomically moved to the {@code snapshotFile}
+     * location, ensuring that concurrent readers never see a partially written snapshot file.
+     *
+     * @param store        the {@link QueryStore} to write
+     * @param key          the key of the snapshotted model
+     * @param snapshotFile the {@link File} to write the snapshot to
+     */
+    private void writeSnapshotFile(QueryStore store, String key, File snapshotFile) {
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(cacheDirectory.toPath(), snapshotFile.getName(), ".tmp");
+            StoreSnapshot.write(store, key, temporaryFile);
+            Files.move(temporaryFile, snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            Log.info("Query store snapshot written to {0}", snapshotFile.getAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Cannot write the query store snapshot {0} ({1})", snapshotFile.getAbsolutePath(),
+                    e.getMessage());
+            if (nonNull(temporaryFile)) {
+                temporaryFile.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot {@link File} associated to the provided {@code modelKey}.
+     *
+     * @param modelKey the {@link ModelKey} of the model file to retrieve the snapshot file of
+     * @return the snapshot {@link File}
+     */
+    public File getSnapshotFile(ModelKey modelKey) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+        digest.update(modelKey.toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return new File(cacheDirectory, sb.toString() + "." + SNAPSHOT_EXTENSION);
+    }
+}
@@ -0,0 +1,145 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.plugins.emf.query.StringComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+
+import java.nio.IntBuffer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A dictionary-encoded {@link Column} storing the values of a {@link String} {@link EAttribute}.
+ * <p>
+ * Each distinct value is stored once in the column's dictionary, and rows store the {@code int} code of their value
+ * ({@code -1} for {@code null}). Comparisons are evaluated once per distinct value (see
+ * {@link #select(StringComparator, String)}), which is significantly faster than comparing each row when values
+ * are repeated.
+ */
+public final class StringColumn extends Column {
+
+    /**
+     * The code of the {@code null} value.
+     */
+    private static final int NULL_CODE = -1;
+
+    /**
+     * The distinct values of the column, indexed by their code.
+     */
+    private final String[] dictionary;
+
+    /**
+     * The code of the value of each row.
+     */
+    private final IntBuffer codes;
+
+    /**
+     * Builds the {@link StringColumn} storing the values of the provided {@code eAttribute} for the given
+     * {@code rows}.
+     *
+     * @param eAttribute the {@link String} {@link EAttribute} to store the values of
+     * @param rows       the {@link EObject}s to store the values of
+     * @return the built {@link StringColumn}
+     */
+    static StringColumn build(EAttribute eAttribute, List<EObject> rows) {
+        Map<String, Integer> valueCodes = new HashMap<>();
+        int[] codes = new int[rows.size()];
+        for (int i = 0; i < codes.length; i++) {
+            String value = (String) rows.get(i).eGet(eAttribute);
+            codes[i] = isNull(value) ? NULL_CODE : valueCodes.computeIfAbsent(value, v -> valueCodes.size());
+        }
+        String[] dictionary = new String[valueCodes.size()];
+        valueCodes.forEach((value, code) -> dictionary[code] = value);
+        return new StringColumn(eAttribute, dictionary, IntBuffer.wrap(codes));
+    }
+
+    /**
+     * Constructs a {@link StringColumn} with the provided parameters.
+     *
+     * @param eAttribute the {@link String} {@link EAttribute} stored in the column
+     * @param dictionary the distinct values of the column, indexed by their code
+     * @param codes      the code of the value of each row, or {@code -1} for rows without value
+     */
+    StringColumn(EAttribute eAttribute, String[] dictionary, IntBuffer codes) {
+        super(eAttribute);
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    /**
+     * Returns the value of the provided {@code row}.
+     *
+     * @param row the index of the row
+     * @return the value of the row, or {@code null} if the row does not have a value
+     */
+    public String get(int row) {
+        int code = codes.get(row);
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    /**
+     * Returns the number of distinct values of the column.
+     *
+     * @return the number of distinct values of the column
+     */
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+
+    /**
+     * Returns the distinct values of the column, indexed by their code.
+     *
+     * @return the distinct values of the column
+     */
+    String[] getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the code of the value of each row.
+     *
+     * @return the code of the value of each row
+     */
+    IntBuffer getCodes() {
+        return codes.duplicate();
+    }
+
+    /**
+     * Returns the rows matching the provided {@code comparator} and {@code operand}.
+     * <p>
+     * Rows without value never match (see {@link StringComparator#apply(String, String)}).
+     *
+     * @param comparator the {@link StringComparator} used to compare the values
+     * @param operand    the operand to compare the values with
+     * @return a {@link BitSet} containing the indexes of the matching rows
+     */
+    public BitSet select(StringComparator comparator, String operand) {
+        boolean[] matchingCodes = new boolean[dictionary.length];
+        boolean anyMatch = false;
+        for (int code = 0; code < dictionary.length; code++) {
+            matchingCodes[code] = comparator.apply(dictionary[code], operand);
+            anyMatch |= matchingCodes[code];
+        }
+        int size = codes.limit();
+        BitSet result = new BitSet(size);
+        if (!anyMatch) {
+            return result;
+        }
+        for (int row = 0; row < size; row++) {
+            int code = codes.get(row);
+            if (code != NULL_CODE && matchingCodes[code]) {
+                result.set(row);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return codes.limit();
+    }
+}
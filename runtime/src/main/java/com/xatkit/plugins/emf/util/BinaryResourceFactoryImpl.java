@@ -0,0 +1,32 @@
+package com.xatkit.plugins.emf.util;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+
+/**
+ * A {@link Resource.Factory} creating {@link BinaryResourceImpl}s.
+ * <p>
+ * EMF binary resources are significantly faster to load than their XMI counterparts, and are used by the platform to
+ * load {@code .xmib} files and to cache the content of XMI models (see
+ * {@link com.xatkit.plugins.emf.cache.BinaryModelCache}).
+ */
+public class BinaryResourceFactoryImpl extends ResourceFactoryImpl {
+
+    /**
+     * The file extension associated to EMF binary resources.
+     */
+    public static final String BINARY_EXTENSION = "xmib";
+
+    /**
+     * Creates a {@link BinaryResourceImpl} with the provided {@code uri}.
+     *
+     * @param uri the {@link URI} of the {@link Resource} to create
+     * @return the created {@link BinaryResourceImpl}
+     */
+    @Override
+    public Resource createResource(URI uri) {
+        return new BinaryResourceImpl(uri);
+    }
+}
@@ -1,5 +1,7 @@
 package com.xatkit.plugins.emf.util;
 
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -10,6 +12,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import static java.util.Objects.nonNull;
+
 /**
  * Provides utility methods easing the access and manipulation of EMF resource.
  */
@@ -22,6 +26,10 @@ public class EMFResourceUtils {
      * .equals(eClassName)}. Note that multiple {@link EClass}es with the same name are not supported, as the method
      * may return one or the other.
      * <p>
+     * If the provided {@code metamodelResource} has been indexed (see {@link MetamodelIndex#build(Resource)}) this
+     * method relies on the index to retrieve the {@link EClass} in constant time, and also accepts qualified names.
+     * Otherwise the content of the {@link Resource} is traversed until a matching {@link EClass} is found.
+     * <p>
      * <b>Note</b>: this method assumes that the provided {@code metamodelResource} contains an Ecore metamodel.
      *
      * @param metamodelResource the EMF {@link Resource} containing the metamodel to retrieve the {@link EClass} from
@@ -29,6 +37,10 @@ public class EMFResourceUtils {
      * @return the retrieved {@link EClass} if it exists, {@code null} otherwise
      */
     public static EClass getEClassWithName(Resource metamodelResource, String eClassName) {
+        MetamodelIndex index = MetamodelIndex.getIndex(metamodelResource);
+        if (nonNull(index)) {
+            return index.getEClass(eClassName);
+        }
         Iterable<EObject> iterableContent = metamodelResource::getAllContents;
         Optional<EObject> result = StreamSupport.stream(iterableContent.spliterator(), false).filter(element -> {
             if (element instanceof EClass) {
@@ -40,7 +52,30 @@ public class EMFResourceUtils {
         return (EClass) result.orElse(null);
     }
 
+    /**
+     * Retrieves the {@link EAttribute} matching the provided {@code eAttributeName} in the {@link EClass} with the
+     * given {@code eClassName}.
+     * <p>
+     * This method looks for {@link EAttribute}s defined in the {@link EClass} as well as inherited ones. If the
+     * provided {@code metamodelResource} has been indexed (see {@link MetamodelIndex#build(Resource)}) the
+     * {@link EAttribute} is retrieved in constant time.
+     *
+     * @param metamodelResource the EMF {@link Resource} containing the metamodel to retrieve the {@link EAttribute}
+     *                          from
+     * @param eClassName        the name of the {@link EClass} containing the {@link EAttribute} to retrieve
+     * @param eAttributeName    the name of the {@link EAttribute} to retrieve
+     * @return the retrieved {@link EAttribute} if it exists, {@code null} otherwise
+     * @throws NullPointerException if the provided {@code metamodelResource} does not contain an {@link EClass}
+     *                              matching the provided {@code eClassName}
+     */
     public static EAttribute getEAttribute(Resource metamodelResource, String eClassName, String eAttributeName) {
+        MetamodelIndex index = MetamodelIndex.getIndex(metamodelResource);
+        if (nonNull(index)) {
+            EClass eClass = index.getEClass(eClassName);
+            if (nonNull(eClass)) {
+                return index.getEAttribute(eClass, eAttributeName);
+            }
+        }
         EClass eClass = getEClassWithName(metamodelResource, eClassName);
         Optional<EAttribute> result =
                 eClass.getEAllAttributes().stream().filter(element -> element.getName().equals(eAttributeName)).findAny();
@@ -50,19 +85,38 @@ public class EMFResourceUtils {
     /**
      * Retrieves all the instances of the provided {@code eClass} in the given {@code modelResource}.
      * <p>
-     * This method checks the contained {@link EObject}s of the provided {@code modelResource} using
-     * {@link EClass#isInstance(Object)}.
+     * If the provided {@code modelResource} has been indexed (see {@link ExtentIndex#build(Resource)}) this method
+     * relies on the index to retrieve the instances in {@code O(result size)}. Otherwise it checks the contained
+     * {@link EObject}s of the provided {@code modelResource} using {@link EClass#isInstance(Object)}.
      *
      * @param modelResource the EMF {@link Resource} containing the model to retrieve the instances from
      * @param eClass        the {@link EClass} to retrieve the instances of
      * @return the {@link List} of instances of the provided {@code eClass}
      */
     public static List<EObject> getAllInstancesOfType(Resource modelResource, EClass eClass) {
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        if (nonNull(index)) {
+            return index.getInstances(eClass);
+        }
         Iterable<EObject> iterableContent = modelResource::getAllContents;
         return StreamSupport.stream(iterableContent.spliterator(), false).filter(eClass::isInstance).collect(Collectors.toList());
     }
 
+    /**
+     * Returns the number of elements contained in the provided {@code modelResource}.
+     * <p>
+     * If the provided {@code modelResource} has been indexed (see {@link ExtentIndex#build(Resource)}) this method
+     * returns the size of the index. Otherwise the content of the {@link Resource} is traversed to count its
+     * elements.
+     *
+     * @param modelResource the EMF {@link Resource} to compute the size of
+     * @return the number of elements contained in the provided {@code modelResource}
+     */
     public static long getSize(Resource modelResource) {
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        if (nonNull(index)) {
+            return index.size();
+        }
         Iterable<EObject> iterableContent = modelResource::getAllContents;
         return StreamSupport.stream(iterableContent.spliterator(), false).count();
     }
@@ -0,0 +1,520 @@
+package com.xatkit.plugins.emf.util;
+
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import com.xatkit.plugins.emf.metrics.Counter;
+import com.xatkit.plugins.emf.metrics.Timer;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Scans and filters the content of model {@link Resource}s, optionally in parallel.
+ * <p>
+ * When parallel scanning is enabled, operations on collections larger than the scanner's threshold are split into
+ * fork/join tasks executed in the scanner's {@link ForkJoinPool}:
+ * <ul>
+ * <li>model traversals are split by root element and by first-level subtree</li>
+ * <li>filters over {@link List}s are split into contiguous ranges</li>
+ * </ul>
+ * The results of the tasks are merged in order, meaning that parallel and sequential operations return the same
+ * elements in the same order.
+ * <p>
+ * Note that the models loaded by the {@link com.xatkit.plugins.emf.platform.EMFPlatform} are indexed by an
+ * {@link ExtentIndex}: their instances are retrieved and counted from the index (see
+ * {@link #getAllInstancesOfType(Resource, EClass)} and {@link #countInstancesOfType(Resource, EClass)}), and only the
+ * filters and counts over the retrieved instances are split into tasks. Model traversals are only split for
+ * {@link Resource}s that are not indexed, or when {@link #scan(Resource, Predicate)} is called directly.
+ * <p>
+ * Scanners created with {@link #sequential()} never create tasks and behave like {@link EMFResourceUtils}.
+ * <p>
+ * Scanners record the duration of their scans, filters, and counts, as well as the number of elements they test
+ * and match (see {@link #getScanTimer()}, {@link #getVisitedCounter()}, and {@link #getMatchedCounter()}).
+ */
+public class ModelScanner {
+
+    /**
+     * Returns a {@link ModelScanner} executing all its operations in the calling thread.
+     *
+     * @return a sequential {@link ModelScanner}
+     */
+    public static ModelScanner sequential() {
+        return new ModelScanner(null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The number of batches per thread used to split the first-level subtrees of a root element.
+     * <p>
+     * Using more batches than threads allows to balance the load when subtrees have different sizes.
+     */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    /**
+     * The {@link ForkJoinPool} used to execute the parallel tasks.
+     * <p>
+     * This pool is {@code null} if the scanner is sequential.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The minimum number of elements to process before splitting an operation into parallel tasks.
+     */
+    private final int threshold;
+
+    /**
+     * The {@link Timer} recording the duration of the scans, filters, and counts executed by the scanner.
+     */
+    private final Timer scanTimer = new Timer();
+
+    /**
+     * The {@link Counter} recording the number of elements tested by the scanner.
+     */
+    private final Counter visitedCounter = new Counter();
+
+    /**
+     * The {@link Counter} recording the number of elements matched by the scanner.
+     */
+    private final Counter matchedCounter = new Counter();
+
+    /**
+     * Constructs a parallel {@link ModelScanner} with the provided {@code parallelism} and {@code threshold}.
+     *
+     * @param parallelism the parallelism level of the scanner's {@link ForkJoinPool}
+     * @param threshold   the minimum number of elements to process before splitting an operation into parallel
+     *                    tasks
+     * @throws IllegalArgumentException if the provided {@code parallelism} or {@code threshold} is lower than
+     *                                  {@code 1}
+     */
+    public ModelScanner(int parallelism, int threshold) {
+        this(createPool(parallelism), threshold);
+    }
+
+    /**
+     * Constructs a {@link ModelScanner} with the provided {@code pool} and {@code threshold}.
+     *
+     * @param pool      the {@link ForkJoinPool} used to execute the parallel tasks, or {@code null} to create a
+     *                  sequential scanner
+     * @param threshold the minimum number of elements to process before splitting an operation into parallel tasks
+     * @throws IllegalArgumentException if the provided {@code threshold} is lower than {@code 1}
+     */
+    private ModelScanner(ForkJoinPool pool, int threshold) {
+        checkArgument(threshold > 0, "Cannot create the %s: the threshold must be positive (found %s)",
+                this.getClass().getSimpleName(), threshold);
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Creates a {@link ForkJoinPool} with the provided {@code parallelism}.
+     *
+     * @param parallelism the parallelism level of the pool
+     * @return the created {@link ForkJoinPool}
+     * @throws IllegalArgumentException if the provided {@code parallelism} is lower than {@code 1}
+     */
+    private static ForkJoinPool createPool(int parallelism) {
+        checkArgument(parallelism > 0, "Cannot create the %s: the parallelism must be positive (found %s)",
+                ModelScanner.class.getSimpleName(), parallelism);
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns whether the scanner executes large operations in parallel.
+     *
+     * @return {@code true} if the scanner executes large operations in parallel, {@code false} otherwise
+     */
+    public boolean isParallel() {
+        return nonNull(pool);
+    }
+
+    /**
+     * Retrieves all the instances of the provided {@code eClass} in the given {@code modelResource}.
+     * <p>
+     * If the provided {@code modelResource} has been indexed (see {@link ExtentIndex#build(Resource)}) the instances
+     * are retrieved from the index. Otherwise the content of the {@link Resource} is scanned (see
+     * {@link #scan(Resource, Predicate)}).
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to retrieve the instances from
+     * @param eClass        the {@link EClass} to retrieve the instances of
+     * @return the {@link List} of instances of the provided {@code eClass}
+     * @see EMFResourceUtils#getAllInstancesOfType(Resource, EClass)
+     */
+    public List<EObject> getAllInstancesOfType(Resource modelResource, EClass eClass) {
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        if (nonNull(index)) {
+            return index.getInstances(eClass);
+        }
+        return scan(modelResource, eClass::isInstance);
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code eClass} in the given {@code modelResource}.
+     * <p>
+     * If the provided {@code modelResource} has been indexed (see {@link ExtentIndex#build(Resource)}) the number of
+     * instances is computed from the index metadata. Otherwise the content of the {@link Resource} is traversed
+     * without collecting the instances.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to count the instances from
+     * @param eClass        the {@link EClass} to count the instances of
+     * @return the number of instances of the provided {@code eClass}
+     */
+    public long countInstancesOfType(Resource modelResource, EClass eClass) {
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        if (nonNull(index)) {
+            return index.count(eClass);
+        }
+        return count(modelResource.getAllContents(), eClass::isInstance);
+    }
+
+    /**
+     * Returns the number of instances of the provided {@code eClass} in the given {@code modelResource} matching the
+     * provided {@code predicate}.
+     * <p>
+     * This method does not collect the matching instances. If the scanner is parallel and the {@link Resource}
+     * contains more instances of the {@code eClass} than the scanner's threshold the instances are counted in
+     * parallel tasks.
+     *
+     * @param modelResource the EMF {@link Resource} containing the model to count the instances from
+     * @param eClass        the {@link EClass} to count the instances of
+     * @param predicate     the {@link Predicate} to test the instances with
+     * @return the number of instances of the provided {@code eClass} matching the provided {@code predicate}
+     */
+    public long count(Resource modelResource, EClass eClass, Predicate<EObject> predicate) {
+        long start = scanTimer.start();
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        long result;
+        if (isNull(index)) {
+            Predicate<EObject> isInstance = eClass::isInstance;
+            Counter visited = new Counter();
+            result = count(modelResource.getAllContents(), countVisits(isInstance, visited).and(predicate));
+            record(start, visited.getValue(), result);
+            return result;
+        }
+        if (isParallel() && index.count(eClass) >= threshold) {
+            List<EObject> instances = index.getInstances(eClass);
+            result = pool.submit(() -> instances.parallelStream().filter(predicate).count()).join();
+        } else {
+            result = count(index.iterator(eClass), predicate);
+        }
+        record(start, index.count(eClass), result);
+        return result;
+    }
+
+    /**
+     * Returns the number of elements contained in the provided {@code modelResource}.
+     *
+     * @param modelResource the EMF {@link Resource} to compute the size of
+     * @return the number of elements contained in the provided {@code modelResource}
+     * @see EMFResourceUtils#getSize(Resource)
+     */
+    public long getSize(Resource modelResource) {
+        return EMFResourceUtils.getSize(modelResource);
+    }
+
+    /**
+     * Returns the number of elements of the provided {@code iterator} matching the given {@code predicate}.
+     *
+     * @param iterator  the {@link Iterator} over the elements to count
+     * @param predicate the {@link Predicate} to test the elements with
+     * @return the number of elements matching the provided {@code predicate}
+     */
+    private static long count(Iterator<EObject> iterator, Predicate<EObject> predicate) {
+        long count = 0;
+        while (iterator.hasNext()) {
+            if (predicate.test(iterator.next())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the elements of the provided {@code modelResource} matching the given {@code predicate}.
+     * <p>
+     * The returned elements are ordered according to a pre-order traversal of the {@link Resource}. If the scanner
+     * is parallel the first-level subtrees of each root element are grouped in contiguous batches scanned in
+     * separate tasks.
+     *
+     * @param modelResource the EMF {@link Resource} to scan
+     * @param predicate     the {@link Predicate} to test the elements with
+     * @return the {@link List} of elements matching the provided {@code predicate}
+     */
+    public List<EObject> scan(Resource modelResource, Predicate<EObject> predicate) {
+        long start = scanTimer.start();
+        ExtentIndex index = ExtentIndex.getIndex(modelResource);
+        Counter visited = new Counter();
+        Predicate<EObject> scanPredicate = isNull(index) ? countVisits(predicate, visited) : predicate;
+        List<EObject> result;
+        if (!isParallel() || (nonNull(index) && index.size() < threshold)) {
+            result = new ArrayList<>();
+            for (Iterator<EObject> it = modelResource.getAllContents(); it.hasNext(); ) {
+                EObject eObject = it.next();
+                if (scanPredicate.test(eObject)) {
+                    result.add(eObject);
+                }
+            }
+        } else {
+            result = pool.invoke(new ScanTask(modelResource.getContents(), scanPredicate, true));
+        }
+        record(start, isNull(index) ? visited.getValue() : index.size(), result.size());
+        return result;
+    }
+
+    /**
+     * Returns the elements of the provided {@code elements} matching the given {@code predicate}.
+     * <p>
+     * The returned elements are in the same order as in the provided {@link List}. If the scanner is parallel and
+     * the {@link List} contains more elements than the scanner's threshold it is split into contiguous ranges
+     * filtered in separate tasks.
+     *
+     * @param elements  the {@link List} of elements to filter
+     * @param predicate the {@link Predicate} to test the elements with
+     * @return the {@link List} of elements matching the provided {@code predicate}
+     */
+    public List<EObject> filter(List<EObject> elements, Predicate<EObject> predicate) {
+        long start = scanTimer.start();
+        List<EObject> result;
+        if (!isParallel() || elements.size() < threshold) {
+            result = elements.stream().filter(predicate).collect(Collectors.toList());
+        } else {
+            result = pool.invoke(new FilterTask(elements, 0, elements.size(), predicate, threshold));
+        }
+        record(start, elements.size(), result.size());
+        return result;
+    }
+
+    /**
+     * Returns the {@link Timer} recording the duration of the scans, filters, and counts executed by the scanner.
+     *
+     * @return the {@link Timer} recording the duration of the operations of the scanner
+     */
+    public Timer getScanTimer() {
+        return scanTimer;
+    }
+
+    /**
+     * Returns the {@link Counter} recording the number of elements tested by the scanner.
+     *
+     * @return the {@link Counter} recording the number of elements tested by the scanner
+     */
+    public Counter getVisitedCounter() {
+        return visitedCounter;
+    }
+
+    /**
+     * Returns the {@link Counter} recording the number of elements matched by the scanner.
+     *
+     * @return the {@link Counter} recording the number of elements matched by the scanner
+     */
+    public Counter getMatchedCounter() {
+        return matchedCounter;
+    }
+
+    /**
+     * Records an operation of the scanner started at {@code startNanos}.
+     *
+     * @param startNanos the start time of the operation
+     * @param visited    the number of elements tested by the operation
+     * @param matched    the number of elements matched by the operation
+     */
+    private void record(long startNanos, long visited, long matched) {
+        scanTimer.stop(startNanos);
+        visitedCounter.increment(visited);
+        matchedCounter.increment(matched);
+    }
+
+    /**
+     * Returns a {@link Predicate} incrementing the provided {@code visited} {@link Counter} for each tested element.
+     * <p>
+     * This method is used to count the visited elements of traversals that are not backed by an
+     * {@link ExtentIndex}.
+     *
+     * @param predicate the {@link Predicate} to test the elements with
+     * @param visited   the {@link Counter} to increment
+     * @return the counting {@link Predicate}
+     */
+    private static Predicate<EObject> countVisits(Predicate<EObject> predicate, Counter visited) {
+        return eObject -> {
+            visited.increment();
+            return predicate.test(eObject);
+        };
+    }
+
+    /**
+     * Shuts down the scanner's {@link ForkJoinPool}.
+     */
+    public void shutdown() {
+        if (nonNull(pool)) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A {@link RecursiveTask} scanning a {@link List} of root elements and their content.
+     * <p>
+     * If the task scans the top-level elements of a {@link Resource} each root element is tested in the task, and
+     * its children are split into contiguous batches scanned in separate subtasks. Otherwise the task scans the
+     * content of its elements sequentially.
+     */
+    private static final class ScanTask extends RecursiveTask<List<EObject>> {
+
+        /**
+         * The serialization version of the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The root elements to scan.
+         */
+        private final List<EObject> roots;
+
+        /**
+         * The {@link Predicate} to test the elements with.
+         */
+        private final Predicate<EObject> predicate;
+
+        /**
+         * Whether the task should split the content of its roots in subtasks.
+         */
+        private final boolean split;
+
+        /**
+         * Constructs a {@link ScanTask} with the provided parameters.
+         *
+         * @param roots     the root elements to scan
+         * @param predicate the {@link Predicate} to test the elements with
+         * @param split     whether the task should split the content of its roots in subtasks
+         */
+        private ScanTask(List<EObject> roots, Predicate<EObject> predicate, boolean split) {
+            this.roots = roots;
+            this.predicate = predicate;
+            this.split = split;
+        }
+
+        @Override
+        protected List<EObject> compute() {
+            List<EObject> result = new ArrayList<>();
+            if (split) {
+                for (EObject root : roots) {
+                    if (predicate.test(root)) {
+                        result.add(root);
+                    }
+                    List<EObject> children = new ArrayList<>(root.eContents());
+                    int batchCount = Math.min(children.size(), getPool().getParallelism() * BATCHES_PER_THREAD);
+                    List<ScanTask> subtasks = new ArrayList<>(batchCount);
+                    for (int i = 0; i < batchCount; i++) {
+                        int from = (int) ((long) children.size() * i / batchCount);
+                        int to = (int) ((long) children.size() * (i + 1) / batchCount);
+                        subtasks.add(new ScanTask(children.subList(from, to), predicate, false));
+                    }
+                    ForkJoinTask.invokeAll(subtasks);
+                    for (ScanTask subtask : subtasks) {
+                        result.addAll(subtask.join());
+                    }
+                }
+            } else {
+                for (EObject root : roots) {
+                    if (predicate.test(root)) {
+                        result.add(root);
+                    }
+                    TreeIterator<EObject> it = root.eAllContents();
+                    while (it.hasNext()) {
+                        EObject eObject = it.next();
+                        if (predicate.test(eObject)) {
+                            result.add(eObject);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A {@link RecursiveTask} filtering a range of a {@link List}.
+     * <p>
+     * The task splits its range in two halves until it is smaller than the scanner's threshold.
+     */
+    private static final class FilterTask extends RecursiveTask<List<EObject>> {
+
+        /**
+         * The serialization version of the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The {@link List} to filter.
+         */
+        private final List<EObject> elements;
+
+        /**
+         * The start index (inclusive) of the range to filter.
+         */
+        private final int from;
+
+        /**
+         * The end index (exclusive) of the range to filter.
+         */
+        private final int to;
+
+        /**
+         * The {@link Predicate} to test the elements with.
+         */
+        private final Predicate<EObject> predicate;
+
+        /**
+         * The maximum size of a range filtered without being split.
+         */
+        private final int threshold;
+
+        /**
+         * Constructs a {@link FilterTask} with the provided parameters.
+         *
+         * @param elements  the {@link List} to filter
+         * @param from      the start index (inclusive) of the range to filter
+         * @param to        the end index (exclusive) of the range to filter
+         * @param predicate the {@link Predicate} to test the elements with
+         * @param threshold the maximum size of a range filtered without being split
+         */
+        private FilterTask(List<EObject> elements, int from, int to, Predicate<EObject> predicate, int threshold) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.predicate = predicate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected List<EObject> compute() {
+            if (to - from <= threshold) {
+                List<EObject> result = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    EObject eObject = elements.get(i);
+                    if (predicate.test(eObject)) {
+                        result.add(eObject);
+                    }
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            FilterTask left = new FilterTask(elements, from, middle, predicate, threshold);
+            FilterTask right = new FilterTask(elements, middle, to, predicate, threshold);
+            right.fork();
+            List<EObject> result = left.compute();
+            result.addAll(right.join());
+            return result;
+        }
+    }
+}
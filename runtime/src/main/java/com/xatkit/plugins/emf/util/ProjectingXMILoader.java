@@ -0,0 +1,486 @@
+package com.xatkit.plugins.emf.util;
+
+import com.xatkit.core.XatkitException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Loads a projection of an XMI model containing only the elements a bot needs.
+ * <p>
+ * This loader stream-parses the XMI file with StAX and only instantiates:
+ * <ul>
+ * <li>the instances of the projected {@link EClass}es (and of their subtypes)</li>
+ * <li>the elements on the containment path of these instances</li>
+ * <li>the projected {@link EAttribute}s of the instantiated elements</li>
+ * </ul>
+ * If no {@link EAttribute} is projected all the attributes of the projected {@link EClass}es are loaded. Other
+ * elements are skipped while parsing, and non-containment references are not loaded. The memory used by the
+ * loaded model thus depends on the size of the projection rather than the size of the file.
+ *
+ * @see com.xatkit.plugins.emf.EMFPlatformUtils#PROJECTION_CLASSES_KEY
+ */
+public class ProjectingXMILoader {
+
+    /**
+     * The namespaces of the XMI wrapper elements.
+     */
+    private static final Set<String> XMI_NAMESPACES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("http://www.omg.org/XMI", "http://www.omg.org/spec/XMI/20131001")));
+
+    /**
+     * The {@link org.eclipse.emf.ecore.EPackage.Registry} used to resolve the types of the parsed elements.
+     */
+    private final EPackage.Registry packageRegistry;
+
+    /**
+     * The projected {@link EClass}es.
+     */
+    private final Set<EClass> projectedClasses;
+
+    /**
+     * The projected {@link EAttribute}s.
+     * <p>
+     * All the attributes of the projected {@link EClass}es are loaded if this set is empty.
+     */
+    private final Set<EAttribute> projectedAttributes;
+
+    /**
+     * Caches whether each {@link EClass} conforms to a projected {@link EClass}.
+     */
+    private final Map<EClass, Boolean> projectedClassCache = new ConcurrentHashMap<>();
+
+    /**
+     * The factory used to create the {@link XMLStreamReader}s.
+     */
+    private final XMLInputFactory inputFactory;
+
+    /**
+     * Constructs a {@link ProjectingXMILoader} with the provided parameters.
+     *
+     * @param packageRegistry     the {@link org.eclipse.emf.ecore.EPackage.Registry} used to resolve the types of
+     *                            the parsed elements
+     * @param projectedClasses    the {@link EClass}es to load the instances of
+     * @param projectedAttributes the {@link EAttribute}s to load, or an empty {@link Collection} to load all the
+     *                            attributes of the projected {@link EClass}es
+     * @throws NullPointerException     if one of the provided parameters is {@code null}
+     * @throws IllegalArgumentException if the provided {@code projectedClasses} is empty
+     */
+    public ProjectingXMILoader(EPackage.Registry packageRegistry, Collection<EClass> projectedClasses,
+                               Collection<EAttribute> projectedAttributes) {
+        checkNotNull(packageRegistry, "Cannot create the %s: the provided package registry is null",
+                ProjectingXMILoader.class.getSimpleName());
+        checkNotNull(projectedClasses, "Cannot create the %s: the provided projected classes are null",
+                ProjectingXMILoader.class.getSimpleName());
+        checkNotNull(projectedAttributes, "Cannot create the %s: the provided projected attributes are null",
+                ProjectingXMILoader.class.getSimpleName());
+        checkArgument(!projectedClasses.isEmpty(), "Cannot create the %s: the projection must contain at least one " +
+                "class", ProjectingXMILoader.class.getSimpleName());
+        this.packageRegistry = packageRegistry;
+        this.projectedClasses = Collections.unmodifiableSet(new HashSet<>(projectedClasses));
+        this.projectedAttributes = Collections.unmodifiableSet(new HashSet<>(projectedAttributes));
+        this.inputFactory = XMLInputFactory.newInstance();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * Returns the projected {@link EClass}es.
+     *
+     * @return an unmodifiable {@link Set} containing the projected {@link EClass}es
+     */
+    public Set<EClass> getProjectedClasses() {
+        return projectedClasses;
+    }
+
+    /**
+     * Returns the projected {@link EAttribute}s.
+     *
+     * @return an unmodifiable {@link Set} containing the projected {@link EAttribute}s
+     */
+    public Set<EAttribute> getProjectedAttributes() {
+        return projectedAttributes;
+    }
+
+    /**
+     * Loads the projection of the provided XMI {@code modelFile} in the given {@code resourceSet}.
+     *
+     * @param modelFile   the XMI file to load
+     * @param resourceSet the {@link ResourceSet} used to create the {@link Resource}
+     * @return the {@link Resource} containing the projection of the model
+     * @throws NullPointerException if the provided {@code modelFile} or {@code resourceSet} is {@code null}
+     * @throws XatkitException      if an error occurred when parsing the file, or if it contains an element with an
+     *                              unknown type
+     */
+    public Resource load(File modelFile, ResourceSet resourceSet) {
+        checkNotNull(modelFile, "Cannot load the provided file %s", modelFile);
+        checkNotNull(resourceSet, "Cannot load the file %s in the provided %s %s", modelFile,
+                ResourceSet.class.getSimpleName(), resourceSet);
+        URI modelURI = URI.createFileURI(modelFile.getAbsolutePath());
+        Resource resource = resourceSet.createResource(modelURI);
+        if (isNull(resource)) {
+            /*
+             * The ResourceSet does not have a factory for the file extension.
+             */
+            resource = new XMIResourceImpl(modelURI);
+            resourceSet.getResources().add(resource);
+        }
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(modelFile))) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                parse(reader, resource);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new XatkitException(MessageFormat.format("Cannot load the projection of the model {0}",
+                    modelFile.getAbsolutePath()), e);
+        }
+        return resource;
+    }
+
+    /**
+     * Parses the content of the provided {@code reader} and adds the projected elements to the given
+     * {@code resource}.
+     *
+     * @param reader   the {@link XMLStreamReader} to parse
+     * @param resource the {@link Resource} to add the projected root elements to
+     * @throws XMLStreamException if an error occurred when parsing the XMI content
+     */
+    private void parse(XMLStreamReader reader, Resource resource) throws XMLStreamException {
+        Deque<Frame> stack = new ArrayDeque<>();
+        int skippedDepth = 0;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if (skippedDepth > 0) {
+                        skippedDepth++;
+                    } else {
+                        Frame frame = startElement(reader, stack.peek(), resource);
+                        if (isNull(frame)) {
+                            skippedDepth = 1;
+                        } else {
+                            stack.push(frame);
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if (skippedDepth == 0 && !stack.isEmpty() && nonNull(stack.peek().textAttribute)) {
+                        stack.peek().text.append(reader.getText());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (skippedDepth > 0) {
+                        skippedDepth--;
+                    } else {
+                        Frame frame = stack.pop();
+                        if (nonNull(frame.textAttribute)) {
+                            frame.parent.setAttributeValue(frame.textAttribute, frame.text.toString(), false);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Creates the {@link Frame} of the element starting at the current position of the provided {@code reader}.
+     *
+     * @param reader   the {@link XMLStreamReader} positioned on a start element
+     * @param parent   the {@link Frame} of the parent element, or {@code null} if the element is a root element
+     * @param resource the {@link Resource} to add the projected root elements to
+     * @return the created {@link Frame}, or {@code null} if the element and its content must be skipped
+     */
+    private Frame startElement(XMLStreamReader reader, Frame parent, Resource resource) {
+        if (isNull(parent) || isNull(parent.eClass)) {
+            if (isNull(parent) && XMI_NAMESPACES.contains(reader.getNamespaceURI())) {
+                /*
+                 * XMI wrapper containing multiple root elements.
+                 */
+                return new Frame(null, null, null, resource);
+            }
+            EClass eClass = getXsiType(reader);
+            if (isNull(eClass)) {
+                eClass = resolveEClass(reader.getNamespaceURI(), reader.getLocalName());
+            }
+            return createFrame(reader, eClass, null, null, resource);
+        }
+        EStructuralFeature feature = parent.eClass.getEStructuralFeature(reader.getLocalName());
+        if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+            EClass eClass = getXsiType(reader);
+            if (isNull(eClass)) {
+                eClass = ((EReference) feature).getEReferenceType();
+            }
+            return createFrame(reader, eClass, (EReference) feature, parent, resource);
+        }
+        if (feature instanceof EAttribute && isProjectedAttribute(parent.eClass, (EAttribute) feature)) {
+            Frame textFrame = new Frame(null, null, parent, resource);
+            textFrame.textAttribute = (EAttribute) feature;
+            return textFrame;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the {@link Frame} of an element and reads its projected attributes.
+     * <p>
+     * The element is instantiated (as well as its containment path) if its {@link EClass} is projected.
+     *
+     * @param reader      the {@link XMLStreamReader} positioned on the element
+     * @param eClass      the {@link EClass} of the element
+     * @param containment the containment {@link EReference} of the element, or {@code null} for root elements
+     * @param parent      the {@link Frame} of the parent element
+     * @param resource    the {@link Resource} to add the projected root elements to
+     * @return the created {@link Frame}
+     */
+    private Frame createFrame(XMLStreamReader reader, EClass eClass, EReference containment, Frame parent,
+                              Resource resource) {
+        Frame frame = new Frame(eClass, containment, parent, resource);
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributeNamespace = reader.getAttributeNamespace(i);
+            if (nonNull(attributeNamespace) && !attributeNamespace.isEmpty()) {
+                continue;
+            }
+            EStructuralFeature feature = eClass.getEStructuralFeature(reader.getAttributeLocalName(i));
+            if (feature instanceof EAttribute && isProjectedAttribute(eClass, (EAttribute) feature)) {
+                frame.setAttributeValue((EAttribute) feature, reader.getAttributeValue(i), true);
+            }
+        }
+        if (isProjectedClass(eClass)) {
+            frame.materialize();
+        }
+        return frame;
+    }
+
+    /**
+     * Returns the {@link EClass} referred by the {@code xsi:type} attribute of the current element.
+     *
+     * @param reader the {@link XMLStreamReader} positioned on the element
+     * @return the {@link EClass} referred by the {@code xsi:type} attribute, or {@code null} if the element does not
+     * have a {@code xsi:type} attribute
+     */
+    private EClass getXsiType(XMLStreamReader reader) {
+        String xsiType = reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type");
+        if (isNull(xsiType)) {
+            return null;
+        }
+        int separatorIndex = xsiType.indexOf(':');
+        String prefix = separatorIndex < 0 ? XMLConstants.DEFAULT_NS_PREFIX : xsiType.substring(0, separatorIndex);
+        return resolveEClass(reader.getNamespaceURI(prefix), xsiType.substring(separatorIndex + 1));
+    }
+
+    /**
+     * Resolves the {@link EClass} with the provided {@code name} in the {@link EPackage} with the given
+     * {@code nsURI}.
+     *
+     * @param nsURI the namespace URI of the {@link EPackage} containing the {@link EClass}
+     * @param name  the name of the {@link EClass}
+     * @return the resolved {@link EClass}
+     * @throws XatkitException if the {@link EClass} cannot be resolved
+     */
+    private EClass resolveEClass(String nsURI, String name) {
+        EPackage ePackage = isNull(nsURI) ? null : packageRegistry.getEPackage(nsURI);
+        EClassifier eClassifier = isNull(ePackage) ? null : ePackage.getEClassifier(name);
+        if (!(eClassifier instanceof EClass)) {
+            throw new XatkitException(MessageFormat.format("Cannot resolve the type {0} in the package {1}", name,
+                    nsURI));
+        }
+        return (EClass) eClassifier;
+    }
+
+    /**
+     * Returns whether the provided {@code eClass} conforms to a projected {@link EClass}.
+     *
+     * @param eClass the {@link EClass} to check
+     * @return {@code true} if the provided {@code eClass} conforms to a projected {@link EClass}, {@code false}
+     * otherwise
+     */
+    private boolean isProjectedClass(EClass eClass) {
+        return projectedClassCache.computeIfAbsent(eClass, c -> projectedClasses.stream().anyMatch(projectedClass ->
+                projectedClass == c || projectedClass.isSuperTypeOf(c)));
+    }
+
+    /**
+     * Returns whether the provided {@code eAttribute} of the given {@code eClass} must be loaded.
+     *
+     * @param eClass     the {@link EClass} of the element
+     * @param eAttribute the {@link EAttribute} to check
+     * @return {@code true} if the attribute must be loaded, {@code false} otherwise
+     */
+    private boolean isProjectedAttribute(EClass eClass, EAttribute eAttribute) {
+        if (projectedAttributes.isEmpty()) {
+            return isProjectedClass(eClass);
+        }
+        return projectedAttributes.contains(eAttribute);
+    }
+
+    /**
+     * A parsed element that is instantiated only if it is projected or contains projected elements.
+     */
+    private static final class Frame {
+
+        /**
+         * The {@link EClass} of the element, or {@code null} for XMI wrappers and text frames.
+         */
+        private final EClass eClass;
+
+        /**
+         * The containment {@link EReference} of the element, or {@code null} for root elements.
+         */
+        private final EReference containment;
+
+        /**
+         * The {@link Frame} of the parent element, or {@code null} for root elements.
+         */
+        private final Frame parent;
+
+        /**
+         * The {@link Resource} to add the element to if it is a root element.
+         */
+        private final Resource resource;
+
+        /**
+         * The attribute values read before the element is instantiated.
+         */
+        private Map<EAttribute, List<String>> pendingValues;
+
+        /**
+         * The instantiated element, or {@code null} if the element has not been instantiated.
+         */
+        private EObject eObject;
+
+        /**
+         * The {@link EAttribute} serialized as the text content of the element, or {@code null} if the element is
+         * not an attribute element.
+         */
+        private EAttribute textAttribute;
+
+        /**
+         * The text content of the element.
+         */
+        private final StringBuilder text = new StringBuilder();
+
+        private Frame(EClass eClass, EReference containment, Frame parent, Resource resource) {
+            this.eClass = eClass;
+            this.containment = containment;
+            this.parent = parent;
+            this.resource = resource;
+        }
+
+        /**
+         * Instantiates the element and its containment path.
+         */
+        @SuppressWarnings("unchecked")
+        private void materialize() {
+            if (nonNull(eObject) || isNull(eClass)) {
+                return;
+            }
+            EObject parentEObject = null;
+            if (nonNull(parent) && nonNull(parent.eClass)) {
+                parent.materialize();
+                parentEObject = parent.eObject;
+            }
+            eObject = EcoreUtil.create(eClass);
+            if (nonNull(pendingValues)) {
+                pendingValues.forEach((eAttribute, values) -> values.forEach(value -> setValue(eAttribute, value)));
+                pendingValues = null;
+            }
+            if (isNull(parentEObject)) {
+                resource.getContents().add(eObject);
+            } else if (containment.isMany()) {
+                ((List<EObject>) parentEObject.eGet(containment)).add(eObject);
+            } else {
+                parentEObject.eSet(containment, eObject);
+            }
+        }
+
+        /**
+         * Sets the provided {@code literal} value of the given {@code eAttribute}.
+         * <p>
+         * Values are stored until the element is instantiated if it has not been instantiated yet.
+         *
+         * @param eAttribute  the {@link EAttribute} to set
+         * @param literal     the serialized value to set
+         * @param listLiteral whether the {@code literal} is a whitespace-separated list of values (i.e. a
+         *                    multi-valued attribute serialized as an XML attribute)
+         */
+        private void setAttributeValue(EAttribute eAttribute, String literal, boolean listLiteral) {
+            List<String> values = eAttribute.isMany() && listLiteral ?
+                    Arrays.asList(literal.trim().split("\\s+")) : Collections.singletonList(literal);
+            for (String value : values) {
+                if (eAttribute.isMany() && listLiteral && value.isEmpty()) {
+                    continue;
+                }
+                if (nonNull(eObject)) {
+                    setValue(eAttribute, value);
+                } else {
+                    if (isNull(pendingValues)) {
+                        pendingValues = new LinkedHashMap<>();
+                    }
+                    pendingValues.computeIfAbsent(eAttribute, k -> new ArrayList<>()).add(value);
+                }
+            }
+        }
+
+        /**
+         * Deserializes the provided {@code literal} and sets it as the value of the given {@code eAttribute}.
+         * <p>
+         * The deserialized value is added to the values of the {@code eAttribute} if it is multi-valued.
+         *
+         * @param eAttribute the {@link EAttribute} to set
+         * @param literal    the serialized value to set
+         */
+        @SuppressWarnings("unchecked")
+        private void setValue(EAttribute eAttribute, String literal) {
+            Object value = EcoreUtil.createFromString(eAttribute.getEAttributeType(), literal);
+            if (eAttribute.isMany()) {
+                ((List<Object>) eObject.eGet(eAttribute)).add(value);
+            } else {
+                eObject.eSet(eAttribute, value);
+            }
+        }
+    }
+}
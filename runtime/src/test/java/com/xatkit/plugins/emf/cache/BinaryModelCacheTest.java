@@ -0,0 +1,104 @@
+package com.xatkit.plugins.emf.cache;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryModelCacheTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private EPackage ePackage;
+
+    private File modelFile;
+
+    @Before
+    public void setUp() throws IOException {
+        ResourceSet rSet = createResourceSet();
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        ePackage = (EPackage) metamodelResource.getContents().get(0);
+        modelFile = temporaryFolder.newFile("Project.xmi");
+        Files.copy(new File(EMFPlatformTest.getModelPath()).toPath(), modelFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullDirectory() {
+        new BinaryModelCache(null, "test");
+    }
+
+    @Test
+    public void loadWritesSidecarFile() throws IOException {
+        BinaryModelCache cache = new BinaryModelCache(temporaryFolder.newFolder("cache"), "test");
+        Resource resource = cache.load(modelFile, createModelResourceSet());
+        assertThat(resource).as("Resource is not a binary resource").isNotInstanceOf(BinaryResourceImpl.class);
+        assertThat(cache.getSidecarFile(modelFile)).as("Sidecar file is created").exists();
+    }
+
+    @Test
+    public void loadReadsSidecarFile() throws IOException {
+        BinaryModelCache cache = new BinaryModelCache(temporaryFolder.newFolder("cache"), "test");
+        Resource xmiResource = cache.load(modelFile, createModelResourceSet());
+        Resource binaryResource = cache.load(modelFile, createModelResourceSet());
+        assertThat(binaryResource).as("Resource is loaded from the sidecar file").isInstanceOf(BinaryResourceImpl.class);
+        assertThat(binaryResource.getURI()).as("Resource has the URI of the model file")
+                .isEqualTo(xmiResource.getURI());
+        EObject xmiProject = xmiResource.getContents().get(0);
+        EObject binaryProject = binaryResource.getContents().get(0);
+        assertThat(binaryProject.eClass()).as("Same top-level EClass").isSameAs(xmiProject.eClass());
+        assertThat(binaryProject.eGet(binaryProject.eClass().getEStructuralFeature("name")))
+                .as("Same project name").isEqualTo(xmiProject.eGet(xmiProject.eClass().getEStructuralFeature("name")));
+        assertThat(binaryProject.eContents()).as("Same number of children").hasSameSizeAs(xmiProject.eContents());
+    }
+
+    @Test
+    public void loadModifiedFile() throws IOException {
+        BinaryModelCache cache = new BinaryModelCache(temporaryFolder.newFolder("cache"), "test");
+        File sidecarFile = cache.getSidecarFile(modelFile);
+        Files.write(modelFile.toPath(), "\n".getBytes(), StandardOpenOption.APPEND);
+        assertThat(cache.getSidecarFile(modelFile)).as("Modified file has a different sidecar file")
+                .isNotEqualTo(sidecarFile);
+    }
+
+    @Test
+    public void loadDifferentNamespace() throws IOException {
+        File cacheDirectory = temporaryFolder.newFolder("cache");
+        BinaryModelCache cache1 = new BinaryModelCache(cacheDirectory, "test1");
+        BinaryModelCache cache2 = new BinaryModelCache(cacheDirectory, "test2");
+        assertThat(cache1.getSidecarFile(modelFile)).as("Different namespaces use different sidecar files")
+                .isNotEqualTo(cache2.getSidecarFile(modelFile));
+    }
+
+    private ResourceSet createResourceSet() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        return rSet;
+    }
+
+    private ResourceSet createModelResourceSet() {
+        ResourceSet rSet = createResourceSet();
+        rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+        return rSet;
+    }
+}
@@ -0,0 +1,373 @@
+package com.xatkit.plugins.emf.cache;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ModelCacheTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ResourceSet rSet;
+
+    private ModelCache cache;
+
+    @Before
+    public void setUp() {
+        rSet = new ResourceSetImpl();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidMaxEntries() {
+        cache = new ModelCache(0, Long.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidMaxWeight() {
+        cache = new ModelCache(1, 0);
+    }
+
+    @Test
+    public void getSameKeyTwice() throws IOException {
+        cache = new ModelCache(2, Long.MAX_VALUE);
+        ModelKey key = ModelKey.of(temporaryFolder.newFile("model.xmi"));
+        Resource first = cache.get(key, this::createResource);
+        Resource second = cache.get(key, this::createResource);
+        assertThat(second).as("Cached resource is returned").isSameAs(first);
+        assertThat(cache.getMissCount()).as("One miss").isEqualTo(1);
+        assertThat(cache.getHitCount()).as("One hit").isEqualTo(1);
+    }
+
+    @Test
+    public void getEvictLeastRecentlyUsed() throws IOException {
+        cache = new ModelCache(2, Long.MAX_VALUE);
+        ModelKey key1 = ModelKey.of(temporaryFolder.newFile("model1.xmi"));
+        ModelKey key2 = ModelKey.of(temporaryFolder.newFile("model2.xmi"));
+        ModelKey key3 = ModelKey.of(temporaryFolder.newFile("model3.xmi"));
+        Resource resource1 = cache.get(key1, this::createResource);
+        Resource resource2 = cache.get(key2, this::createResource);
+        cache.get(key1, this::createResource);
+        cache.get(key3, this::createResource);
+        assertThat(cache.size()).as("Cache size is bounded").isEqualTo(2);
+        assertThat(cache.getEvictionCount()).as("One eviction").isEqualTo(1);
+        assertThat(resource2.isLoaded()).as("Least recently used resource is unloaded").isFalse();
+        assertThat(rSet.getResources()).as("Evicted resource is removed from the resource set")
+                .doesNotContain(resource2).contains(resource1);
+    }
+
+    @Test
+    public void getEvictExceedingWeight() throws IOException {
+        cache = new ModelCache(10, ModelCache.ESTIMATED_ELEMENT_WEIGHT);
+        ModelKey key1 = ModelKey.of(temporaryFolder.newFile("model1.xmi"));
+        ModelKey key2 = ModelKey.of(temporaryFolder.newFile("model2.xmi"));
+        cache.get(key1, this::createResource);
+        cache.get(key2, this::createResource);
+        assertThat(cache.size()).as("Cache weight is bounded").isEqualTo(1);
+        assertThat(cache.getWeight()).as("Valid cache weight").isEqualTo(ModelCache.ESTIMATED_ELEMENT_WEIGHT);
+    }
+
+    @Test
+    public void getModifiedFile() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        File file = temporaryFolder.newFile("model.xmi");
+        Resource first = cache.get(ModelKey.of(file), this::createResource);
+        Files.write(file.toPath(), "modified".getBytes());
+        Resource second = cache.get(ModelKey.of(file), this::createResource);
+        assertThat(second).as("New version is loaded").isNotSameAs(first);
+        assertThat(cache.size()).as("Previous version is evicted").isEqualTo(1);
+        assertThat(first.isLoaded()).as("Previous version is unloaded").isFalse();
+    }
+
+    @Test
+    public void getModifiedFileKeepPreviousVersions() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE, false);
+        File file = temporaryFolder.newFile("model.xmi");
+        Resource first = cache.get(ModelKey.of(file), this::createResource);
+        Files.write(file.toPath(), "modified".getBytes());
+        Resource second = cache.get(ModelKey.of(file), this::createResource);
+        assertThat(second).as("New version is loaded").isNotSameAs(first);
+        assertThat(cache.size()).as("Previous version is evicted").isEqualTo(1);
+        assertThat(first.isLoaded()).as("Previous version is not unloaded").isTrue();
+    }
+
+    @Test
+    public void getNotifiesEvictionListeners() throws IOException {
+        cache = new ModelCache(1, Long.MAX_VALUE);
+        List<Resource> notified = new ArrayList<>();
+        cache.addEvictionListener(resource -> {
+            assertThat(resource.isLoaded()).as("Listener is notified before the resource is unloaded").isTrue();
+            notified.add(resource);
+        });
+        Resource resource1 = cache.get(ModelKey.of(temporaryFolder.newFile("model1.xmi")), this::createResource);
+        File file = temporaryFolder.newFile("model2.xmi");
+        ModelHandle handle = cache.acquire(ModelKey.of(file), this::createResource);
+        assertThat(notified).as("Evicted resource is notified").containsExactly(resource1);
+        Files.write(file.toPath(), "modified".getBytes());
+        cache.get(ModelKey.of(file), this::createResource);
+        assertThat(notified).as("Replaced resource is notified").containsExactly(resource1, handle.getResource());
+    }
+
+    @Test
+    public void reloadServesPreviousVersion() throws Exception {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        File file = temporaryFolder.newFile("model.xmi");
+        Resource first = cache.get(ModelKey.of(file), this::createResource);
+        Files.write(file.toPath(), "modified".getBytes());
+        ModelKey newKey = ModelKey.of(file);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Resource> reload = executor.submit(() -> cache.reload(newKey, k -> {
+                loadStarted.countDown();
+                try {
+                    loadReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return createResource(k);
+            }));
+            loadStarted.await();
+            Resource served = cache.get(newKey, k -> {
+                throw new XatkitException("The model should not be loaded");
+            });
+            assertThat(served).as("Previous version is served during the reload").isSameAs(first);
+            loadReleased.countDown();
+            Resource reloaded = reload.get();
+            assertThat(reloaded).as("New version is loaded").isNotSameAs(first);
+            assertThat(cache.get(newKey, this::createResource)).as("New version is published").isSameAs(reloaded);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.size()).as("Previous version is evicted").isEqualTo(1);
+        assertThat(first.isLoaded()).as("Previous version is not unloaded").isTrue();
+    }
+
+    @Test
+    public void getUnloadsOutsideOfTheLock() throws Exception {
+        cache = new ModelCache(1, Long.MAX_VALUE);
+        CountDownLatch unloadStarted = new CountDownLatch(1);
+        CountDownLatch unloadReleased = new CountDownLatch(1);
+        Resource slowResource = cache.get(ModelKey.of(temporaryFolder.newFile("model1.xmi")), key -> {
+            Resource resource = new ResourceImpl(URI.createFileURI(key.getCanonicalPath())) {
+                @Override
+                protected void doUnload() {
+                    unloadStarted.countDown();
+                    try {
+                        unloadReleased.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    super.doUnload();
+                }
+            };
+            resource.getContents().add(EcoreFactory.eINSTANCE.createEObject());
+            return resource;
+        });
+        ModelKey key2 = ModelKey.of(temporaryFolder.newFile("model2.xmi"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Resource> evictingGet = executor.submit(() -> cache.get(key2, this::createResource));
+            unloadStarted.await();
+            assertThat(cache.get(key2, this::createResource)).as("Cache is accessible during the unload")
+                    .isNotNull();
+            assertThat(cache.size()).as("Evicted resource is removed before it is unloaded").isEqualTo(1);
+            unloadReleased.countDown();
+            evictingGet.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(slowResource.isLoaded()).as("Evicted resource is unloaded").isFalse();
+    }
+
+    @Test
+    public void reloadLoaderThrowsException() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        File file = temporaryFolder.newFile("model.xmi");
+        Resource first = cache.get(ModelKey.of(file), this::createResource);
+        Files.write(file.toPath(), "modified".getBytes());
+        assertThatThrownBy(() -> cache.reload(ModelKey.of(file), k -> {
+            throw new XatkitException("Loading error");
+        })).as("Loader exception is propagated").isInstanceOf(XatkitException.class);
+        assertThat(cache.size()).as("Previous version is still cached").isEqualTo(1);
+        assertThat(first.isLoaded()).as("Previous version is not unloaded").isTrue();
+    }
+
+    @Test
+    public void getConcurrentSameKey() throws Exception {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        ModelKey key = ModelKey.of(temporaryFolder.newFile("model.xmi"));
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Resource>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return cache.get(key, k -> {
+                        loadCount.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return createResource(k);
+                    });
+                }));
+            }
+            startLatch.countDown();
+            Resource first = futures.get(0).get();
+            for (Future<Resource> future : futures) {
+                assertThat(future.get()).as("All the callers share the same resource").isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loadCount.get()).as("The model is loaded once").isEqualTo(1);
+        assertThat(cache.getMissCount()).as("One miss").isEqualTo(1);
+    }
+
+    @Test
+    public void getLoaderThrowsException() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        ModelKey key = ModelKey.of(temporaryFolder.newFile("model.xmi"));
+        assertThatThrownBy(() -> cache.get(key, k -> {
+            throw new XatkitException("Loading error");
+        })).as("Loader exception is propagated").isInstanceOf(XatkitException.class);
+        Resource resource = cache.get(key, this::createResource);
+        assertThat(resource).as("The model can be loaded after a failure").isNotNull();
+    }
+
+    @Test
+    public void acquireRelease() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        ModelKey key = ModelKey.of(temporaryFolder.newFile("model.xmi"));
+        ModelHandle first = cache.acquire(key, this::createResource);
+        ModelHandle second = cache.acquire(key, this::createResource);
+        assertThat(second.getResource()).as("Handles share the cached resource").isSameAs(first.getResource());
+        assertThat(cache.getReferenceCount(key)).as("Two references").isEqualTo(2);
+        assertThat(cache.getHandleCount()).as("Two handles").isEqualTo(2);
+        first.release();
+        first.release();
+        assertThat(first.isReleased()).as("Handle is released").isTrue();
+        assertThat(cache.getReferenceCount(key)).as("Release is idempotent").isEqualTo(1);
+        second.release();
+        assertThat(cache.getReferenceCount(key)).as("No reference").isEqualTo(0);
+        assertThat(cache.size()).as("Released resource is still cached").isEqualTo(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getResourceReleasedHandle() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        ModelHandle handle = cache.acquire(ModelKey.of(temporaryFolder.newFile("model.xmi")), this::createResource);
+        handle.release();
+        handle.getResource();
+    }
+
+    @Test
+    public void acquirePinnedResourceNotEvicted() throws IOException {
+        cache = new ModelCache(1, Long.MAX_VALUE);
+        ModelHandle handle = cache.acquire(ModelKey.of(temporaryFolder.newFile("model1.xmi")), this::createResource);
+        Resource resource2 = cache.get(ModelKey.of(temporaryFolder.newFile("model2.xmi")), this::createResource);
+        assertThat(handle.getResource().isLoaded()).as("Pinned resource is not unloaded").isTrue();
+        assertThat(cache.size()).as("Pinned resource is still cached").isEqualTo(2);
+        assertThat(cache.getPinnedOverflowCount()).as("Overflow is recorded").isEqualTo(1);
+        handle.release();
+        assertThat(handle.getKey()).as("Key is available after release").isNotNull();
+        assertThat(cache.size()).as("Released resource is evicted").isEqualTo(1);
+        assertThat(resource2.isLoaded()).as("Most recently used resource is not unloaded").isTrue();
+    }
+
+    @Test
+    public void acquireReleasesIdleHandles() throws IOException, InterruptedException {
+        cache = new ModelCache(1, Long.MAX_VALUE, true, 1);
+        ModelHandle handle1 = cache.acquire(ModelKey.of(temporaryFolder.newFile("model1.xmi")), this::createResource);
+        Resource resource1 = handle1.getResource();
+        Thread.sleep(20);
+        ModelHandle handle2 = cache.acquire(ModelKey.of(temporaryFolder.newFile("model2.xmi")), this::createResource);
+        assertThat(handle1.isReleased()).as("Idle handle is released").isTrue();
+        assertThat(handle2.isReleased()).as("Acquired handle is not released").isFalse();
+        assertThat(cache.getExpiredHandleCount()).as("Expired handle is recorded").isEqualTo(1);
+        assertThat(cache.size()).as("Idle resource is evicted").isEqualTo(1);
+        assertThat(resource1.isLoaded()).as("Idle resource is unloaded").isFalse();
+        assertThat(cache.getPinnedOverflowCount()).as("No overflow").isEqualTo(0);
+    }
+
+    @Test
+    public void acquireModifiedFileUnloadedOnRelease() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        File file = temporaryFolder.newFile("model.xmi");
+        ModelHandle handle = cache.acquire(ModelKey.of(file), this::createResource);
+        Resource first = handle.getResource();
+        Files.write(file.toPath(), "modified".getBytes());
+        Resource second = cache.get(ModelKey.of(file), this::createResource);
+        assertThat(second).as("New version is loaded").isNotSameAs(first);
+        assertThat(cache.size()).as("Previous version is evicted").isEqualTo(1);
+        assertThat(first.isLoaded()).as("Referenced previous version is not unloaded").isTrue();
+        handle.release();
+        assertThat(first.isLoaded()).as("Previous version is unloaded after its last release").isFalse();
+        assertThat(second.isLoaded()).as("New version is not unloaded").isTrue();
+    }
+
+    @Test
+    public void clear() throws IOException {
+        cache = new ModelCache(10, Long.MAX_VALUE);
+        Resource resource = cache.get(ModelKey.of(temporaryFolder.newFile("model.xmi")), this::createResource);
+        cache.clear();
+        assertThat(cache.size()).as("Cache is empty").isEqualTo(0);
+        assertThat(resource.isLoaded()).as("Resource is unloaded").isFalse();
+    }
+
+    @Test
+    public void evictIndexedResource() throws IOException {
+        cache = new ModelCache(1, Long.MAX_VALUE);
+        Resource resource = cache.get(ModelKey.of(temporaryFolder.newFile("model1.xmi")), key -> {
+            Resource created = createResource(key);
+            InternalEList<EObject> contents = (InternalEList<EObject>) created.getContents();
+            for (int i = 0; i < 200000; i++) {
+                contents.addUnique(EcoreFactory.eINSTANCE.createEObject());
+            }
+            return created;
+        });
+        ExtentIndex index = ExtentIndex.build(resource);
+        cache.get(ModelKey.of(temporaryFolder.newFile("model2.xmi")), this::createResource);
+        assertThat(resource.isLoaded()).as("Evicted resource is unloaded").isFalse();
+        assertThat(resource.eAdapters()).as("Index is detached from the evicted resource").doesNotContain(index);
+        assertThat(index.size()).as("Index is cleared").isEqualTo(0);
+    }
+
+    private Resource createResource(ModelKey key) {
+        Resource resource = new ResourceImpl(URI.createFileURI(key.getCanonicalPath()));
+        rSet.getResources().add(resource);
+        resource.getContents().add(EcoreFactory.eINSTANCE.createEObject());
+        return resource;
+    }
+}
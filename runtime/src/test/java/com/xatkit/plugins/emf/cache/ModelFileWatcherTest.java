@@ -0,0 +1,94 @@
+package com.xatkit.plugins.emf.cache;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModelFileWatcherTest extends AbstractXatkitTest {
+
+    private static final Function<ModelKey, Resource> FAILING_LOADER = key -> {
+        throw new XatkitException("The model should not be loaded");
+    };
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ModelCache cache;
+
+    private ModelFileWatcher watcher;
+
+    @Before
+    public void setUp() {
+        cache = new ModelCache(10, Long.MAX_VALUE, false);
+    }
+
+    @After
+    public void tearDown() {
+        if (nonNull(watcher)) {
+            watcher.close();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullModelCache() {
+        watcher = new ModelFileWatcher(null, this::createResource, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNegativeDebounce() {
+        watcher = new ModelFileWatcher(cache, this::createResource, -1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void watchNullFile() {
+        watcher = new ModelFileWatcher(cache, this::createResource, 0);
+        watcher.watch(null);
+    }
+
+    @Test
+    public void watchModifiedFile() throws Exception {
+        watcher = new ModelFileWatcher(cache, this::createResource, 0);
+        File file = temporaryFolder.newFile("model.xmi");
+        Resource first = cache.get(ModelKey.of(file), this::createResource);
+        watcher.watch(file);
+        assertThat(watcher.isWatched(file)).as("File is watched").isTrue();
+        Files.write(file.toPath(), "modified".getBytes());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (watcher.getReloadCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(watcher.getReloadCount()).as("Model is reloaded").isEqualTo(1);
+        Resource reloaded = cache.get(ModelKey.of(file), FAILING_LOADER);
+        assertThat(reloaded).as("New version is published").isNotSameAs(first);
+        assertThat(first.isLoaded()).as("Previous version is not unloaded").isTrue();
+    }
+
+    @Test
+    public void watchNotWatchedFile() throws IOException {
+        watcher = new ModelFileWatcher(cache, this::createResource, 0);
+        assertThat(watcher.isWatched(temporaryFolder.newFile("model.xmi"))).as("File is not watched").isFalse();
+    }
+
+    private Resource createResource(ModelKey key) {
+        Resource resource = new ResourceImpl(URI.createFileURI(key.getCanonicalPath()));
+        resource.getContents().add(EcoreFactory.eINSTANCE.createEObject());
+        return resource;
+    }
+}
@@ -0,0 +1,169 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import com.xatkit.plugins.emf.query.NumericalComparator;
+import com.xatkit.plugins.emf.query.SortDirection;
+import com.xatkit.plugins.emf.query.StringComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AttributeIndexTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private EClass taskEClass;
+
+    private EAttribute descriptionEAttribute;
+
+    private EAttribute daysEAttribute;
+
+    private Resource modelResource;
+
+    private EObject task1;
+
+    private EObject task2;
+
+    private EObject task3;
+
+    private EObject task4;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        taskEClass = fixture.getTaskEClass();
+        descriptionEAttribute = fixture.getDescriptionEAttribute();
+        daysEAttribute = fixture.getDaysEAttribute();
+        modelResource = fixture.getModelResource();
+        task1 = fixture.createTask("write the report", 4);
+        task2 = fixture.createTask("review the report", 2);
+        task3 = fixture.createTask("write the tests", 4);
+        task4 = fixture.createTask(null, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildNotIndexableAttribute() {
+        EAttribute dateEAttribute = (EAttribute) taskEClass.getEStructuralFeature("date");
+        AttributeIndex.build(taskEClass, dateEAttribute, ModelOrderedList.empty(), 0);
+    }
+
+    @Test
+    public void lookupStringEquals() {
+        AttributeIndex index = buildIndex(descriptionEAttribute);
+        assertThat(index.size()).as("null values are not indexed").isEqualTo(3);
+        assertThat(index.lookup(StringComparator.EQUALS, "write the tests")).as("Found the matching task")
+                .containsExactly(task3);
+        assertThat(index.lookup(StringComparator.EQUALS, "unknown")).as("No task found").isEmpty();
+    }
+
+    @Test
+    public void lookupStringStartsWith() {
+        AttributeIndex index = buildIndex(descriptionEAttribute);
+        assertThat(index.lookup(StringComparator.STARTS_WITH, "write")).as("Found the matching tasks")
+                .containsExactly(task1, task3);
+        assertThat(index.lookup(StringComparator.STARTS_WITH, "")).as("Empty prefix matches all the tasks in model "
+                + "order").containsExactly(task1, task2, task3);
+        assertThat(index.lookup(StringComparator.STARTS_WITH, "zzz")).as("No task found").isEmpty();
+    }
+
+    @Test
+    public void lookupStringContainsNotSupported() {
+        AttributeIndex index = buildIndex(descriptionEAttribute);
+        assertThat(index.lookup(StringComparator.CONTAINS, "report")).as("Contains is not supported").isNull();
+        assertThat(index.lookup(NumericalComparator.EQUALS, 4)).as("Numerical lookup is not supported").isNull();
+    }
+
+    @Test
+    public void lookupNumerical() {
+        AttributeIndex index = buildIndex(daysEAttribute);
+        assertThat(index.lookup(NumericalComparator.EQUALS, 4)).as("Found the tasks equal to 4")
+                .containsExactly(task1, task3);
+        assertThat(index.lookup(NumericalComparator.GREATER_THAN, 4)).as("Found the tasks greater than 4")
+                .containsExactly(task4);
+        assertThat(index.lookup(NumericalComparator.LOWER_THAN, 4)).as("Found the tasks lower than 4")
+                .containsExactly(task2);
+        assertThat(index.lookup(NumericalComparator.GREATER_THAN, 0)).as("Found the tasks greater than 0 in model "
+                + "order").containsExactly(task1, task2, task3, task4);
+        assertThat(index.lookup(NumericalComparator.LOWER_THAN, 0)).as("No task found").isEmpty();
+        assertThat(index.lookup(StringComparator.EQUALS, "4")).as("String lookup is not supported").isNull();
+    }
+
+    @Test
+    public void lookupUnionInModelOrder() {
+        AttributeIndex descriptionIndex = buildIndex(descriptionEAttribute);
+        AttributeIndex daysIndex = buildIndex(daysEAttribute);
+        ModelOrderedList union = ModelOrderedList.union(Arrays.asList(
+                descriptionIndex.lookup(StringComparator.STARTS_WITH, "review"),
+                daysIndex.lookup(NumericalComparator.GREATER_THAN, 3),
+                daysIndex.lookup(NumericalComparator.EQUALS, 4)));
+        assertThat(union).as("Candidates of the different indexes are merged in model order without duplicates")
+                .containsExactly(task1, task2, task3, task4);
+        assertThat(ModelOrderedList.union(Arrays.asList(ModelOrderedList.empty(),
+                daysIndex.lookup(NumericalComparator.LOWER_THAN, 3)))).as("Empty candidates are ignored")
+                .containsExactly(task2);
+    }
+
+    @Test
+    public void iteratorAscending() {
+        AttributeIndex index = buildIndex(daysEAttribute);
+        assertThat(index.iterator(SortDirection.ASCENDING)).as("Tasks are sorted by ascending days")
+                .containsExactly(task2, task1, task3, task4);
+    }
+
+    @Test
+    public void iteratorDescendingKeepsModelOrderOfEqualValues() {
+        AttributeIndex index = buildIndex(daysEAttribute);
+        assertThat(index.iterator(SortDirection.DESCENDING)).as("Tasks are sorted by descending days")
+                .containsExactly(task4, task1, task3, task2);
+        assertThat(buildIndex(descriptionEAttribute).iterator(SortDirection.DESCENDING)).as("null values are not " +
+                "returned").containsExactly(task3, task1, task2);
+    }
+
+    @Test
+    public void managerBuildsDeclaredIndexes() {
+        AttributeIndexManager manager = AttributeIndexManager.install(modelResource,
+                Collections.singletonList(new AttributeIndexManager.IndexKey(taskEClass, daysEAttribute)), 0);
+        assertThat(AttributeIndexManager.getManager(modelResource)).as("Manager is attached to the resource")
+                .isSameAs(manager);
+        assertThat(manager.isIndexed(taskEClass, daysEAttribute)).as("Declared index is built").isTrue();
+        assertThat(manager.getIndex(taskEClass, descriptionEAttribute)).as("Non-declared index is not built")
+                .isNull();
+    }
+
+    @Test
+    public void managerBuildsIndexOnDemand() {
+        AttributeIndexManager manager = AttributeIndexManager.install(modelResource, Collections.emptyList(), 2);
+        assertThat(manager.getIndex(taskEClass, descriptionEAttribute)).as("Index is not built after the first " +
+                "lookup").isNull();
+        assertThat(manager.getIndex(taskEClass, descriptionEAttribute)).as("Index is built after the second " +
+                "lookup").isNotNull();
+        assertThat(manager.getIndexCount()).as("A single index is built").isEqualTo(1);
+    }
+
+    @Test
+    public void managerRebuildsOutdatedIndex() {
+        AttributeIndexManager manager = AttributeIndexManager.install(modelResource,
+                Collections.singletonList(new AttributeIndexManager.IndexKey(taskEClass, daysEAttribute)), 0);
+        AttributeIndex index = manager.getIndex(taskEClass, daysEAttribute);
+        task2.eSet(daysEAttribute, 10);
+        AttributeIndex updatedIndex = manager.getIndex(taskEClass, daysEAttribute);
+        assertThat(updatedIndex).as("Index is rebuilt").isNotSameAs(index);
+        List<EObject> result = updatedIndex.lookup(NumericalComparator.GREATER_THAN, 7);
+        assertThat(result).as("Updated value is indexed").containsExactly(task2);
+    }
+
+    private AttributeIndex buildIndex(EAttribute eAttribute) {
+        return AttributeIndex.build(taskEClass, eAttribute,
+                ExtentIndex.build(modelResource).getNumberedInstances(taskEClass), 0);
+    }
+}
@@ -0,0 +1,193 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExtentIndexTest extends AbstractXatkitTest {
+
+    private MetamodelIndex metamodelIndex;
+
+    private Resource modelResource;
+
+    @Before
+    public void setUp() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        EPackage ePackage = (EPackage) metamodelResource.getContents().get(0);
+        rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+        metamodelIndex = MetamodelIndex.build(metamodelResource);
+        modelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getModelPath()), true);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void buildNullResource() {
+        ExtentIndex.build(null);
+    }
+
+    @Test
+    public void buildValidResource() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        assertThat(ExtentIndex.getIndex(modelResource)).as("Index is attached to the resource").isSameAs(index);
+        assertThat(index.size()).as("All the elements are indexed").isEqualTo(4);
+    }
+
+    @Test
+    public void removeFromResource() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        long version = index.getVersion();
+        modelResource.eAdapters().remove(index);
+        assertThat(ExtentIndex.getIndex(modelResource)).as("Index is detached from the resource").isNull();
+        assertThat(index.size()).as("Index is cleared").isEqualTo(0);
+        assertThat(index.getVersion()).as("Version is incremented").isGreaterThan(version);
+        modelResource.getAllContents().forEachRemaining(eObject -> assertThat(eObject.eAdapters())
+                .as("Index is removed from the content").doesNotContain(index));
+    }
+
+    @Test
+    public void getInstancesConcreteEClass() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        List<EObject> instances = index.getInstances(metamodelIndex.getEClass("Task"));
+        assertThat(instances).as("Found the tasks").hasSize(2);
+    }
+
+    @Test
+    public void getInstancesAbstractEClass() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        List<EObject> instances = index.getInstances(metamodelIndex.getEClass("TaskUnit"));
+        assertThat(instances).as("Found the instances of the subtypes").hasSize(2);
+    }
+
+    @Test
+    public void getInstancesEObject() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        List<EObject> instances = index.getInstances(EcorePackage.eINSTANCE.getEObject());
+        assertThat(instances).as("Found all the elements").hasSize(4);
+    }
+
+    @Test
+    public void getDirectInstances() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        assertThat(index.getEClasses()).as("Found the concrete EClasses").containsExactly(
+                metamodelIndex.getEClass("Project"), metamodelIndex.getEClass("Task"),
+                metamodelIndex.getEClass("Human"));
+        assertThat(index.getDirectInstances(metamodelIndex.getEClass("Task"))).as("Found the tasks").hasSize(2);
+        assertThat(index.getDirectInstances(metamodelIndex.getEClass("TaskUnit"))).as("Abstract EClass does not " +
+                "have direct instances").isEmpty();
+    }
+
+    @Test
+    public void getInstancesAfterAdd() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        EObject project = modelResource.getContents().get(0);
+        EObject newTask = EcoreUtil.create(taskEClass);
+        getTasks(project).add(newTask);
+        assertThat(index.getInstances(taskEClass)).as("New task is indexed").hasSize(3).contains(newTask);
+        assertThat(index.size()).as("Size is updated").isEqualTo(5);
+    }
+
+    @Test
+    public void getInstancesAfterRemove() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        EObject project = modelResource.getContents().get(0);
+        EObject removedTask = getTasks(project).remove(0);
+        assertThat(index.getInstances(taskEClass)).as("Removed task is not indexed").hasSize(1)
+                .doesNotContain(removedTask);
+        assertThat(index.size()).as("Size is updated").isEqualTo(3);
+    }
+
+    @Test
+    public void getInstancesInModelOrder() {
+        EObject project = modelResource.getContents().get(0);
+        EObject milestone = EcoreUtil.create(metamodelIndex.getEClass("Milestone"));
+        getTasks(project).add(1, milestone);
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        EClass taskUnitEClass = metamodelIndex.getEClass("TaskUnit");
+        List<EObject> scanned = new ArrayList<>();
+        modelResource.getAllContents().forEachRemaining(scanned::add);
+        assertThat(index.getInstances(EcorePackage.eINSTANCE.getEObject())).as("Elements are returned in model order")
+                .containsExactlyElementsOf(scanned);
+        assertThat(index.getInstances(taskUnitEClass)).as("Subtype instances are merged in model order")
+                .containsExactly(getTasks(project).get(0), milestone, getTasks(project).get(2));
+        List<EObject> iterated = new ArrayList<>();
+        index.iterator(taskUnitEClass).forEachRemaining(iterated::add);
+        assertThat(iterated).as("Iterator merges the instances in model order").containsExactlyElementsOf(
+                index.getInstances(taskUnitEClass));
+        assertThat(index.getAllNumberedInstances()).as("All the elements are returned in model order")
+                .containsExactlyElementsOf(scanned);
+    }
+
+    @Test
+    public void getInstancesAfterMove() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        EList<EObject> tasks = getTasks(modelResource.getContents().get(0));
+        EObject movedTask = tasks.remove(0);
+        tasks.add(movedTask);
+        assertThat(index.getInstances(taskEClass)).as("Moved task is indexed once, after the other task")
+                .containsExactly(tasks.get(0), movedTask);
+        assertThat(index.size()).as("Size is unchanged").isEqualTo(4);
+    }
+
+    @Test
+    public void getInstancesAfterRemoveMany() {
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        EList<EObject> tasks = getTasks(modelResource.getContents().get(0));
+        for (int i = 0; i < 100_000; i++) {
+            ((InternalEList<EObject>) tasks).addUnique(EcoreUtil.create(taskEClass));
+        }
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        assertThat(index.count(taskEClass)).as("Tasks are indexed").isEqualTo(100_002);
+        tasks.clear();
+        assertThat(index.getInstances(taskEClass)).as("Removed tasks are not indexed").isEmpty();
+        assertThat(index.size()).as("Size is updated").isEqualTo(2);
+    }
+
+    @Test
+    public void iteratorReturnsInstances() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        EClass taskUnitEClass = metamodelIndex.getEClass("TaskUnit");
+        List<EObject> iterated = new ArrayList<>();
+        index.iterator(taskUnitEClass).forEachRemaining(iterated::add);
+        assertThat(iterated).as("Iterator returns the instances").containsExactlyElementsOf(index.getInstances(
+                taskUnitEClass));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorAfterRemove() {
+        ExtentIndex index = ExtentIndex.build(modelResource);
+        Iterator<EObject> iterator = index.iterator(metamodelIndex.getEClass("Task"));
+        iterator.next();
+        getTasks(modelResource.getContents().get(0)).remove(1);
+        iterator.hasNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    private EList<EObject> getTasks(EObject project) {
+        return (EList<EObject>) project.eGet(project.eClass().getEStructuralFeature("tasks"));
+    }
+}
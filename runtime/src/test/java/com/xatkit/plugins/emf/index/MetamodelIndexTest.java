@@ -0,0 +1,75 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetamodelIndexTest extends AbstractXatkitTest {
+
+    private Resource metamodelResource;
+
+    @Before
+    public void setUp() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void buildNullResource() {
+        MetamodelIndex.build(null);
+    }
+
+    @Test
+    public void buildValidResource() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        assertThat(index).as("Index is not null").isNotNull();
+        assertThat(MetamodelIndex.getIndex(metamodelResource)).as("Index is attached to the resource").isSameAs(index);
+        assertThat(MetamodelIndex.build(metamodelResource)).as("Existing index is reused").isSameAs(index);
+    }
+
+    @Test
+    public void getEClassSimpleName() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        EClass eClass = index.getEClass("Task");
+        assertThat(eClass).as("EClass found").isNotNull();
+        assertThat(eClass.getName()).as("Valid EClass name").isEqualTo("Task");
+    }
+
+    @Test
+    public void getEClassQualifiedName() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        EClass eClass = index.getEClass("projectManager#Task");
+        assertThat(eClass).as("EClass found").isSameAs(index.getEClass("Task"));
+    }
+
+    @Test
+    public void getEClassInvalidName() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        assertThat(index.getEClass("INVALID")).as("No EClass found").isNull();
+    }
+
+    @Test
+    public void getInheritedEAttribute() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        EAttribute eAttribute = index.getEAttribute("Task", "description");
+        assertThat(eAttribute).as("Inherited EAttribute found").isNotNull();
+        assertThat(eAttribute.getEContainingClass().getName()).as("Valid containing EClass").isEqualTo("TaskUnit");
+    }
+
+    @Test
+    public void getEAttributeInvalidName() {
+        MetamodelIndex index = MetamodelIndex.build(metamodelResource);
+        assertThat(index.getEAttribute("Task", "INVALID")).as("No EAttribute found").isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReverseReferenceIndexTest extends AbstractXatkitTest {
+
+    private MetamodelIndex metamodelIndex;
+
+    private Resource modelResource;
+
+    private EClass taskEClass;
+
+    private EReference nextEReference;
+
+    private EReference resourcesEReference;
+
+    @Before
+    public void setUp() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        EPackage ePackage = (EPackage) metamodelResource.getContents().get(0);
+        rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+        metamodelIndex = MetamodelIndex.build(metamodelResource);
+        modelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getModelPath()), true);
+        taskEClass = metamodelIndex.getEClass("Task");
+        nextEReference = (EReference) metamodelIndex.getEClass("TaskUnit").getEStructuralFeature("next");
+        resourcesEReference = (EReference) taskEClass.getEStructuralFeature("resources");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void installNullResource() {
+        ReverseReferenceIndex.install(null);
+    }
+
+    @Test
+    public void installValidResource() {
+        ReverseReferenceIndex index = ReverseReferenceIndex.install(modelResource);
+        assertThat(ReverseReferenceIndex.getIndex(modelResource)).as("Index is attached to the resource")
+                .isSameAs(index);
+        assertThat(ReverseReferenceIndex.install(modelResource)).as("Existing index is returned").isSameAs(index);
+        assertThat(index.size()).as("All the elements are indexed").isEqualTo(4);
+        assertThat(ExtentIndex.getIndex(modelResource)).as("Extent index is built").isNotNull();
+    }
+
+    @Test
+    public void getSourcesOfTarget() {
+        ReverseReferenceIndex index = ReverseReferenceIndex.install(modelResource);
+        List<EObject> tasks = getTasks();
+        EObject human = modelResource.getContents().get(0).eContents().get(2);
+        int[] nextSources = index.getSources(nextEReference, index.getId(tasks.get(0)));
+        assertThat(nextSources).as("t1 is referenced by t2").containsExactly(index.getId(tasks.get(1)));
+        assertThat(index.getSources(nextEReference, index.getId(tasks.get(1)))).as("t2 is not referenced").isEmpty();
+        assertThat(index.getSources(resourcesEReference, index.getId(human))).as("Human is referenced by t1")
+                .containsExactly(index.getId(tasks.get(0)));
+        assertThat(index.getEObject(nextSources[0])).as("Identifier is resolved").isSameAs(tasks.get(1));
+    }
+
+    @Test
+    public void getSourcesOfTargetCollection() {
+        ReverseReferenceIndex index = ReverseReferenceIndex.install(modelResource);
+        List<EObject> tasks = getTasks();
+        assertThat(index.getSources(nextEReference, tasks, taskEClass)).as("Found the task referencing t1")
+                .containsExactly(tasks.get(1));
+        assertThat(index.getSources(nextEReference, tasks, metamodelIndex.getEClass("Milestone")))
+                .as("Sources are filtered by EClass").isEmpty();
+        assertThat(index.getSources(nextEReference, Collections.emptyList(), taskEClass)).as("No target").isEmpty();
+    }
+
+    @Test
+    public void getIndexModifiedModel() {
+        ReverseReferenceIndex index = ReverseReferenceIndex.install(modelResource);
+        List<EObject> tasks = getTasks();
+        getNext(tasks.get(0)).add(tasks.get(1));
+        ReverseReferenceIndex rebuiltIndex = ReverseReferenceIndex.getIndex(modelResource);
+        assertThat(rebuiltIndex).as("Outdated index is rebuilt").isNotSameAs(index);
+        assertThat(rebuiltIndex.getSources(nextEReference, tasks, taskEClass)).as("Sources are ordered by " +
+                "identifier").containsExactly(tasks.get(0), tasks.get(1));
+        assertThat(rebuiltIndex.getSources(nextEReference, Arrays.asList(tasks.get(1)), taskEClass))
+                .as("Found the new source").containsExactly(tasks.get(0));
+    }
+
+    private List<EObject> getTasks() {
+        return ExtentIndex.build(modelResource).getInstances(taskEClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EList<EObject> getNext(EObject task) {
+        return (EList<EObject>) task.eGet(nextEReference);
+    }
+}
@@ -0,0 +1,114 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import com.xatkit.plugins.emf.query.StringComparator;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramIndexTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private EClass taskEClass;
+
+    private EAttribute descriptionEAttribute;
+
+    private Resource modelResource;
+
+    private EObject task1;
+
+    private EObject task2;
+
+    private EObject task3;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        taskEClass = fixture.getTaskEClass();
+        descriptionEAttribute = fixture.getDescriptionEAttribute();
+        modelResource = fixture.getModelResource();
+        task1 = fixture.createTask("write the report", 0);
+        task2 = fixture.createTask("review the report", 0);
+        task3 = fixture.createTask("write the tests", 0);
+        fixture.createTask(null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildNotIndexableAttribute() {
+        EAttribute daysEAttribute = (EAttribute) taskEClass.getEStructuralFeature("days");
+        TrigramIndex.build(taskEClass, daysEAttribute, ModelOrderedList.empty(), 0);
+    }
+
+    @Test
+    public void buildValidAttribute() {
+        TrigramIndex index = buildIndex();
+        assertThat(index.size()).as("Null values are not indexed").isEqualTo(3);
+        assertThat(index.getTrigramCount()).as("Trigrams are indexed").isGreaterThan(0);
+    }
+
+    @Test
+    public void lookupContains() {
+        TrigramIndex index = buildIndex();
+        assertThat(index.lookup("report")).as("Found the matching tasks in model order").containsExactly(task1,
+                task2);
+        assertThat(index.lookup("the")).as("Found all the tasks").containsExactly(task1, task2, task3);
+        assertThat(index.lookup("missing")).as("No task found").isEmpty();
+        assertThat(index.lookup("wr")).as("Short values are not supported").isNull();
+    }
+
+    @Test
+    public void lookupContainsReturnsCandidates() {
+        TrigramIndex index = buildIndex();
+        /*
+         * task1 and task3 contain the trigrams " th", "the", "he " and "e t", but not "the the".
+         */
+        assertThat(index.lookup("the the")).as("Candidates contain all the trigrams").containsExactly(task1,
+                task3);
+        assertThat(StringComparator.CONTAINS.apply((String) task1.eGet(descriptionEAttribute), "the the"))
+                .as("Candidate does not contain the value").isFalse();
+    }
+
+    @Test
+    public void lookupContainsMatchesScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                builder.append((char) ('a' + random.nextInt(4)));
+            }
+            fixture.createTask(builder.toString(), 0);
+        }
+        TrigramIndex index = buildIndex();
+        for (String value : new String[]{"abc", "aaaa", "dcbad", "abcdabcd"}) {
+            List<EObject> expected = new ArrayList<>();
+            for (EObject task : modelResource.getContents()) {
+                if (StringComparator.CONTAINS.apply((String) task.eGet(descriptionEAttribute), value)) {
+                    expected.add(task);
+                }
+            }
+            List<EObject> candidates = new ArrayList<>(index.lookup(value));
+            assertThat(candidates).as("Candidates contain all the matching tasks (%s)", value)
+                    .containsAll(expected);
+            candidates.removeIf(task -> !StringComparator.CONTAINS.apply((String) task.eGet(descriptionEAttribute),
+                    value));
+            assertThat(candidates).as("Verified candidates are the matching tasks in model order (%s)", value)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    private TrigramIndex buildIndex() {
+        return TrigramIndex.build(taskEClass, descriptionEAttribute,
+                ExtentIndex.build(modelResource).getNumberedInstances(taskEClass), 0);
+    }
+}
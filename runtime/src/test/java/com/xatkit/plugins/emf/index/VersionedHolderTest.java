@@ -0,0 +1,87 @@
+package com.xatkit.plugins.emf.index;
+
+import com.xatkit.AbstractXatkitTest;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionedHolderTest extends AbstractXatkitTest {
+
+    private Resource modelResource;
+
+    private AtomicInteger buildCount;
+
+    @Before
+    public void setUp() {
+        modelResource = new ResourceImpl(URI.createURI("test"));
+        modelResource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+        buildCount = new AtomicInteger();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void installNullResource() {
+        VersionedHolder.install(null, String.class, this::build);
+    }
+
+    @Test
+    public void installReturnsExistingValue() {
+        String value = VersionedHolder.install(modelResource, String.class, this::build);
+        assertThat(VersionedHolder.install(modelResource, String.class, this::build)).as("Existing value is returned")
+                .isSameAs(value);
+        assertThat(VersionedHolder.getValue(modelResource, String.class)).as("Value is attached to the resource")
+                .isSameAs(value);
+        assertThat(VersionedHolder.getValue(modelResource, Integer.class)).as("No value of another type").isNull();
+        assertThat(buildCount).as("Value is built once").hasValue(1);
+    }
+
+    @Test
+    public void getValueRebuildsOutdatedValue() {
+        String value = VersionedHolder.install(modelResource, String.class, extentIndex -> "snapshot", this::build);
+        assertThat(value).as("Initial value is built with the initial builder").isEqualTo("snapshot");
+        modelResource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+        assertThat(VersionedHolder.getValue(modelResource, String.class)).as("Outdated value is rebuilt")
+                .isEqualTo("2");
+        assertThat(VersionedHolder.getValue(modelResource, String.class)).as("Up-to-date value is not rebuilt")
+                .isEqualTo("2");
+        assertThat(buildCount).as("Value is rebuilt once").hasValue(1);
+    }
+
+    @Test
+    public void installConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> installs = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                installs.add(() -> VersionedHolder.install(modelResource, String.class, this::build));
+            }
+            List<Future<String>> values = executor.invokeAll(installs);
+            for (Future<String> value : values) {
+                assertThat(value.get()).as("All the installations return the same value")
+                        .isSameAs(values.get(0).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(buildCount).as("Value is built once").hasValue(1);
+        assertThat(modelResource.eAdapters().stream().filter(VersionedHolder.class::isInstance).count())
+                .as("A single holder is attached").isEqualTo(1);
+    }
+
+    private String build(ExtentIndex extentIndex) {
+        buildCount.incrementAndGet();
+        return Long.toString(extentIndex.size());
+    }
+}
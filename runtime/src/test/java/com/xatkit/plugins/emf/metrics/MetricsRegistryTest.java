@@ -0,0 +1,64 @@
+package com.xatkit.plugins.emf.metrics;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsRegistryTest extends AbstractXatkitTest {
+
+    private MetricsRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerInvalidName() {
+        registry.counter("invalid name", "help");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerDuplicatedName() {
+        registry.counter("test_total", "help");
+        registry.timer("test_total", "help");
+    }
+
+    @Test
+    public void getSamples() {
+        Counter counter = registry.counter("test_total", "A counter");
+        Timer timer = registry.timer("test_seconds", "A timer");
+        registry.register("test_gauge", "A gauge", new Gauge(() -> 42, false));
+        counter.increment(3);
+        timer.record(TimeUnit.MILLISECONDS.toNanos(500));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(1500));
+        Map<String, Number> samples = registry.getSamples();
+        assertThat(samples).as("Counter sample").containsEntry("test_total", 3L);
+        assertThat(samples).as("Timer count sample").containsEntry("test_seconds_count", 2L);
+        assertThat(samples).as("Timer sum sample").containsEntry("test_seconds_sum", 2.0);
+        assertThat(samples).as("Timer max sample").containsEntry("test_seconds_max", 1.5);
+        assertThat(samples).as("Gauge sample").containsEntry("test_gauge", 42L);
+        assertThat(registry.getMetric("test_total")).as("Registered metric is returned").isSameAs(counter);
+    }
+
+    @Test
+    public void toPrometheusText() {
+        registry.counter("test_total", "A counter").increment();
+        registry.timer("test_seconds", "A timer").record(TimeUnit.SECONDS.toNanos(1));
+        assertThat(registry.toPrometheusText()).as("Valid Prometheus text").isEqualTo(
+                "# HELP test_total A counter\n" +
+                        "# TYPE test_total counter\n" +
+                        "test_total 1\n" +
+                        "# HELP test_seconds A timer\n" +
+                        "# TYPE test_seconds summary\n" +
+                        "test_seconds_count 1\n" +
+                        "test_seconds_sum 1.0\n" +
+                        "# TYPE test_seconds_max gauge\n" +
+                        "test_seconds_max 1.0\n");
+    }
+}
@@ -4,18 +4,29 @@ import com.xatkit.AbstractXatkitTest;
 import com.xatkit.core.XatkitCore;
 import com.xatkit.core.XatkitException;
 import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.stats.ModelStatistics;
+import com.xatkit.plugins.emf.store.QueryStore;
+import com.xatkit.plugins.emf.store.StoreSnapshotCache;
 import com.xatkit.stubs.StubXatkitCore;
 import org.apache.commons.configuration2.BaseConfiguration;
 import org.apache.commons.configuration2.Configuration;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
 
@@ -38,6 +49,9 @@ public class EMFPlatformTest extends AbstractXatkitTest {
         }
     }
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private EMFPlatform emfPlatform;
 
     @After
@@ -69,6 +83,31 @@ public class EMFPlatformTest extends AbstractXatkitTest {
         this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidDeclaredIndex() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.INDEX_ATTRIBUTES_KEY, "Task.INVALID");
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidProjectedClass() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.PROJECTION_CLASSES_KEY, "INVALID");
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+    }
+
+    @Test
+    public void getModelResourceProjection() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.PROJECTION_CLASSES_KEY, "Task");
+        configuration.addProperty(EMFPlatformUtils.PROJECTION_ATTRIBUTES_KEY, "Task.days");
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        Resource resource = emfPlatform.getModelResource(getModelPath());
+        assertThat(emfPlatform.getModelScanner().getSize(resource)).as("Only the tasks and their container are " +
+                "loaded").isEqualTo(3);
+    }
+
     @Test
     public void constructExistingMetamodelFile() {
         String metamodelPath = getMetamodelPath();
@@ -83,6 +122,61 @@ public class EMFPlatformTest extends AbstractXatkitTest {
         assertThat(ePackage.getNsURI()).as("Valid EPackage nsURI").isEqualTo("projectManager");
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void constructUnknownRegisteredMetamodel() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(EMFPlatformUtils.METAMODEL_NSURI_KEY, "unknown");
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void constructInvalidMetamodelPackageClass() {
+        Configuration configuration = new BaseConfiguration();
+        configuration.addProperty(EMFPlatformUtils.METAMODEL_PACKAGE_CLASS_KEY, "invalid.PackageClass");
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+    }
+
+    @Test
+    public void constructRegisteredMetamodel() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        EPackage ePackage = (EPackage) rSet.getResource(URI.createFileURI(getMetamodelPath()), true)
+                .getContents().get(0);
+        EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+        try {
+            Configuration configuration = new BaseConfiguration();
+            configuration.addProperty(EMFPlatformUtils.METAMODEL_NSURI_KEY, ePackage.getNsURI());
+            this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+            assertThat(emfPlatform.getMetamodelResource().getContents()).as("Metamodel resource contains the " +
+                    "registered EPackage").containsExactly(ePackage);
+            assertThat(emfPlatform.getMetamodelIndex().getEClass("Task")).as("Metamodel is indexed").isNotNull();
+            Resource modelResource = emfPlatform.getModelResource(getModelPath());
+            assertThat(modelResource.getContents().get(0).eClass().getEPackage()).as("Model is an instance of the " +
+                    "registered EPackage").isSameAs(ePackage);
+        } finally {
+            EPackage.Registry.INSTANCE.remove(ePackage.getNsURI());
+        }
+    }
+
+    @Test
+    public void constructMetamodelSnapshotEnabled() throws IOException {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.METAMODEL_SNAPSHOT_ENABLED_KEY, true);
+        configuration.addProperty(EMFPlatformUtils.BINARY_CACHE_DIRECTORY_KEY,
+                temporaryFolder.newFolder("cache").getAbsolutePath());
+        EMFPlatform firstPlatform = new EMFPlatform(xatkitCore, configuration);
+        assertThat(firstPlatform.getMetamodelResource()).as("First start parses the metamodel file")
+                .isNotInstanceOf(BinaryResourceImpl.class);
+        firstPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        assertThat(emfPlatform.getMetamodelResource()).as("Second start reads the metamodel snapshot")
+                .isInstanceOf(BinaryResourceImpl.class);
+        assertThat(emfPlatform.getMetamodelIndex().getEClass("Task")).as("Metamodel is indexed").isNotNull();
+        Resource modelResource = emfPlatform.getModelResource(getModelPath());
+        assertThat(modelResource.getContents().get(0).eClass().getName()).as("Top-level element is an instance of " +
+                "Project").isEqualTo("Project");
+    }
+
     @Test(expected = NullPointerException.class)
     public void getModelResourceNullResource() {
         this.emfPlatform = getValidEMFPlatform();
@@ -106,6 +200,66 @@ public class EMFPlatformTest extends AbstractXatkitTest {
                 "Project");
     }
 
+    @Test
+    public void getModelResourceTwiceReturnsCachedResource() {
+        this.emfPlatform = getValidEMFPlatform();
+        Resource first = emfPlatform.getModelResource(getModelPath());
+        Resource second = emfPlatform.getModelResource(getModelPath());
+        assertThat(second).as("Cached resource is returned").isSameAs(first);
+        assertThat(emfPlatform.getModelCache().getHitCount()).as("Cache hit is recorded").isEqualTo(1);
+    }
+
+    @Test
+    public void getModelResourceBinaryCacheEnabled() throws IOException {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.BINARY_CACHE_ENABLED_KEY, true);
+        configuration.addProperty(EMFPlatformUtils.BINARY_CACHE_DIRECTORY_KEY,
+                temporaryFolder.newFolder("cache").getAbsolutePath());
+        EMFPlatform firstPlatform = new EMFPlatform(xatkitCore, configuration);
+        Resource xmiResource = firstPlatform.getModelResource(getModelPath());
+        assertThat(xmiResource).as("First load parses the XMI file").isNotInstanceOf(BinaryResourceImpl.class);
+        firstPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        Resource binaryResource = emfPlatform.getModelResource(getModelPath());
+        assertThat(binaryResource).as("Second load reads the binary cache").isInstanceOf(BinaryResourceImpl.class);
+        assertThat(binaryResource.getContents().get(0).eClass().getName()).as("Top-level element is an instance of " +
+                "Project").isEqualTo("Project");
+    }
+
+    @Test
+    public void getModelResourceQueryStoreSnapshotEnabled() throws IOException {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.QUERY_STORE_ENABLED_KEY, true);
+        configuration.addProperty(EMFPlatformUtils.QUERY_STORE_SNAPSHOT_ENABLED_KEY, true);
+        File cacheDirectory = temporaryFolder.newFolder("cache");
+        configuration.addProperty(EMFPlatformUtils.BINARY_CACHE_DIRECTORY_KEY, cacheDirectory.getAbsolutePath());
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        Resource modelResource = emfPlatform.getModelResource(getModelPath());
+        assertThat(QueryStore.getStore(modelResource)).as("Query store is installed").isNotNull();
+        assertThat(cacheDirectory.listFiles((dir, name) -> name.endsWith("." +
+                StoreSnapshotCache.SNAPSHOT_EXTENSION))).as("Snapshot file is written").hasSize(1);
+    }
+
+    @Test
+    public void getModelResourceWatchEnabled() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.WATCH_ENABLED_KEY, true);
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        emfPlatform.getModelResource(getModelPath());
+        assertThat(emfPlatform.getModelFileWatcher()).as("Model file watcher is created").isNotNull();
+        assertThat(emfPlatform.getModelFileWatcher().isWatched(new File(getModelPath()))).as("Model file is watched")
+                .isTrue();
+    }
+
+    @Test
+    public void getModelResourceStatisticsEnabled() {
+        Configuration configuration = buildConfiguration();
+        configuration.addProperty(EMFPlatformUtils.STATISTICS_ENABLED_KEY, true);
+        this.emfPlatform = new EMFPlatform(xatkitCore, configuration);
+        Resource modelResource = emfPlatform.getModelResource(getModelPath());
+        assertThat(ModelStatistics.getStatistics(modelResource)).as("Statistics are collected").isNotNull();
+    }
+
     private EMFPlatform getValidEMFPlatform() {
         this.emfPlatform = new EMFPlatform(xatkitCore, buildConfiguration());
         return emfPlatform;
@@ -0,0 +1,70 @@
+package com.xatkit.plugins.emf.platform;
+
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+
+public class TaskModelFixture {
+
+    private final MetamodelIndex metamodelIndex;
+
+    private final EClass taskEClass;
+
+    private final EAttribute descriptionEAttribute;
+
+    private final EAttribute daysEAttribute;
+
+    private final Resource modelResource;
+
+    public TaskModelFixture() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        this.metamodelIndex = MetamodelIndex.build(metamodelResource);
+        this.taskEClass = metamodelIndex.getEClass("Task");
+        this.descriptionEAttribute = metamodelIndex.getEAttribute(taskEClass, "description");
+        this.daysEAttribute = metamodelIndex.getEAttribute(taskEClass, "days");
+        this.modelResource = new ResourceImpl(URI.createURI("test"));
+    }
+
+    public MetamodelIndex getMetamodelIndex() {
+        return metamodelIndex;
+    }
+
+    public EClass getTaskEClass() {
+        return taskEClass;
+    }
+
+    public EAttribute getDescriptionEAttribute() {
+        return descriptionEAttribute;
+    }
+
+    public EAttribute getDaysEAttribute() {
+        return daysEAttribute;
+    }
+
+    public Resource getModelResource() {
+        return modelResource;
+    }
+
+    public EObject newTask(String description, int days) {
+        EObject task = EcoreUtil.create(taskEClass);
+        task.eSet(descriptionEAttribute, description);
+        task.eSet(daysEAttribute, days);
+        return task;
+    }
+
+    public EObject createTask(String description, int days) {
+        EObject task = newTask(description, days);
+        modelResource.getContents().add(task);
+        return task;
+    }
+}
@@ -0,0 +1,80 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.apache.commons.configuration2.Configuration;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CountInstancesTest extends AbstractEMFActionTest {
+
+    @Test(expected = NullPointerException.class)
+    public void computeNotLoadedModel() {
+        new CountInstances(emfPlatform, createValidXatkitSession(), "Task").compute();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void computeInvalidClassName() {
+        new CountInstances(emfPlatform, loadModel(), "INVALID").compute();
+    }
+
+    @Test
+    public void computeCountInstances() {
+        XatkitSession session = loadModel();
+        assertThat(new CountInstances(emfPlatform, session, "Task").compute()).as("Counted the tasks").isEqualTo(2L);
+        assertThat(new CountInstances(emfPlatform, session, "TaskUnit").compute()).as("Counted the instances of the " +
+                "subtypes").isEqualTo(2L);
+    }
+
+    @Test
+    public void computeCountInstancesSelect() {
+        XatkitSession session = loadModel();
+        assertThat(new CountInstancesSelect(emfPlatform, session, "Task", startsWithAndGreaterThanQuery("and"))
+                .compute()).as("Counted the matching task").isEqualTo(1L);
+        assertThat(new CountInstancesSelect(emfPlatform, session, "Task", startsWithAndGreaterThanQuery("or"))
+                .compute()).as("Counted the matching tasks").isEqualTo(2L);
+    }
+
+    @Test
+    public void computeCountInstancesSelectIndexed() {
+        Configuration indexConfiguration = EMFPlatformTest.buildConfiguration();
+        indexConfiguration.addProperty(EMFPlatformUtils.INDEX_ATTRIBUTES_KEY, "Task.description, Task.days");
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, indexConfiguration);
+        XatkitSession session = loadModel();
+        assertThat(new CountInstancesSelect(emfPlatform, session, "Task", startsWithAndGreaterThanQuery("and"))
+                .compute()).as("Counted the matching task").isEqualTo(1L);
+        assertThat(new CountInstancesSelect(emfPlatform, session, "Task", startsWithAndGreaterThanQuery("or"))
+                .compute()).as("Counted the matching tasks").isEqualTo(2L);
+    }
+
+    private Map<String, Object> startsWithAndGreaterThanQuery(String composition) {
+        Map<String, Object> stringCondition = new HashMap<>();
+        stringCondition.put("StringAttribute", "description");
+        stringCondition.put("StringComparator", "starts with");
+        Map<String, Object> numericalCondition = new HashMap<>();
+        numericalCondition.put("NumericalAttribute", "days");
+        numericalCondition.put("NumericalComparator", "greater than");
+        numericalCondition.put("number", "3");
+        Map<String, Object> queryMap = new HashMap<>();
+        queryMap.put("condition1", stringCondition);
+        queryMap.put("stringValue1", "this is the");
+        queryMap.put("condition2", numericalCondition);
+        queryMap.put("conditionComposition", composition);
+        return queryMap;
+    }
+
+    private XatkitSession loadModel() {
+        XatkitSession session = createValidXatkitSession();
+        LoadModel loadModelAction = new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath());
+        loadModelAction.compute();
+        return session;
+    }
+}
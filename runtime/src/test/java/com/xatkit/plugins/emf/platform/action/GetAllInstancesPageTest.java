@@ -0,0 +1,140 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.XatkitException;
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import com.xatkit.plugins.emf.query.QueryCursor;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GetAllInstancesPageTest extends AbstractEMFActionTest {
+
+    private static String VALID_ECLASS_NAME = "Task";
+
+    private static Map<String, Object> DEFAULT_QUERY_MAP = new HashMap<>();
+
+    private GetAllInstancesPage action;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNullPageSize() {
+        action = new GetAllInstancesPage(emfPlatform, createValidXatkitSession(), VALID_ECLASS_NAME,
+                DEFAULT_QUERY_MAP, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroPageSize() {
+        action = new GetAllInstancesPage(emfPlatform, createValidXatkitSession(), VALID_ECLASS_NAME,
+                DEFAULT_QUERY_MAP, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void computeNotLoadedModel() {
+        action = new GetAllInstancesPage(emfPlatform, createValidXatkitSession(), VALID_ECLASS_NAME,
+                DEFAULT_QUERY_MAP, 1);
+        action.compute();
+    }
+
+    @Test
+    public void computeEmptyQueryPages() {
+        XatkitSession session = loadModel();
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, DEFAULT_QUERY_MAP, 1);
+        List<EObject> firstPage = (List<EObject>) action.compute();
+        assertThat(firstPage).as("First page contains 1 element").hasSize(1);
+        assertThat(session.get(EMFPlatformUtils.CURSOR_SESSION_KEY)).as("Cursor is stored in the session")
+                .isInstanceOf(QueryCursor.class);
+        List<EObject> secondPage = (List<EObject>) new NextPage(emfPlatform, session).compute();
+        assertThat(secondPage).as("Second page contains 1 element").hasSize(1);
+        assertThat(secondPage.get(0)).as("Second page contains another element").isNotSameAs(firstPage.get(0));
+        List<EObject> thirdPage = (List<EObject>) new NextPage(emfPlatform, session).compute();
+        assertThat(thirdPage).as("Third page is empty").isEmpty();
+    }
+
+    @Test
+    public void computeStringConditionPages() {
+        XatkitSession session = loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        Map<String, Object> conditionMap = new HashMap<>();
+        conditionMap.put("StringAttribute", "description");
+        conditionMap.put("StringComparator", "starts with");
+        queryMap.put("condition1", conditionMap);
+        queryMap.put("stringValue1", "this is the first");
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, queryMap, 10);
+        List<EObject> firstPage = (List<EObject>) action.compute();
+        assertThat(firstPage).as("First page contains the matching element").hasSize(1);
+        List<EObject> secondPage = (List<EObject>) new NextPage(emfPlatform, session).compute();
+        assertThat(secondPage).as("Second page is empty").isEmpty();
+    }
+
+    @Test
+    public void computeLimitedPages() {
+        XatkitSession session = loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        queryMap.put("limit", 1);
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, queryMap, 10);
+        List<EObject> firstPage = (List<EObject>) action.compute();
+        assertThat(firstPage).as("First page contains a single element").hasSize(1);
+        List<EObject> secondPage = (List<EObject>) new NextPage(emfPlatform, session).compute();
+        assertThat(secondPage).as("Second page is empty").isEmpty();
+    }
+
+    @Test
+    public void computeSortedPages() {
+        XatkitSession session = loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        Map<String, Object> resultClause = new HashMap<>();
+        resultClause.put("Attribute", "id");
+        resultClause.put("SortDirection", "descending");
+        queryMap.put("resultClause", resultClause);
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, queryMap, 1);
+        List<EObject> firstPage = (List<EObject>) action.compute();
+        assertThat(firstPage).as("First page contains 1 element").hasSize(1);
+        assertThat(firstPage.get(0).eGet(firstPage.get(0).eClass().getEStructuralFeature("id"))).as("First page " +
+                "contains the last task").isEqualTo("t2");
+        List<EObject> secondPage = (List<EObject>) new NextPage(emfPlatform, session).compute();
+        assertThat(secondPage.get(0).eGet(secondPage.get(0).eClass().getEStructuralFeature("id"))).as("Second page " +
+                "contains the first task").isEqualTo("t1");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void computeNextPageNoCursor() {
+        new NextPage(emfPlatform, loadModel()).compute();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void computeNextPageModifiedModel() {
+        XatkitSession session = loadModel();
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, DEFAULT_QUERY_MAP, 1);
+        action.compute();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        EObject project = modelResource.getContents().get(0);
+        EcoreUtil.remove((EObject) ((List<?>) project.eGet(project.eClass().getEStructuralFeature("tasks"))).get(1));
+        new NextPage(emfPlatform, session).compute();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void computeNextPageAfterLoadModel() {
+        XatkitSession session = loadModel();
+        action = new GetAllInstancesPage(emfPlatform, session, VALID_ECLASS_NAME, DEFAULT_QUERY_MAP, 1);
+        action.compute();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        assertThat(session.get(EMFPlatformUtils.CURSOR_SESSION_KEY)).as("Cursor is removed from the session").isNull();
+        new NextPage(emfPlatform, session).compute();
+    }
+
+    private XatkitSession loadModel() {
+        XatkitSession session = createValidXatkitSession();
+        LoadModel loadModelAction = new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath());
+        loadModelAction.compute();
+        return session;
+    }
+}
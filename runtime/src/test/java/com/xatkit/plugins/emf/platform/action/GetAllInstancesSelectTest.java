@@ -1,8 +1,17 @@
 package com.xatkit.plugins.emf.platform.action;
 
 import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.index.AttributeIndexManager;
+import com.xatkit.plugins.emf.index.ReverseReferenceIndex;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
 import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import com.xatkit.plugins.emf.store.QueryStore;
+import org.apache.commons.configuration2.Configuration;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.junit.Test;
 
 import java.util.HashMap;
@@ -179,6 +188,250 @@ public class GetAllInstancesSelectTest extends AbstractEMFActionTest {
         assertThat(listResult).as("Result contains 2 elements").hasSize(2);
     }
 
+    @Test
+    public void computeStringStartsWithAndNumericalGreaterThanIndexed1Result() {
+        Configuration indexConfiguration = EMFPlatformTest.buildConfiguration();
+        indexConfiguration.addProperty(EMFPlatformUtils.INDEX_ATTRIBUTES_KEY, "Task.description, Task.days");
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, indexConfiguration);
+        XatkitSession session = this.loadModel();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        assertThat(AttributeIndexManager.getManager(modelResource).getIndexCount()).as("Declared indexes are built")
+                .isEqualTo(2);
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        setNumericalComparison(queryMap, false, "days", "greater than", "3");
+        queryMap.put("conditionComposition", "and");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        queryMap.put("conditionComposition", "or");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 2 elements").hasSize(2);
+    }
+
+    @Test
+    public void computeNumericalConditionGreaterThanAutoIndexedModelOrder() {
+        Configuration indexConfiguration = EMFPlatformTest.buildConfiguration();
+        indexConfiguration.addProperty(EMFPlatformUtils.INDEX_AUTO_THRESHOLD_KEY, 1);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, indexConfiguration);
+        XatkitSession session = this.loadModel();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        Map<String, Object> queryMap = new HashMap<>();
+        /*
+         * t1 has 4 days and t2 has 0 days: the index sorts t2 before t1
+         */
+        setNumericalComparison(queryMap, true, "days", "greater than", "-1");
+        for (int i = 0; i < 3; i++) {
+            action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+            List<EObject> listResult = (List<EObject>) action.compute();
+            assertThat(listResult).extracting(task -> task.eGet(task.eClass().getEStructuralFeature("id")))
+                    .as("Result is in model order").containsExactly("t1", "t2");
+        }
+        assertThat(AttributeIndexManager.getManager(modelResource).getIndexCount()).as("Days attribute is indexed")
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void computeStringContainsTrigramIndexed1Result() {
+        Configuration indexConfiguration = EMFPlatformTest.buildConfiguration();
+        indexConfiguration.addProperty(EMFPlatformUtils.INDEX_TRIGRAM_ATTRIBUTES_KEY, "Task.description");
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, indexConfiguration);
+        XatkitSession session = this.loadModel();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        EClass taskEClass = emfPlatform.getMetamodelIndex().getEClass("Task");
+        assertThat(AttributeIndexManager.getManager(modelResource).getTrigramIndex(taskEClass,
+                emfPlatform.getMetamodelIndex().getEAttribute(taskEClass, "description")))
+                .as("Declared trigram index is built").isNotNull();
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "contains", "first");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(emfPlatform.getModelScanner().getVisitedCounter().getValue()).as("Only the candidates returned " +
+                "by the trigram index are verified").isEqualTo(1);
+        setStringComparison(queryMap, true, "description", "contains", "the first task t2");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Candidates are verified").isEmpty();
+    }
+
+    @Test
+    public void computeStringStartsWithAndNumericalGreaterThanQueryStore1Result() {
+        Configuration storeConfiguration = EMFPlatformTest.buildConfiguration();
+        storeConfiguration.addProperty(EMFPlatformUtils.QUERY_STORE_ENABLED_KEY, true);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, storeConfiguration);
+        XatkitSession session = this.loadModel();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        assertThat(QueryStore.getStore(modelResource)).as("Query store is built").isNotNull();
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        setNumericalComparison(queryMap, false, "days", "greater than", "3");
+        queryMap.put("conditionComposition", "and");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(emfPlatform.getModelScanner().getScanTimer().getCount()).as("The query is evaluated on the " +
+                "query store").isEqualTo(0);
+        queryMap.put("conditionComposition", "or");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 2 elements").hasSize(2);
+    }
+
+    @Test
+    public void computeStringStartsWithResultCache() {
+        Configuration cacheConfiguration = EMFPlatformTest.buildConfiguration();
+        cacheConfiguration.addProperty(EMFPlatformUtils.RESULT_CACHE_ENABLED_KEY, true);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, cacheConfiguration);
+        XatkitSession session = this.loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        long scanCount = emfPlatform.getModelScanner().getScanTimer().getCount();
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> cachedResult = (List<EObject>) action.compute();
+        assertThat(cachedResult).as("Cached result is returned").containsExactlyElementsOf(listResult);
+        assertThat(emfPlatform.getModelScanner().getScanTimer().getCount()).as("The model is not scanned")
+                .isEqualTo(scanCount);
+        assertThat(emfPlatform.getQueryResultCache().getHitCount()).as("Result cache hit").isEqualTo(1);
+        EObject task = cachedResult.get(0);
+        task.eSet(task.eClass().getEStructuralFeature("description"), "updated");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> updatedResult = (List<EObject>) action.compute();
+        assertThat(updatedResult).as("Modified element is not returned").doesNotContain(task)
+                .hasSize(cachedResult.size() - 1);
+        assertThat(emfPlatform.getQueryResultCache().getInvalidationCount()).as("Cached result is invalidated")
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void computeStringStartsWithSortedByDescription() {
+        XatkitSession session = this.loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        setResultClause(queryMap, "description", "descending");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 2 elements").hasSize(2);
+        assertThat(listResult.get(0).eGet(listResult.get(0).eClass().getEStructuralFeature("id"))).as("Results are " +
+                "sorted by descending description").isEqualTo("t2");
+        queryMap.put("limit", "1");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> limitedResult = (List<EObject>) action.compute();
+        assertThat(limitedResult).as("Result contains the first element").containsExactly(listResult.get(0));
+    }
+
+    @Test
+    public void computeStringStartsWithSortedByIndexedDays() {
+        Configuration indexConfiguration = EMFPlatformTest.buildConfiguration();
+        indexConfiguration.addProperty(EMFPlatformUtils.INDEX_ATTRIBUTES_KEY, "Task.days");
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, indexConfiguration);
+        XatkitSession session = this.loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        setResultClause(queryMap, "days", "descending");
+        queryMap.put("limit", 1);
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(listResult.get(0).eGet(listResult.get(0).eClass().getEStructuralFeature("id"))).as("Result is " +
+                "the task with the most days").isEqualTo("t1");
+        assertThat(emfPlatform.getModelScanner().getScanTimer().getCount()).as("The results are retrieved from the " +
+                "index").isEqualTo(0);
+    }
+
+    @Test
+    public void computeExpressionCompositionWithReferenceAndNot1Result() {
+        XatkitSession session = this.loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        /*
+         * Returns the 2 tasks
+         */
+        setStringComparison(queryMap, true, "description", "starts with", "this is the");
+        /*
+         * Returns the task t1
+         */
+        setNumericalComparison(queryMap, false, "days", "greater than", "3");
+        /*
+         * Returns the task t2, which is followed by t1
+         */
+        Map<String, Object> referenceCondition = new HashMap<>();
+        referenceCondition.put("StringReference", "next");
+        referenceCondition.put("StringComparator", "equals");
+        queryMap.put("condition3", referenceCondition);
+        queryMap.put("stringValue3", "t1");
+        queryMap.put("conditionComposition", "condition1 and not (condition2 or condition3)");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result is empty").isEmpty();
+        queryMap.put("conditionComposition", "condition1 and not condition2 and condition3");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(listResult.get(0).eGet(listResult.get(0).eClass().getEStructuralFeature("id")))
+                .as("Result contains the task t2").isEqualTo("t2");
+    }
+
+    @Test
+    public void computeReferenceConditionReverseIndex1Result() {
+        Configuration reverseIndexConfiguration = EMFPlatformTest.buildConfiguration();
+        reverseIndexConfiguration.addProperty(EMFPlatformUtils.REVERSE_INDEX_ENABLED_KEY, true);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, reverseIndexConfiguration);
+        XatkitSession session = this.loadModel();
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
+        assertThat(ReverseReferenceIndex.getIndex(modelResource)).as("Reverse-reference index is built").isNotNull();
+        Map<String, Object> queryMap = new HashMap<>();
+        Map<String, Object> referenceCondition = new HashMap<>();
+        referenceCondition.put("StringReference", "next");
+        referenceCondition.put("StringComparator", "equals");
+        queryMap.put("condition1", referenceCondition);
+        queryMap.put("stringValue1", "t1");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(listResult.get(0).eGet(listResult.get(0).eClass().getEStructuralFeature("id")))
+                .as("Result contains the task t2").isEqualTo("t2");
+        assertThat(emfPlatform.getModelScanner().getScanTimer().getCount()).as("The query is answered from the " +
+                "reverse-reference index").isEqualTo(0);
+    }
+
+    @Test
+    public void computeEmptyReferenceQueryStore1Result() {
+        Configuration storeConfiguration = EMFPlatformTest.buildConfiguration();
+        storeConfiguration.addProperty(EMFPlatformUtils.QUERY_STORE_ENABLED_KEY, true);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, storeConfiguration);
+        XatkitSession session = this.loadModel();
+        Map<String, Object> queryMap = new HashMap<>();
+        Map<String, Object> emptyCondition = new HashMap<>();
+        emptyCondition.put("Reference", "resources");
+        emptyCondition.put("EmptyValue", "unset");
+        queryMap.put("condition1", emptyCondition);
+        setNumericalComparison(queryMap, false, "days", "greater than", "3");
+        queryMap.put("conditionComposition", "condition1 or not condition2");
+        action = new GetAllInstancesSelect(emfPlatform, session, "Task", queryMap);
+        List<EObject> listResult = (List<EObject>) action.compute();
+        assertThat(listResult).as("Result contains 1 element").hasSize(1);
+        assertThat(listResult.get(0).eGet(listResult.get(0).eClass().getEStructuralFeature("id")))
+                .as("Result contains the task t2").isEqualTo("t2");
+    }
+
+    private void setResultClause(Map<String, Object> from, String attribute, String direction) {
+        Map<String, Object> resultClause = new HashMap<>();
+        resultClause.put("Attribute", attribute);
+        resultClause.put("SortDirection", direction);
+        from.put("resultClause", resultClause);
+    }
+
     private void setStringComparison(Map<String, Object> from, boolean isCondition1,
                                                        String stringAttribute, String stringComparator,
                                                        String stringValue) {
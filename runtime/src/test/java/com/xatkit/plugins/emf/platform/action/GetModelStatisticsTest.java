@@ -0,0 +1,31 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GetModelStatisticsTest extends AbstractEMFActionTest {
+
+    @Test(expected = NullPointerException.class)
+    public void computeNotLoadedModel() {
+        new GetModelStatistics(emfPlatform, createValidXatkitSession()).compute();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void computeLoadedModel() {
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        Map<String, Object> statistics = (Map<String, Object>) new GetModelStatistics(emfPlatform, session).compute();
+        assertThat(statistics).as("Statistics contain the number of elements").containsEntry("elements", 4L);
+        Map<String, Object> classes = (Map<String, Object>) statistics.get("classes");
+        assertThat(classes).as("Statistics contain the classes of the model").containsOnlyKeys("Project", "Task",
+                "Human");
+        assertThat((Map<String, Object>) classes.get("Task")).as("Statistics contain the number of tasks")
+                .containsEntry("instances", 2L);
+    }
+}
@@ -0,0 +1,56 @@
+package com.xatkit.plugins.emf.platform.action;
+
+import com.xatkit.core.session.XatkitSession;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GetPlatformMetricsTest extends AbstractEMFActionTest {
+
+    @Test
+    public void computeAfterModelLoad() {
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        @SuppressWarnings("unchecked")
+        Map<String, Number> samples = (Map<String, Number>) new GetPlatformMetrics(emfPlatform, session).compute();
+        assertThat(samples.get("xatkit_emf_model_load_seconds_count")).as("Model loaded once").isEqualTo(1L);
+        assertThat(samples.get("xatkit_emf_model_load_elements_total")).as("Loaded elements are counted")
+                .isEqualTo(4L);
+        assertThat(samples.get("xatkit_emf_model_load_bytes_total").longValue()).as("Loaded bytes are counted")
+                .isPositive();
+        assertThat(samples.get("xatkit_emf_model_cache_hits_total")).as("Cache hit is counted").isEqualTo(1L);
+    }
+
+    @Test
+    public void computeAfterQuery() {
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        Map<String, Object> condition = new HashMap<>();
+        condition.put("NumericalAttribute", "days");
+        condition.put("NumericalComparator", "greater than");
+        condition.put("number", "3");
+        Map<String, Object> query = new HashMap<>();
+        query.put("condition1", condition);
+        new GetAllInstancesSelect(emfPlatform, session, "Task", query).compute();
+        @SuppressWarnings("unchecked")
+        Map<String, Number> samples = (Map<String, Number>) new GetPlatformMetrics(emfPlatform, session).compute();
+        assertThat(samples.get("xatkit_emf_scan_seconds_count")).as("Filter is timed").isEqualTo(1L);
+        assertThat(samples.get("xatkit_emf_scan_visited_total")).as("Visited tasks are counted").isEqualTo(2L);
+        assertThat(samples.get("xatkit_emf_scan_matched_total")).as("Matched task is counted").isEqualTo(1L);
+    }
+
+    @Test
+    public void computeExport() {
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, EMFPlatformTest.getModelPath()).compute();
+        String text = (String) new ExportPlatformMetrics(emfPlatform, session).compute();
+        assertThat(text).as("Export contains the load timer").contains("# TYPE xatkit_emf_model_load_seconds " +
+                "summary\nxatkit_emf_model_load_seconds_count 1\n");
+        assertThat(text).as("Export contains the cache counters").contains("xatkit_emf_model_cache_misses_total 1\n");
+    }
+}
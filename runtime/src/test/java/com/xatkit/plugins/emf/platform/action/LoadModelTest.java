@@ -3,7 +3,10 @@ package com.xatkit.plugins.emf.platform.action;
 import com.xatkit.core.XatkitException;
 import com.xatkit.core.session.XatkitSession;
 import com.xatkit.plugins.emf.EMFPlatformUtils;
+import com.xatkit.plugins.emf.cache.ModelHandle;
+import com.xatkit.plugins.emf.platform.EMFPlatform;
 import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.apache.commons.configuration2.Configuration;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.junit.Test;
 
@@ -50,11 +53,47 @@ public class LoadModelTest extends AbstractEMFActionTest {
         action = new LoadModel(emfPlatform, session, VALID_MODEL_PATH);
         Object result = action.compute();
         assertThat(session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).as("Loaded model stored in session").isNotNull();
-        Resource modelResource = (Resource) session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        Resource modelResource = ((ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).getResource();
         assertThat(modelResource.getContents()).as("Loaded model content is not empty").isNotEmpty();
         assertThat(modelResource).as("Model in the session is the same as the returned one").isEqualTo(result);
     }
 
+    @Test
+    public void computeReleasesPreviousModel() {
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, VALID_MODEL_PATH).compute();
+        ModelHandle previousHandle = (ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        new LoadModel(emfPlatform, session, VALID_MODEL_PATH).compute();
+        ModelHandle modelHandle = (ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        assertThat(previousHandle.isReleased()).as("Previous handle is released").isTrue();
+        assertThat(modelHandle.isReleased()).as("New handle is not released").isFalse();
+        assertThat(emfPlatform.getModelCache().getReferenceCount(modelHandle.getKey())).as("Model is referenced " +
+                "by the session").isEqualTo(1);
+        emfPlatform.releaseModel(session);
+        assertThat(modelHandle.isReleased()).as("Session handle is released").isTrue();
+        assertThat(session.get(EMFPlatformUtils.MODEL_SESSION_KEY)).as("Handle removed from the session").isNull();
+    }
+
+    @Test
+    public void computeIdleModelAcquiredAgain() throws InterruptedException {
+        Configuration idleConfiguration = EMFPlatformTest.buildConfiguration();
+        idleConfiguration.addProperty(EMFPlatformUtils.CACHE_HANDLE_IDLE_TIMEOUT_KEY, 1);
+        this.emfPlatform.shutdown();
+        this.emfPlatform = new EMFPlatform(xatkitCore, idleConfiguration);
+        XatkitSession session = createValidXatkitSession();
+        new LoadModel(emfPlatform, session, VALID_MODEL_PATH).compute();
+        ModelHandle idleHandle = (ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        session.store(EMFPlatformUtils.CURSOR_SESSION_KEY, "cursor");
+        Thread.sleep(20);
+        new LoadModel(emfPlatform, createValidXatkitSession(), VALID_MODEL_PATH).compute();
+        assertThat(idleHandle.isReleased()).as("Idle handle is released").isTrue();
+        Resource modelResource = emfPlatform.getSessionModelResource(session);
+        ModelHandle modelHandle = (ModelHandle) session.get(EMFPlatformUtils.MODEL_SESSION_KEY);
+        assertThat(modelHandle.isReleased()).as("Model is acquired again").isFalse();
+        assertThat(modelResource).as("Session model is the acquired one").isSameAs(modelHandle.getResource());
+        assertThat(session.get(EMFPlatformUtils.CURSOR_SESSION_KEY)).as("Cursor removed from the session").isNull();
+    }
+
     @Test(expected = XatkitException.class)
     public void computeInvalidModelPath() {
         action = new LoadModel(emfPlatform, createValidXatkitSession(), "INVALID");
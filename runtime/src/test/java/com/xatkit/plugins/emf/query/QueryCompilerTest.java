@@ -0,0 +1,330 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCompilerTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private MetamodelIndex metamodelIndex;
+
+    private QueryCompiler compiler;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        metamodelIndex = fixture.getMetamodelIndex();
+        compiler = new QueryCompiler(metamodelIndex, 16);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullMetamodelIndex() {
+        new QueryCompiler(null, 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructNegativeCacheSize() {
+        new QueryCompiler(metamodelIndex, -1);
+    }
+
+    @Test
+    public void compileSameShapeReturnsCachedPlan() {
+        QueryPlan plan1 = compiler.compile("Task", stringQuery("description", "starts with", "this"));
+        QueryPlan plan2 = compiler.compile("Task", stringQuery("description", "starts with", "other"));
+        assertThat(plan2).as("Cached plan is returned").isSameAs(plan1);
+        assertThat(compiler.getCacheSize()).as("A single plan is cached").isEqualTo(1);
+    }
+
+    @Test
+    public void compileDifferentShapeReturnsDifferentPlan() {
+        QueryPlan plan1 = compiler.compile("Task", stringQuery("description", "starts with", "this"));
+        QueryPlan plan2 = compiler.compile("Task", stringQuery("description", "ends with", "this"));
+        assertThat(plan2).as("Different plan is returned").isNotSameAs(plan1);
+    }
+
+    @Test
+    public void bindStringCondition() {
+        EObject task = fixture.newTask("this is a task", 3);
+        Map<String, Object> matchingQuery = stringQuery("description", "contains", "a task");
+        Map<String, Object> notMatchingQuery = stringQuery("description", "contains", "a project");
+        QueryPlan plan = compiler.compile("Task", matchingQuery);
+        assertThat(plan.bind(matchingQuery).test(task)).as("Task matches the query").isTrue();
+        assertThat(plan.bind(notMatchingQuery).test(task)).as("Task does not match the query").isFalse();
+    }
+
+    @Test
+    public void bindNumericalCondition() {
+        EObject task = fixture.newTask("this is a task", 3);
+        Map<String, Object> query = numericalQuery("days", "equals", "3");
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task matches the query").isTrue();
+    }
+
+    @Test
+    public void bindNullAttributeValue() {
+        EObject task = fixture.newTask(null, 3);
+        Map<String, Object> query = stringQuery("description", "equals", "this is a task");
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task does not match the query")
+                .isFalse();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileInvalidEClass() {
+        compiler.compile("INVALID", stringQuery("description", "equals", "test"));
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileInvalidAttribute() {
+        compiler.compile("Task", stringQuery("INVALID", "equals", "test"));
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileInvalidComparator() {
+        compiler.compile("Task", stringQuery("description", "INVALID", "test"));
+    }
+
+    @Test(expected = XatkitException.class)
+    public void bindInvalidNumber() {
+        Map<String, Object> query = numericalQuery("days", "equals", "INVALID");
+        compiler.compile("Task", query).bind(query);
+    }
+
+    @Test
+    public void compileResultClause() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        QueryPlan unsortedPlan = compiler.compile("Task", query);
+        query.put(QueryCompiler.RESULT_CLAUSE_KEY, resultClause("days", "descending"));
+        QueryPlan plan = compiler.compile("Task", query);
+        assertThat(plan).as("Result clause is part of the shape").isNotSameAs(unsortedPlan);
+        assertThat(plan.getOrdering()).as("Ordering is compiled").isNotNull();
+        assertThat(plan.getOrdering().getEAttribute().getName()).as("Valid sort attribute").isEqualTo("days");
+        assertThat(plan.getOrdering().getDirection()).as("Valid sort direction").isEqualTo(SortDirection.DESCENDING);
+    }
+
+    @Test
+    public void compileResultClauseDefaultDirection() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        query.put(QueryCompiler.RESULT_CLAUSE_KEY, resultClause("days", null));
+        assertThat(compiler.compile("Task", query).getOrdering().getDirection()).as("Default sort direction")
+                .isEqualTo(SortDirection.ASCENDING);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileInvalidSortDirection() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        query.put(QueryCompiler.RESULT_CLAUSE_KEY, resultClause("days", "INVALID"));
+        compiler.compile("Task", query);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileInvalidSortAttribute() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        query.put(QueryCompiler.RESULT_CLAUSE_KEY, resultClause("INVALID", "ascending"));
+        compiler.compile("Task", query);
+    }
+
+    @Test
+    public void getLimit() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        QueryPlan plan = compiler.compile("Task", query);
+        assertThat(plan.getLimit(query)).as("No limit").isEqualTo(Integer.MAX_VALUE);
+        query.put(QueryCompiler.LIMIT_KEY, "10");
+        assertThat(plan.getLimit(query)).as("String limit").isEqualTo(10);
+        query.put(QueryCompiler.LIMIT_KEY, 5);
+        assertThat(plan.getLimit(query)).as("Number limit").isEqualTo(5);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void getNegativeLimit() {
+        Map<String, Object> query = stringQuery("description", "starts with", "this");
+        query.put(QueryCompiler.LIMIT_KEY, -1);
+        compiler.compile("Task", query).getLimit(query);
+    }
+
+    @Test
+    public void compileCompositionOrdersConditionsByCostAndSelectivity() {
+        Map<String, Object> query = stringQuery("description", "contains", "task");
+        query.put(QueryCompiler.CONDITION_2_KEY, stringQuery("id", "equals", "t1").get(QueryCompiler.CONDITION_1_KEY));
+        query.put(QueryCompiler.STRING_VALUE_2_KEY, "t1");
+        query.put(QueryCompiler.CONDITION_COMPOSITION_KEY, "and");
+        Condition condition = compiler.compile("Task", query).getCondition();
+        assertThat(condition).as("Conditions are composed").isInstanceOf(CompositeCondition.class);
+        assertThat(((CompositeCondition) condition).getConditions()).as("The equals condition is evaluated first")
+                .extracting(c -> ((StringCondition) c).getComparator())
+                .containsExactly(StringComparator.EQUALS, StringComparator.CONTAINS);
+    }
+
+    @Test
+    public void bindExpressionComposition() {
+        EObject task = fixture.newTask("this is a task", 3);
+        Map<String, Object> query = stringQuery("description", "contains", "a task");
+        query.put(QueryCompiler.CONDITION_2_KEY, numericalQuery("days", "greater than", "5")
+                .get(QueryCompiler.CONDITION_1_KEY));
+        query.put("condition10", stringQuery("description", "starts with", null).get(QueryCompiler.CONDITION_1_KEY));
+        query.put("stringValue10", "that");
+        query.put(QueryCompiler.CONDITION_COMPOSITION_KEY, "condition1 AND (condition2 or NOT condition10)");
+        QueryPlan plan = compiler.compile("Task", query);
+        assertThat(plan.getCondition().getShape()).as("Same operators are flattened").doesNotContain("and(and");
+        assertThat(plan.bind(query).test(task)).as("Task matches the query").isTrue();
+        query.put("stringValue10", "this");
+        assertThat(plan.bind(query).test(task)).as("Task does not match the query").isFalse();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileExpressionUnknownCondition() {
+        Map<String, Object> query = stringQuery("description", "contains", "a task");
+        query.put(QueryCompiler.CONDITION_COMPOSITION_KEY, "condition1 and condition2");
+        compiler.compile("Task", query);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileExpressionMissingParenthesis() {
+        Map<String, Object> query = stringQuery("description", "contains", "a task");
+        query.put(QueryCompiler.CONDITION_COMPOSITION_KEY, "(condition1");
+        compiler.compile("Task", query);
+    }
+
+    @Test
+    public void bindBooleanCondition() {
+        EClass humanEClass = metamodelIndex.getEClass("Human");
+        EObject human = EcoreUtil.create(humanEClass);
+        human.eSet(metamodelIndex.getEAttribute(humanEClass, "available"), false);
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.BOOLEAN_ATTRIBUTE_KEY, "available");
+        condition.put(QueryCompiler.BOOLEAN_VALUE_KEY, "false");
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        assertThat(compiler.compile("Human", query).bind(query).test(human)).as("Human matches the query").isTrue();
+        condition.put(QueryCompiler.BOOLEAN_VALUE_KEY, "true");
+        assertThat(compiler.compile("Human", query).bind(query).test(human)).as("Human does not match the query")
+                .isFalse();
+    }
+
+    @Test
+    public void bindDateCondition() {
+        EObject task = fixture.newTask("this is a task", 3);
+        task.eSet(metamodelIndex.getEAttribute("Task", "date"),
+                Date.from(LocalDate.of(2020, 3, 1).atTime(10, 30).atZone(ZoneId.systemDefault()).toInstant()));
+        Map<String, Object> query = dateQuery("date", "equals", "2020-03-01");
+        QueryPlan plan = compiler.compile("Task", query);
+        assertThat(plan.bind(query).test(task)).as("Task matches the day").isTrue();
+        query = dateQuery("date", "greater than", "2020-02-29");
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task is after the day").isTrue();
+        query = dateQuery("date", "lower than", "2020-03-01T10:00:00");
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task is not before the time")
+                .isFalse();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void bindInvalidDate() {
+        Map<String, Object> query = dateQuery("date", "equals", "yesterday");
+        compiler.compile("Task", query).bind(query);
+    }
+
+    @Test
+    public void bindEmptyCondition() {
+        EObject task = fixture.newTask("this is a task", 3);
+        Map<String, Object> condition = new HashMap<>();
+        Map<String, Object> attribute = new HashMap<>();
+        attribute.put(QueryCompiler.STRING_ATTRIBUTE_KEY, "id");
+        condition.put(QueryCompiler.ATTRIBUTE_KEY, attribute);
+        condition.put(QueryCompiler.EMPTY_VALUE_KEY, "unset");
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task id is unset").isTrue();
+        condition.remove(QueryCompiler.ATTRIBUTE_KEY);
+        condition.put(QueryCompiler.REFERENCE_KEY, "next");
+        condition.put(QueryCompiler.EMPTY_VALUE_KEY, "set");
+        assertThat(compiler.compile("Task", query).bind(query).test(task)).as("Task next is not set").isFalse();
+    }
+
+    @Test
+    public void bindReferenceCondition() {
+        EClass taskEClass = fixture.getTaskEClass();
+        EObject task1 = fixture.newTask("this is a task", 3);
+        task1.eSet(metamodelIndex.getEAttribute(taskEClass, "id"), "t1");
+        EObject task2 = fixture.newTask("this is another task", 5);
+        ((List<EObject>) task2.eGet(metamodelIndex.getEReference(taskEClass, "next"))).add(task1);
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.STRING_REFERENCE_VERB_KEY, "next");
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        query.put(QueryCompiler.STRING_VALUE_1_KEY, "t1");
+        QueryPlan plan = compiler.compile("Task", query);
+        assertThat(plan.bind(query).test(task2)).as("Task 2 is followed by t1").isTrue();
+        assertThat(plan.bind(query).test(task1)).as("Task 1 is not followed by t1").isFalse();
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileReferenceConditionNoLabelAttribute() {
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.NUMERICAL_REFERENCE_VERB_KEY, "next");
+        condition.put(NumericalCondition.NUMBER_KEY, "3");
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        compiler.compile("Task", query);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void compileUnsupportedCondition() {
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, new HashMap<>());
+        compiler.compile("Task", query);
+    }
+
+    private Map<String, Object> resultClause(String attribute, String direction) {
+        Map<String, Object> resultClause = new HashMap<>();
+        resultClause.put(QueryCompiler.ATTRIBUTE_KEY, attribute);
+        if (nonNull(direction)) {
+            resultClause.put(QueryCompiler.SORT_DIRECTION_KEY, direction);
+        }
+        return resultClause;
+    }
+
+    private Map<String, Object> stringQuery(String attribute, String comparator, String value) {
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.STRING_ATTRIBUTE_KEY, attribute);
+        condition.put(QueryCompiler.STRING_COMPARATOR_KEY, comparator);
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        query.put(QueryCompiler.STRING_VALUE_1_KEY, value);
+        return query;
+    }
+
+    private Map<String, Object> dateQuery(String attribute, String comparator, String date) {
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.DATE_ATTRIBUTE_KEY, attribute);
+        condition.put(QueryCompiler.DATE_COMPARATOR_KEY, comparator);
+        condition.put(DateCondition.DATE_KEY, date);
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        return query;
+    }
+
+    private Map<String, Object> numericalQuery(String attribute, String comparator, String number) {
+        Map<String, Object> condition = new HashMap<>();
+        condition.put(QueryCompiler.NUMERICAL_ATTRIBUTE_KEY, attribute);
+        condition.put(QueryCompiler.NUMERICAL_COMPARATOR_KEY, comparator);
+        condition.put(NumericalCondition.NUMBER_KEY, number);
+        Map<String, Object> query = new HashMap<>();
+        query.put(QueryCompiler.CONDITION_1_KEY, condition);
+        return query;
+    }
+}
@@ -0,0 +1,166 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.index.ExtentIndex;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryResultCacheTest extends AbstractXatkitTest {
+
+    private QueryResultCache cache;
+
+    private Resource modelResource;
+
+    @Before
+    public void setUp() {
+        cache = new QueryResultCache(4);
+        modelResource = new ResourceImpl(URI.createURI("model.xmi"));
+        for (int i = 0; i < 3; i++) {
+            modelResource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+        }
+        ExtentIndex.build(modelResource);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructZeroMaxSize() {
+        new QueryResultCache(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getNullResource() {
+        cache.get(null, "EClass", new HashMap<>(), this::allContents);
+    }
+
+    @Test
+    public void getSameQueryReturnsCachedResult() {
+        List<EObject> result = cache.get(modelResource, "EClass", query("a"), this::allContents);
+        List<EObject> cachedResult = cache.get(modelResource, "EClass", query("a"), failingSupplier());
+        assertThat(cachedResult).as("Cached result is returned").containsExactlyElementsOf(result);
+        assertThat(cachedResult).as("Cached result is copied").isNotSameAs(result);
+        assertThat(cache.getHitCount()).as("Hit count is 1").isEqualTo(1);
+        assertThat(cache.getMissCount()).as("Miss count is 1").isEqualTo(1);
+        assertThat(cache.size()).as("Cache contains the result elements").isEqualTo(3);
+    }
+
+    @Test
+    public void getDifferentLiteralComputesResult() {
+        cache.get(modelResource, "EClass", query("a"), this::allContents);
+        List<EObject> result = cache.get(modelResource, "EClass", query("b"), Collections::emptyList);
+        assertThat(result).as("Result is computed").isEmpty();
+        assertThat(cache.getEntryCount()).as("Both results are cached").isEqualTo(2);
+    }
+
+    @Test
+    public void getModifiedResourceComputesResult() {
+        cache.get(modelResource, "EClass", query("a"), this::allContents);
+        ((EClass) modelResource.getContents().get(0)).setName("Modified");
+        List<EObject> result = cache.get(modelResource, "EClass", query("a"), Collections::emptyList);
+        assertThat(result).as("Result is recomputed").isEmpty();
+        assertThat(cache.getInvalidationCount()).as("Cached result is invalidated").isEqualTo(1);
+        assertThat(cache.getEntryCount()).as("Outdated result is replaced").isEqualTo(1);
+        assertThat(cache.size()).as("Empty result counts as one element").isEqualTo(1);
+    }
+
+    @Test
+    public void getExceedsMaxSizeEvictsLeastRecentlyUsed() {
+        cache.get(modelResource, "EClass", query("a"), this::allContents);
+        cache.get(modelResource, "EClass", query("b"), () -> allContents().subList(0, 1));
+        cache.get(modelResource, "EClass", query("a"), failingSupplier());
+        cache.get(modelResource, "EClass", query("c"), () -> allContents().subList(0, 1));
+        assertThat(cache.getEvictionCount()).as("A single result is evicted").isEqualTo(1);
+        assertThat(cache.size()).as("Cache size is bounded").isEqualTo(4);
+        cache.get(modelResource, "EClass", query("a"), failingSupplier());
+    }
+
+    @Test
+    public void getEmptyResultsAreBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.get(modelResource, "EClass", query("missing" + i), Collections::emptyList);
+        }
+        assertThat(cache.getEntryCount()).as("Number of empty results is bounded").isEqualTo(4);
+        assertThat(cache.size()).as("Empty results count as one element").isEqualTo(4);
+        assertThat(cache.getEvictionCount()).as("Least recently used empty results are evicted").isEqualTo(6);
+    }
+
+    @Test
+    public void invalidateRemovesResourceResults() {
+        Resource otherResource = new ResourceImpl(URI.createURI("other.xmi"));
+        ExtentIndex.build(otherResource);
+        cache.get(modelResource, "EClass", query("a"), () -> allContents().subList(0, 1));
+        cache.get(modelResource, "EClass", query("b"), Collections::emptyList);
+        cache.get(otherResource, "EClass", query("a"), Collections::emptyList);
+        cache.invalidate(modelResource);
+        assertThat(cache.getEntryCount()).as("Results of the other resource are kept").isEqualTo(1);
+        assertThat(cache.size()).as("Size is updated").isEqualTo(1);
+        assertThat(cache.getInvalidationCount()).as("Results are invalidated").isEqualTo(2);
+        cache.get(otherResource, "EClass", query("a"), failingSupplier());
+    }
+
+    @Test
+    public void getResultLargerThanMaxSizeIsNotCached() {
+        cache = new QueryResultCache(2);
+        cache.get(modelResource, "EClass", query("a"), this::allContents);
+        assertThat(cache.getEntryCount()).as("Result is not cached").isEqualTo(0);
+    }
+
+    @Test
+    public void getNotIndexedResourceIsNotCached() {
+        Resource notIndexed = new ResourceImpl(URI.createURI("other.xmi"));
+        cache.get(notIndexed, "EClass", query("a"), Collections::emptyList);
+        assertThat(cache.getEntryCount()).as("Result is not cached").isEqualTo(0);
+    }
+
+    @Test
+    public void canonicalQueryIgnoresEntryOrder() {
+        Map<String, Object> query1 = new LinkedHashMap<>();
+        query1.put("condition1", query("a"));
+        query1.put("stringValue1", "value");
+        Map<String, Object> query2 = new LinkedHashMap<>();
+        query2.put("stringValue1", "value");
+        query2.put("condition1", query("a"));
+        assertThat(QueryResultCache.canonicalQuery("EClass", query1)).as("Same canonical form")
+                .isEqualTo(QueryResultCache.canonicalQuery("EClass", query2));
+    }
+
+    @Test
+    public void canonicalQueryDistinguishesStringLiterals() {
+        Map<String, Object> query1 = new HashMap<>();
+        query1.put("number", 1);
+        Map<String, Object> query2 = new HashMap<>();
+        query2.put("number", "1");
+        assertThat(QueryResultCache.canonicalQuery("EClass", query1)).as("Different canonical forms")
+                .isNotEqualTo(QueryResultCache.canonicalQuery("EClass", query2));
+    }
+
+    private Map<String, Object> query(String value) {
+        Map<String, Object> query = new HashMap<>();
+        query.put("stringValue1", value);
+        return query;
+    }
+
+    private List<EObject> allContents() {
+        return new ArrayList<>(modelResource.getContents());
+    }
+
+    private Supplier<List<EObject>> failingSupplier() {
+        return () -> {
+            throw new AssertionError("The result should be served from the cache");
+        };
+    }
+}
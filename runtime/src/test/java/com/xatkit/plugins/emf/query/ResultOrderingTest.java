@@ -0,0 +1,85 @@
+package com.xatkit.plugins.emf.query;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultOrderingTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private EAttribute descriptionEAttribute;
+
+    private EAttribute daysEAttribute;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        descriptionEAttribute = fixture.getDescriptionEAttribute();
+        daysEAttribute = fixture.getDaysEAttribute();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullEAttribute() {
+        new ResultOrdering(null, SortDirection.ASCENDING);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sortNegativeLimit() {
+        new ResultOrdering(daysEAttribute, SortDirection.ASCENDING).sort(new ArrayList<>(), -1);
+    }
+
+    @Test
+    public void sortAscending() {
+        EObject task1 = fixture.newTask("b", 4);
+        EObject task2 = fixture.newTask("a", 2);
+        EObject task3 = fixture.newTask(null, 1);
+        EObject task4 = fixture.newTask("c", 4);
+        ResultOrdering ordering = new ResultOrdering(descriptionEAttribute, SortDirection.ASCENDING);
+        assertThat(ordering.sort(Arrays.asList(task1, task2, task3, task4), Integer.MAX_VALUE))
+                .as("Tasks are sorted by description, null values last").containsExactly(task2, task1, task4, task3);
+    }
+
+    @Test
+    public void sortDescendingKeepsOrderOfEqualValues() {
+        EObject task1 = fixture.newTask("b", 4);
+        EObject task2 = fixture.newTask("a", 2);
+        EObject task3 = fixture.newTask(null, 1);
+        EObject task4 = fixture.newTask("c", 4);
+        ResultOrdering ordering = new ResultOrdering(daysEAttribute, SortDirection.DESCENDING);
+        assertThat(ordering.sort(Arrays.asList(task1, task2, task3, task4), Integer.MAX_VALUE))
+                .as("Tasks are sorted by descending days").containsExactly(task1, task4, task2, task3);
+        assertThat(ordering.sort(Arrays.asList(task1, task2, task3, task4), 1)).as("First task is returned")
+                .containsExactly(task1);
+        assertThat(ordering.sort(Arrays.asList(task1, task2, task3, task4), 0)).as("No task is returned").isEmpty();
+    }
+
+    @Test
+    public void sortLimitedReturnsPrefixOfSortedResult() {
+        Random random = new Random(42);
+        List<EObject> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(fixture.newTask(random.nextInt(10) == 0 ? null : "task " + random.nextInt(100),
+                    random.nextInt(50)));
+        }
+        for (SortDirection direction : SortDirection.values()) {
+            ResultOrdering ordering = new ResultOrdering(descriptionEAttribute, direction);
+            List<EObject> sorted = ordering.sort(tasks, Integer.MAX_VALUE);
+            assertThat(sorted).as("All the tasks are sorted").hasSize(tasks.size());
+            for (int limit : new int[]{1, 10, 999}) {
+                assertThat(ordering.sort(tasks, limit)).as("Top %s is a prefix of the sorted tasks (%s)", limit,
+                        direction).containsExactlyElementsOf(sorted.subList(0, limit));
+            }
+        }
+    }
+}
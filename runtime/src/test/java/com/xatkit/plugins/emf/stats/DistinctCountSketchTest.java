@@ -0,0 +1,42 @@
+package com.xatkit.plugins.emf.stats;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class DistinctCountSketchTest extends AbstractXatkitTest {
+
+    @Test(expected = NullPointerException.class)
+    public void addNullValue() {
+        new DistinctCountSketch().add(null);
+    }
+
+    @Test
+    public void estimateEmptySketch() {
+        assertThat(new DistinctCountSketch().estimate()).as("Empty sketch estimates 0 values").isEqualTo(0);
+    }
+
+    @Test
+    public void estimateDuplicatedValues() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("value " + (i % 3));
+            sketch.add(i % 2);
+        }
+        sketch.add(1.0);
+        assertThat(sketch.estimate()).as("Small cardinality is exact").isEqualTo(5);
+    }
+
+    @Test
+    public void estimateLargeCardinality() {
+        DistinctCountSketch sketch = new DistinctCountSketch();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add("value " + i);
+            sketch.add("value " + i);
+        }
+        assertThat((double) sketch.estimate()).as("Large cardinality is estimated").isCloseTo(100_000,
+                within(5_000.0));
+    }
+}
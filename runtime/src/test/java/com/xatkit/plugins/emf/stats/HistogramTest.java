@@ -0,0 +1,48 @@
+package com.xatkit.plugins.emf.stats;
+
+import com.xatkit.AbstractXatkitTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class HistogramTest extends AbstractXatkitTest {
+
+    @Test(expected = NullPointerException.class)
+    public void buildNullValues() {
+        Histogram.build(null, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildZeroBuckets() {
+        Histogram.build(new double[]{1}, 0);
+    }
+
+    @Test
+    public void buildSkewedValues() {
+        double[] values = new double[100];
+        for (int i = 0; i < 100; i++) {
+            values[i] = i < 90 ? i % 10 : 1000 + i;
+        }
+        Arrays.sort(values);
+        Histogram histogram = Histogram.build(values, 10);
+        assertThat(histogram.getBucketCount()).as("Histogram contains 10 buckets").isEqualTo(10);
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            assertThat(histogram.getCount(i)).as("Bucket %s contains 10 values", i).isEqualTo(10);
+        }
+        assertThat(histogram.getUpperBound(8)).as("Small values are in the first buckets").isEqualTo(9);
+        assertThat(histogram.getLowerBound(9)).as("Large values are in the last bucket").isEqualTo(1090);
+        assertThat(histogram.estimateLowerThan(100)).as("90% of the values are lower than 100").isCloseTo(0.9,
+                within(0.001));
+        assertThat(histogram.estimateLowerThan(-1)).as("No value is lower than -1").isEqualTo(0);
+    }
+
+    @Test
+    public void buildLessValuesThanBuckets() {
+        Histogram histogram = Histogram.build(new double[]{1, 2}, 10);
+        assertThat(histogram.getBucketCount()).as("Histogram contains a bucket per value").isEqualTo(2);
+        assertThat(histogram.getTotal()).as("Histogram contains 2 values").isEqualTo(2);
+    }
+}
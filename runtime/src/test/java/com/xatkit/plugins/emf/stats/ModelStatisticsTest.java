@@ -0,0 +1,97 @@
+package com.xatkit.plugins.emf.stats;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ModelStatisticsTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private MetamodelIndex metamodelIndex;
+
+    private EClass taskEClass;
+
+    private EAttribute descriptionEAttribute;
+
+    private EAttribute daysEAttribute;
+
+    private Resource modelResource;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        metamodelIndex = fixture.getMetamodelIndex();
+        taskEClass = fixture.getTaskEClass();
+        descriptionEAttribute = fixture.getDescriptionEAttribute();
+        daysEAttribute = fixture.getDaysEAttribute();
+        modelResource = fixture.getModelResource();
+        for (int i = 0; i < 100; i++) {
+            fixture.createTask(i % 10 == 0 ? null : "task " + (i % 20), i);
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void installNullResource() {
+        ModelStatistics.install(null);
+    }
+
+    @Test
+    public void installValidResource() {
+        ModelStatistics statistics = ModelStatistics.install(modelResource);
+        assertThat(ModelStatistics.getStatistics(modelResource)).as("Statistics are attached to the resource")
+                .isSameAs(statistics);
+        assertThat(statistics.size()).as("All the elements are counted").isEqualTo(100);
+        assertThat(statistics.getInstanceCount(metamodelIndex.getEClass("TaskUnit"))).as("Instances of the " +
+                "subtypes are counted").isEqualTo(100);
+        ClassStatistics taskStatistics = statistics.getClassStatistics(taskEClass);
+        assertThat(taskStatistics.getInstanceCount()).as("Direct instances are counted").isEqualTo(100);
+        AttributeStatistics descriptionStatistics = taskStatistics.getAttributeStatistics(descriptionEAttribute);
+        assertThat(descriptionStatistics.getNullCount()).as("Null descriptions are counted").isEqualTo(10);
+        assertThat(descriptionStatistics.getValueCount()).as("Descriptions are counted").isEqualTo(90);
+        assertThat(descriptionStatistics.getDistinctCount()).as("Distinct descriptions are estimated").isEqualTo(18);
+        assertThat(descriptionStatistics.getMin()).as("Min description is computed").isEqualTo("task 1");
+        assertThat(descriptionStatistics.getHistogram()).as("String attributes do not have a histogram").isNull();
+        AttributeStatistics daysStatistics = taskStatistics.getAttributeStatistics(daysEAttribute);
+        assertThat(daysStatistics.getMin()).as("Min days is computed").isEqualTo(0);
+        assertThat(daysStatistics.getMax()).as("Max days is computed").isEqualTo(99);
+        assertThat(daysStatistics.getHistogram().getBucketCount()).as("Histogram contains the default number of " +
+                "buckets").isEqualTo(ModelStatistics.HISTOGRAM_BUCKET_COUNT);
+        assertThat(daysStatistics.getHistogram().estimateLowerThan(50)).as("Histogram estimates the distribution")
+                .isCloseTo(0.5, within(0.02));
+    }
+
+    @Test
+    public void getStatisticsModifiedResource() {
+        ModelStatistics statistics = ModelStatistics.install(modelResource);
+        fixture.createTask("new task", 100);
+        ModelStatistics updatedStatistics = ModelStatistics.getStatistics(modelResource);
+        assertThat(updatedStatistics).as("Statistics are rebuilt").isNotSameAs(statistics);
+        assertThat(updatedStatistics.getClassStatistics(taskEClass).getInstanceCount()).as("New task is counted")
+                .isEqualTo(101);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toMap() {
+        Map<String, Object> statistics = ModelStatistics.install(modelResource).toMap();
+        assertThat(statistics).as("Map contains the number of elements").containsEntry("elements", 100L);
+        Map<String, Object> taskStatistics = (Map<String, Object>) ((Map<String, Object>) statistics.get("classes"))
+                .get("Task");
+        assertThat(taskStatistics).as("Map contains the number of tasks").containsEntry("instances", 100L);
+        Map<String, Object> daysStatistics = (Map<String, Object>) ((Map<String, Object>) taskStatistics.get(
+                "attributes")).get("days");
+        assertThat(daysStatistics).as("Map contains the days statistics").containsKeys("values", "nulls",
+                "distinct", "min", "max", "histogram");
+    }
+}
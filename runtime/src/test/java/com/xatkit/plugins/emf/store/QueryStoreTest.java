@@ -0,0 +1,162 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.platform.TaskModelFixture;
+import com.xatkit.plugins.emf.query.BooleanOperator;
+import com.xatkit.plugins.emf.query.CompositeCondition;
+import com.xatkit.plugins.emf.query.Condition;
+import com.xatkit.plugins.emf.query.NumericalComparator;
+import com.xatkit.plugins.emf.query.NumericalCondition;
+import com.xatkit.plugins.emf.query.StringComparator;
+import com.xatkit.plugins.emf.query.StringCondition;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryStoreTest extends AbstractXatkitTest {
+
+    private TaskModelFixture fixture;
+
+    private MetamodelIndex metamodelIndex;
+
+    private EClass taskEClass;
+
+    private EAttribute descriptionEAttribute;
+
+    private EAttribute daysEAttribute;
+
+    private Resource modelResource;
+
+    private EObject task1;
+
+    private EObject task2;
+
+    private EObject task3;
+
+    private EObject task4;
+
+    private Map<String, Object> query;
+
+    @Before
+    public void setUp() {
+        fixture = new TaskModelFixture();
+        metamodelIndex = fixture.getMetamodelIndex();
+        taskEClass = fixture.getTaskEClass();
+        descriptionEAttribute = fixture.getDescriptionEAttribute();
+        daysEAttribute = fixture.getDaysEAttribute();
+        modelResource = fixture.getModelResource();
+        task1 = fixture.createTask("write the report", 4);
+        task2 = fixture.createTask("review the report", 2);
+        task3 = fixture.createTask("write the tests", 4);
+        task4 = fixture.createTask(null, 7);
+        query = new HashMap<>();
+        query.put("stringValue1", "write");
+        query.put("condition2", Collections.singletonMap(NumericalCondition.NUMBER_KEY, 3));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void installNullResource() {
+        QueryStore.install(null);
+    }
+
+    @Test
+    public void installValidResource() {
+        QueryStore store = QueryStore.install(modelResource);
+        assertThat(QueryStore.getStore(modelResource)).as("Store is attached to the resource").isSameAs(store);
+        assertThat(store.size()).as("All the elements are stored").isEqualTo(4);
+        assertThat(store.getTables()).as("A single table is built").hasSize(1);
+        ClassTable table = store.getTables().get(0);
+        assertThat(table.getColumn(descriptionEAttribute)).as("String attribute is stored in a dictionary column")
+                .isInstanceOf(StringColumn.class);
+        assertThat(((StringColumn) table.getColumn(descriptionEAttribute)).getDictionarySize()).as("Dictionary " +
+                "contains the distinct values").isEqualTo(3);
+        assertThat(table.getColumn(daysEAttribute)).as("Numerical attribute is stored in a numeric column")
+                .isInstanceOf(NumericColumn.class);
+        assertThat(table.getColumn((EAttribute) taskEClass.getEStructuralFeature("date"))).as("Date attribute is not " +
+                "stored").isNull();
+    }
+
+    @Test
+    public void selectStringCondition() {
+        QueryStore store = QueryStore.install(modelResource);
+        Condition condition = new StringCondition(descriptionEAttribute, StringComparator.STARTS_WITH,
+                "stringValue1");
+        assertThat(store.select(taskEClass, condition, query)).as("Found the matching tasks")
+                .containsExactly(task1, task3);
+    }
+
+    @Test
+    public void selectNumericalCondition() {
+        QueryStore store = QueryStore.install(modelResource);
+        Condition condition = new NumericalCondition(daysEAttribute, NumericalComparator.GREATER_THAN, "condition2");
+        assertThat(store.select(taskEClass, condition, query)).as("Found the matching tasks")
+                .containsExactly(task1, task3, task4);
+        assertThat(store.count(taskEClass, condition, query)).as("Counted the matching tasks").isEqualTo(3);
+    }
+
+    @Test
+    public void selectCompositeCondition() {
+        QueryStore store = QueryStore.install(modelResource);
+        List<Condition> conditions = Arrays.asList(new StringCondition(descriptionEAttribute,
+                StringComparator.CONTAINS, "stringValue1"), new NumericalCondition(daysEAttribute,
+                NumericalComparator.LOWER_THAN, "condition2"));
+        assertThat(store.select(taskEClass, new CompositeCondition(BooleanOperator.AND, conditions), query))
+                .as("Found the tasks matching both conditions").isEmpty();
+        assertThat(store.select(taskEClass, new CompositeCondition(BooleanOperator.OR, conditions), query))
+                .as("Found the tasks matching a condition").containsExactly(task1, task2, task3);
+    }
+
+    @Test
+    public void selectNullCondition() {
+        QueryStore store = QueryStore.install(modelResource);
+        EClass taskUnitEClass = metamodelIndex.getEClass("TaskUnit");
+        assertThat(store.select(taskUnitEClass, null, query)).as("Found the instances of the subtypes")
+                .containsExactly(task1, task2, task3, task4);
+    }
+
+    @Test
+    public void selectNotEvaluableCondition() {
+        QueryStore store = QueryStore.install(modelResource);
+        Condition condition = new StringCondition(daysEAttribute, StringComparator.EQUALS, "stringValue1");
+        assertThat(store.select(taskEClass, condition, query)).as("Condition cannot be evaluated").isNull();
+        assertThat(store.count(taskEClass, condition, query)).as("Condition cannot be evaluated").isNull();
+    }
+
+    @Test
+    public void referenceColumn() {
+        EReference nextEReference = (EReference) taskEClass.getEStructuralFeature("next");
+        task1.eSet(nextEReference, Arrays.asList(task3, task2));
+        QueryStore store = QueryStore.install(modelResource);
+        ReferenceColumn column = store.getTables().get(0).getReferenceColumn(nextEReference);
+        int[] targets = column.getTargets(0);
+        assertThat(targets).as("Targets are stored").hasSize(2);
+        assertThat(store.getEObject(targets[0])).as("First target is resolved").isSameAs(task3);
+        assertThat(store.getEObject(targets[1])).as("Second target is resolved").isSameAs(task2);
+        assertThat(column.getTargets(1)).as("Empty reference").isEmpty();
+    }
+
+    @Test
+    public void getStoreRebuildsOutdatedStore() {
+        QueryStore store = QueryStore.install(modelResource);
+        task2.eSet(daysEAttribute, 10);
+        QueryStore updatedStore = QueryStore.getStore(modelResource);
+        assertThat(updatedStore).as("Store is rebuilt").isNotSameAs(store);
+        Condition condition = new NumericalCondition(daysEAttribute, NumericalComparator.GREATER_THAN, "condition2");
+        query.put("condition2", Collections.singletonMap(NumericalCondition.NUMBER_KEY, 7));
+        assertThat(updatedStore.select(taskEClass, condition, query)).as("Updated value is stored")
+                .containsExactly(task2);
+    }
+}
@@ -0,0 +1,144 @@
+package com.xatkit.plugins.emf.store;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.plugins.emf.cache.ModelKey;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import com.xatkit.plugins.emf.query.Condition;
+import com.xatkit.plugins.emf.query.NumericalComparator;
+import com.xatkit.plugins.emf.query.NumericalCondition;
+import com.xatkit.plugins.emf.query.StringComparator;
+import com.xatkit.plugins.emf.query.StringCondition;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StoreSnapshotCacheTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MetamodelIndex metamodelIndex;
+
+    private EPackage ePackage;
+
+    private File modelFile;
+
+    private StoreSnapshotCache snapshotCache;
+
+    @Before
+    public void setUp() throws IOException {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        ePackage = (EPackage) metamodelResource.getContents().get(0);
+        metamodelIndex = MetamodelIndex.build(metamodelResource);
+        modelFile = new File(EMFPlatformTest.getModelPath());
+        snapshotCache = new StoreSnapshotCache(temporaryFolder.newFolder("cache"), "test");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void constructNullCacheDirectory() {
+        new StoreSnapshotCache(null, "test");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void installNullModelKey() {
+        snapshotCache.install(loadModel(), null);
+    }
+
+    @Test
+    public void installWritesSnapshot() {
+        ModelKey modelKey = ModelKey.of(modelFile);
+        QueryStore store = snapshotCache.install(loadModel(), modelKey);
+        assertThat(snapshotCache.getSnapshotFile(modelKey)).as("Snapshot file is written").exists();
+        assertThat(store.size()).as("All the elements are stored").isEqualTo(4);
+    }
+
+    @Test
+    public void installMapsSnapshot() {
+        ModelKey modelKey = ModelKey.of(modelFile);
+        Resource firstResource = loadModel();
+        QueryStore builtStore = snapshotCache.install(firstResource, modelKey);
+        Resource secondResource = loadModel();
+        QueryStore mappedStore = snapshotCache.install(secondResource, modelKey);
+        assertThat(QueryStore.getStore(secondResource)).as("Mapped store is attached to the resource")
+                .isSameAs(mappedStore);
+        assertThat(mappedStore.getTables()).as("Same number of tables").hasSameSizeAs(builtStore.getTables());
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        EAttribute daysEAttribute = metamodelIndex.getEAttribute(taskEClass, "days");
+        ClassTable taskTable = mappedStore.getTables(taskEClass).get(0);
+        assertThat(((NumericColumn.IntColumn) taskTable.getColumn(daysEAttribute)).getValues().isDirect())
+                .as("Values are mapped").isTrue();
+        Map<String, Object> query = new HashMap<>();
+        query.put("stringValue1", "this is the first");
+        query.put("condition2", Collections.singletonMap(NumericalCondition.NUMBER_KEY, 3));
+        Condition stringCondition = new StringCondition(metamodelIndex.getEAttribute(taskEClass, "description"),
+                StringComparator.STARTS_WITH, "stringValue1");
+        List<EObject> result = mappedStore.select(taskEClass, stringCondition, query);
+        assertThat(result).as("Found the matching task").hasSize(1);
+        assertThat(result.get(0).eResource()).as("Result is materialized from the second resource")
+                .isSameAs(secondResource);
+        Condition numericalCondition = new NumericalCondition(daysEAttribute, NumericalComparator.GREATER_THAN,
+                "condition2");
+        assertThat(mappedStore.count(taskEClass, numericalCondition, query)).as("Counted the matching task")
+                .isEqualTo(1);
+        EReference nextEReference = (EReference) taskEClass.getEStructuralFeature("next");
+        int[] targets = taskTable.getReferenceColumn(nextEReference).getTargets(1);
+        assertThat(targets).as("Reference is mapped").hasSize(1);
+        assertThat(mappedStore.getEObject(targets[0])).as("Reference target is resolved").isSameAs(result.get(0));
+    }
+
+    @Test
+    public void installOtherNamespaceIgnoresSnapshot() throws IOException {
+        ModelKey modelKey = ModelKey.of(modelFile);
+        snapshotCache.install(loadModel(), modelKey);
+        StoreSnapshotCache otherCache = new StoreSnapshotCache(snapshotCache.getCacheDirectory(), "other");
+        File otherSnapshotFile = otherCache.getSnapshotFile(modelKey);
+        Files.copy(snapshotCache.getSnapshotFile(modelKey).toPath(), otherSnapshotFile.toPath());
+        QueryStore store = otherCache.install(loadModel(), modelKey);
+        assertThat(store.size()).as("Store is built").isEqualTo(4);
+        EClass taskEClass = metamodelIndex.getEClass("Task");
+        ClassTable taskTable = store.getTables(taskEClass).get(0);
+        assertThat(((NumericColumn.IntColumn) taskTable.getColumn(metamodelIndex.getEAttribute(taskEClass, "days")))
+                .getValues().isDirect()).as("Values are not mapped").isFalse();
+    }
+
+    @Test
+    public void installCorruptedSnapshot() throws IOException {
+        ModelKey modelKey = ModelKey.of(modelFile);
+        Files.write(snapshotCache.getSnapshotFile(modelKey).toPath(), new byte[]{1, 2, 3});
+        QueryStore store = snapshotCache.install(loadModel(), modelKey);
+        assertThat(store.size()).as("Store is built").isEqualTo(4);
+        assertThat(snapshotCache.getSnapshotFile(modelKey).length()).as("Snapshot file is rewritten")
+                .isGreaterThan(3);
+    }
+
+    private Resource loadModel() {
+        ResourceSet rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+        return rSet.getResource(URI.createFileURI(modelFile.getAbsolutePath()), true);
+    }
+}
@@ -0,0 +1,123 @@
+package com.xatkit.plugins.emf.util;
+
+import com.xatkit.AbstractXatkitTest;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModelScannerTest extends AbstractXatkitTest {
+
+    private EClass nodeEClass;
+
+    private EAttribute valueEAttribute;
+
+    private Resource modelResource;
+
+    private ModelScanner parallelScanner;
+
+    @Before
+    public void setUp() {
+        EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+        ePackage.setName("test");
+        ePackage.setNsURI("test");
+        nodeEClass = EcoreFactory.eINSTANCE.createEClass();
+        nodeEClass.setName("Node");
+        valueEAttribute = EcoreFactory.eINSTANCE.createEAttribute();
+        valueEAttribute.setName("value");
+        valueEAttribute.setEType(EcorePackage.eINSTANCE.getEInt());
+        EReference childrenEReference = EcoreFactory.eINSTANCE.createEReference();
+        childrenEReference.setName("children");
+        childrenEReference.setEType(nodeEClass);
+        childrenEReference.setContainment(true);
+        childrenEReference.setUpperBound(-1);
+        nodeEClass.getEStructuralFeatures().add(valueEAttribute);
+        nodeEClass.getEStructuralFeatures().add(childrenEReference);
+        ePackage.getEClassifiers().add(nodeEClass);
+        modelResource = new ResourceImpl(URI.createURI("test"));
+        int value = 0;
+        for (int i = 0; i < 3; i++) {
+            EObject root = createNode(value++);
+            modelResource.getContents().add(root);
+            for (int j = 0; j < 50; j++) {
+                EObject child = createNode(value++);
+                getChildren(root).add(child);
+                for (int k = 0; k < 10; k++) {
+                    getChildren(child).add(createNode(value++));
+                }
+            }
+        }
+        parallelScanner = new ModelScanner(4, 1);
+    }
+
+    @After
+    public void tearDown() {
+        parallelScanner.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidParallelism() {
+        new ModelScanner(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructInvalidThreshold() {
+        new ModelScanner(1, 0);
+    }
+
+    @Test
+    public void scanParallelSameResultAsSequential() {
+        Predicate<EObject> predicate = eObject -> (int) eObject.eGet(valueEAttribute) % 3 == 0;
+        List<EObject> sequentialResult = ModelScanner.sequential().scan(modelResource, predicate);
+        List<EObject> parallelResult = parallelScanner.scan(modelResource, predicate);
+        assertThat(parallelResult).as("Parallel scan returns the same elements in the same order")
+                .containsExactlyElementsOf(sequentialResult);
+    }
+
+    @Test
+    public void getSizeParallel() {
+        assertThat(parallelScanner.getSize(modelResource)).as("Valid size")
+                .isEqualTo(EMFResourceUtils.getSize(modelResource));
+    }
+
+    @Test
+    public void getAllInstancesOfTypeParallel() {
+        assertThat(parallelScanner.getAllInstancesOfType(modelResource, nodeEClass)).as("Valid instances")
+                .containsExactlyElementsOf(EMFResourceUtils.getAllInstancesOfType(modelResource, nodeEClass));
+    }
+
+    @Test
+    public void filterParallelSameResultAsSequential() {
+        List<EObject> elements = EMFResourceUtils.getAllInstancesOfType(modelResource, nodeEClass);
+        Predicate<EObject> predicate = eObject -> (int) eObject.eGet(valueEAttribute) % 7 == 0;
+        assertThat(parallelScanner.filter(elements, predicate)).as("Parallel filter returns the same elements in the " +
+                "same order").containsExactlyElementsOf(ModelScanner.sequential().filter(elements, predicate));
+    }
+
+    private EObject createNode(int value) {
+        EObject node = EcoreUtil.create(nodeEClass);
+        node.eSet(valueEAttribute, value);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private EList<EObject> getChildren(EObject node) {
+        return (EList<EObject>) node.eGet(nodeEClass.getEStructuralFeature("children"));
+    }
+}
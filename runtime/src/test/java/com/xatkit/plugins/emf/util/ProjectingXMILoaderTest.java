@@ -0,0 +1,127 @@
+package com.xatkit.plugins.emf.util;
+
+import com.xatkit.AbstractXatkitTest;
+import com.xatkit.core.XatkitException;
+import com.xatkit.plugins.emf.index.MetamodelIndex;
+import com.xatkit.plugins.emf.platform.EMFPlatformTest;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProjectingXMILoaderTest extends AbstractXatkitTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ResourceSet rSet;
+
+    private MetamodelIndex metamodelIndex;
+
+    private EClass taskEClass;
+
+    @Before
+    public void setUp() {
+        rSet = new ResourceSetImpl();
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new XMIResourceFactoryImpl());
+        rSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+        Resource metamodelResource = rSet.getResource(URI.createFileURI(EMFPlatformTest.getMetamodelPath()), true);
+        EPackage ePackage = (EPackage) metamodelResource.getContents().get(0);
+        rSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+        metamodelIndex = MetamodelIndex.build(metamodelResource);
+        taskEClass = metamodelIndex.getEClass("Task");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructEmptyProjection() {
+        new ProjectingXMILoader(rSet.getPackageRegistry(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Test
+    public void loadProjectedClassAllAttributes() {
+        ProjectingXMILoader loader = new ProjectingXMILoader(rSet.getPackageRegistry(),
+                Collections.singletonList(taskEClass), Collections.emptyList());
+        Resource resource = loader.load(new File(EMFPlatformTest.getModelPath()), new ResourceSetImpl());
+        assertThat(resource.getContents()).as("Root element is loaded").hasSize(1);
+        EObject project = resource.getContents().get(0);
+        assertThat(project.eGet(metamodelIndex.getEAttribute("Project", "name"))).as("Attributes of the containment" +
+                " path are not loaded").isNull();
+        List<EObject> tasks = getContents(project, "tasks");
+        assertThat(tasks).as("Tasks are loaded").hasSize(2);
+        assertThat(tasks.get(0).eGet(metamodelIndex.getEAttribute(taskEClass, "description"))).as("Task " +
+                "description is loaded").isEqualTo("this is the first task");
+        assertThat(tasks.get(0).eGet(metamodelIndex.getEAttribute(taskEClass, "days"))).as("Task days are loaded")
+                .isEqualTo(4);
+        assertThat(getContents(project, "resources")).as("Resources are not loaded").isEmpty();
+        assertThat(getContents(tasks.get(1), "next")).as("Non-containment references are not loaded").isEmpty();
+    }
+
+    @Test
+    public void loadProjectedAttributes() {
+        EAttribute daysEAttribute = metamodelIndex.getEAttribute(taskEClass, "days");
+        ProjectingXMILoader loader = new ProjectingXMILoader(rSet.getPackageRegistry(),
+                Collections.singletonList(taskEClass), Collections.singletonList(daysEAttribute));
+        Resource resource = loader.load(new File(EMFPlatformTest.getModelPath()), new ResourceSetImpl());
+        EObject task = getContents(resource.getContents().get(0), "tasks").get(0);
+        assertThat(task.eGet(daysEAttribute)).as("Projected attribute is loaded").isEqualTo(4);
+        assertThat(task.eGet(metamodelIndex.getEAttribute(taskEClass, "description"))).as("Other attributes are not" +
+                " loaded").isNull();
+    }
+
+    @Test
+    public void loadNoProjectedInstance() {
+        ProjectingXMILoader loader = new ProjectingXMILoader(rSet.getPackageRegistry(),
+                Collections.singletonList(metamodelIndex.getEClass("Technical")), Collections.emptyList());
+        Resource resource = loader.load(new File(EMFPlatformTest.getModelPath()), new ResourceSetImpl());
+        assertThat(resource.getContents()).as("No element is loaded").isEmpty();
+    }
+
+    @Test
+    public void loadXMIWrapper() throws IOException {
+        File modelFile = temporaryFolder.newFile("model.xmi");
+        Files.write(modelFile.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<xmi:XMI xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\" " +
+                "xmlns:projectManager=\"projectManager\">\n" +
+                "  <projectManager:Task id=\"t1\" description=\"first\" days=\"2\"/>\n" +
+                "  <projectManager:Human name=\"Peter\"/>\n" +
+                "  <projectManager:Task id=\"t2\" description=\"second\" days=\"3\"/>\n" +
+                "</xmi:XMI>").getBytes(StandardCharsets.UTF_8));
+        ProjectingXMILoader loader = new ProjectingXMILoader(rSet.getPackageRegistry(),
+                Collections.singletonList(taskEClass), Collections.emptyList());
+        Resource resource = loader.load(modelFile, new ResourceSetImpl());
+        assertThat(resource.getContents()).as("Root tasks are loaded").hasSize(2);
+        assertThat(resource.getContents()).as("Loaded roots are tasks").allMatch(taskEClass::isInstance);
+    }
+
+    @Test(expected = XatkitException.class)
+    public void loadUnknownType() throws IOException {
+        File modelFile = temporaryFolder.newFile("model.xmi");
+        Files.write(modelFile.toPath(), ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<unknown:Project xmlns:unknown=\"unknown\"/>").getBytes(StandardCharsets.UTF_8));
+        new ProjectingXMILoader(rSet.getPackageRegistry(), Collections.singletonList(taskEClass),
+                Collections.emptyList()).load(modelFile, new ResourceSetImpl());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EObject> getContents(EObject eObject, String featureName) {
+        return (List<EObject>) eObject.eGet(eObject.eClass().getEStructuralFeature(featureName));
+    }
+}